@@ -0,0 +1,168 @@
+package com.supermarket.supermarket.jmh;
+
+import com.supermarket.supermarket.SupermarketApplication;
+import com.supermarket.supermarket.config.TestRedisConfig;
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.CashRegisterRepository;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.security.SecurityUser;
+import com.supermarket.supermarket.service.business.SaleService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class ApplicationState {
+    public static final int PRODUCTS = 20;
+    private static final int HISTORY_SALES = 1_000;
+    private static final int STOCK = 100_000_000;
+
+    private ConfigurableApplicationContext context;
+    private Long branchId;
+    private List<Long> productIds;
+    private User cashier;
+
+    static ConfigurableApplicationContext boot() {
+        return new SpringApplicationBuilder(SupermarketApplication.class, TestRedisConfig.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.root=WARN", "spring.jpa.show-sql=false", "reports.cache.enabled=false")
+                .initializers(context -> context.getBeanFactory()
+                        .registerSingleton(TestHelperExcludeFilter.class.getName(), new TestHelperExcludeFilter()))
+                .run();
+    }
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = boot();
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public void authenticate() {
+        SecurityUser principal = new SecurityUser(cashier);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    public Long getBranchId() {
+        return branchId;
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+    public SaleRequest saleRequest(int lines) {
+        List<SaleDetailRequest> details = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            details.add(SaleDetailRequest.builder()
+                    .productId(productIds.get(i % productIds.size()))
+                    .quantity(1)
+                    .build());
+        }
+        return SaleRequest.builder()
+                .branchId(branchId)
+                .date(LocalDate.now())
+                .details(details)
+                .build();
+    }
+
+    private void seed() {
+        Branch branch = bean(BranchRepository.class).save(Branch.builder()
+                .name("JMH Branch")
+                .address("JMH Street")
+                .build());
+        branchId = branch.getId();
+        productIds = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = bean(ProductRepository.class).save(Product.builder()
+                    .name("JMH Product " + i)
+                    .category("JMH " + i % 4)
+                    .price(new BigDecimal("1.50").add(BigDecimal.valueOf(i)))
+                    .build());
+            bean(BranchInventoryRepository.class).save(BranchInventory.builder()
+                    .branch(branch)
+                    .product(product)
+                    .stock(STOCK)
+                    .minStock(0)
+                    .build());
+            productIds.add(product.getId());
+        }
+        cashier = bean(UserRepository.class).save(User.builder()
+                .username("jmh-cashier")
+                .email("jmh-cashier@test.com")
+                .password("not-used")
+                .firstName("JMH")
+                .lastName("Cashier")
+                .role(UserRole.CASHIER)
+                .active(true)
+                .build());
+        bean(CashRegisterRepository.class).save(CashRegister.builder()
+                .branch(branch)
+                .openingBalance(BigDecimal.ZERO)
+                .openingTime(LocalDateTime.now())
+                .status(CashRegisterStatus.OPEN)
+                .openedBy(cashier)
+                .build());
+        authenticate();
+        SaleService saleService = bean(SaleService.class);
+        for (int i = 0; i < HISTORY_SALES; i++) {
+            saleService.create(saleRequest(1 + i % 5));
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    static class TestHelperExcludeFilter extends TypeExcludeFilter {
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            return metadataReader.getClassMetadata().getClassName().startsWith("com.supermarket.supermarket.helper.");
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && getClass() == obj.getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+}
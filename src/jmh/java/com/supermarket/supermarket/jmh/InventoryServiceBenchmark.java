@@ -0,0 +1,48 @@
+package com.supermarket.supermarket.jmh;
+
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.service.business.InventoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryServiceBenchmark {
+
+    @Param({"1", "20"})
+    private int lines;
+
+    private InventoryService inventoryService;
+    private Long branchId;
+    private List<SaleDetailRequest> details;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        inventoryService = application.bean(InventoryService.class);
+        branchId = application.getBranchId();
+        details = application.saleRequest(lines).getDetails();
+    }
+
+    @Benchmark
+    public List<StockLevel> validateAndReduceStockBatch() {
+        return inventoryService.validateAndReduceStockBatch(branchId, details);
+    }
+}
@@ -0,0 +1,49 @@
+package com.supermarket.supermarket.jmh;
+
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.security.SecurityUser;
+import com.supermarket.supermarket.service.security.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private JwtService jwtService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "bXlUZXN0U2VjcmV0S2V5Rm9ySnd0SFMyNTZTaWduYXR1cmU=");
+        ReflectionTestUtils.setField(jwtService, "tokenExpiration", 86_400_000L);
+        token = jwtService.generateToken(new SecurityUser(User.builder()
+                .id(1L)
+                .email("jmh@test.com")
+                .role(UserRole.CASHIER)
+                .active(true)
+                .build()));
+    }
+
+    @Benchmark
+    public String getUsername() {
+        return jwtService.getUsername(token);
+    }
+}
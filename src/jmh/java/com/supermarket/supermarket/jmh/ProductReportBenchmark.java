@@ -0,0 +1,134 @@
+package com.supermarket.supermarket.jmh;
+
+import com.supermarket.supermarket.datagen.DatasetGenerator;
+import com.supermarket.supermarket.datagen.DatasetSpec;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.ProductSalesDailyRepository;
+import com.supermarket.supermarket.repository.SaleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductReportBenchmark {
+    private static final LocalDate END_DATE = LocalDate.of(2025, 12, 31);
+    private static final String FAN_OUT_PRODUCT_PERFORMANCE = """
+            SELECT
+                p.id          as productId,
+                p.name        as productName,
+                p.category    as productCategory,
+                COALESCE(SUM(sd.quantity), 0)  as totalSold,
+                COALESCE(bi.stock, 0)       as currentStock
+            FROM Product p
+            LEFT JOIN BranchInventory bi ON bi.product.id = p.id
+                AND (:branchId IS NULL OR bi.branch.id = :branchId)
+            LEFT JOIN SaleDetail sd ON sd.product.id = p.id
+            LEFT JOIN sd.sale s ON s.status = 'REGISTERED'
+                AND (CAST(:startDate AS date) IS NULL OR s.date >= :startDate)
+                AND (CAST(:endDate   AS date) IS NULL OR s.date <= :endDate)
+            WHERE (:branchId IS NULL OR bi.branch.id = :branchId)
+            GROUP BY p.id, p.name, p.category, bi.stock
+            ORDER BY totalSold DESC
+            """;
+    private static final String FAN_OUT_PRODUCT_PERFORMANCE_COUNT = """
+            SELECT COUNT(DISTINCT p.id)
+            FROM Product p
+            LEFT JOIN BranchInventory bi ON bi.product.id = p.id
+                AND (:branchId IS NULL OR bi.branch.id = :branchId)
+            WHERE (:branchId IS NULL OR bi.branch.id = :branchId)
+            """;
+
+    @Param({"fanout", "raw", "rollup"})
+    private String source;
+
+    private ConfigurableApplicationContext context;
+    private SaleRepository saleRepository;
+    private BranchInventoryRepository branchInventoryRepository;
+    private ProductSalesDailyRepository productSalesRepository;
+    private EntityManager entityManager;
+    private LocalDate startDate;
+    private Pageable byRevenue;
+    private Pageable bySold;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ApplicationState.boot();
+        context.getBean(DatasetGenerator.class).generate(DatasetSpec.builder()
+                .name("jmh")
+                .endDate(END_DATE)
+                .sales(Integer.getInteger("jmh.report-sales", 1_000_000))
+                .transfers(0)
+                .notifications(0)
+                .build());
+        saleRepository = context.getBean(SaleRepository.class);
+        branchInventoryRepository = context.getBean(BranchInventoryRepository.class);
+        productSalesRepository = context.getBean(ProductSalesDailyRepository.class);
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        startDate = END_DATE.minusDays(89);
+        byRevenue = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "totalRevenue"));
+        bySold = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "totalSold"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Page<SaleRepository.SalesByProductProjection> salesByProduct() {
+        return "rollup".equals(source)
+                ? productSalesRepository.findSalesGroupedByProduct(startDate, END_DATE, null, null, byRevenue)
+                : saleRepository.findSalesGroupedByProduct(startDate, END_DATE, null, null, byRevenue);
+    }
+
+    @Benchmark
+    public Page<?> productPerformance() {
+        return switch (source) {
+            case "fanout" -> fanOutProductPerformance();
+            case "rollup" -> productSalesRepository.findProductPerformance(startDate, END_DATE, null, bySold);
+            default -> branchInventoryRepository.findProductPerformance(startDate, END_DATE, null, bySold);
+        };
+    }
+
+    private Page<Object[]> fanOutProductPerformance() {
+        List<Object[]> rows = entityManager.createQuery(FAN_OUT_PRODUCT_PERFORMANCE, Object[].class)
+                .setParameter("branchId", null)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", END_DATE)
+                .setMaxResults(bySold.getPageSize())
+                .getResultList();
+        Long total = entityManager.createQuery(FAN_OUT_PRODUCT_PERFORMANCE_COUNT, Long.class)
+                .setParameter("branchId", null)
+                .getSingleResult();
+        entityManager.clear();
+        return new PageImpl<>(rows, bySold, total);
+    }
+}
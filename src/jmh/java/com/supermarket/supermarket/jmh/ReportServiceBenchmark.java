@@ -0,0 +1,68 @@
+package com.supermarket.supermarket.jmh;
+
+import com.supermarket.supermarket.dto.report.ProductPerformanceDTO;
+import com.supermarket.supermarket.dto.report.ReportFilterRequest;
+import com.supermarket.supermarket.dto.report.SalesByProductDTO;
+import com.supermarket.supermarket.dto.report.SalesComparisonResponse;
+import com.supermarket.supermarket.dto.report.SalesSummaryResponse;
+import com.supermarket.supermarket.service.business.ReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportServiceBenchmark {
+    private ReportService reportService;
+    private ReportFilterRequest filter;
+    private Pageable byRevenue;
+    private Pageable bySold;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        reportService = application.bean(ReportService.class);
+        filter = ReportFilterRequest.builder()
+                .branchId(application.getBranchId())
+                .build();
+        byRevenue = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "totalRevenue"));
+        bySold = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "totalSold"));
+    }
+
+    @Benchmark
+    public SalesSummaryResponse salesSummary() {
+        return reportService.getSalesSummary(filter);
+    }
+
+    @Benchmark
+    public Page<SalesByProductDTO> salesByProduct() {
+        return reportService.getSalesByProduct(filter, byRevenue);
+    }
+
+    @Benchmark
+    public SalesComparisonResponse salesComparison() {
+        return reportService.getSalesComparison(filter);
+    }
+
+    @Benchmark
+    public Page<ProductPerformanceDTO> productPerformance() {
+        return reportService.getProductPerformance(filter, bySold);
+    }
+}
@@ -0,0 +1,75 @@
+package com.supermarket.supermarket.jmh;
+
+import com.supermarket.supermarket.dto.sale.SaleResponse;
+import com.supermarket.supermarket.mapper.SaleDetailMapper;
+import com.supermarket.supermarket.mapper.SaleMapper;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.model.sale.SaleDetail;
+import com.supermarket.supermarket.model.sale.SaleStatus;
+import com.supermarket.supermarket.model.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaleMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int details;
+
+    private SaleMapper saleMapper;
+    private Sale sale;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        saleMapper = new SaleMapper(new SaleDetailMapper());
+        sale = Sale.builder()
+                .id(1L)
+                .date(LocalDate.now())
+                .status(SaleStatus.REGISTERED)
+                .total(BigDecimal.ZERO)
+                .branch(Branch.builder().id(1L).name("JMH Branch").build())
+                .createdBy(User.builder().id(1L).username("jmh").email("jmh@test.com").build())
+                .createdAt(LocalDateTime.now())
+                .details(new ArrayList<>())
+                .build();
+        List<SaleDetail> lines = sale.getDetails();
+        for (int i = 0; i < details; i++) {
+            lines.add(SaleDetail.builder()
+                    .id((long) i)
+                    .quantity(1 + i % 7)
+                    .price(new BigDecimal("2.35").add(BigDecimal.valueOf(i % 13)))
+                    .product(Product.builder().id((long) i).name("Product " + i).build())
+                    .sale(sale)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public SaleResponse toResponse() {
+        return saleMapper.toResponse(sale);
+    }
+}
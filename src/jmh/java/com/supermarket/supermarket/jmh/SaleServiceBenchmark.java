@@ -0,0 +1,50 @@
+package com.supermarket.supermarket.jmh;
+
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.sale.SaleResponse;
+import com.supermarket.supermarket.service.business.SaleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaleServiceBenchmark {
+
+    @Param({"1", "10"})
+    private int lines;
+
+    private SaleService saleService;
+    private SaleRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        saleService = application.bean(SaleService.class);
+        request = application.saleRequest(lines);
+    }
+
+    @Setup(Level.Iteration)
+    public void authenticate(ApplicationState application) {
+        application.authenticate();
+    }
+
+    @Benchmark
+    public SaleResponse create() {
+        return saleService.create(request);
+    }
+}
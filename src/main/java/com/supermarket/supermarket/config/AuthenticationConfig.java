@@ -2,8 +2,10 @@ package com.supermarket.supermarket.config;
 
 import com.supermarket.supermarket.model.user.User;
 import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.security.BoundedPasswordEncoder;
 import com.supermarket.supermarket.security.SecurityUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,11 +17,22 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 @RequiredArgsConstructor
 public class AuthenticationConfig {
     private final UserRepository userRepository;
 
+    @Value("${security.password-hashing.max-concurrency:0}")
+    private int passwordHashingConcurrency;
+
+    @Value("${security.password-hashing.acquire-timeout:2s}")
+    private Duration passwordHashingTimeout = Duration.ofSeconds(2);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> {
@@ -31,7 +44,14 @@ public class AuthenticationConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        if (!virtualThreads) {
+            return bcrypt;
+        }
+        int maxConcurrency = passwordHashingConcurrency > 0
+                ? passwordHashingConcurrency
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(bcrypt, maxConcurrency, passwordHashingTimeout);
     }
 
     @Bean
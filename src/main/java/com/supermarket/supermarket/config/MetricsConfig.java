@@ -0,0 +1,112 @@
+package com.supermarket.supermarket.config;
+
+import com.supermarket.supermarket.ledger.StockLedger;
+import com.supermarket.supermarket.lock.BranchStockLocks;
+import com.supermarket.supermarket.service.business.NotificationOutboxService;
+import com.supermarket.supermarket.service.business.ProductCatalog;
+import com.supermarket.supermarket.service.business.RecipientDirectory;
+import com.supermarket.supermarket.service.business.ReportCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder productCatalogMetrics(ProductCatalog productCatalog) {
+        return registry -> {
+            Gauge.builder("supermarket.catalog.size", productCatalog, catalog -> catalog.getStats().getSize())
+                    .register(registry);
+            FunctionCounter.builder("supermarket.catalog.lookups", productCatalog, catalog -> catalog.getStats().getHits())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("supermarket.catalog.lookups", productCatalog, catalog -> catalog.getStats().getMisses())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("supermarket.catalog.stale.entries", productCatalog,
+                            catalog -> catalog.getStats().getStaleEntriesTotal())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder recipientDirectoryMetrics(RecipientDirectory recipientDirectory) {
+        return registry -> {
+            FunctionCounter.builder("supermarket.recipients.lookups", recipientDirectory, RecipientDirectory::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("supermarket.recipients.lookups", recipientDirectory, RecipientDirectory::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder reportCacheMetrics(ReportCache reportCache) {
+        return registry -> {
+            Gauge.builder("supermarket.report.cache.size", reportCache, cache -> cache.getStats().getSize())
+                    .register(registry);
+            FunctionCounter.builder("supermarket.report.cache.lookups", reportCache, cache -> cache.getStats().getHits())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("supermarket.report.cache.lookups", reportCache, cache -> cache.getStats().getRedisHits())
+                    .tag("result", "redis-hit")
+                    .register(registry);
+            FunctionCounter.builder("supermarket.report.cache.lookups", reportCache, cache -> cache.getStats().getMisses())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("supermarket.report.cache.invalidations", reportCache,
+                            cache -> cache.getStats().getInvalidations())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder branchLockMetrics(BranchStockLocks branchStockLocks) {
+        return registry -> {
+            FunctionCounter.builder("supermarket.branch.lock.acquisitions", branchStockLocks,
+                            locks -> locks.getStats().getAcquisitions())
+                    .register(registry);
+            FunctionCounter.builder("supermarket.branch.lock.contended", branchStockLocks,
+                            locks -> locks.getStats().getContended())
+                    .register(registry);
+            FunctionCounter.builder("supermarket.branch.lock.timeouts", branchStockLocks,
+                            locks -> locks.getStats().getTimeouts())
+                    .register(registry);
+            FunctionCounter.builder("supermarket.branch.lock.wait", branchStockLocks,
+                            locks -> locks.getStats().getTotalWaitMillis() / 1000.0)
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder stockLedgerMetrics(ObjectProvider<StockLedger> stockLedger) {
+        return registry -> stockLedger.ifAvailable(ledger -> {
+            Gauge.builder("supermarket.ledger.pending.deltas", ledger, l -> l.getStats().getPendingDeltas())
+                    .register(registry);
+            Gauge.builder("supermarket.ledger.checkpoint.lag", ledger,
+                            l -> l.getStats().getLastSequence() - l.getStats().getCheckpointSequence())
+                    .register(registry);
+            FunctionCounter.builder("supermarket.ledger.reservations", ledger, l -> l.getStats().getReservations())
+                    .register(registry);
+            FunctionCounter.builder("supermarket.ledger.rejections", ledger, l -> l.getStats().getRejections())
+                    .register(registry);
+            FunctionCounter.builder("supermarket.ledger.flushes", ledger, l -> l.getStats().getFlushes())
+                    .register(registry);
+            FunctionCounter.builder("supermarket.ledger.flush.failures", ledger, l -> l.getStats().getFlushFailures())
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder notificationOutboxMetrics(NotificationOutboxService outboxService) {
+        return registry -> Gauge.builder("supermarket.outbox.pending", outboxService,
+                        NotificationOutboxService::countPending)
+                .register(registry);
+    }
+}
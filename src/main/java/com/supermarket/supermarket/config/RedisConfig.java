@@ -1,13 +1,23 @@
 package com.supermarket.supermarket.config;
 
+import com.supermarket.supermarket.service.business.ProductCatalog;
+import com.supermarket.supermarket.service.business.RecipientDirectory;
+import com.supermarket.supermarket.service.business.ReportCache;
+import io.lettuce.core.resource.ClientResources;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -25,7 +35,7 @@ public class RedisConfig {
     private String redisPassword;
 
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public RedisConnectionFactory redisConnectionFactory(ClientResources clientResources) {
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
         config.setHostName(redisHost);
         config.setPort(redisPort);
@@ -34,7 +44,10 @@ public class RedisConfig {
             config.setPassword(redisPassword);
         }
 
-        return new LettuceConnectionFactory(config);
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .clientResources(clientResources)
+                .build();
+        return new LettuceConnectionFactory(config, clientConfiguration);
     }
 
     @Bean
@@ -50,4 +63,34 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "reports.cache.redis-enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer reportCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                      @Qualifier("reportCacheImpl") MessageListener reportCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(reportCache, new ChannelTopic(ReportCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "product.catalog.redis-enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer productCatalogListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                         @Qualifier("productCatalogImpl") MessageListener productCatalog) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(productCatalog, new ChannelTopic(ProductCatalog.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.recipients.redis-enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer recipientDirectoryListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                             @Qualifier("recipientDirectoryImpl") MessageListener recipientDirectory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(recipientDirectory, new ChannelTopic(RecipientDirectory.INVALIDATION_CHANNEL));
+        return container;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.supermarket.supermarket.controller;
+
+import com.supermarket.supermarket.dto.audit.AuditLogResponse;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.service.security.AuditService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/audit-logs")
+@RequiredArgsConstructor
+@Tag(name = "Audit Logs", description = "Endpoints for security audit trail - Admin only")
+@SecurityRequirement(name = "Bearer Authentication")
+@PreAuthorize("hasRole('ADMIN')")
+public class AuditLogController {
+    private final AuditService auditService;
+
+    @GetMapping
+    @Operation(summary = "Get audit logs newest first, one cursor page at a time, optionally for a single user")
+    public ResponseEntity<CursorPage<AuditLogResponse>> getAuditLogs(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        return ResponseEntity.ok(auditService.getAuditLogs(username, cursor, size, count));
+    }
+}
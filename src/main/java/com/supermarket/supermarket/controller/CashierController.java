@@ -1,5 +1,6 @@
 package com.supermarket.supermarket.controller;
 
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.dto.sale.SaleResponse;
 import com.supermarket.supermarket.model.user.User;
 import com.supermarket.supermarket.security.SecurityUtils;
@@ -8,14 +9,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -29,11 +28,13 @@ public class CashierController {
 
     @GetMapping("/my-sales")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CASHIER')")
-    @Operation(summary = "Get my sales paginated")
-    public ResponseEntity<Page<SaleResponse>> getMySales(
-            @PageableDefault(page = 0, size = 10, sort = "createdAt") Pageable pageable) {
+    @Operation(summary = "Get my sales newest first, one cursor page at a time")
+    public ResponseEntity<CursorPage<SaleResponse>> getMySales(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count) {
         User currentUser = securityUtils.getCurrentUser();
-        return ResponseEntity.ok(saleService.getSalesByCashier(currentUser.getId(), pageable));
+        return ResponseEntity.ok(saleService.getSalesByCashier(currentUser.getId(), cursor, size, count));
     }
 
     @GetMapping("/my-sales/{id}")
@@ -1,6 +1,9 @@
 package com.supermarket.supermarket.controller;
 
+import com.supermarket.supermarket.dto.inventory.BranchLockStats;
 import com.supermarket.supermarket.dto.inventory.LowStockAlertResponse;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.export.NdjsonWriter;
 import com.supermarket.supermarket.service.business.InventoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -11,7 +14,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,12 +28,22 @@ import java.util.List;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final NdjsonWriter ndjsonWriter;
 
     @GetMapping("/low-stock")
-    @Operation(summary = "Get global low stock alerts")
+    @Operation(summary = "Get global low stock alerts, one cursor page at a time")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<List<LowStockAlertResponse>> getLowStockGlobal() {
-        return ResponseEntity.ok(inventoryService.getLowStockGlobal());
+    public ResponseEntity<CursorPage<LowStockAlertResponse>> getLowStockGlobal(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(inventoryService.getLowStockGlobal(cursor, size));
+    }
+
+    @GetMapping(value = "/low-stock", params = "format=ndjson")
+    @Operation(summary = "Stream every global low stock alert as NDJSON")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamLowStockGlobal() {
+        return ndjsonWriter.stream(inventoryService::streamLowStockGlobal);
     }
 
     @GetMapping("/branches/{branchId}/low-stock")
@@ -44,4 +59,11 @@ public class InventoryController {
     public ResponseEntity<Integer> getStockInBranch(@PathVariable Long branchId, @PathVariable Long productId) {
         return ResponseEntity.ok(inventoryService.getStockInBranch(branchId, productId));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/locks/stats")
+    @Operation(summary = "Get branch stock lock wait statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BranchLockStats> getBranchLockStats() {
+        return ResponseEntity.ok(inventoryService.getBranchLockStats());
+    }
+}
@@ -1,6 +1,8 @@
 package com.supermarket.supermarket.controller;
 
 import com.supermarket.supermarket.dto.notification.NotificationResponse;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.export.NdjsonWriter;
 import com.supermarket.supermarket.service.business.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,7 +14,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -24,6 +28,7 @@ import java.util.Map;
 @SecurityRequirement(name = "Bearer Authentication")
 public class NotificationController {
     private final NotificationService notificationService;
+    private final NdjsonWriter ndjsonWriter;
 
     @GetMapping
     @Operation(summary = "Get all unread notifications for the current user")
@@ -32,9 +37,18 @@ public class NotificationController {
     }
 
     @GetMapping("/all")
-    @Operation(summary = "Get all notifications for the current user")
-    public ResponseEntity<List<NotificationResponse>> getAllNotifications() {
-        return ResponseEntity.ok(notificationService.getAllNotifications());
+    @Operation(summary = "Get notifications for the current user newest first, one cursor page at a time")
+    public ResponseEntity<CursorPage<NotificationResponse>> getAllNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        return ResponseEntity.ok(notificationService.getAllNotifications(cursor, size, count));
+    }
+
+    @GetMapping(value = "/all", params = "format=ndjson")
+    @Operation(summary = "Stream every notification for the current user as NDJSON")
+    public ResponseEntity<StreamingResponseBody> streamAllNotifications() {
+        return ndjsonWriter.stream(notificationService::streamAllNotifications);
     }
 
     @GetMapping("/count")
@@ -2,6 +2,7 @@ package com.supermarket.supermarket.controller;
 
 import com.supermarket.supermarket.dto.payment.PaymentRequest;
 import com.supermarket.supermarket.dto.payment.PaymentResponse;
+import com.supermarket.supermarket.service.business.IdempotencyService;
 import com.supermarket.supermarket.service.business.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -22,12 +23,16 @@ import java.util.List;
 @SecurityRequirement(name = "Bearer Authentication")
 public class PaymentController {
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CASHIER')")
     @Operation(summary = "Register a payment for a sale")
-    public ResponseEntity<PaymentResponse> registerPayment(@Valid @RequestBody PaymentRequest request) {
-        PaymentResponse response = paymentService.registerPayment(request);
+    public ResponseEntity<PaymentResponse> registerPayment(
+            @Valid @RequestBody PaymentRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        PaymentResponse response = idempotencyService.execute(
+                "payments", idempotencyKey, request, PaymentResponse.class, () -> paymentService.registerPayment(request));
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(response.getId())
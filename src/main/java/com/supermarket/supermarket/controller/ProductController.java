@@ -1,7 +1,10 @@
 package com.supermarket.supermarket.controller;
 
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.product.ProductCatalogStats;
 import com.supermarket.supermarket.dto.product.ProductRequest;
 import com.supermarket.supermarket.dto.product.ProductResponse;
+import com.supermarket.supermarket.export.NdjsonWriter;
 import com.supermarket.supermarket.model.product.Product;
 import com.supermarket.supermarket.service.business.ProductService;
 import com.supermarket.supermarket.specification.ProductSpecifications;
@@ -25,11 +28,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.math.BigDecimal;
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/products")
@@ -39,6 +42,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final NdjsonWriter ndjsonWriter;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CASHIER')")
@@ -55,9 +59,18 @@ public class ProductController {
 
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CASHIER')")
-    @Operation(summary = "Get all products as a simple list (for dropdowns)")
-    public ResponseEntity<List<ProductResponse>> getAllList() {
-        return ResponseEntity.ok(productService.getAllForDropdown());
+    @Operation(summary = "Get products as a simple list (for dropdowns), one cursor page at a time")
+    public ResponseEntity<CursorPage<ProductResponse>> getAllList(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productService.getAllForDropdown(cursor, size));
+    }
+
+    @GetMapping(value = "/all", params = "format=ndjson")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CASHIER')")
+    @Operation(summary = "Stream every product as NDJSON")
+    public ResponseEntity<StreamingResponseBody> streamAllList() {
+        return ndjsonWriter.stream(productService::streamAllForDropdown);
     }
 
     @GetMapping("/{id}")
@@ -94,5 +107,19 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/catalog/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get product price catalog cache statistics - Requires ADMIN or MANAGER role")
+    public ResponseEntity<ProductCatalogStats> getCatalogStats() {
+        return ResponseEntity.ok(productService.getCatalogStats());
+    }
+
+    @PostMapping("/catalog/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild the product price catalog cache from the database - Requires ADMIN role only")
+    public ResponseEntity<ProductCatalogStats> rebuildCatalog() {
+        return ResponseEntity.ok(productService.rebuildCatalog());
+    }
+
 
 }
\ No newline at end of file
@@ -5,13 +5,20 @@ import com.supermarket.supermarket.dto.cashregister.CashRegisterFilterRequest;
 import com.supermarket.supermarket.dto.inventory.InventoryStatusResponse;
 import com.supermarket.supermarket.dto.report.CashRegisterReportResponse;
 import com.supermarket.supermarket.dto.report.ProductPerformanceDTO;
+import com.supermarket.supermarket.dto.report.ReportCacheStats;
 import com.supermarket.supermarket.dto.report.ReportFilterRequest;
 import com.supermarket.supermarket.dto.report.SalesByBranchDTO;
 import com.supermarket.supermarket.dto.report.SalesByCashierDTO;
 import com.supermarket.supermarket.dto.report.SalesByProductDTO;
 import com.supermarket.supermarket.dto.report.SalesComparisonResponse;
+import com.supermarket.supermarket.dto.report.SalesRollupStats;
 import com.supermarket.supermarket.dto.report.SalesSummaryResponse;
+import com.supermarket.supermarket.exception.InvalidOperationException;
+import com.supermarket.supermarket.export.CsvWriter;
+import com.supermarket.supermarket.export.NdjsonWriter;
+import com.supermarket.supermarket.service.business.ReportCache;
 import com.supermarket.supermarket.service.business.ReportService;
+import com.supermarket.supermarket.service.business.SalesRollupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,10 +32,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/reports")
@@ -38,6 +50,10 @@ import java.util.List;
 @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
 public class ReportController {
     private final ReportService reportService;
+    private final SalesRollupService salesRollupService;
+    private final ReportCache reportCache;
+    private final CsvWriter csvWriter;
+    private final NdjsonWriter ndjsonWriter;
 
     @GetMapping("/sales/summary")
     @Operation(summary = "Get overall sales summary with optional filters")
@@ -53,6 +69,15 @@ public class ReportController {
         return ResponseEntity.ok(reportService.getSalesByBranch(filter));
     }
 
+    @GetMapping("/sales/by-branch/export")
+    @Operation(summary = "Export sales grouped by branch as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportSalesByBranch(
+            @Valid @ModelAttribute ReportFilterRequest filter,
+            @RequestParam(defaultValue = "csv") String format) {
+        return export(format, "sales-by-branch", SalesByBranchDTO.class,
+                sink -> reportService.streamSalesByBranch(filter, sink));
+    }
+
     @GetMapping("/sales/by-product")
     @Operation(summary = "Get sales grouped by product with pagination")
     public ResponseEntity<Page<SalesByProductDTO>> getSalesByProduct(
@@ -61,6 +86,15 @@ public class ReportController {
         return ResponseEntity.ok(reportService.getSalesByProduct(filter, pageable));
     }
 
+    @GetMapping("/sales/by-product/export")
+    @Operation(summary = "Export every product's sales as CSV or NDJSON in a single pass")
+    public ResponseEntity<StreamingResponseBody> exportSalesByProduct(
+            @Valid @ModelAttribute ReportFilterRequest filter,
+            @RequestParam(defaultValue = "csv") String format) {
+        return export(format, "sales-by-product", SalesByProductDTO.class,
+                sink -> reportService.streamSalesByProduct(filter, sink));
+    }
+
     @GetMapping("/sales/by-cashier")
     @Operation(summary = "Get sales grouped by cashier")
     public ResponseEntity<List<SalesByCashierDTO>> getSalesByCashier(
@@ -68,6 +102,15 @@ public class ReportController {
         return ResponseEntity.ok(reportService.getSalesByCashier(filter));
     }
 
+    @GetMapping("/sales/by-cashier/export")
+    @Operation(summary = "Export sales grouped by cashier as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportSalesByCashier(
+            @Valid @ModelAttribute ReportFilterRequest filter,
+            @RequestParam(defaultValue = "csv") String format) {
+        return export(format, "sales-by-cashier", SalesByCashierDTO.class,
+                sink -> reportService.streamSalesByCashier(filter, sink));
+    }
+
     @GetMapping("/sales/comparison")
     @Operation(summary = "Compare current period sales against the equivalent previous period")
     public ResponseEntity<SalesComparisonResponse> getSalesComparison(
@@ -90,6 +133,15 @@ public class ReportController {
         return ResponseEntity.ok(reportService.getProductPerformance(filter, pageable));
     }
 
+    @GetMapping("/inventory/performance/export")
+    @Operation(summary = "Export every product's performance as CSV or NDJSON in a single pass")
+    public ResponseEntity<StreamingResponseBody> exportProductPerformance(
+            @Valid @ModelAttribute ReportFilterRequest filter,
+            @RequestParam(defaultValue = "csv") String format) {
+        return export(format, "product-performance", ProductPerformanceDTO.class,
+                sink -> reportService.streamProductPerformance(filter, sink));
+    }
+
     @GetMapping("/cash-registers")
     @Operation(summary = "Get cash register closure report with discrepancy detection")
     public ResponseEntity<CashRegisterReportResponse> getCashRegisterReport(
@@ -97,4 +149,43 @@ public class ReportController {
             @PageableDefault(page = 0, size = 20, sort = "closingTime", direction = Sort.Direction.DESC) Pageable pageable) {
         return ResponseEntity.ok(reportService.getCashRegisterReport(filter, pageable));
     }
+
+    @GetMapping("/cash-registers/export")
+    @Operation(summary = "Export every cash register closure as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportCashRegisterClosures(
+            @Valid @ModelAttribute CashRegisterFilterRequest filter,
+            @RequestParam(defaultValue = "csv") String format) {
+        return export(format, "cash-register-closures", CashRegisterReportResponse.ClosureDiscrepancyDTO.class,
+                sink -> reportService.streamCashRegisterClosures(filter, sink));
+    }
+
+    @GetMapping("/rollup")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get the state of the daily sales rollup - Requires ADMIN role only")
+    public ResponseEntity<SalesRollupStats> getSalesRollupStats() {
+        return ResponseEntity.ok(salesRollupService.getStats());
+    }
+
+    @PostMapping("/rollup/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild the daily sales rollup from sale history - Requires ADMIN role only")
+    public ResponseEntity<SalesRollupStats> rebuildSalesRollup() {
+        return ResponseEntity.ok(salesRollupService.rebuild());
+    }
+
+    @GetMapping("/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get report cache hit and invalidation counters - Requires ADMIN role only")
+    public ResponseEntity<ReportCacheStats> getReportCacheStats() {
+        return ResponseEntity.ok(reportCache.getStats());
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> export(String format, String name, Class<T> type,
+                                                             Consumer<Consumer<T>> source) {
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv" -> csvWriter.stream(name + ".csv", type, source);
+            case "ndjson" -> ndjsonWriter.stream(source);
+            default -> throw new InvalidOperationException("Unsupported export format: " + format);
+        };
+    }
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package com.supermarket.supermarket.controller;
 
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.dto.sale.CancelSaleRequest;
+import com.supermarket.supermarket.dto.sale.SaleBatchRequest;
+import com.supermarket.supermarket.dto.sale.SaleBatchResponse;
 import com.supermarket.supermarket.dto.sale.SaleRequest;
 import com.supermarket.supermarket.dto.sale.SaleResponse;
+import com.supermarket.supermarket.export.NdjsonWriter;
+import com.supermarket.supermarket.service.business.IdempotencyService;
+import com.supermarket.supermarket.service.business.SaleBatchService;
 import com.supermarket.supermarket.service.business.SaleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,10 +18,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/sales")
@@ -24,12 +30,25 @@ import java.util.List;
 @SecurityRequirement(name = "Bearer Authentication")
 public class SaleController {
     private final SaleService saleService;
+    private final IdempotencyService idempotencyService;
+    private final SaleBatchService saleBatchService;
+    private final NdjsonWriter ndjsonWriter;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    @Operation(summary = "Retrieve all sales - Requires ADMIN or MANAGER role")
-    public ResponseEntity<List<SaleResponse>> getAll() {
-        return ResponseEntity.ok(saleService.getAll());
+    @Operation(summary = "Retrieve sales newest first, one cursor page at a time - Requires ADMIN or MANAGER role")
+    public ResponseEntity<CursorPage<SaleResponse>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        return ResponseEntity.ok(saleService.getAll(cursor, size, count));
+    }
+
+    @GetMapping(params = "format=ndjson")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Stream every sale as NDJSON - Requires ADMIN or MANAGER role")
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ndjsonWriter.stream(saleService::streamAll);
     }
 
     @GetMapping("/{id}")
@@ -42,8 +61,11 @@ public class SaleController {
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CASHIER')")
     @Operation(summary = "Create a new sale")
-    public ResponseEntity<SaleResponse> create(@Valid @RequestBody SaleRequest request) {
-        SaleResponse created = saleService.create(request);
+    public ResponseEntity<SaleResponse> create(
+            @Valid @RequestBody SaleRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        SaleResponse created = idempotencyService.execute(
+                "sales", idempotencyKey, request, SaleResponse.class, () -> saleService.create(request));
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(created.getId())
@@ -51,6 +73,17 @@ public class SaleController {
         return ResponseEntity.created(location).body(created);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CASHIER')")
+    @Operation(summary = "Ingest a batch of sales buffered offline, reporting a result per sale")
+    public ResponseEntity<SaleBatchResponse> createBatch(
+            @Valid @RequestBody SaleBatchRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(
+                "sales-batch", idempotencyKey, request, SaleBatchResponse.class,
+                () -> saleBatchService.createBatch(request)));
+    }
+
     @PostMapping("/{id}/cancel")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Cancel a sale - Requires ADMIN or MANAGER role")
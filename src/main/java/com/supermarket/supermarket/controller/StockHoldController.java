@@ -0,0 +1,59 @@
+package com.supermarket.supermarket.controller;
+
+import com.supermarket.supermarket.dto.hold.StockHoldRequest;
+import com.supermarket.supermarket.dto.hold.StockHoldResponse;
+import com.supermarket.supermarket.service.business.StockHoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/inventory/holds")
+@RequiredArgsConstructor
+@Tag(name = "Stock Holds", description = "Temporary stock reservations for carts before checkout")
+@SecurityRequirement(name = "Bearer Authentication")
+public class StockHoldController {
+
+    private final StockHoldService stockHoldService;
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CASHIER')")
+    @Operation(summary = "Hold stock for a cart until checkout or expiry")
+    public ResponseEntity<StockHoldResponse> create(@Valid @RequestBody StockHoldRequest request) {
+        StockHoldResponse response = stockHoldService.create(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(response.getId())
+                .toUri();
+        return ResponseEntity.created(location).body(response);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CASHIER')")
+    @Operation(summary = "Get a stock hold by ID")
+    public ResponseEntity<StockHoldResponse> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(stockHoldService.getById(id));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CASHIER')")
+    @Operation(summary = "Release a stock hold and return its quantities to the branch")
+    public ResponseEntity<Void> release(@PathVariable Long id) {
+        stockHoldService.release(id);
+        return ResponseEntity.noContent().build();
+    }
+}
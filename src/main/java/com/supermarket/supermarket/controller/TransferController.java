@@ -1,8 +1,10 @@
 package com.supermarket.supermarket.controller;
 
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.dto.transfer.RejectTransferRequest;
 import com.supermarket.supermarket.dto.transfer.TransferRequest;
 import com.supermarket.supermarket.dto.transfer.TransferResponse;
+import com.supermarket.supermarket.export.NdjsonWriter;
 import com.supermarket.supermarket.service.business.TransferService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -16,7 +18,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -30,6 +34,7 @@ import java.util.List;
 public class TransferController {
 
     private final TransferService transferService;
+    private final NdjsonWriter ndjsonWriter;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CASHIER')")
@@ -45,9 +50,18 @@ public class TransferController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    @Operation(summary = "Get all transfers - Requires ADMIN or MANAGER role")
-    public ResponseEntity<List<TransferResponse>> getAllTransfers() {
-        return ResponseEntity.ok(transferService.getAllTransfers());
+    @Operation(summary = "Get transfers newest first, one cursor page at a time - Requires ADMIN or MANAGER role")
+    public ResponseEntity<CursorPage<TransferResponse>> getAllTransfers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(transferService.getAllTransfers(cursor, size));
+    }
+
+    @GetMapping(params = "format=ndjson")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Stream every transfer as NDJSON - Requires ADMIN or MANAGER role")
+    public ResponseEntity<StreamingResponseBody> streamAllTransfers() {
+        return ndjsonWriter.stream(transferService::streamAllTransfers);
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,532 @@
+package com.supermarket.supermarket.datagen;
+
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.notification.NotificationType;
+import com.supermarket.supermarket.model.sale.PaymentType;
+import com.supermarket.supermarket.model.sale.SaleStatus;
+import com.supermarket.supermarket.model.transfer.TransferStatus;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.service.business.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DatasetGenerator {
+    private static final int SEQUENCE_ALLOCATION = 50;
+    private static final int TRADING_SECONDS = 13 * 3600;
+    private static final String[] CATEGORIES = {
+            "Dairy", "Fruits and Vegetables", "Meats", "Beverages", "Bakery",
+            "Cleaning", "Frozen", "Pantry", "Snacks", "Personal Care"
+    };
+    private static final PaymentType[] PAYMENT_TYPES = {
+            PaymentType.CARD, PaymentType.CASH, PaymentType.TRANSFER, PaymentType.OTHER
+    };
+    private static final double[] PAYMENT_WEIGHTS = {0.50, 0.40, 0.08, 0.02};
+    private static final TransferStatus[] TRANSFER_STATUSES = {
+            TransferStatus.COMPLETED, TransferStatus.REJECTED, TransferStatus.PENDING,
+            TransferStatus.APPROVED, TransferStatus.CANCELLED
+    };
+    private static final double[] TRANSFER_WEIGHTS = {0.60, 0.15, 0.10, 0.10, 0.05};
+
+    private static final String BRANCH_SQL = "INSERT INTO branch (name, address) VALUES (?, ?)";
+    private static final String PRODUCT_SQL = "INSERT INTO product (name, category, price, version) VALUES (?, ?, ?, 0)";
+    private static final String USER_SQL = """
+            INSERT INTO users (username, email, password, first_name, last_name, role, active)
+            VALUES (?, ?, ?, ?, ?, ?, TRUE)
+            """;
+    private static final String INVENTORY_SQL = """
+            INSERT INTO branch_inventory (id, branch_id, product_id, stock, min_stock, last_restock_date, version)
+            VALUES (?, ?, ?, ?, ?, ?, 0)
+            """;
+    private static final String REGISTER_SQL = """
+            INSERT INTO cash_registers (branch_id, opening_balance, opening_time, closing_time, status,
+                                        opened_by_id, closed_by_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String REGISTER_CLOSING_SQL = "UPDATE cash_registers SET closing_balance = ? WHERE id = ?";
+    private static final String SALE_SQL = """
+            INSERT INTO sale (id, date, status, total, branch_id, cash_register_id, created_by_id, created_at,
+                              cancelled_by_id, cancellation_reason, cancelled_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String SALE_DETAIL_SQL = """
+            INSERT INTO sale_detail (id, quantity, price, sale_id, product_id)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+    private static final String PAYMENT_SQL = """
+            INSERT INTO payments (id, sale_id, amount, payment_type, payment_date, reference)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+    private static final String TRANSFER_SQL = """
+            INSERT INTO stock_transfers (source_branch_id, target_branch_id, product_id, quantity, status,
+                                         requested_by_id, approved_by_id, requested_at, approved_at, completed_at,
+                                         rejection_reason, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+    private static final String NOTIFICATION_SQL = """
+            INSERT INTO notifications (id, user_id, type, message, data, read, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PasswordEncoder passwordEncoder;
+    private final SalesRollupService salesRollupService;
+
+    public DatasetSummary generate(DatasetSpec spec) {
+        validate(spec);
+        long started = System.nanoTime();
+        String name = spec.resolvedName();
+        if (countBranchesNamed(name + " Branch 1") > 0) {
+            throw new IllegalStateException("A dataset named '" + name + "' already exists; pick another seed or name");
+        }
+        boolean h2 = isH2();
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        LocalDate firstDay = spec.resolvedEndDate().minusDays(spec.getDays() - 1L);
+        log.info("Generating dataset '{}' (seed {}): {} branches, {} products, {} sales over {} days from {}",
+                name, spec.getSeed(), spec.getBranches(), spec.getProducts(), spec.getSales(), spec.getDays(), firstDay);
+
+        World world = new World(spec);
+        insertBranches(spec, name, world);
+        insertProducts(spec, name, random, world);
+        int users = insertUsers(spec, name, world);
+        int inventoryRows = insertInventory(spec, random, world, firstDay, h2);
+        int registers = insertRegisters(spec, random, world, firstDay);
+        SalesTotals totals = insertSales(spec, random, world, firstDay, h2);
+        closeRegisters(spec, random, world);
+        int transfers = insertTransfers(spec, name, random, world, firstDay);
+        int notifications = insertNotifications(spec, random, world, firstDay, h2);
+        salesRollupService.rebuild();
+
+        DatasetSummary summary = DatasetSummary.builder()
+                .name(name)
+                .branches(spec.getBranches())
+                .products(spec.getProducts())
+                .users(users)
+                .cashRegisters(registers)
+                .inventoryRows(inventoryRows)
+                .sales(spec.getSales())
+                .saleDetails(totals.details)
+                .payments(totals.payments)
+                .cancelledSales(totals.cancelled)
+                .transfers(transfers)
+                .notifications(notifications)
+                .revenue(BigDecimal.valueOf(totals.revenueCents, 2))
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .build();
+        log.info("Dataset '{}' generated in {} ms: {} sales, {} sale lines, {} payments, {} transfers, {} notifications",
+                name, summary.getElapsedMillis(), summary.getSales(), summary.getSaleDetails(), summary.getPayments(),
+                summary.getTransfers(), summary.getNotifications());
+        return summary;
+    }
+
+    private void insertBranches(DatasetSpec spec, String name, World world) {
+        List<Object[]> rows = new ArrayList<>(spec.getBranches());
+        for (int b = 0; b < spec.getBranches(); b++) {
+            rows.add(new Object[]{name + " Branch " + (b + 1), (b + 1) + " " + name + " Avenue"});
+        }
+        world.branchIds = toArray(insertReturningIds(BRANCH_SQL, rows, spec.getBatchSize()));
+    }
+
+    private void insertProducts(DatasetSpec spec, String name, SplittableRandom random, World world) {
+        List<Object[]> rows = new ArrayList<>(spec.getProducts());
+        for (int p = 0; p < spec.getProducts(); p++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            double units = Math.min(50_000, 100 + Math.exp(7.2 + 0.8 * random.nextGaussian()));
+            long cents = Math.round(units * 2) * 50;
+            world.priceCents[p] = cents;
+            rows.add(new Object[]{name + " " + category + " " + (p + 1), category, BigDecimal.valueOf(cents, 2)});
+        }
+        world.productIds = toArray(insertReturningIds(PRODUCT_SQL, rows, spec.getBatchSize()));
+    }
+
+    private int insertUsers(DatasetSpec spec, String name, World world) {
+        String password = passwordEncoder.encode(spec.getPassword());
+        List<Object[]> rows = new ArrayList<>();
+        for (int b = 0; b < spec.getBranches(); b++) {
+            rows.add(userRow(name + "-manager-" + (b + 1), password, "Manager", UserRole.MANAGER));
+            for (int c = 0; c < spec.getCashiersPerBranch(); c++) {
+                rows.add(userRow(name + "-cashier-" + (b + 1) + "-" + (c + 1), password, "Cashier", UserRole.CASHIER));
+            }
+        }
+        long[] ids = toArray(insertReturningIds(USER_SQL, rows, spec.getBatchSize()));
+        int perBranch = 1 + spec.getCashiersPerBranch();
+        for (int b = 0; b < spec.getBranches(); b++) {
+            world.managerIds[b] = ids[b * perBranch];
+            world.cashierIds[b] = Arrays.copyOfRange(ids, b * perBranch + 1, (b + 1) * perBranch);
+        }
+        return ids.length;
+    }
+
+    private Object[] userRow(String username, String password, String lastName, UserRole role) {
+        return new Object[]{username, username + "@datagen.local", password, "Generated", lastName, role.name()};
+    }
+
+    private int insertInventory(DatasetSpec spec, SplittableRandom random, World world, LocalDate firstDay, boolean h2) {
+        int total = spec.getBranches() * spec.getProducts();
+        long nextId = reserveIds("branch_inventory", "branch_inventory_seq", total, h2);
+        List<Object[]> rows = new ArrayList<>(total);
+        for (int b = 0; b < spec.getBranches(); b++) {
+            for (int p = 0; p < spec.getProducts(); p++) {
+                int minStock = 5 + random.nextInt(26);
+                int stock = random.nextDouble() < 0.05 ? random.nextInt(minStock) : minStock + random.nextInt(500);
+                rows.add(new Object[]{nextId++, world.branchIds[b], world.productIds[p], stock, minStock,
+                        firstDay.atStartOfDay().plusDays(random.nextInt(spec.getDays()))});
+            }
+        }
+        batchInsert(INVENTORY_SQL, rows, spec.getBatchSize() * 5);
+        return total;
+    }
+
+    private int insertRegisters(DatasetSpec spec, SplittableRandom random, World world, LocalDate firstDay) {
+        List<Object[]> rows = new ArrayList<>(spec.getBranches() * spec.getDays());
+        for (int b = 0; b < spec.getBranches(); b++) {
+            for (int d = 0; d < spec.getDays(); d++) {
+                boolean open = d == spec.getDays() - 1;
+                LocalDateTime opening = firstDay.plusDays(d).atTime(7, 45);
+                rows.add(new Object[]{world.branchIds[b], BigDecimal.valueOf(world.openingCents), opening,
+                        open ? null : opening.plusHours(13).plusMinutes(30),
+                        (open ? CashRegisterStatus.OPEN : CashRegisterStatus.CLOSED).name(),
+                        pick(world.cashierIds[b], random), open ? null : world.managerIds[b]});
+            }
+        }
+        long[] ids = toArray(insertReturningIds(REGISTER_SQL, rows, spec.getBatchSize()));
+        for (int b = 0; b < spec.getBranches(); b++) {
+            world.registerIds[b] = Arrays.copyOfRange(ids, b * spec.getDays(), (b + 1) * spec.getDays());
+        }
+        return ids.length;
+    }
+
+    private SalesTotals insertSales(DatasetSpec spec, SplittableRandom random, World world, LocalDate firstDay,
+                                    boolean h2) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        SalesTotals totals = new SalesTotals();
+        long total = spec.getSales();
+        int days = spec.getDays();
+        long reportEvery = Math.max(1, total / 20);
+        long nextReport = reportEvery;
+        for (long from = 0; from < total; from += spec.getBatchSize()) {
+            int size = (int) Math.min(spec.getBatchSize(), total - from);
+            long saleId = reserveIds("sale", "sale_seq", size, h2);
+            List<Object[]> saleRows = new ArrayList<>(size);
+            List<Object[]> detailRows = new ArrayList<>((int) (size * spec.getMeanBasketSize()) + 16);
+            List<Object[]> paymentRows = new ArrayList<>(size);
+            Set<Integer> basket = new HashSet<>();
+            for (int i = 0; i < size; i++, saleId++) {
+                long index = from + i;
+                int day = (int) (index * days / total);
+                long dayStart = firstOfDay(day, total, days);
+                long dayCount = Math.max(1, firstOfDay(day + 1, total, days) - dayStart);
+                LocalDate date = firstDay.plusDays(day);
+                LocalDateTime createdAt = date.atTime(8, 0).plusSeconds((index - dayStart) * TRADING_SECONDS / dayCount);
+                int branch = world.branchSampler.sample(random);
+                long cashierId = pick(world.cashierIds[branch], random);
+
+                int lines = basketSize(spec, random);
+                basket.clear();
+                long saleCents = 0;
+                for (int line = 0; line < lines; line++) {
+                    int product = world.productSampler.sample(random);
+                    if (!basket.add(product)) {
+                        continue;
+                    }
+                    int quantity = quantity(random);
+                    saleCents += world.priceCents[product] * quantity;
+                    detailRows.add(new Object[]{null, quantity, BigDecimal.valueOf(world.priceCents[product], 2),
+                            saleId, world.productIds[product]});
+                }
+                boolean cancelled = random.nextDouble() < spec.getCancelledRatio();
+                saleRows.add(new Object[]{saleId, date,
+                        (cancelled ? SaleStatus.CANCELLED : SaleStatus.REGISTERED).name(),
+                        BigDecimal.valueOf(saleCents, 2), world.branchIds[branch], world.registerIds[branch][day],
+                        cashierId, createdAt,
+                        cancelled ? world.managerIds[branch] : null,
+                        cancelled ? "Generated cancellation" : null,
+                        cancelled ? createdAt.plusMinutes(5 + random.nextInt(55)) : null});
+                if (cancelled) {
+                    totals.cancelled++;
+                    continue;
+                }
+                totals.revenueCents += saleCents;
+                PaymentType type = PAYMENT_TYPES[weighted(PAYMENT_WEIGHTS, random)];
+                if (type == PaymentType.CASH) {
+                    world.cashCents[branch][day] += saleCents;
+                }
+                paymentRows.add(new Object[]{null, saleId, BigDecimal.valueOf(saleCents, 2), type.name(), createdAt,
+                        type == PaymentType.CASH ? null : "GEN-" + saleId});
+            }
+            assignIds(detailRows, reserveIds("sale_detail", "sale_detail_seq", detailRows.size(), h2));
+            assignIds(paymentRows, reserveIds("payments", "payments_seq", paymentRows.size(), h2));
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(SALE_SQL, saleRows);
+                jdbcTemplate.batchUpdate(SALE_DETAIL_SQL, detailRows);
+                jdbcTemplate.batchUpdate(PAYMENT_SQL, paymentRows);
+            });
+            totals.details += detailRows.size();
+            totals.payments += paymentRows.size();
+            if (from + size >= nextReport) {
+                log.info("Generated {}/{} sales ({} sale lines)", from + size, total, totals.details);
+                nextReport += reportEvery;
+            }
+        }
+        return totals;
+    }
+
+    private void closeRegisters(DatasetSpec spec, SplittableRandom random, World world) {
+        List<Object[]> rows = new ArrayList<>(spec.getBranches() * spec.getDays());
+        for (int b = 0; b < spec.getBranches(); b++) {
+            for (int d = 0; d < spec.getDays() - 1; d++) {
+                long closing = world.openingCents * 100 + world.cashCents[b][d];
+                if (random.nextDouble() < 0.03) {
+                    closing += (random.nextBoolean() ? 1 : -1) * (500 + random.nextInt(20_000));
+                }
+                rows.add(new Object[]{BigDecimal.valueOf(closing, 2), world.registerIds[b][d]});
+            }
+        }
+        batchInsert(REGISTER_CLOSING_SQL, rows, spec.getBatchSize() * 5);
+    }
+
+    private int insertTransfers(DatasetSpec spec, String name, SplittableRandom random, World world,
+                                LocalDate firstDay) {
+        if (spec.getBranches() < 2 || spec.getTransfers() == 0) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(spec.getTransfers());
+        for (int t = 0; t < spec.getTransfers(); t++) {
+            int source = random.nextInt(spec.getBranches());
+            int target = (source + 1 + random.nextInt(spec.getBranches() - 1)) % spec.getBranches();
+            TransferStatus status = TRANSFER_STATUSES[weighted(TRANSFER_WEIGHTS, random)];
+            LocalDateTime requestedAt = randomInstant(firstDay, spec.getDays(), random);
+            boolean reviewed = status != TransferStatus.PENDING && status != TransferStatus.CANCELLED;
+            LocalDateTime approvedAt = reviewed ? requestedAt.plusMinutes(10 + random.nextInt(600)) : null;
+            rows.add(new Object[]{world.branchIds[source], world.branchIds[target],
+                    world.productIds[world.productSampler.sample(random)], 1 + random.nextInt(50), status.name(),
+                    world.managerIds[source], reviewed ? world.managerIds[target] : null, requestedAt,
+                    status == TransferStatus.REJECTED ? null : approvedAt,
+                    status == TransferStatus.COMPLETED ? approvedAt.plusHours(1 + random.nextInt(48)) : null,
+                    status == TransferStatus.REJECTED ? "Generated rejection for " + name : null});
+        }
+        batchInsert(TRANSFER_SQL, rows, spec.getBatchSize() * 5);
+        return rows.size();
+    }
+
+    private int insertNotifications(DatasetSpec spec, SplittableRandom random, World world, LocalDate firstDay,
+                                    boolean h2) {
+        if (spec.getNotifications() == 0) {
+            return 0;
+        }
+        NotificationType[] types = NotificationType.values();
+        long nextId = reserveIds("notifications", "notifications_seq", spec.getNotifications(), h2);
+        List<Object[]> rows = new ArrayList<>(spec.getNotifications());
+        for (int n = 0; n < spec.getNotifications(); n++) {
+            NotificationType type = types[random.nextInt(types.length)];
+            int branch = random.nextInt(spec.getBranches());
+            rows.add(new Object[]{nextId++, world.managerIds[branch], type.name(),
+                    "Generated " + type.name().toLowerCase().replace('_', ' ') + " notification",
+                    null, random.nextDouble() < 0.6, randomInstant(firstDay, spec.getDays(), random)});
+        }
+        batchInsert(NOTIFICATION_SQL, rows, spec.getBatchSize() * 5);
+        return rows.size();
+    }
+
+    private long reserveIds(String table, String sequence, long count, boolean h2) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long start = Math.max(maxId == null ? 0 : maxId, currentSequenceValue(sequence, h2)) + 1;
+        long next = start + count + SEQUENCE_ALLOCATION;
+        if (h2) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+        } else {
+            jdbcTemplate.update("UPDATE " + sequence + " SET next_val = GREATEST(next_val, ?)", next);
+        }
+        return start;
+    }
+
+    private long currentSequenceValue(String sequence, boolean h2) {
+        Long value = h2
+                ? jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = UPPER(?)",
+                Long.class, sequence)
+                : jdbcTemplate.queryForObject("SELECT COALESCE(MAX(next_val), 0) FROM " + sequence, Long.class);
+        return value == null ? 0 : value;
+    }
+
+    private List<Long> insertReturningIds(String sql, List<Object[]> rows, int batchSize) {
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> generated = new ArrayList<>(rows.size());
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    for (Object[] row : rows.subList(from, Math.min(rows.size(), from + batchSize))) {
+                        for (int i = 0; i < row.length; i++) {
+                            StatementCreatorUtils.setParameterValue(statement, i + 1, SqlTypeValue.TYPE_UNKNOWN, row[i]);
+                        }
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            generated.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return generated;
+        });
+        if (ids == null || ids.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " generated keys but got "
+                    + (ids == null ? 0 : ids.size()));
+        }
+        return ids;
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows, int batchSize) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Object[]> chunk = rows.subList(from, Math.min(rows.size(), from + batchSize));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, chunk));
+        }
+    }
+
+    private int countBranchesNamed(String name) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM branch WHERE name = ?", Integer.class, name);
+        return count == null ? 0 : count;
+    }
+
+    private boolean isH2() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toUpperCase().contains("H2");
+    }
+
+    private static void validate(DatasetSpec spec) {
+        if (spec.getBranches() < 1 || spec.getProducts() < 1 || spec.getCashiersPerBranch() < 1 || spec.getDays() < 1) {
+            throw new IllegalArgumentException("Dataset needs at least one branch, product, cashier per branch and day");
+        }
+        if (spec.getSales() < 0 || spec.getTransfers() < 0 || spec.getNotifications() < 0 || spec.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Dataset volumes must be non-negative and batch size positive");
+        }
+        if (spec.getMeanBasketSize() < 1 || spec.getMaxBasketSize() < 1) {
+            throw new IllegalArgumentException("Basket sizes must be at least 1");
+        }
+    }
+
+    private static long firstOfDay(int day, long total, int days) {
+        return (day * total + days - 1) / days;
+    }
+
+    private static int basketSize(DatasetSpec spec, SplittableRandom random) {
+        double p = 1.0 / spec.getMeanBasketSize();
+        int extra = p >= 1.0 ? 0 : (int) Math.floor(Math.log(1.0 - random.nextDouble()) / Math.log(1.0 - p));
+        return Math.min(spec.getMaxBasketSize(), 1 + extra);
+    }
+
+    private static int quantity(SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (roll < 0.7) {
+            return 1;
+        }
+        return roll < 0.9 ? 2 : 3 + random.nextInt(4);
+    }
+
+    private static int weighted(double[] weights, SplittableRandom random) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < weights.length - 1; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static long pick(long[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static LocalDateTime randomInstant(LocalDate firstDay, int days, SplittableRandom random) {
+        return firstDay.plusDays(random.nextInt(days)).atTime(8, 0).plusSeconds(random.nextInt(TRADING_SECONDS));
+    }
+
+    private static void assignIds(List<Object[]> rows, long firstId) {
+        long id = firstId;
+        for (Object[] row : rows) {
+            row[0] = id++;
+        }
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static class World {
+        private final long openingCents = 10_000L;
+        private long[] branchIds;
+        private long[] productIds;
+        private final long[] priceCents;
+        private final long[] managerIds;
+        private final long[][] cashierIds;
+        private final long[][] registerIds;
+        private final long[][] cashCents;
+        private final ZipfSampler branchSampler;
+        private final ZipfSampler productSampler;
+
+        World(DatasetSpec spec) {
+            priceCents = new long[spec.getProducts()];
+            managerIds = new long[spec.getBranches()];
+            cashierIds = new long[spec.getBranches()][];
+            registerIds = new long[spec.getBranches()][];
+            cashCents = new long[spec.getBranches()][spec.getDays()];
+            branchSampler = new ZipfSampler(spec.getBranches(), 0.6);
+            productSampler = new ZipfSampler(spec.getProducts(), 1.0);
+        }
+    }
+
+    private static class ZipfSampler {
+        private final double[] cumulative;
+
+        ZipfSampler(int size, double exponent) {
+            cumulative = new double[size];
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += 1.0 / Math.pow(i + 1, exponent);
+                cumulative[i] = sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int index = Arrays.binarySearch(cumulative, target);
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+
+    private static class SalesTotals {
+        private long details;
+        private long payments;
+        private long cancelled;
+        private long revenueCents;
+    }
+}
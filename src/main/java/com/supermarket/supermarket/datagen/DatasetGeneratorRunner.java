@@ -0,0 +1,82 @@
+package com.supermarket.supermarket.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+@Slf4j
+public class DatasetGeneratorRunner implements ApplicationRunner {
+    private final DatasetGenerator datasetGenerator;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+    @Value("${datagen.name:}")
+    private String name;
+    @Value("${datagen.branches:20}")
+    private int branches;
+    @Value("${datagen.products:2000}")
+    private int products;
+    @Value("${datagen.cashiers-per-branch:6}")
+    private int cashiersPerBranch;
+    @Value("${datagen.days:365}")
+    private int days;
+    @Value("${datagen.end-date:}")
+    private String endDate;
+    @Value("${datagen.sales:100000}")
+    private int sales;
+    @Value("${datagen.mean-basket-size:10}")
+    private double meanBasketSize;
+    @Value("${datagen.max-basket-size:60}")
+    private int maxBasketSize;
+    @Value("${datagen.cancelled-ratio:0.02}")
+    private double cancelledRatio;
+    @Value("${datagen.transfers:5000}")
+    private int transfers;
+    @Value("${datagen.notifications:20000}")
+    private int notifications;
+    @Value("${datagen.batch-size:2000}")
+    private int batchSize;
+    @Value("${datagen.password:datagen123}")
+    private String password;
+    @Value("${datagen.exit-on-finish:true}")
+    private boolean exitOnFinish;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        DatasetSummary summary = datasetGenerator.generate(DatasetSpec.builder()
+                .seed(seed)
+                .name(name)
+                .branches(branches)
+                .products(products)
+                .cashiersPerBranch(cashiersPerBranch)
+                .days(days)
+                .endDate(endDate.isBlank() ? null : LocalDate.parse(endDate))
+                .sales(sales)
+                .meanBasketSize(meanBasketSize)
+                .maxBasketSize(maxBasketSize)
+                .cancelledRatio(cancelledRatio)
+                .transfers(transfers)
+                .notifications(notifications)
+                .batchSize(batchSize)
+                .password(password)
+                .build());
+        log.info("Dataset '{}': {} users, {} cash registers, {} inventory rows, {} cancelled sales, revenue {}",
+                summary.getName(), summary.getUsers(), summary.getCashRegisters(), summary.getInventoryRows(),
+                summary.getCancelledSales(), summary.getRevenue());
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.supermarket.supermarket.datagen;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@Builder
+public class DatasetSpec {
+    @Builder.Default
+    private long seed = 42L;
+    private String name;
+    @Builder.Default
+    private int branches = 20;
+    @Builder.Default
+    private int products = 2_000;
+    @Builder.Default
+    private int cashiersPerBranch = 6;
+    @Builder.Default
+    private int days = 365;
+    private LocalDate endDate;
+    @Builder.Default
+    private int sales = 100_000;
+    @Builder.Default
+    private double meanBasketSize = 10.0;
+    @Builder.Default
+    private int maxBasketSize = 60;
+    @Builder.Default
+    private double cancelledRatio = 0.02;
+    @Builder.Default
+    private int transfers = 5_000;
+    @Builder.Default
+    private int notifications = 20_000;
+    @Builder.Default
+    private int batchSize = 2_000;
+    @Builder.Default
+    private String password = "datagen123";
+
+    public String resolvedName() {
+        return name != null && !name.isBlank() ? name : "gen" + seed;
+    }
+
+    public LocalDate resolvedEndDate() {
+        return endDate != null ? endDate : LocalDate.now();
+    }
+}
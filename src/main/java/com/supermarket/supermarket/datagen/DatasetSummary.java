@@ -0,0 +1,25 @@
+package com.supermarket.supermarket.datagen;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Builder
+public class DatasetSummary {
+    private String name;
+    private int branches;
+    private int products;
+    private int users;
+    private int cashRegisters;
+    private int inventoryRows;
+    private long sales;
+    private long saleDetails;
+    private long payments;
+    private long cancelledSales;
+    private int transfers;
+    private int notifications;
+    private BigDecimal revenue;
+    private long elapsedMillis;
+}
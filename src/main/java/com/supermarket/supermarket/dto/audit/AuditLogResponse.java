@@ -0,0 +1,27 @@
+package com.supermarket.supermarket.dto.audit;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.supermarket.supermarket.model.audit.AuditStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogResponse {
+    private Long id;
+    private String username;
+    private String action;
+    private String details;
+    private String ipAddress;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime timestamp;
+    private AuditStatus status;
+}
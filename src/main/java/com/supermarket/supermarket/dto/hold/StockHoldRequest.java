@@ -0,0 +1,28 @@
+package com.supermarket.supermarket.dto.hold;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHoldRequest {
+
+    @NotNull(message = "Branch ID is required")
+    private Long branchId;
+
+    @Valid
+    @NotNull(message = "Hold items are required")
+    @Size(min = 1, message = "Must contain at least one item")
+    private List<StockHoldItem> items;
+}
@@ -0,0 +1,26 @@
+package com.supermarket.supermarket.dto.hold;
+
+import com.supermarket.supermarket.model.hold.HoldStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHoldResponse {
+    private Long id;
+    private Long branchId;
+    private HoldStatus status;
+    private List<StockHoldItem> items;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime resolvedAt;
+}
@@ -0,0 +1,19 @@
+package com.supermarket.supermarket.dto.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    private boolean completed;
+    private String fingerprint;
+    private String response;
+    private String owner;
+}
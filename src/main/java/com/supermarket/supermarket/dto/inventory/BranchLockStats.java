@@ -0,0 +1,23 @@
+package com.supermarket.supermarket.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchLockStats {
+    private boolean enabled;
+    private int stripes;
+    private long acquisitions;
+    private long contended;
+    private long timeouts;
+    private long totalWaitMillis;
+    private long averageWaitMicros;
+    private long maxWaitMillis;
+}
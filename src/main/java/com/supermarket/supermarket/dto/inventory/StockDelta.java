@@ -0,0 +1,20 @@
+package com.supermarket.supermarket.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class StockDelta {
+    private final Long branchId;
+    private final Long productId;
+    private final Integer delta;
+
+    public StockDelta negate() {
+        return new StockDelta(branchId, productId, -delta);
+    }
+}
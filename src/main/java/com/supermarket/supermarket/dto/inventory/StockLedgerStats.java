@@ -0,0 +1,24 @@
+package com.supermarket.supermarket.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLedgerStats {
+    private int entries;
+    private int pendingDeltas;
+    private long lastSequence;
+    private long checkpointSequence;
+    private long reservations;
+    private long rejections;
+    private long flushes;
+    private long flushFailures;
+    private long rowsFlushed;
+}
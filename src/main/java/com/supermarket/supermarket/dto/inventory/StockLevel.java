@@ -0,0 +1,22 @@
+package com.supermarket.supermarket.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevel {
+    private Long productId;
+    private Integer stock;
+    private Integer minStock;
+
+    public boolean isLow() {
+        return stock != null && minStock != null && stock <= minStock;
+    }
+}
@@ -0,0 +1,58 @@
+package com.supermarket.supermarket.dto.pagination;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.supermarket.supermarket.exception.InvalidOperationException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    private List<T> items;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long total;
+
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    public static Long idCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new InvalidOperationException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, T> mapper, Function<E, Object> cursor) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .items(page.stream().map(mapper).toList())
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? String.valueOf(cursor.apply(page.get(page.size() - 1))) : null)
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.supermarket.supermarket.dto.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageSnapshot<T> {
+    private List<T> content;
+    private long totalElements;
+
+    public static <T> PageSnapshot<T> of(Page<T> page) {
+        return new PageSnapshot<>(page.getContent(), page.getTotalElements());
+    }
+
+    public Page<T> toPage(Pageable pageable) {
+        return new PageImpl<>(content, pageable, totalElements);
+    }
+}
@@ -0,0 +1,25 @@
+package com.supermarket.supermarket.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCatalogStats {
+    private int size;
+    private long hits;
+    private long misses;
+    private int staleEntries;
+    private long staleEntriesTotal;
+    private Long secondsSinceVerification;
+    private LocalDateTime lastVerifiedAt;
+    private LocalDateTime lastRebuiltAt;
+}
@@ -0,0 +1,43 @@
+package com.supermarket.supermarket.dto.product;
+
+import com.supermarket.supermarket.model.product.Product;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ProductSnapshot {
+    private final Long id;
+    private final String name;
+    private final String category;
+    private final BigDecimal price;
+    private final Long version;
+
+    public static ProductSnapshot of(Product product) {
+        return new ProductSnapshot(product.getId(), product.getName(), product.getCategory(),
+                product.getPrice(), product.getVersion());
+    }
+
+    public boolean isNewerThan(ProductSnapshot other) {
+        if (other == null || other.version == null) {
+            return true;
+        }
+        return version != null && version > other.version;
+    }
+
+    public Product toProduct() {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .category(category)
+                .price(price)
+                .version(version)
+                .build();
+    }
+}
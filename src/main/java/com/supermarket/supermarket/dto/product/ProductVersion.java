@@ -0,0 +1,11 @@
+package com.supermarket.supermarket.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductVersion {
+    private final Long id;
+    private final Long version;
+}
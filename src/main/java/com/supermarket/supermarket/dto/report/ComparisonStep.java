@@ -0,0 +1,8 @@
+package com.supermarket.supermarket.dto.report;
+
+public enum ComparisonStep {
+    PERIOD,
+    WEEK,
+    MONTH,
+    YEAR
+}
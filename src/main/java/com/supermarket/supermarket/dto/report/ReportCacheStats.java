@@ -0,0 +1,22 @@
+package com.supermarket.supermarket.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportCacheStats {
+    private boolean enabled;
+    private boolean redisEnabled;
+    private long size;
+    private long hits;
+    private long redisHits;
+    private long misses;
+    private long invalidations;
+}
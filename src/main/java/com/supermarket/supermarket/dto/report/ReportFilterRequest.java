@@ -1,5 +1,7 @@
 package com.supermarket.supermarket.dto.report;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.PastOrPresent;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,4 +24,8 @@ public class ReportFilterRequest {
     private Long branchId;
     private Long cashierId;
     private Long productId;
+    @Min(value = 1, message = "At least one comparison period is required")
+    @Max(value = 52, message = "At most 52 comparison periods are allowed")
+    private Integer comparisonPeriods;
+    private ComparisonStep comparisonStep;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.supermarket.supermarket.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportPeriod {
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
@@ -8,6 +8,7 @@ import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 @Getter
 @Setter
@@ -18,6 +19,7 @@ public class SalesComparisonResponse {
     private PeriodSummary currentPeriod;
     private PeriodSummary previousPeriod;
     private BigDecimal growthPercentage;
+    private List<PeriodSummary> periods;
 
     @Getter
     @Setter
@@ -30,5 +32,6 @@ public class SalesComparisonResponse {
         private BigDecimal totalRevenue;
         private Long transactionCount;
         private BigDecimal averageTicket;
+        private BigDecimal growthPercentage;
     }
 }
\ No newline at end of file
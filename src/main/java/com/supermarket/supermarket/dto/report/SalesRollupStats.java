@@ -0,0 +1,25 @@
+package com.supermarket.supermarket.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupStats {
+    private boolean enabled;
+    private boolean available;
+    private boolean rebuilding;
+    private long rows;
+    private long productRows;
+    private Integer lastRebuildRows;
+    private Long lastRebuildMillis;
+    private LocalDateTime lastRebuiltAt;
+}
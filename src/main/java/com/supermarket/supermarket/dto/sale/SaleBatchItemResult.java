@@ -0,0 +1,29 @@
+package com.supermarket.supermarket.dto.sale;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SaleBatchItemResult {
+    private int index;
+    private SaleBatchItemStatus status;
+    private SaleResponse sale;
+    private String error;
+
+    public static SaleBatchItemResult created(int index, SaleResponse sale) {
+        return new SaleBatchItemResult(index, SaleBatchItemStatus.CREATED, sale, null);
+    }
+
+    public static SaleBatchItemResult rejected(int index, String error) {
+        return new SaleBatchItemResult(index, SaleBatchItemStatus.REJECTED, null, error);
+    }
+}
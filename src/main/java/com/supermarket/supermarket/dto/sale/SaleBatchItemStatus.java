@@ -0,0 +1,6 @@
+package com.supermarket.supermarket.dto.sale;
+
+public enum SaleBatchItemStatus {
+    CREATED,
+    REJECTED
+}
@@ -0,0 +1,22 @@
+package com.supermarket.supermarket.dto.sale;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleBatchRequest {
+    @NotEmpty(message = "Batch must contain at least one sale")
+    @Size(max = 1000, message = "Batch cannot contain more than 1000 sales")
+    private List<SaleRequest> sales;
+}
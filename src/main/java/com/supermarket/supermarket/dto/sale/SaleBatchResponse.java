@@ -0,0 +1,21 @@
+package com.supermarket.supermarket.dto.sale;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleBatchResponse {
+    private int total;
+    private int created;
+    private int rejected;
+    private List<SaleBatchItemResult> results;
+}
@@ -34,4 +34,6 @@ public class SaleRequest {
     @NotNull(message = "Sale details are required")
     @Size(min = 1, message = "Must contain at least one sale detail")
     private List<SaleDetailRequest> details;
+
+    private Long holdId;
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.supermarket.supermarket.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class NotificationRecipient {
+    private final Long userId;
+    private final String email;
+}
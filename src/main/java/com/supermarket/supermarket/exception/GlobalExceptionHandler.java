@@ -5,8 +5,11 @@ import com.supermarket.supermarket.dto.error.ErrorResponse;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -23,8 +26,10 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
+    private final BusinessMetrics businessMetrics;
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
@@ -118,6 +123,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(InsufficientStockException.class)
     public ResponseEntity<ErrorResponse> handleInsufficientStock(InsufficientStockException ex) {
         log.warn("Inventory conflict: {}", ex.getMessage());
+        businessMetrics.stockRejected("api");
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
                 .body(ErrorResponse.of(HttpStatus.BAD_REQUEST, "Inventory Conflict", ex.getMessage()));
@@ -139,15 +145,44 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.of(HttpStatus.CONFLICT, "Conflict", ex.getMessage()));
     }
 
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        log.warn("Idempotency conflict: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(HttpStatus.CONFLICT, "Idempotency Conflict", ex.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyStoreUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyStoreUnavailable(IdempotencyStoreUnavailableException ex) {
+        log.warn("Idempotency store unavailable: {}", ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage());
+        String retryAfter = String.valueOf(ex.getRetryAfterSeconds());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", retryAfter)
+                .body(ErrorResponse.of(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+                        ex.getMessage(), retryAfter));
+    }
+
     @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
     public ResponseEntity<ErrorResponse> handleConcurrencyError(ObjectOptimisticLockingFailureException ex) {
         log.warn("Concurrency conflict: {}", ex.getMessage());
+        businessMetrics.optimisticLockConflict();
         return ResponseEntity
                 .status(HttpStatus.CONFLICT)
                 .body(ErrorResponse.of(HttpStatus.CONFLICT, "Concurrency Conflict",
                         "The resource was modified by another process. Please refresh and try again."));
     }
 
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleLockTimeout(PessimisticLockingFailureException ex) {
+        log.warn("Lock acquisition failed: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(HttpStatus.CONFLICT, "Concurrency Conflict",
+                        "The resource is busy. Please try again."));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrity(DataIntegrityViolationException ex) {
         log.error("Database integrity error: {}", ex.getMessage());
@@ -181,6 +216,16 @@ public class GlobalExceptionHandler {
                         "Temporary error in rate limiting service. Please try again later."));
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        log.warn("Password hashing saturated: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(ErrorResponse.of(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+                        ex.getMessage(), "1"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleAllExceptions(Exception ex) {
         log.error("Unexpected error occurred: ", ex);
@@ -0,0 +1,13 @@
+package com.supermarket.supermarket.exception;
+
+import lombok.Getter;
+
+@Getter
+public class IdempotencyStoreUnavailableException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public IdempotencyStoreUnavailableException(long retryAfterSeconds, Throwable cause) {
+        super("Idempotency store is unavailable. Retry in " + retryAfterSeconds + " seconds", cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
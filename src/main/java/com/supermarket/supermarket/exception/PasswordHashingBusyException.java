@@ -0,0 +1,7 @@
+package com.supermarket.supermarket.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,116 @@
+package com.supermarket.supermarket.export;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+public class CsvWriter {
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final int FLUSH_EVERY = 200;
+    private static final String LINE_END = "\r\n";
+
+    private final ObjectMapper objectMapper;
+
+    public <T> ResponseEntity<StreamingResponseBody> stream(String filename, Class<T> type, Consumer<Consumer<T>> source) {
+        List<String> columns = columns(type);
+        StreamingResponseBody body = out -> {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                writer.write(String.join(",", columns));
+                writer.write(LINE_END);
+                int[] written = {0};
+                source.accept(item -> write(writer, columns, item, ++written[0]));
+                writer.flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private List<String> columns(Class<?> type) {
+        return objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type))
+                .findProperties()
+                .stream()
+                .map(BeanPropertyDefinition::getName)
+                .toList();
+    }
+
+    private void write(Writer writer, List<String> columns, Object item, int written) {
+        try {
+            Map<String, String> cells = cells(item);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(cells.getOrDefault(columns.get(i), ""));
+            }
+            writer.write(LINE_END);
+            if (written % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, String> cells(Object item) throws IOException {
+        Map<String, String> cells = new HashMap<>();
+        try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            objectMapper.writeValue(buffer, item);
+            try (JsonParser parser = buffer.asParser()) {
+                parser.nextToken();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    cells.put(name, cell(parser, parser.nextToken()));
+                    parser.skipChildren();
+                }
+            }
+        }
+        return cells;
+    }
+
+    private String cell(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NULL, START_OBJECT, START_ARRAY -> "";
+            case VALUE_NUMBER_FLOAT -> parser.getDecimalValue().toPlainString();
+            case VALUE_STRING -> escape(parser.getText());
+            default -> parser.getText();
+        };
+    }
+
+    private String escape(String text) {
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,26 @@
+package com.supermarket.supermarket.export;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class EntityStreamer {
+    public static final String FETCH_SIZE = "500";
+
+    private final EntityManager entityManager;
+
+    public <E, T> void forEach(Stream<E> rows, Function<E, T> mapper, Consumer<T> sink) {
+        try (rows) {
+            rows.forEach(row -> {
+                sink.accept(mapper.apply(row));
+                entityManager.detach(row);
+            });
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.supermarket.supermarket.service.security.JwtService;
 import com.supermarket.supermarket.service.security.TokenBlacklistService;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,11 +28,13 @@ import java.util.Map;
 @Component
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
+    private static final String AUTHENTICATION_TIMER = "supermarket.security.jwt.authentication";
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -46,9 +50,11 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         final String jwtToken = authorizationHeader.substring(7);
+        Timer.Sample sample = Timer.start(meterRegistry);
 
         try {
             if (tokenBlacklistService.isBlacklisted(jwtToken)) {
+                stop(sample, "blacklisted");
                 writeErrorResponse(response, "Token invalidated via logout");
                 return;
             }
@@ -66,16 +72,23 @@ public class JwtFilter extends OncePerRequestFilter {
                 }
             }
         } catch (ExpiredJwtException e) {
+            stop(sample, "expired");
             writeErrorResponse(response, "Token expired");
             return;
         } catch (Exception e) {
+            stop(sample, "invalid");
             writeErrorResponse(response, "Invalid token");
             return;
         }
 
+        stop(sample, SecurityContextHolder.getContext().getAuthentication() != null ? "authenticated" : "unauthenticated");
         filterChain.doFilter(request, response);
     }
 
+    private void stop(Timer.Sample sample, String outcome) {
+        sample.stop(meterRegistry.timer(AUTHENTICATION_TIMER, "outcome", outcome));
+    }
+
     private void writeErrorResponse(HttpServletResponse response, String message) throws IOException {
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
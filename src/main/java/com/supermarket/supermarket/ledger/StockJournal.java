@@ -0,0 +1,208 @@
+package com.supermarket.supermarket.ledger;
+
+import com.supermarket.supermarket.dto.inventory.StockDelta;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+@Slf4j
+public class StockJournal implements Closeable {
+    private static final String SEGMENT_PREFIX = "stock-journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final boolean sync;
+    private final List<Path> closedSegments = new ArrayList<>();
+    private FileChannel channel;
+    private Path segment;
+    @Getter
+    private long lastSequence;
+
+    public StockJournal(Path directory, boolean sync) {
+        this.directory = directory;
+        this.sync = sync;
+    }
+
+    public List<Entry> recover(long checkpoint) {
+        List<Entry> unflushed = new ArrayList<>();
+        long maxSequence = checkpoint;
+        try {
+            Files.createDirectories(directory);
+            for (Path segment : listSegments()) {
+                maxSequence = Math.max(maxSequence, readSegment(segment, checkpoint, unflushed));
+                closedSegments.add(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover stock journal from " + directory, e);
+        }
+        lastSequence = maxSequence;
+        openSegment();
+        return unflushed;
+    }
+
+    public long append(String transactionId, List<StockDelta> deltas) {
+        long sequence = lastSequence + 1;
+        ByteBuffer record = ByteBuffer.wrap(encode(sequence, transactionId, deltas).getBytes(StandardCharsets.UTF_8));
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to stock journal", e);
+        }
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    public List<Path> rotate() {
+        closeChannel();
+        openSegment();
+        return List.copyOf(closedSegments);
+    }
+
+    public void discard(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+                closedSegments.remove(segment);
+            } catch (IOException e) {
+                log.warn("Could not delete flushed stock journal segment {}: {}", segment, e.getMessage());
+            }
+        }
+    }
+
+    public List<Path> getClosedSegments() {
+        return List.copyOf(closedSegments);
+    }
+
+    @Override
+    public void close() {
+        closeChannel();
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private long readSegment(Path segment, long checkpoint, List<Entry> unflushed) throws IOException {
+        long maxSequence = 0;
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                JournalRecord record = decode(line);
+                if (record == null) {
+                    log.warn("Ignoring torn stock journal record at {}:{}", segment.getFileName(), lineNumber);
+                    break;
+                }
+                maxSequence = Math.max(maxSequence, record.sequence());
+                if (record.sequence() > checkpoint) {
+                    unflushed.add(new Entry(record.transactionId(), record.deltas()));
+                }
+            }
+        }
+        return maxSequence;
+    }
+
+    private void openSegment() {
+        Path next;
+        int attempt = 0;
+        do {
+            next = directory.resolve(String.format("%s%020d-%03d%s",
+                    SEGMENT_PREFIX, lastSequence + 1, attempt++, SEGMENT_SUFFIX));
+        } while (Files.exists(next));
+        try {
+            channel = FileChannel.open(next, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open stock journal segment " + next, e);
+        }
+        segment = next;
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Could not close stock journal segment {}: {}", segment, e.getMessage());
+        }
+        channel = null;
+        closedSegments.add(segment);
+    }
+
+    private static String encode(long sequence, String transactionId, List<StockDelta> deltas) {
+        String header = transactionId == null ? String.valueOf(sequence) : sequence + "@" + transactionId;
+        String body = header + ";" + deltas.stream()
+                .map(d -> d.getBranchId() + "," + d.getProductId() + "," + d.getDelta())
+                .collect(Collectors.joining(";"));
+        return body + "#" + checksum(body) + "\n";
+    }
+
+    private static JournalRecord decode(String line) {
+        int hash = line.lastIndexOf('#');
+        if (hash < 0) {
+            return null;
+        }
+        String body = line.substring(0, hash);
+        try {
+            if (Long.parseLong(line.substring(hash + 1)) != checksum(body)) {
+                return null;
+            }
+            String[] parts = body.split(";");
+            List<StockDelta> deltas = new ArrayList<>(parts.length - 1);
+            for (int i = 1; i < parts.length; i++) {
+                String[] fields = parts[i].split(",");
+                deltas.add(new StockDelta(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                        Integer.parseInt(fields[2])));
+            }
+            int at = parts[0].indexOf('@');
+            if (at < 0) {
+                return new JournalRecord(Long.parseLong(parts[0]), null, deltas);
+            }
+            return new JournalRecord(Long.parseLong(parts[0].substring(0, at)), parts[0].substring(at + 1), deltas);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long checksum(String body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    public record Entry(String transactionId, List<StockDelta> deltas) {
+    }
+
+    private record JournalRecord(long sequence, String transactionId, List<StockDelta> deltas) {
+    }
+}
@@ -0,0 +1,546 @@
+package com.supermarket.supermarket.ledger;
+
+import com.supermarket.supermarket.dto.inventory.StockDelta;
+import com.supermarket.supermarket.dto.inventory.StockLedgerStats;
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.model.branch.StockLedgerCheckpoint;
+import com.supermarket.supermarket.model.branch.StockLedgerLease;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.StockLedgerCheckpointRepository;
+import com.supermarket.supermarket.repository.StockLedgerCommitRepository;
+import com.supermarket.supermarket.repository.StockLedgerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "ledger")
+@Slf4j
+public class StockLedger implements SmartInitializingSingleton, DisposableBean {
+    private static final long CHECKPOINT_ID = 1L;
+    private static final long LEASE_ID = 1L;
+    private static final int COMMIT_BATCH_SIZE = 1000;
+
+    private final BranchInventoryRepository branchInventoryRepository;
+    private final StockLedgerCheckpointRepository checkpointRepository;
+    private final StockLedgerCommitRepository commitRepository;
+    private final StockLedgerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockJournal journal;
+    private final boolean preload;
+    private final Duration leaseTtl;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    private final ConcurrentHashMap<StockKey, Slot> slots = new ConcurrentHashMap<>();
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong reservations = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong rowsFlushed = new AtomicLong();
+    private Map<StockKey, Integer> pending = new HashMap<>();
+    private Set<String> pendingTransactions = new HashSet<>();
+    private volatile long checkpointSequence;
+    private volatile boolean ready;
+    private volatile boolean leaseLost;
+
+    public StockLedger(BranchInventoryRepository branchInventoryRepository,
+                       StockLedgerCheckpointRepository checkpointRepository,
+                       StockLedgerCommitRepository commitRepository,
+                       StockLedgerLeaseRepository leaseRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${inventory.ledger.journal-dir:./data/stock-ledger}") String journalDir,
+                       @Value("${inventory.ledger.journal-sync:true}") boolean journalSync,
+                       @Value("${inventory.ledger.preload:true}") boolean preload,
+                       @Value("${inventory.ledger.lease-ttl:30s}") Duration leaseTtl) {
+        this.branchInventoryRepository = branchInventoryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.commitRepository = commitRepository;
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.journal = new StockJournal(Path.of(journalDir), journalSync);
+        this.preload = preload;
+        this.leaseTtl = leaseTtl;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> acquireLease());
+        checkpointSequence = checkpointRepository.findById(CHECKPOINT_ID)
+                .map(StockLedgerCheckpoint::getLastSequence)
+                .orElse(0L);
+        List<StockJournal.Entry> unflushed = journal.recover(checkpointSequence);
+        List<Path> recoveredSegments = journal.getClosedSegments();
+        if (!unflushed.isEmpty()) {
+            Set<String> transactionIds = unflushed.stream()
+                    .map(StockJournal.Entry::transactionId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<String> committed = findCommitted(transactionIds);
+            List<StockDelta> replay = unflushed.stream()
+                    .filter(entry -> entry.transactionId() == null || committed.contains(entry.transactionId()))
+                    .flatMap(entry -> entry.deltas().stream())
+                    .toList();
+            log.warn("Replaying {} unflushed stock deltas from the journal (checkpoint {}, last sequence {}),"
+                            + " skipping {} transactions that never committed",
+                    replay.size(), checkpointSequence, journal.getLastSequence(),
+                    transactionIds.size() - committed.size());
+            persist(aggregate(replay), transactionIds, journal.getLastSequence());
+        }
+        journal.discard(recoveredSegments);
+        if (preload) {
+            for (Long branchId : branchInventoryRepository.findBranchIdsWithInventory()) {
+                branchInventoryRepository.findStockLevelsByBranch(branchId).forEach(level -> slots.putIfAbsent(
+                        new StockKey(branchId, level.getProductId()), new Slot(level.getStock(), level.getMinStock())));
+            }
+        }
+        ready = true;
+        log.info("Stock ledger ready with {} entries, journal sequence {}, lease held by {}",
+                slots.size(), journal.getLastSequence(), owner);
+    }
+
+    public Optional<StockLevel> find(Long branchId, Long productId) {
+        Slot slot = slot(branchId, productId);
+        return slot == null ? Optional.empty() : Optional.of(slot.level(productId));
+    }
+
+    public List<StockLevel> levels(Long branchId, Collection<Long> productIds) {
+        List<StockLevel> levels = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            Slot slot = slot(branchId, productId);
+            if (slot != null) {
+                levels.add(slot.level(productId));
+            }
+        }
+        return levels;
+    }
+
+    public List<Long> reserve(Long branchId, Map<Long, Integer> quantities) {
+        List<StockDelta> taken = new ArrayList<>(quantities.size());
+        List<Long> rejected = new ArrayList<>();
+        for (Map.Entry<Long, Integer> line : new TreeMap<>(quantities).entrySet()) {
+            Slot slot = slot(branchId, line.getKey());
+            if (slot != null && slot.tryTake(line.getValue())) {
+                taken.add(new StockDelta(branchId, line.getKey(), -line.getValue()));
+            } else {
+                rejected.add(line.getKey());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            revert(taken);
+            rejections.incrementAndGet();
+            return rejected;
+        }
+        reservations.incrementAndGet();
+        record(taken, true);
+        return List.of();
+    }
+
+    public void add(Long branchId, Map<Long, Integer> quantities) {
+        List<StockDelta> deltas = new ArrayList<>(quantities.size());
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            if (slot(branchId, productId) == null) {
+                throw new IllegalArgumentException(
+                        String.format("Product %d is not tracked in branch %d", productId, branchId));
+            }
+            deltas.add(new StockDelta(branchId, productId, quantity));
+        });
+        record(deltas, false);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:500}")
+    public void flush() {
+        if (!ready) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            Map<StockKey, Integer> batch;
+            Set<String> transactionIds;
+            long sequence;
+            List<Path> segments;
+            journalLock.lock();
+            try {
+                if (pending.isEmpty() && pendingTransactions.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new HashMap<>();
+                transactionIds = pendingTransactions;
+                pendingTransactions = new HashSet<>();
+                sequence = journal.getLastSequence();
+                segments = journal.rotate();
+            } finally {
+                journalLock.unlock();
+            }
+            try {
+                persist(toDeltas(batch), transactionIds, sequence);
+            } catch (RuntimeException e) {
+                flushFailures.incrementAndGet();
+                if (e instanceof LeaseLostException) {
+                    leaseLost = true;
+                }
+                journalLock.lock();
+                try {
+                    batch.forEach(this::mergePending);
+                    pendingTransactions.addAll(transactionIds);
+                } finally {
+                    journalLock.unlock();
+                }
+                log.error("Stock ledger flush of {} rows failed, will retry: {}", batch.size(), e.getMessage());
+                return;
+            }
+            journalLock.lock();
+            try {
+                journal.discard(segments);
+            } finally {
+                journalLock.unlock();
+            }
+            flushes.incrementAndGet();
+            rowsFlushed.addAndGet(batch.size());
+            log.debug("Flushed {} stock rows up to journal sequence {}", batch.size(), sequence);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.lease-renew-interval-ms:10000}")
+    public void renewLease() {
+        if (!ready || leaseLost) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> holdLease());
+        } catch (LeaseLostException e) {
+            leaseLost = true;
+            log.error("Stock ledger stopped taking reservations: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Stock ledger could not renew its lease, will retry: {}", e.getMessage());
+        }
+    }
+
+    public StockLedgerStats getStats() {
+        int pendingDeltas;
+        long lastSequence;
+        journalLock.lock();
+        try {
+            pendingDeltas = pending.size();
+            lastSequence = journal.getLastSequence();
+        } finally {
+            journalLock.unlock();
+        }
+        return StockLedgerStats.builder()
+                .entries(slots.size())
+                .pendingDeltas(pendingDeltas)
+                .lastSequence(lastSequence)
+                .checkpointSequence(checkpointSequence)
+                .reservations(reservations.get())
+                .rejections(rejections.get())
+                .flushes(flushes.get())
+                .flushFailures(flushFailures.get())
+                .rowsFlushed(rowsFlushed.get())
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            flush();
+            releaseLease();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private Slot slot(Long branchId, Long productId) {
+        if (!ready) {
+            throw new IllegalStateException("Stock ledger has not finished recovering");
+        }
+        if (leaseLost) {
+            throw new IllegalStateException("Stock ledger lease is held by another instance");
+        }
+        StockKey key = new StockKey(branchId, productId);
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            return slot;
+        }
+        Slot loaded = branchInventoryRepository.findStockLevels(branchId, List.of(productId))
+                .stream()
+                .findFirst()
+                .map(level -> new Slot(level.getStock(), level.getMinStock()))
+                .orElse(null);
+        if (loaded == null) {
+            return null;
+        }
+        Slot existing = slots.putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void record(List<StockDelta> deltas, boolean applied) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                append(null, deltas);
+            } catch (RuntimeException e) {
+                if (applied) {
+                    revert(deltas);
+                }
+                throw e;
+            }
+            if (!applied) {
+                apply(deltas);
+            }
+            return;
+        }
+        LedgerTransaction transaction = (LedgerTransaction) TransactionSynchronizationManager.getResource(this);
+        if (transaction == null) {
+            transaction = new LedgerTransaction();
+            TransactionSynchronizationManager.bindResource(this, transaction);
+            TransactionSynchronizationManager.registerSynchronization(transaction);
+        }
+        (applied ? transaction.applied : transaction.deferred).addAll(deltas);
+    }
+
+    private void append(String transactionId, List<StockDelta> deltas) {
+        journalLock.lock();
+        try {
+            journal.append(transactionId, deltas);
+            deltas.forEach(delta -> mergePending(new StockKey(delta.getBranchId(), delta.getProductId()), delta.getDelta()));
+            if (transactionId != null) {
+                pendingTransactions.add(transactionId);
+            }
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void mergePending(StockKey key, Integer delta) {
+        pending.merge(key, delta, (current, added) -> current + added == 0 ? null : current + added);
+    }
+
+    private void apply(List<StockDelta> deltas) {
+        deltas.forEach(delta -> slots.get(new StockKey(delta.getBranchId(), delta.getProductId()))
+                .stock.addAndGet(delta.getDelta()));
+    }
+
+    private void revert(List<StockDelta> deltas) {
+        deltas.forEach(delta -> slots.get(new StockKey(delta.getBranchId(), delta.getProductId()))
+                .stock.addAndGet(-delta.getDelta()));
+    }
+
+    private Set<String> findCommitted(Set<String> transactionIds) {
+        Set<String> committed = new HashSet<>();
+        for (List<String> chunk : chunks(transactionIds)) {
+            committed.addAll(commitRepository.findCommitted(chunk));
+        }
+        return committed;
+    }
+
+    private void persist(List<StockDelta> deltas, Set<String> transactionIds, long sequence) {
+        transactionTemplate.executeWithoutResult(status -> {
+            holdLease();
+            branchInventoryRepository.applyStockDeltas(deltas);
+            for (List<String> chunk : chunks(transactionIds)) {
+                commitRepository.deleteByTransactionIds(chunk);
+            }
+            checkpointRepository.save(StockLedgerCheckpoint.builder()
+                    .id(CHECKPOINT_ID)
+                    .lastSequence(sequence)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+            refreshMinStock(deltas);
+        });
+        checkpointSequence = sequence;
+    }
+
+    private void acquireLease() {
+        LocalDateTime now = LocalDateTime.now();
+        StockLedgerLease lease = leaseRepository.findLockedById(LEASE_ID).orElse(null);
+        if (lease != null && !lease.getOwner().equals(owner) && lease.getExpiresAt().isAfter(now)) {
+            throw new IllegalStateException(String.format(
+                    "Stock ledger lease is held by %s until %s; refusing to start a second ledger over branch_inventory",
+                    lease.getOwner(), lease.getExpiresAt()));
+        }
+        if (lease != null) {
+            log.info("Taking over the stock ledger lease previously held by {}", lease.getOwner());
+        }
+        leaseRepository.save(StockLedgerLease.builder()
+                .id(LEASE_ID)
+                .owner(owner)
+                .expiresAt(now.plus(leaseTtl))
+                .build());
+    }
+
+    private void holdLease() {
+        StockLedgerLease lease = leaseRepository.findLockedById(LEASE_ID)
+                .filter(current -> current.getOwner().equals(owner))
+                .orElseThrow(() -> new LeaseLostException("Stock ledger lease was taken over by another instance"));
+        lease.setExpiresAt(LocalDateTime.now().plus(leaseTtl));
+        leaseRepository.save(lease);
+    }
+
+    private void releaseLease() {
+        if (leaseLost) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> leaseRepository.findLockedById(LEASE_ID)
+                    .filter(lease -> lease.getOwner().equals(owner))
+                    .ifPresent(lease -> {
+                        lease.setExpiresAt(LocalDateTime.now());
+                        leaseRepository.save(lease);
+                    }));
+        } catch (RuntimeException e) {
+            log.warn("Stock ledger could not release its lease, it will expire in {}: {}", leaseTtl, e.getMessage());
+        }
+    }
+
+    private void refreshMinStock(List<StockDelta> deltas) {
+        Map<Long, List<Long>> productsByBranch = deltas.stream().collect(Collectors.groupingBy(
+                StockDelta::getBranchId, Collectors.mapping(StockDelta::getProductId, Collectors.toList())));
+        productsByBranch.forEach((branchId, productIds) -> branchInventoryRepository.findStockLevels(branchId, productIds)
+                .forEach(level -> {
+                    Slot slot = slots.get(new StockKey(branchId, level.getProductId()));
+                    if (slot != null) {
+                        slot.minStock = level.getMinStock();
+                    }
+                }));
+    }
+
+    private static List<List<String>> chunks(Set<String> transactionIds) {
+        List<String> ids = new ArrayList<>(transactionIds);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += COMMIT_BATCH_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + COMMIT_BATCH_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static List<StockDelta> aggregate(List<StockDelta> deltas) {
+        Map<StockKey, Integer> totals = new HashMap<>();
+        deltas.forEach(delta -> totals.merge(new StockKey(delta.getBranchId(), delta.getProductId()),
+                delta.getDelta(), Integer::sum));
+        return toDeltas(totals);
+    }
+
+    private static List<StockDelta> toDeltas(Map<StockKey, Integer> totals) {
+        return totals.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new StockDelta(entry.getKey().branchId(), entry.getKey().productId(), entry.getValue()))
+                .toList();
+    }
+
+    private record StockKey(long branchId, long productId) {
+    }
+
+    private static final class Slot {
+        private final AtomicInteger stock;
+        private volatile int minStock;
+
+        private Slot(int stock, int minStock) {
+            this.stock = new AtomicInteger(stock);
+            this.minStock = minStock;
+        }
+
+        private boolean tryTake(int quantity) {
+            int current;
+            do {
+                current = stock.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!stock.compareAndSet(current, current - quantity));
+            return true;
+        }
+
+        private StockLevel level(Long productId) {
+            return new StockLevel(productId, stock.get(), minStock);
+        }
+    }
+
+    private static final class LeaseLostException extends IllegalStateException {
+        private LeaseLostException(String message) {
+            super(message);
+        }
+    }
+
+    private final class LedgerTransaction implements TransactionSynchronization {
+        private final String id = UUID.randomUUID().toString();
+        private final List<StockDelta> applied = new ArrayList<>();
+        private final List<StockDelta> deferred = new ArrayList<>();
+        private boolean journaled;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            List<StockDelta> all = new ArrayList<>(applied.size() + deferred.size());
+            all.addAll(applied);
+            all.addAll(deferred);
+            if (!all.isEmpty()) {
+                commitRepository.insert(id, LocalDateTime.now());
+                append(id, all);
+                journaled = true;
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(StockLedger.this);
+            if (status != STATUS_ROLLED_BACK) {
+                apply(deferred);
+                return;
+            }
+            revert(applied);
+            if (journaled) {
+                List<StockDelta> compensation = new ArrayList<>(applied.size() + deferred.size());
+                applied.forEach(delta -> compensation.add(delta.negate()));
+                deferred.forEach(delta -> compensation.add(delta.negate()));
+                try {
+                    append(id, compensation);
+                } catch (RuntimeException e) {
+                    log.error("Could not journal compensation for rolled back stock changes {}: {}",
+                            compensation, e.getMessage());
+                    journalLock.lock();
+                    try {
+                        compensation.forEach(delta -> mergePending(
+                                new StockKey(delta.getBranchId(), delta.getProductId()), delta.getDelta()));
+                    } finally {
+                        journalLock.unlock();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.supermarket.supermarket.lock;
+
+import com.supermarket.supermarket.dto.inventory.BranchLockStats;
+import com.supermarket.supermarket.transaction.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class BranchStockLocks {
+    private final boolean enabled;
+    private final int stripeCount;
+    private final Duration timeout;
+    private final ReentrantLock[] stripes;
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong contended = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public BranchStockLocks(@Value("${inventory.branch-lock.enabled:false}") boolean enabled,
+                            @Value("${inventory.branch-lock.stripes:64}") int stripeCount,
+                            @Value("${inventory.branch-lock.timeout:5s}") Duration timeout) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("inventory.branch-lock.stripes must be at least 1");
+        }
+        this.enabled = enabled;
+        this.stripeCount = stripeCount;
+        this.timeout = timeout;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        if (enabled) {
+            log.info("Branch stock locks enabled with {} stripes", stripeCount);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void lockBranches(Long... branchIds) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Branch stock locks can only be taken inside a transaction");
+        }
+        int[] ordered = Arrays.stream(branchIds)
+                .filter(Objects::nonNull)
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        int acquired = 0;
+        try {
+            for (int stripe : ordered) {
+                acquire(stripes[stripe]);
+                acquired++;
+            }
+        } catch (RuntimeException e) {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[ordered[i]].unlock();
+            }
+            throw e;
+        }
+        TransactionCallbacks.afterCompletion(() -> {
+            for (int i = ordered.length - 1; i >= 0; i--) {
+                stripes[ordered[i]].unlock();
+            }
+        });
+    }
+
+    public BranchLockStats getStats() {
+        long count = acquisitions.get();
+        return BranchLockStats.builder()
+                .enabled(enabled)
+                .stripes(stripeCount)
+                .acquisitions(count)
+                .contended(contended.get())
+                .timeouts(timeouts.get())
+                .totalWaitMillis(TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get()))
+                .averageWaitMicros(count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get() / count))
+                .maxWaitMillis(TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()))
+                .build();
+    }
+
+    private int stripeOf(Long branchId) {
+        return Math.floorMod(Long.hashCode(branchId), stripeCount);
+    }
+
+    private void acquire(ReentrantLock lock) {
+        if (lock.tryLock()) {
+            acquisitions.incrementAndGet();
+            return;
+        }
+        long start = System.nanoTime();
+        boolean locked;
+        try {
+            locked = lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting for branch stock lock", e);
+        }
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (!locked) {
+            timeouts.incrementAndGet();
+            throw new CannotAcquireLockException("Timed out after " + timeout.toMillis() + " ms waiting for branch stock lock");
+        }
+        acquisitions.incrementAndGet();
+        contended.incrementAndGet();
+    }
+}
@@ -0,0 +1,26 @@
+package com.supermarket.supermarket.mapper;
+
+import com.supermarket.supermarket.dto.hold.StockHoldItem;
+import com.supermarket.supermarket.dto.hold.StockHoldResponse;
+import com.supermarket.supermarket.model.hold.StockHold;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StockHoldMapper {
+
+    public StockHoldResponse toResponse(StockHold hold) {
+        if (hold == null) return null;
+
+        return StockHoldResponse.builder()
+                .id(hold.getId())
+                .branchId(hold.getBranch() != null ? hold.getBranch().getId() : null)
+                .status(hold.getStatus())
+                .items(hold.getLines().stream()
+                        .map(line -> new StockHoldItem(line.getProductId(), line.getQuantity()))
+                        .toList())
+                .createdAt(hold.getCreatedAt())
+                .expiresAt(hold.getExpiresAt())
+                .resolvedAt(hold.getResolvedAt())
+                .build();
+    }
+}
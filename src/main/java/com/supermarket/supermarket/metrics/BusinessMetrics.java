@@ -0,0 +1,34 @@
+package com.supermarket.supermarket.metrics;
+
+import com.supermarket.supermarket.transaction.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BusinessMetrics {
+    public static final String SALES_CREATED = "supermarket.sales.created";
+    public static final String STOCK_REJECTIONS = "supermarket.inventory.insufficient.stock";
+    public static final String OPTIMISTIC_LOCK_CONFLICTS = "supermarket.optimistic.lock.conflicts";
+    private final MeterRegistry meterRegistry;
+
+    public void salesCreated(Long branchId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Counter counter = Counter.builder(SALES_CREATED)
+                .tag("branch", String.valueOf(branchId))
+                .register(meterRegistry);
+        TransactionCallbacks.afterCommit(() -> counter.increment(count));
+    }
+
+    public void stockRejected(String source) {
+        meterRegistry.counter(STOCK_REJECTIONS, "source", source).increment();
+    }
+
+    public void optimisticLockConflict() {
+        meterRegistry.counter(OPTIMISTIC_LOCK_CONFLICTS).increment();
+    }
+}
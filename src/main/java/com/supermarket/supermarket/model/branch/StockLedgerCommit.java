@@ -0,0 +1,30 @@
+package com.supermarket.supermarket.model.branch;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_ledger_commit")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLedgerCommit {
+
+    @Id
+    @Column(name = "transaction_id", length = 36)
+    private String transactionId;
+
+    @Column(name = "committed_at", nullable = false)
+    private LocalDateTime committedAt;
+}
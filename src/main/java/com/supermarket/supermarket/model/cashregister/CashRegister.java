@@ -10,6 +10,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -28,7 +29,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "cash_registers")
+@Table(name = "cash_registers", indexes = {
+        @Index(name = "idx_cash_registers_branch_status", columnList = "branch_id, status")
+})
 public class CashRegister {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,8 @@
+package com.supermarket.supermarket.model.hold;
+
+public enum HoldStatus {
+    ACTIVE,
+    CONSUMED,
+    RELEASED,
+    EXPIRED
+}
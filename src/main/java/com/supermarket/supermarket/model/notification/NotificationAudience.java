@@ -0,0 +1,6 @@
+package com.supermarket.supermarket.model.notification;
+
+public enum NotificationAudience {
+    MANAGERS,
+    USER
+}
@@ -0,0 +1,7 @@
+package com.supermarket.supermarket.model.notification;
+
+public enum OutboxStatus {
+    PENDING,
+    DISPATCHED,
+    FAILED
+}
@@ -0,0 +1,46 @@
+package com.supermarket.supermarket.model.sale;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "product_sales_daily", indexes = {
+        @Index(name = "idx_product_sales_daily_date", columnList = "date"),
+        @Index(name = "idx_product_sales_daily_product_date", columnList = "product_id, date")
+})
+@IdClass(ProductSalesDailyId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSalesDaily {
+    @Id
+    private LocalDate date;
+
+    @Id
+    @Column(name = "branch_id")
+    private Long branchId;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private Long qty;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+}
@@ -12,9 +12,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -35,9 +38,14 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_sale_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_sale_created_by_created_at_id", columnList = "created_by_id, created_at, id")
+})
 public class Sale {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sale_id")
+    @SequenceGenerator(name = "sale_id", sequenceName = "sale_seq", allocationSize = 50)
     private Long id;
 
     private LocalDate date;
@@ -63,7 +71,7 @@ public class Sale {
     private String cancellationReason;
 
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "cancelled_at")
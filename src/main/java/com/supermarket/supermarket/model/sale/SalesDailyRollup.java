@@ -0,0 +1,47 @@
+package com.supermarket.supermarket.model.sale;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "sales_daily_rollup", indexes = {
+        @Index(name = "idx_sales_daily_rollup_date", columnList = "date")
+})
+@IdClass(SalesDailyRollupId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesDailyRollup {
+    public static final long NO_CASHIER = 0L;
+
+    @Id
+    private LocalDate date;
+
+    @Id
+    @Column(name = "branch_id")
+    private Long branchId;
+
+    @Id
+    @Column(name = "cashier_id")
+    private Long cashierId;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long txCount;
+}
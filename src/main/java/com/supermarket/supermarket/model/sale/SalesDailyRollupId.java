@@ -0,0 +1,19 @@
+package com.supermarket.supermarket.model.sale;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SalesDailyRollupId implements Serializable {
+    private LocalDate date;
+    private Long branchId;
+    private Long cashierId;
+}
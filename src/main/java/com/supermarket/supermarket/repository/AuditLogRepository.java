@@ -1,7 +1,10 @@
 package com.supermarket.supermarket.repository;
 
 import com.supermarket.supermarket.model.audit.AuditLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -12,4 +15,30 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByUsernameOrderByTimestampDesc(String username);
 
     List<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+
+    List<AuditLog> findAllByOrderByTimestampDescIdDesc(Limit limit);
+
+    @Query("""
+            SELECT a FROM AuditLog a
+            WHERE a.timestamp < :timestamp
+            OR (a.timestamp = :timestamp AND a.id < :id)
+            ORDER BY a.timestamp DESC, a.id DESC
+            """)
+    List<AuditLog> findPageBefore(@Param("timestamp") LocalDateTime timestamp, @Param("id") Long id, Limit limit);
+
+    List<AuditLog> findByUsernameOrderByTimestampDescIdDesc(String username, Limit limit);
+
+    @Query("""
+            SELECT a FROM AuditLog a
+            WHERE a.username = :username
+            AND (a.timestamp < :timestamp OR (a.timestamp = :timestamp AND a.id < :id))
+            ORDER BY a.timestamp DESC, a.id DESC
+            """)
+    List<AuditLog> findByUsernamePageBefore(
+            @Param("username") String username,
+            @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") Long id,
+            Limit limit);
+
+    long countByUsername(String username);
+}
@@ -1,11 +1,16 @@
 package com.supermarket.supermarket.repository;
 
 
+import com.supermarket.supermarket.export.EntityStreamer;
 import com.supermarket.supermarket.model.branch.BranchInventory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,20 +19,47 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface BranchInventoryRepository extends JpaRepository<BranchInventory, Long> {
+public interface BranchInventoryRepository extends JpaRepository<BranchInventory, Long>, BranchInventoryRepositoryCustom {
+    String PRODUCT_PERFORMANCE = """
+            SELECT
+                p.id          as productId,
+                p.name        as productName,
+                p.category    as productCategory,
+                (SELECT COALESCE(SUM(sd.quantity), 0)
+                    FROM SaleDetail sd
+                    JOIN sd.sale s
+                    WHERE sd.product.id = p.id
+                    AND s.status = 'REGISTERED'
+                    AND (:branchId IS NULL OR s.branch.id = :branchId)
+                    AND (CAST(:startDate AS date) IS NULL OR s.date >= :startDate)
+                    AND (CAST(:endDate   AS date) IS NULL OR s.date <= :endDate)) as totalSold,
+                (SELECT COALESCE(SUM(bi.stock), 0)
+                    FROM BranchInventory bi
+                    WHERE bi.product.id = p.id
+                    AND (:branchId IS NULL OR bi.branch.id = :branchId)) as currentStock
+            FROM Product p
+            WHERE (:branchId IS NULL OR EXISTS (
+                SELECT 1 FROM BranchInventory bi WHERE bi.product.id = p.id AND bi.branch.id = :branchId))
+            """;
+
     Optional<BranchInventory> findByBranchIdAndProductId(Long branchId, Long productId);
 
     List<BranchInventory> findByBranchId(Long branchId);
 
     List<BranchInventory> findByProductId(Long productId);
 
-    @Query("SELECT bi FROM BranchInventory bi WHERE bi.branch.id = :branchId AND bi.stock <= bi.minStock")
+    @Query("SELECT bi FROM BranchInventory bi JOIN FETCH bi.branch JOIN FETCH bi.product WHERE bi.branch.id = :branchId AND bi.stock <= bi.minStock")
     List<BranchInventory> findLowStockByBranchId(@Param("branchId") Long branchId);
 
-    @Query("SELECT bi FROM BranchInventory bi WHERE bi.stock <= bi.minStock")
-    List<BranchInventory> findLowStockGlobal();
+    @Query("SELECT bi FROM BranchInventory bi JOIN FETCH bi.branch JOIN FETCH bi.product WHERE bi.stock <= bi.minStock AND bi.id > :id ORDER BY bi.id")
+    List<BranchInventory> findLowStockGlobalAfter(@Param("id") Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query("SELECT bi FROM BranchInventory bi JOIN FETCH bi.branch JOIN FETCH bi.product WHERE bi.stock <= bi.minStock ORDER BY bi.id")
+    Stream<BranchInventory> streamLowStockGlobal();
 
     List<BranchInventory> findByBranchIdAndProductIdIn(Long branchId, Set<Long> productIds);
 
@@ -43,29 +75,12 @@ public interface BranchInventoryRepository extends JpaRepository<BranchInventory
             """)
     InventoryStatusProjection findInventoryStatus(@Param("branchId") Long branchId);
 
-    @Query(value = """
-            SELECT
-                p.id          as productId,
-                p.name        as productName,
-                p.category    as productCategory,
-                COALESCE(SUM(sd.quantity), 0)  as totalSold,
-                COALESCE(bi.stock, 0)       as currentStock
-            FROM Product p
-            LEFT JOIN BranchInventory bi ON bi.product.id = p.id
-                AND (:branchId IS NULL OR bi.branch.id = :branchId)
-            LEFT JOIN SaleDetail sd ON sd.product.id = p.id
-            LEFT JOIN sd.sale s ON s.status = 'REGISTERED'
-                AND (CAST(:startDate AS date) IS NULL OR s.date >= :startDate)
-                AND (CAST(:endDate   AS date) IS NULL OR s.date <= :endDate)
-            WHERE (:branchId IS NULL OR bi.branch.id = :branchId)
-            GROUP BY p.id, p.name, p.category, bi.stock
-            """,
+    @Query(value = PRODUCT_PERFORMANCE,
             countQuery = """
-                    SELECT COUNT(DISTINCT p.id)
+                    SELECT COUNT(p)
                     FROM Product p
-                    LEFT JOIN BranchInventory bi ON bi.product.id = p.id
-                        AND (:branchId IS NULL OR bi.branch.id = :branchId)
-                    WHERE (:branchId IS NULL OR bi.branch.id = :branchId)
+                    WHERE (:branchId IS NULL OR EXISTS (
+                        SELECT 1 FROM BranchInventory bi WHERE bi.product.id = p.id AND bi.branch.id = :branchId))
                     """)
     Page<ProductPerformanceProjection> findProductPerformance(
             @Param("startDate") LocalDate startDate,
@@ -73,6 +88,13 @@ public interface BranchInventoryRepository extends JpaRepository<BranchInventory
             @Param("branchId") Long branchId,
             Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query(PRODUCT_PERFORMANCE + "ORDER BY totalSold DESC")
+    Stream<ProductPerformanceProjection> streamProductPerformance(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId);
+
     interface InventoryStatusProjection {
         Long getTotalProducts();
 
@@ -0,0 +1,21 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.dto.inventory.StockDelta;
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface BranchInventoryRepositoryCustom {
+
+    List<Long> decrementStockIfAvailable(Long branchId, Map<Long, Integer> quantities);
+
+    List<StockLevel> findStockLevels(Long branchId, Collection<Long> productIds);
+
+    List<StockLevel> findStockLevelsByBranch(Long branchId);
+
+    List<Long> findBranchIdsWithInventory();
+
+    void applyStockDeltas(List<StockDelta> deltas);
+}
@@ -0,0 +1,99 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.dto.inventory.StockDelta;
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class BranchInventoryRepositoryCustomImpl implements BranchInventoryRepositoryCustom {
+    private static final String GUARDED_DECREMENT_SQL = """
+            UPDATE branch_inventory
+            SET stock = stock - ?, version = COALESCE(version, 0) + 1
+            WHERE branch_id = ? AND product_id = ? AND stock >= ?
+            """;
+
+    private static final String STOCK_LEVELS_SQL = """
+            SELECT product_id, stock, min_stock
+            FROM branch_inventory
+            WHERE branch_id = ? AND product_id IN (%s)
+            """;
+
+    private static final String BRANCH_STOCK_LEVELS_SQL = """
+            SELECT product_id, stock, min_stock
+            FROM branch_inventory
+            WHERE branch_id = ?
+            """;
+
+    private static final String BRANCH_IDS_SQL = "SELECT DISTINCT branch_id FROM branch_inventory ORDER BY branch_id";
+
+    private static final String APPLY_DELTA_SQL = """
+            UPDATE branch_inventory
+            SET stock = stock + ?, version = COALESCE(version, 0) + 1
+            WHERE branch_id = ? AND product_id = ?
+            """;
+
+    private static final RowMapper<StockLevel> STOCK_LEVEL_MAPPER = (rs, rowNum) ->
+            new StockLevel(rs.getLong("product_id"), rs.getInt("stock"), rs.getInt("min_stock"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> decrementStockIfAvailable(Long branchId, Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        List<Object[]> batchArgs = lines.stream()
+                .map(line -> new Object[]{line.getValue(), branchId, line.getKey(), line.getValue()})
+                .toList();
+        int[] affectedRows = jdbcTemplate.batchUpdate(GUARDED_DECREMENT_SQL, batchArgs);
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (affectedRows[i] == 0) {
+                rejected.add(lines.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public List<StockLevel> findStockLevels(Long branchId, Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        List<Object> args = new ArrayList<>(productIds.size() + 1);
+        args.add(branchId);
+        args.addAll(productIds);
+        return jdbcTemplate.query(String.format(STOCK_LEVELS_SQL, placeholders), STOCK_LEVEL_MAPPER, args.toArray());
+    }
+
+    @Override
+    public List<StockLevel> findStockLevelsByBranch(Long branchId) {
+        return jdbcTemplate.query(BRANCH_STOCK_LEVELS_SQL, STOCK_LEVEL_MAPPER, branchId);
+    }
+
+    @Override
+    public List<Long> findBranchIdsWithInventory() {
+        return jdbcTemplate.queryForList(BRANCH_IDS_SQL, Long.class);
+    }
+
+    @Override
+    public void applyStockDeltas(List<StockDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = deltas.stream()
+                .sorted(Comparator.comparing(StockDelta::getBranchId).thenComparing(StockDelta::getProductId))
+                .map(delta -> new Object[]{delta.getDelta(), delta.getBranchId(), delta.getProductId()})
+                .toList();
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, batchArgs);
+    }
+}
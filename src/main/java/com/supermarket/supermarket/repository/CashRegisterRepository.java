@@ -1,12 +1,18 @@
 package com.supermarket.supermarket.repository;
 
 
+import com.supermarket.supermarket.export.EntityStreamer;
 import com.supermarket.supermarket.model.cashregister.CashRegister;
 import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,12 +20,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CashRegisterRepository extends JpaRepository<CashRegister, Long> {
-    Optional<CashRegister> findByBranchIdAndStatus(Long branchId, CashRegisterStatus status);
-
-    @Query("""
+    String CLOSURE_DISCREPANCIES = """
             SELECT
                 cr.id                        as registerId,
                 cr.branch.id                 as branchId,
@@ -54,7 +59,14 @@ public interface CashRegisterRepository extends JpaRepository<CashRegister, Long
                     AND s.status = 'REGISTERED'
                 ), 0))) <> 0)
             ORDER BY cr.closingTime DESC
-            """)
+            """;
+
+    Optional<CashRegister> findByBranchIdAndStatus(Long branchId, CashRegisterStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<CashRegister> findLockedByBranchIdAndStatus(Long branchId, CashRegisterStatus status);
+
+    @Query(CLOSURE_DISCREPANCIES)
     Page<ClosureDiscrepancyProjection> findClosureDiscrepancies(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
@@ -62,6 +74,14 @@ public interface CashRegisterRepository extends JpaRepository<CashRegister, Long
             @Param("showOnlyDiscrepancies") boolean showOnlyDiscrepancies,
             Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query(CLOSURE_DISCREPANCIES)
+    Stream<ClosureDiscrepancyProjection> streamClosureDiscrepancies(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId,
+            @Param("showOnlyDiscrepancies") boolean showOnlyDiscrepancies);
+
     interface ClosureDiscrepancyProjection {
         Long getRegisterId();
 
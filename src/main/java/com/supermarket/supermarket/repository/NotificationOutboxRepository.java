@@ -0,0 +1,53 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.model.notification.NotificationOutbox;
+import com.supermarket.supermarket.model.notification.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+    /**
+     * Claims the next ready events for this instance. The lock is deliberately not SKIP LOCKED:
+     * another dispatcher waits for the claimed rows to commit and then no longer sees them as
+     * pending, instead of jumping ahead to later events of the same recipient.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT o FROM NotificationOutbox o
+            WHERE o.status = :status
+              AND o.nextAttemptAt <= :now
+              AND NOT EXISTS (
+                  SELECT 1 FROM NotificationOutbox earlier
+                  WHERE earlier.status = :status
+                    AND earlier.audience = o.audience
+                    AND (earlier.recipientId = o.recipientId
+                         OR (earlier.recipientId IS NULL AND o.recipientId IS NULL))
+                    AND earlier.id < o.id
+                    AND earlier.nextAttemptAt > :now)
+            ORDER BY o.id ASC
+            """)
+    List<NotificationOutbox> findLockedReadyInRecipientOrder(@Param("status") OutboxStatus status,
+                                                                   @Param("now") LocalDateTime now,
+                                                             Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<NotificationOutbox> findLockedById(Long id);
+
+    long countByStatus(OutboxStatus status);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.status = :status AND o.dispatchedAt < :cutoff")
+    int deleteByStatusAndDispatchedBefore(@Param("status") OutboxStatus status,
+                                          @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,21 +1,45 @@
 package com.supermarket.supermarket.repository;
 
+import com.supermarket.supermarket.export.EntityStreamer;
 import com.supermarket.supermarket.model.notification.Notification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(Long userId);
 
-    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
+    List<Notification> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Limit limit);
+
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.user.id = :userId
+            AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<Notification> findByUserIdPageBefore(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    long countByUserId(Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    Stream<Notification> streamByUserId(@Param("userId") Long userId);
 
     long countByUserIdAndReadFalse(Long userId);
 
@@ -24,4 +48,4 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
 
     Optional<Notification> findByIdAndUserId(Long id, Long userId);
-}
\ No newline at end of file
+}
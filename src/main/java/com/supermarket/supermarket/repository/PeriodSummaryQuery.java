@@ -0,0 +1,76 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.dto.report.ReportPeriod;
+import com.supermarket.supermarket.repository.SaleRepository.PeriodSummaryProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+final class PeriodSummaryQuery {
+    private static final String SELECT_SQL = """
+            SELECT %s
+            FROM %s
+            WHERE %s(%s)%s
+            """;
+
+    private final String table;
+    private final String condition;
+    private final String revenue;
+    private final String count;
+
+    PeriodSummaryQuery(String table, String condition, String revenue, String count) {
+        this.table = table;
+        this.condition = condition;
+        this.revenue = revenue;
+        this.count = count;
+    }
+
+    List<PeriodSummaryProjection> find(EntityManager entityManager, List<ReportPeriod> periods, Long branchId) {
+        if (periods.isEmpty()) {
+            return List.of();
+        }
+        StringJoiner columns = new StringJoiner(", ");
+        StringJoiner ranges = new StringJoiner(" OR ");
+        for (int i = 0; i < periods.size(); i++) {
+            String range = "date BETWEEN :start" + i + " AND :end" + i;
+            columns.add("COALESCE(SUM(CASE WHEN " + range + " THEN " + revenue + " END), 0)");
+            columns.add("COALESCE(SUM(CASE WHEN " + range + " THEN " + count + " END), 0)");
+            ranges.add(range);
+        }
+        String sql = String.format(SELECT_SQL, columns, table,
+                condition.isEmpty() ? "" : condition + " AND ",
+                ranges,
+                branchId != null ? " AND branch_id = :branchId" : "");
+        Query query = entityManager.createNativeQuery(sql);
+        for (int i = 0; i < periods.size(); i++) {
+            query.setParameter("start" + i, periods.get(i).getStartDate());
+            query.setParameter("end" + i, periods.get(i).getEndDate());
+        }
+        if (branchId != null) {
+            query.setParameter("branchId", branchId);
+        }
+        Object[] row = (Object[]) query.getSingleResult();
+        List<PeriodSummaryProjection> summaries = new ArrayList<>(periods.size());
+        for (int i = 0; i < periods.size(); i++) {
+            summaries.add(new PeriodTotals(decimal(row[2 * i]), ((Number) row[2 * i + 1]).longValue()));
+        }
+        return summaries;
+    }
+
+    private BigDecimal decimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PeriodTotals implements PeriodSummaryProjection {
+        private final BigDecimal totalRevenue;
+        private final Long transactionCount;
+    }
+}
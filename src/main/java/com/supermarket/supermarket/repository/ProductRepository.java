@@ -1,14 +1,31 @@
 package com.supermarket.supermarket.repository;
 
+import com.supermarket.supermarket.dto.product.ProductVersion;
+import com.supermarket.supermarket.export.EntityStreamer;
 import com.supermarket.supermarket.model.product.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
     boolean existsByName(String name);
 
+    @Query("SELECT new com.supermarket.supermarket.dto.product.ProductVersion(p.id, p.version) FROM Product p")
+    List<ProductVersion> findAllVersions();
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
 }
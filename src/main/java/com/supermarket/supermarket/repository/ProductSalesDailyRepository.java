@@ -0,0 +1,134 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.export.EntityStreamer;
+import com.supermarket.supermarket.model.sale.ProductSalesDaily;
+import com.supermarket.supermarket.model.sale.ProductSalesDailyId;
+import com.supermarket.supermarket.repository.BranchInventoryRepository.ProductPerformanceProjection;
+import com.supermarket.supermarket.repository.SaleRepository.SalesByProductProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+@Repository
+public interface ProductSalesDailyRepository extends JpaRepository<ProductSalesDaily, ProductSalesDailyId> {
+    String SALES_BY_PRODUCT = """
+            SELECT
+                p.id            as productId,
+                p.name          as productName,
+                p.category      as productCategory,
+                SUM(r.qty)      as totalQuantitySold,
+                SUM(r.revenue)  as totalRevenue
+            FROM ProductSalesDaily r
+            JOIN Product p ON p.id = r.productId
+            WHERE r.qty > 0
+            AND (:startDate IS NULL OR r.date >= :startDate)
+            AND (:endDate   IS NULL OR r.date <= :endDate)
+            AND (:branchId  IS NULL OR r.branchId = :branchId)
+            AND (:productId IS NULL OR r.productId = :productId)
+            GROUP BY p.id, p.name, p.category
+            """;
+
+    String PRODUCT_PERFORMANCE = """
+            SELECT
+                p.id          as productId,
+                p.name        as productName,
+                p.category    as productCategory,
+                (SELECT COALESCE(SUM(r.qty), 0)
+                    FROM ProductSalesDaily r
+                    WHERE r.productId = p.id
+                    AND (:branchId IS NULL OR r.branchId = :branchId)
+                    AND (CAST(:startDate AS date) IS NULL OR r.date >= :startDate)
+                    AND (CAST(:endDate   AS date) IS NULL OR r.date <= :endDate)) as totalSold,
+                (SELECT COALESCE(SUM(bi.stock), 0)
+                    FROM BranchInventory bi
+                    WHERE bi.product.id = p.id
+                    AND (:branchId IS NULL OR bi.branch.id = :branchId)) as currentStock
+            FROM Product p
+            WHERE (:branchId IS NULL OR EXISTS (
+                SELECT 1 FROM BranchInventory bi WHERE bi.product.id = p.id AND bi.branch.id = :branchId))
+            """;
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO product_sales_daily (date, branch_id, product_id, qty, revenue)
+            VALUES (:date, :branchId, :productId, :qty, :revenue)
+            ON DUPLICATE KEY UPDATE qty = qty + :qty, revenue = revenue + :revenue
+            """, nativeQuery = true)
+    int add(@Param("date") LocalDate date,
+            @Param("branchId") Long branchId,
+            @Param("productId") Long productId,
+            @Param("qty") long qty,
+            @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @Query(value = "DELETE FROM product_sales_daily", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO product_sales_daily (date, branch_id, product_id, qty, revenue)
+            SELECT s.date, s.branch_id, d.product_id, SUM(d.quantity), SUM(d.price * d.quantity)
+            FROM sale_detail d
+            JOIN sale s ON s.id = d.sale_id
+            WHERE s.status = 'REGISTERED'
+            AND s.date IS NOT NULL
+            GROUP BY s.date, s.branch_id, d.product_id
+            """, nativeQuery = true)
+    int insertFromSales();
+
+    @Query(value = SALES_BY_PRODUCT,
+            countQuery = """
+                    SELECT COUNT(DISTINCT r.productId)
+                    FROM ProductSalesDaily r
+                    WHERE r.qty > 0
+                    AND (:startDate IS NULL OR r.date >= :startDate)
+                    AND (:endDate   IS NULL OR r.date <= :endDate)
+                    AND (:branchId  IS NULL OR r.branchId = :branchId)
+                    AND (:productId IS NULL OR r.productId = :productId)
+                    """)
+    Page<SalesByProductProjection> findSalesGroupedByProduct(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId,
+            @Param("productId") Long productId,
+            Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query(SALES_BY_PRODUCT + "ORDER BY totalRevenue DESC")
+    Stream<SalesByProductProjection> streamSalesGroupedByProduct(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId,
+            @Param("productId") Long productId);
+
+    @Query(value = PRODUCT_PERFORMANCE,
+            countQuery = """
+                    SELECT COUNT(p)
+                    FROM Product p
+                    WHERE (:branchId IS NULL OR EXISTS (
+                        SELECT 1 FROM BranchInventory bi WHERE bi.product.id = p.id AND bi.branch.id = :branchId))
+                    """)
+    Page<ProductPerformanceProjection> findProductPerformance(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId,
+            Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query(PRODUCT_PERFORMANCE + "ORDER BY totalSold DESC")
+    Stream<ProductPerformanceProjection> streamProductPerformance(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId);
+}
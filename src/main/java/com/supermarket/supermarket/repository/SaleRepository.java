@@ -1,50 +1,31 @@
 package com.supermarket.supermarket.repository;
 
+import com.supermarket.supermarket.export.EntityStreamer;
 import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.model.sale.SaleStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface SaleRepository extends JpaRepository<Sale, Long> {
-    boolean existsByBranchId(Long branchId);
-
-    boolean existsByDetailsProductId(Long productId);
-
-    @Override
-    @EntityGraph(attributePaths = {"branch", "createdBy"})
-    List<Sale> findAll();
-
-    @EntityGraph(attributePaths = {"branch", "details", "details.product", "createdBy"})
-    Optional<Sale> findWithDetailsById(Long id);
-
-    Page<Sale> findByCreatedById(Long cashierId, Pageable pageable);
-
-    @Query("""
-            SELECT
-                SUM(s.total)  as totalRevenue,
-                COUNT(s.id)   as transactionCount
-            FROM Sale s
-            WHERE s.status = 'REGISTERED'
-            AND (:startDate IS NULL OR s.date >= :startDate)
-            AND (:endDate   IS NULL OR s.date <= :endDate)
-            AND (:branchId  IS NULL OR s.branch.id = :branchId)
-            """)
-    PeriodSummaryProjection findPeriodSummary(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("branchId") Long branchId);
-
-    @Query("""
+public interface SaleRepository extends JpaRepository<Sale, Long>, SaleRepositoryCustom {
+    String SALES_BY_BRANCH = """
             SELECT
                 s.branch.id   as branchId,
                 s.branch.name as branchName,
@@ -57,13 +38,9 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
             AND (:branchId  IS NULL OR s.branch.id = :branchId)
             GROUP BY s.branch.id, s.branch.name
             ORDER BY totalRevenue DESC
-            """)
-    List<SalesByBranchProjection> findSalesGroupedByBranch(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("branchId") Long branchId);
+            """;
 
-    @Query("""
+    String SALES_BY_PRODUCT = """
             SELECT
                 p.id          as productId,
                 p.name        as productName,
@@ -79,15 +56,9 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
             AND (:branchId  IS NULL OR s.branch.id = :branchId)
             AND (:productId IS NULL OR p.id = :productId)
             GROUP BY p.id, p.name, p.category
-            """)
-    Page<SalesByProductProjection> findSalesGroupedByProduct(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("branchId") Long branchId,
-            @Param("productId") Long productId,
-            Pageable pageable);
+            """;
 
-    @Query("""
+    String SALES_BY_CASHIER = """
             SELECT
                 u.id          as cashierId,
                 u.username    as cashierUsername,
@@ -102,13 +73,127 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
             AND (:cashierId  IS NULL OR u.id = :cashierId)
             GROUP BY u.id, u.username
             ORDER BY totalRevenue DESC
+            """;
+
+    boolean existsByBranchId(Long branchId);
+
+    boolean existsByDetailsProductId(Long productId);
+
+    boolean existsByStatus(SaleStatus status);
+
+    @Override
+    @EntityGraph(attributePaths = {"branch", "createdBy", "cancelledBy", "cashRegister", "details", "details.product"})
+    List<Sale> findAll();
+
+    @EntityGraph(attributePaths = {"branch", "createdBy", "cancelledBy", "cashRegister"})
+    List<Sale> findAllByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    @EntityGraph(attributePaths = {"branch", "createdBy", "cancelledBy", "cashRegister"})
+    @Query("""
+            SELECT s FROM Sale s
+            WHERE s.createdAt < :createdAt
+            OR (s.createdAt = :createdAt AND s.id < :id)
+            ORDER BY s.createdAt DESC, s.id DESC
             """)
+    List<Sale> findPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query("""
+            SELECT s FROM Sale s
+            LEFT JOIN FETCH s.branch
+            LEFT JOIN FETCH s.createdBy
+            LEFT JOIN FETCH s.cancelledBy
+            LEFT JOIN FETCH s.cashRegister
+            LEFT JOIN FETCH s.details d
+            LEFT JOIN FETCH d.product
+            ORDER BY s.createdAt DESC, s.id DESC
+            """)
+    Stream<Sale> streamAll();
+
+    @EntityGraph(attributePaths = {"branch", "details", "details.product", "createdBy", "cancelledBy", "cashRegister"})
+    Optional<Sale> findWithDetailsById(Long id);
+
+    @Modifying
+    @Query("UPDATE Sale s SET s.status = :to WHERE s.id = :id AND s.status = :from")
+    int transitionStatus(@Param("id") Long id, @Param("from") SaleStatus from, @Param("to") SaleStatus to);
+
+    @EntityGraph(attributePaths = {"branch", "createdBy", "cancelledBy", "cashRegister"})
+    List<Sale> findByCreatedByIdOrderByCreatedAtDescIdDesc(Long cashierId, Limit limit);
+
+    @EntityGraph(attributePaths = {"branch", "createdBy", "cancelledBy", "cashRegister"})
+    @Query("""
+            SELECT s FROM Sale s
+            WHERE s.createdBy.id = :cashierId
+            AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id))
+            ORDER BY s.createdAt DESC, s.id DESC
+            """)
+    List<Sale> findByCreatedByIdPageBefore(
+            @Param("cashierId") Long cashierId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    long countByCreatedById(Long cashierId);
+
+    @Query("""
+            SELECT
+                SUM(s.total)  as totalRevenue,
+                COUNT(s.id)   as transactionCount
+            FROM Sale s
+            WHERE s.status = 'REGISTERED'
+            AND (:startDate IS NULL OR s.date >= :startDate)
+            AND (:endDate   IS NULL OR s.date <= :endDate)
+            AND (:branchId  IS NULL OR s.branch.id = :branchId)
+            """)
+    PeriodSummaryProjection findPeriodSummary(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId);
+
+    @Query(SALES_BY_BRANCH)
+    List<SalesByBranchProjection> findSalesGroupedByBranch(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query(SALES_BY_BRANCH)
+    Stream<SalesByBranchProjection> streamSalesGroupedByBranch(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId);
+
+    @Query(SALES_BY_PRODUCT)
+    Page<SalesByProductProjection> findSalesGroupedByProduct(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId,
+            @Param("productId") Long productId,
+            Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query(SALES_BY_PRODUCT + "ORDER BY totalRevenue DESC")
+    Stream<SalesByProductProjection> streamSalesGroupedByProduct(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId,
+            @Param("productId") Long productId);
+
+    @Query(SALES_BY_CASHIER)
     List<SalesByCashierProjection> findSalesGroupedByCashier(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
             @Param("branchId") Long branchId,
             @Param("cashierId") Long cashierId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query(SALES_BY_CASHIER)
+    Stream<SalesByCashierProjection> streamSalesGroupedByCashier(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId,
+            @Param("cashierId") Long cashierId);
+
     interface PeriodSummaryProjection {
         BigDecimal getTotalRevenue();
 
@@ -149,4 +234,4 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
 
         Long getTransactionCount();
     }
-}
\ No newline at end of file
+}
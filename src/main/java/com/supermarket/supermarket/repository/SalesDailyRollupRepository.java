@@ -0,0 +1,126 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.export.EntityStreamer;
+import com.supermarket.supermarket.model.sale.SalesDailyRollup;
+import com.supermarket.supermarket.model.sale.SalesDailyRollupId;
+import com.supermarket.supermarket.repository.SaleRepository.PeriodSummaryProjection;
+import com.supermarket.supermarket.repository.SaleRepository.SalesByBranchProjection;
+import com.supermarket.supermarket.repository.SaleRepository.SalesByCashierProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface SalesDailyRollupRepository extends JpaRepository<SalesDailyRollup, SalesDailyRollupId>, SalesDailyRollupRepositoryCustom {
+    String SALES_BY_BRANCH = """
+            SELECT
+                b.id            as branchId,
+                b.name          as branchName,
+                SUM(r.revenue)  as totalRevenue,
+                SUM(r.txCount)  as transactionCount
+            FROM SalesDailyRollup r
+            JOIN Branch b ON b.id = r.branchId
+            WHERE (:startDate IS NULL OR r.date >= :startDate)
+            AND (:endDate   IS NULL OR r.date <= :endDate)
+            AND (:branchId  IS NULL OR r.branchId = :branchId)
+            GROUP BY b.id, b.name
+            HAVING SUM(r.txCount) > 0
+            ORDER BY totalRevenue DESC
+            """;
+
+    String SALES_BY_CASHIER = """
+            SELECT
+                u.id            as cashierId,
+                u.username      as cashierUsername,
+                SUM(r.revenue)  as totalRevenue,
+                SUM(r.txCount)  as transactionCount
+            FROM SalesDailyRollup r
+            JOIN User u ON u.id = r.cashierId
+            WHERE (:startDate  IS NULL OR r.date >= :startDate)
+            AND (:endDate    IS NULL OR r.date <= :endDate)
+            AND (:branchId   IS NULL OR r.branchId = :branchId)
+            AND (:cashierId  IS NULL OR r.cashierId = :cashierId)
+            GROUP BY u.id, u.username
+            HAVING SUM(r.txCount) > 0
+            ORDER BY totalRevenue DESC
+            """;
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_daily_rollup (date, branch_id, cashier_id, revenue, tx_count)
+            VALUES (:date, :branchId, :cashierId, :revenue, :txCount)
+            ON DUPLICATE KEY UPDATE revenue = revenue + :revenue, tx_count = tx_count + :txCount
+            """, nativeQuery = true)
+    int add(@Param("date") LocalDate date,
+            @Param("branchId") Long branchId,
+            @Param("cashierId") Long cashierId,
+            @Param("revenue") BigDecimal revenue,
+            @Param("txCount") long txCount);
+
+    @Modifying
+    @Query(value = "DELETE FROM sales_daily_rollup", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_daily_rollup (date, branch_id, cashier_id, revenue, tx_count)
+            SELECT s.date, s.branch_id, COALESCE(s.created_by_id, 0), SUM(s.total), COUNT(*)
+            FROM sale s
+            WHERE s.status = 'REGISTERED'
+            AND s.date IS NOT NULL
+            GROUP BY s.date, s.branch_id, COALESCE(s.created_by_id, 0)
+            """, nativeQuery = true)
+    int insertFromSales();
+
+    @Query("""
+            SELECT
+                SUM(r.revenue)                as totalRevenue,
+                COALESCE(SUM(r.txCount), 0)   as transactionCount
+            FROM SalesDailyRollup r
+            WHERE (:startDate IS NULL OR r.date >= :startDate)
+            AND (:endDate   IS NULL OR r.date <= :endDate)
+            AND (:branchId  IS NULL OR r.branchId = :branchId)
+            """)
+    PeriodSummaryProjection findPeriodSummary(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId);
+
+    @Query(SALES_BY_BRANCH)
+    List<SalesByBranchProjection> findSalesGroupedByBranch(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query(SALES_BY_BRANCH)
+    Stream<SalesByBranchProjection> streamSalesGroupedByBranch(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId);
+
+    @Query(SALES_BY_CASHIER)
+    List<SalesByCashierProjection> findSalesGroupedByCashier(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId,
+            @Param("cashierId") Long cashierId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query(SALES_BY_CASHIER)
+    Stream<SalesByCashierProjection> streamSalesGroupedByCashier(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("branchId") Long branchId,
+            @Param("cashierId") Long cashierId);
+}
@@ -0,0 +1,11 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.dto.report.ReportPeriod;
+import com.supermarket.supermarket.repository.SaleRepository.PeriodSummaryProjection;
+
+import java.util.List;
+
+public interface SalesDailyRollupRepositoryCustom {
+
+    List<PeriodSummaryProjection> findPeriodSummaries(List<ReportPeriod> periods, Long branchId);
+}
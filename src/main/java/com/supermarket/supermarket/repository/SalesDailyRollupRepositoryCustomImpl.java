@@ -0,0 +1,21 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.dto.report.ReportPeriod;
+import com.supermarket.supermarket.repository.SaleRepository.PeriodSummaryProjection;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SalesDailyRollupRepositoryCustomImpl implements SalesDailyRollupRepositoryCustom {
+    private static final PeriodSummaryQuery PERIOD_SUMMARIES =
+            new PeriodSummaryQuery("sales_daily_rollup", "", "revenue", "tx_count");
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<PeriodSummaryProjection> findPeriodSummaries(List<ReportPeriod> periods, Long branchId) {
+        return PERIOD_SUMMARIES.find(entityManager, periods, branchId);
+    }
+}
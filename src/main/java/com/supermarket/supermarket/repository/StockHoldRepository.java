@@ -0,0 +1,16 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.model.hold.HoldStatus;
+import com.supermarket.supermarket.model.hold.StockHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockHoldRepository extends JpaRepository<StockHold, Long> {
+    List<StockHold> findByStatusAndExpiresAtBeforeOrderByExpiresAtAsc(HoldStatus status, LocalDateTime cutoff,
+                                                                      Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.model.branch.StockLedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockLedgerCheckpointRepository extends JpaRepository<StockLedgerCheckpoint, Long> {
+}
@@ -0,0 +1,28 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.model.branch.StockLedgerCommit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockLedgerCommitRepository extends JpaRepository<StockLedgerCommit, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO stock_ledger_commit (transaction_id, committed_at) VALUES (:transactionId, :committedAt)",
+            nativeQuery = true)
+    void insert(@Param("transactionId") String transactionId, @Param("committedAt") LocalDateTime committedAt);
+
+    @Query("SELECT c.transactionId FROM StockLedgerCommit c WHERE c.transactionId IN :transactionIds")
+    List<String> findCommitted(@Param("transactionIds") Collection<String> transactionIds);
+
+    @Modifying
+    @Query("DELETE FROM StockLedgerCommit c WHERE c.transactionId IN :transactionIds")
+    int deleteByTransactionIds(@Param("transactionIds") Collection<String> transactionIds);
+}
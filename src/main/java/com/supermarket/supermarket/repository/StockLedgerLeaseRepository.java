@@ -0,0 +1,16 @@
+package com.supermarket.supermarket.repository;
+
+import com.supermarket.supermarket.model.branch.StockLedgerLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StockLedgerLeaseRepository extends JpaRepository<StockLedgerLease, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<StockLedgerLease> findLockedById(Long id);
+}
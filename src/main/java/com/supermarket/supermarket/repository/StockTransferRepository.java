@@ -1,23 +1,61 @@
 package com.supermarket.supermarket.repository;
 
+import com.supermarket.supermarket.export.EntityStreamer;
 import com.supermarket.supermarket.model.transfer.StockTransfer;
 import com.supermarket.supermarket.model.transfer.TransferStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StockTransferRepository extends JpaRepository<StockTransfer, Long> {
+    @Override
+    @EntityGraph(attributePaths = {"sourceBranch", "targetBranch", "product", "requestedBy", "approvedBy"})
+    List<StockTransfer> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"sourceBranch", "targetBranch", "product", "requestedBy", "approvedBy"})
+    Optional<StockTransfer> findById(Long id);
+
+    @EntityGraph(attributePaths = {"sourceBranch", "targetBranch", "product", "requestedBy", "approvedBy"})
+    List<StockTransfer> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE))
+    @Query("""
+            SELECT t FROM StockTransfer t
+            LEFT JOIN FETCH t.sourceBranch
+            LEFT JOIN FETCH t.targetBranch
+            LEFT JOIN FETCH t.product
+            LEFT JOIN FETCH t.requestedBy
+            LEFT JOIN FETCH t.approvedBy
+            ORDER BY t.id DESC
+            """)
+    Stream<StockTransfer> streamAll();
+
+    @EntityGraph(attributePaths = {"sourceBranch", "targetBranch", "product", "requestedBy", "approvedBy"})
     List<StockTransfer> findByStatus(TransferStatus status);
 
+    @EntityGraph(attributePaths = {"sourceBranch", "targetBranch", "product", "requestedBy", "approvedBy"})
     List<StockTransfer> findBySourceBranchId(Long sourceBranchId);
 
+    @EntityGraph(attributePaths = {"sourceBranch", "targetBranch", "product", "requestedBy", "approvedBy"})
     List<StockTransfer> findByTargetBranchId(Long targetBranchId);
 
+    @EntityGraph(attributePaths = {"sourceBranch", "targetBranch", "product", "requestedBy", "approvedBy"})
     List<StockTransfer> findByRequestedById(Long requestedById);
 
+    @EntityGraph(attributePaths = {"sourceBranch", "targetBranch", "product", "requestedBy", "approvedBy"})
     List<StockTransfer> findBySourceBranchIdAndStatus(Long sourceBranchId, TransferStatus status);
 
+    @EntityGraph(attributePaths = {"sourceBranch", "targetBranch", "product", "requestedBy", "approvedBy"})
     List<StockTransfer> findByTargetBranchIdAndStatus(Long targetBranchId, TransferStatus status);
-}
\ No newline at end of file
+}
@@ -1,11 +1,15 @@
 package com.supermarket.supermarket.repository;
 
+import com.supermarket.supermarket.dto.user.NotificationRecipient;
 import com.supermarket.supermarket.model.user.User;
 import com.supermarket.supermarket.model.user.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +24,7 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     boolean existsByUsername(String username);
 
     List<User> findByRoleIn(List<UserRole> roles);
+
+    @Query("SELECT new com.supermarket.supermarket.dto.user.NotificationRecipient(u.id, u.email) FROM User u WHERE u.role IN :roles ORDER BY u.id")
+    List<NotificationRecipient> findRecipientsByRoleIn(@Param("roles") Collection<UserRole> roles);
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.supermarket.supermarket.retry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+@Slf4j
+public class OptimisticRetryAspect {
+    private static final String PROPERTY_PREFIX = "retry.optimistic-lock.";
+    private static final int DEFAULT_MAX_ATTEMPTS = 4;
+    private static final long DEFAULT_INITIAL_BACKOFF_MS = 10;
+    private static final long DEFAULT_MAX_BACKOFF_MS = 200;
+    private static final String RETRY_METER = "supermarket.optimistic.lock.retries";
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> retries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> exhausted = new ConcurrentHashMap<>();
+
+    @Around("@annotation(optimisticRetry)")
+    public Object retry(ProceedingJoinPoint joinPoint, OptimisticRetry optimisticRetry) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        String operation = optimisticRetry.value();
+        int maxAttempts = Math.max(1, property(operation, "max-attempts", Integer.class, DEFAULT_MAX_ATTEMPTS));
+        long initialBackoffMs = property(operation, "initial-backoff-ms", Long.class, DEFAULT_INITIAL_BACKOFF_MS);
+        long maxBackoffMs = property(operation, "max-backoff-ms", Long.class, DEFAULT_MAX_BACKOFF_MS);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    counter(exhausted, "exhausted", operation).incrementAndGet();
+                    log.warn("Optimistic lock retries exhausted for {} after {} attempts", operation, attempt);
+                    throw e;
+                }
+                counter(retries, "retried", operation).incrementAndGet();
+                long delay = jitteredBackoff(attempt, initialBackoffMs, maxBackoffMs);
+                log.debug("Optimistic lock conflict on {} (attempt {}/{}), retrying in {} ms",
+                        operation, attempt, maxAttempts, delay);
+                if (!sleep(delay)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public long getRetryCount(String operation) {
+        return counter(retries, "retried", operation).get();
+    }
+
+    public long getExhaustedCount(String operation) {
+        return counter(exhausted, "exhausted", operation).get();
+    }
+
+    public Map<String, AtomicLong> getRetryCounters() {
+        return retries;
+    }
+
+    public Map<String, AtomicLong> getExhaustedCounters() {
+        return exhausted;
+    }
+
+    private long jitteredBackoff(int attempt, long initialBackoffMs, long maxBackoffMs) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private boolean sleep(long delay) {
+        if (delay <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private <T> T property(String operation, String key, Class<T> type, T defaultValue) {
+        T globalValue = environment.getProperty(PROPERTY_PREFIX + key, type, defaultValue);
+        return environment.getProperty(PROPERTY_PREFIX + operation + "." + key, type, globalValue);
+    }
+
+    private AtomicLong counter(Map<String, AtomicLong> counters, String outcome, String operation) {
+        return counters.computeIfAbsent(operation, k -> {
+            AtomicLong value = new AtomicLong();
+            FunctionCounter.builder(RETRY_METER, value, AtomicLong::get)
+                    .tag("operation", k)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.supermarket.supermarket.security;
+
+import com.supermarket.supermarket.exception.PasswordHashingBusyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Duration acquireTimeout;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrency, Duration acquireTimeout) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Password hashing concurrency must be at least 1");
+        }
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return withPermit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return withPermit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    private <T> T withPermit(Supplier<T> action) {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new PasswordHashingBusyException("Too many logins in progress, please retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while waiting to check the password");
+        }
+        try {
+            return action.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
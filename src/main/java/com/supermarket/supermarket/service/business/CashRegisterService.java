@@ -5,6 +5,8 @@ import com.supermarket.supermarket.dto.cashregister.CloseRegisterRequest;
 import com.supermarket.supermarket.dto.cashregister.OpenRegisterRequest;
 import com.supermarket.supermarket.model.cashregister.CashRegister;
 
+import java.util.Optional;
+
 public interface CashRegisterService {
     CashRegisterResponse openRegister(OpenRegisterRequest request);
 
@@ -14,4 +16,6 @@ public interface CashRegisterService {
 
     CashRegister getRegisterEntityByBranch(Long branchId);
 
+    Optional<CashRegister> findRegisterEntityByBranch(Long branchId);
+
 }
\ No newline at end of file
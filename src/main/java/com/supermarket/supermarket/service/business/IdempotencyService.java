@@ -0,0 +1,8 @@
+package com.supermarket.supermarket.service.business;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    <T> T execute(String scope, String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action);
+}
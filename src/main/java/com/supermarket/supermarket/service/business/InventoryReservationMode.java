@@ -0,0 +1,6 @@
+package com.supermarket.supermarket.service.business;
+
+public enum InventoryReservationMode {
+    OPTIMISTIC,
+    ATOMIC
+}
@@ -1,26 +1,42 @@
 package com.supermarket.supermarket.service.business;
 
+import com.supermarket.supermarket.dto.inventory.BranchLockStats;
 import com.supermarket.supermarket.dto.inventory.LowStockAlertResponse;
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
 import com.supermarket.supermarket.model.sale.SaleDetail;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface InventoryService {
 
     Integer getStockInBranch(Long branchId, Long productId);
 
+    List<StockLevel> getStockLevels(Long branchId, Collection<Long> productIds);
+
     List<LowStockAlertResponse> getLowStockInBranch(Long branchId);
 
-    List<LowStockAlertResponse> getLowStockGlobal();
+    CursorPage<LowStockAlertResponse> getLowStockGlobal(String cursor, Integer size);
+
+    void streamLowStockGlobal(Consumer<LowStockAlertResponse> sink);
 
     void validateAndReduceStock(Long branchId, Long productId, Integer quantity);
 
     void restoreStock(Long branchId, Long productId, Integer quantity);
 
-    void validateAndReduceStockBatch(Long branchId, List<SaleDetailRequest> details);
+    List<StockLevel> validateAndReduceStockBatch(Long branchId, List<SaleDetailRequest> details);
 
     void restoreStockBatch(Long branchId, List<SaleDetail> details);
 
+    List<Long> reserveStock(Long branchId, Map<Long, Integer> quantities);
+
+    void releaseStock(Long branchId, Map<Long, Integer> quantities);
+
     void increaseStock(Long branchId, Long productId, Integer quantity);
+
+    BranchLockStats getBranchLockStats();
 }
\ No newline at end of file
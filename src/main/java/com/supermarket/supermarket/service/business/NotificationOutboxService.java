@@ -0,0 +1,10 @@
+package com.supermarket.supermarket.service.business;
+
+public interface NotificationOutboxService {
+
+    int dispatchPending();
+
+    long countPending();
+
+    void purgeDispatched();
+}
@@ -1,10 +1,12 @@
 package com.supermarket.supermarket.service.business;
 
 import com.supermarket.supermarket.dto.notification.NotificationResponse;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.model.notification.NotificationType;
 import com.supermarket.supermarket.model.user.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface NotificationService {
     void createNotification(User recipient, NotificationType type, String message, String data);
@@ -15,7 +17,9 @@ public interface NotificationService {
 
     List<NotificationResponse> getUnreadNotifications();
 
-    List<NotificationResponse> getAllNotifications();
+    CursorPage<NotificationResponse> getAllNotifications(String cursor, Integer size, boolean count);
+
+    void streamAllNotifications(Consumer<NotificationResponse> sink);
 
     void deleteNotification(Long notificationId);
 
@@ -0,0 +1,23 @@
+package com.supermarket.supermarket.service.business;
+
+import com.supermarket.supermarket.dto.product.ProductCatalogStats;
+import com.supermarket.supermarket.model.product.Product;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ProductCatalog {
+    String INVALIDATION_CHANNEL = "product-catalog:invalidate";
+
+    Map<Long, Product> getProducts(Collection<Long> ids);
+
+    void refreshAfterCommit(Product product);
+
+    void evictAfterCommit(Long productId);
+
+    int verify();
+
+    ProductCatalogStats rebuild();
+
+    ProductCatalogStats getStats();
+}
@@ -1,5 +1,7 @@
 package com.supermarket.supermarket.service.business;
 
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.product.ProductCatalogStats;
 import com.supermarket.supermarket.dto.product.ProductRequest;
 import com.supermarket.supermarket.dto.product.ProductResponse;
 import com.supermarket.supermarket.model.product.Product;
@@ -7,13 +9,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
     Page<ProductResponse> getAll(Specification<Product> spec, Pageable pageable);
 
-    List<ProductResponse> getAllForDropdown();
+    CursorPage<ProductResponse> getAllForDropdown(String cursor, Integer size);
+
+    void streamAllForDropdown(Consumer<ProductResponse> sink);
 
     ProductResponse getById(Long id);
 
@@ -23,4 +27,8 @@ public interface ProductService {
 
     void delete(Long id);
 
+    ProductCatalogStats rebuildCatalog();
+
+    ProductCatalogStats getCatalogStats();
+
 }
@@ -0,0 +1,19 @@
+package com.supermarket.supermarket.service.business;
+
+import com.supermarket.supermarket.dto.user.NotificationRecipient;
+import com.supermarket.supermarket.model.user.UserRole;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RecipientDirectory {
+    String INVALIDATION_CHANNEL = "recipient-directory:invalidate";
+
+    List<NotificationRecipient> findByRoles(Collection<UserRole> roles);
+
+    void invalidate();
+
+    long getHitCount();
+
+    long getMissCount();
+}
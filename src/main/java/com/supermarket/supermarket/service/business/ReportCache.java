@@ -0,0 +1,23 @@
+package com.supermarket.supermarket.service.business;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.supermarket.supermarket.dto.report.ReportCacheStats;
+import com.supermarket.supermarket.model.sale.Sale;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+public interface ReportCache {
+    String INVALIDATION_CHANNEL = "report-cache:invalidate";
+
+    <T> T get(ReportCacheKey key, TypeReference<T> type, Supplier<T> loader);
+
+    void evictSalesAfterCommit(Collection<Sale> sales);
+
+    void evictAfterCommit(Long branchId, LocalDate date);
+
+    void clear();
+
+    ReportCacheStats getStats();
+}
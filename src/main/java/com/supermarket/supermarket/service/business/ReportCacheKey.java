@@ -0,0 +1,20 @@
+package com.supermarket.supermarket.service.business;
+
+import java.time.LocalDate;
+
+public record ReportCacheKey(String report, Long branchId, LocalDate startDate, LocalDate endDate, String variant) {
+
+    public String id() {
+        return report + "|" + branchId + "|" + startDate + "|" + endDate + "|" + variant;
+    }
+
+    public boolean covers(Long branch, LocalDate date) {
+        return (branchId == null || branchId.equals(branch))
+                && (startDate == null || !date.isBefore(startDate))
+                && (endDate == null || !date.isAfter(endDate));
+    }
+
+    public boolean isClosed(LocalDate today) {
+        return endDate != null && endDate.isBefore(today);
+    }
+}
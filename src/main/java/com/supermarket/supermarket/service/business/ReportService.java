@@ -14,21 +14,33 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReportService {
     SalesSummaryResponse getSalesSummary(ReportFilterRequest filter);
 
     List<SalesByBranchDTO> getSalesByBranch(ReportFilterRequest filter);
 
+    void streamSalesByBranch(ReportFilterRequest filter, Consumer<SalesByBranchDTO> sink);
+
     Page<SalesByProductDTO> getSalesByProduct(ReportFilterRequest filter, Pageable pageable);
 
+    void streamSalesByProduct(ReportFilterRequest filter, Consumer<SalesByProductDTO> sink);
+
     List<SalesByCashierDTO> getSalesByCashier(ReportFilterRequest filter);
 
+    void streamSalesByCashier(ReportFilterRequest filter, Consumer<SalesByCashierDTO> sink);
+
     SalesComparisonResponse getSalesComparison(ReportFilterRequest filter);
 
     InventoryStatusResponse getInventoryStatus(ReportFilterRequest filter);
 
     Page<ProductPerformanceDTO> getProductPerformance(ReportFilterRequest filter, Pageable pageable);
 
+    void streamProductPerformance(ReportFilterRequest filter, Consumer<ProductPerformanceDTO> sink);
+
     CashRegisterReportResponse getCashRegisterReport(CashRegisterFilterRequest filter, Pageable pageable);
+
+    void streamCashRegisterClosures(CashRegisterFilterRequest filter,
+                                    Consumer<CashRegisterReportResponse.ClosureDiscrepancyDTO> sink);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.supermarket.supermarket.service.business;
+
+import com.supermarket.supermarket.dto.sale.SaleBatchRequest;
+import com.supermarket.supermarket.dto.sale.SaleBatchResponse;
+
+public interface SaleBatchService {
+
+    SaleBatchResponse createBatch(SaleBatchRequest request);
+}
@@ -0,0 +1,30 @@
+package com.supermarket.supermarket.service.business;
+
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.model.user.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface SaleCheckout {
+
+    Map<Long, Product> loadProducts(Collection<Long> productIds);
+
+    void verifyAvailability(Long branchId, Map<Long, Integer> required,
+                            Map<Long, Product> products, Map<Long, Integer> available);
+
+    Sale buildSale(SaleRequest request, Branch branch, CashRegister cashRegister,
+                   User cashier, Map<Long, Product> products);
+
+    List<StockLevel> reduceStock(SaleRequest request);
+
+    List<StockLevel> reserveStock(Long branchId, Map<Long, Integer> quantities, Map<Long, StockLevel> stockLevels);
+
+    List<Sale> complete(Branch branch, List<Sale> sales, List<StockLevel> stockLevels, Map<Long, Product> products);
+}
@@ -1,15 +1,16 @@
 package com.supermarket.supermarket.service.business;
 
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.dto.sale.CancelSaleRequest;
 import com.supermarket.supermarket.dto.sale.SaleRequest;
 import com.supermarket.supermarket.dto.sale.SaleResponse;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface SaleService {
-    List<SaleResponse> getAll();
+    CursorPage<SaleResponse> getAll(String cursor, Integer size, boolean count);
+
+    void streamAll(Consumer<SaleResponse> sink);
 
     SaleResponse getById(Long id);
 
@@ -19,7 +20,7 @@ public interface SaleService {
 
     void delete(Long id);
 
-    Page<SaleResponse> getSalesByCashier(Long cashierId, Pageable pageable);
+    CursorPage<SaleResponse> getSalesByCashier(Long cashierId, String cursor, Integer size, boolean count);
 
     SaleResponse getSaleByIdAndCashier(Long saleId, Long cashierId);
 
@@ -0,0 +1,18 @@
+package com.supermarket.supermarket.service.business;
+
+import com.supermarket.supermarket.dto.report.SalesRollupStats;
+import com.supermarket.supermarket.model.sale.Sale;
+
+import java.util.Collection;
+
+public interface SalesRollupService {
+    void record(Collection<Sale> sales);
+
+    void reverse(Sale sale);
+
+    boolean isAvailable();
+
+    SalesRollupStats rebuild();
+
+    SalesRollupStats getStats();
+}
@@ -0,0 +1,19 @@
+package com.supermarket.supermarket.service.business;
+
+import com.supermarket.supermarket.dto.hold.StockHoldRequest;
+import com.supermarket.supermarket.dto.hold.StockHoldResponse;
+
+import java.util.Map;
+
+public interface StockHoldService {
+
+    StockHoldResponse create(StockHoldRequest request);
+
+    StockHoldResponse getById(Long id);
+
+    void release(Long id);
+
+    void consume(Long holdId, Long branchId, Map<Long, Integer> quantities);
+
+    int releaseExpired();
+}
@@ -1,10 +1,12 @@
 package com.supermarket.supermarket.service.business;
 
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.dto.transfer.RejectTransferRequest;
 import com.supermarket.supermarket.dto.transfer.TransferRequest;
 import com.supermarket.supermarket.dto.transfer.TransferResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TransferService {
     TransferResponse requestTransfer(TransferRequest request);
@@ -17,7 +19,9 @@ public interface TransferService {
 
     TransferResponse cancelTransfer(Long transferId);
 
-    List<TransferResponse> getAllTransfers();
+    CursorPage<TransferResponse> getAllTransfers(String cursor, Integer size);
+
+    void streamAllTransfers(Consumer<TransferResponse> sink);
 
     TransferResponse getTransferById(Long id);
 
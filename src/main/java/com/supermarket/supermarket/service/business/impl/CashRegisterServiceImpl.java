@@ -16,6 +16,7 @@ import com.supermarket.supermarket.repository.SaleRepository;
 import com.supermarket.supermarket.security.SecurityUtils;
 import com.supermarket.supermarket.service.business.CashRegisterService;
 import com.supermarket.supermarket.service.business.NotificationEventService;
+import com.supermarket.supermarket.service.business.ReportCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 @Service
 @Transactional
@@ -35,6 +37,7 @@ public class CashRegisterServiceImpl implements CashRegisterService {
     private final SecurityUtils securityUtils;
     private final NotificationEventService notificationEventService;
     private final SaleRepository saleRepository;
+    private final ReportCache reportCache;
 
     @Override
     public CashRegisterResponse openRegister(OpenRegisterRequest request) {
@@ -68,6 +71,7 @@ public class CashRegisterServiceImpl implements CashRegisterService {
         register.setStatus(CashRegisterStatus.CLOSED);
         register.setClosedBy(currentUser);
         CashRegister saved = cashRegisterRepository.save(register);
+        reportCache.evictAfterCommit(saved.getBranch().getId(), saved.getClosingTime().toLocalDate());
         notifyIfDiscrepancy(saved);
         return cashRegisterMapper.toResponse(saved);
     }
@@ -81,12 +85,16 @@ public class CashRegisterServiceImpl implements CashRegisterService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public CashRegister getRegisterEntityByBranch(Long branchId) {
-        return cashRegisterRepository.findByBranchIdAndStatus(branchId, CashRegisterStatus.OPEN)
+        return findRegisterEntityByBranch(branchId)
                 .orElseThrow(() -> new ResourceNotFoundException("No open register found for branch " + branchId));
     }
 
+    @Override
+    public Optional<CashRegister> findRegisterEntityByBranch(Long branchId) {
+        return cashRegisterRepository.findLockedByBranchIdAndStatus(branchId, CashRegisterStatus.OPEN);
+    }
+
     private User getCurrentUser() {
         return securityUtils.getCurrentUser();
     }
@@ -105,4 +113,4 @@ public class CashRegisterServiceImpl implements CashRegisterService {
             }
         }
     }
-}
\ No newline at end of file
+}
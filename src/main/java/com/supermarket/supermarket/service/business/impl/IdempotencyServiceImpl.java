@@ -0,0 +1,201 @@
+package com.supermarket.supermarket.service.business.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supermarket.supermarket.dto.idempotency.IdempotencyRecord;
+import com.supermarket.supermarket.exception.IdempotencyConflictException;
+import com.supermarket.supermarket.exception.IdempotencyStoreUnavailableException;
+import com.supermarket.supermarket.exception.InvalidOperationException;
+import com.supermarket.supermarket.security.SecurityUtils;
+import com.supermarket.supermarket.service.business.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final String IDEMPOTENCY_PREFIX = "idempotency:";
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SecurityUtils securityUtils;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl = Duration.ofHours(24);
+
+    @Value("${idempotency.in-progress-ttl:30s}")
+    private Duration inProgressTtl = Duration.ofSeconds(30);
+
+    @Value("${idempotency.wait-timeout:10s}")
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    @Value("${idempotency.poll-interval:50ms}")
+    private Duration pollInterval = Duration.ofMillis(50);
+
+    @Value("${idempotency.unavailable-retry-after:5s}")
+    private Duration unavailableRetryAfter = Duration.ofSeconds(5);
+
+    @Override
+    public <T> T execute(String scope, String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidOperationException("Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+        String redisKey = IDEMPOTENCY_PREFIX + scope + ":" + securityUtils.getCurrentUser().getId() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        String inProgress = write(IdempotencyRecord.builder()
+                .fingerprint(fingerprint)
+                .owner(UUID.randomUUID().toString())
+                .build());
+        while (true) {
+            Boolean acquired;
+            try {
+                acquired = redisTemplate.opsForValue().setIfAbsent(redisKey, inProgress, inProgressTtl);
+            } catch (DataAccessException e) {
+                throw unavailable(e);
+            }
+            if (Boolean.TRUE.equals(acquired)) {
+                return runAndStore(redisKey, inProgress, fingerprint, responseType, action);
+            }
+            String stored;
+            try {
+                stored = redisTemplate.opsForValue().get(redisKey);
+            } catch (DataAccessException e) {
+                throw unavailable(e);
+            }
+            if (stored != null) {
+                IdempotencyRecord record = read(stored, IdempotencyRecord.class);
+                if (!fingerprint.equals(record.getFingerprint())) {
+                    throw new IdempotencyConflictException(
+                            "Idempotency-Key was already used with a different request payload");
+                }
+                if (record.isCompleted()) {
+                    if (record.getResponse() == null) {
+                        throw new IdempotencyConflictException(
+                                "A request with this Idempotency-Key was already processed but its response could not be stored");
+                    }
+                    log.info("Replaying stored {} response for idempotency key {}", scope, idempotencyKey);
+                    return read(record.getResponse(), responseType);
+                }
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new IdempotencyConflictException(
+                        "A request with this Idempotency-Key is still being processed");
+            }
+            pause();
+        }
+    }
+
+    private <T> T runAndStore(String redisKey, String inProgress, String fingerprint, Class<T> responseType,
+                              Supplier<T> action) {
+        T response;
+        ScheduledFuture<?> renewal = taskScheduler.scheduleAtFixedRate(
+                () -> renew(redisKey, inProgress), inProgressTtl.dividedBy(3));
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            renewal.cancel(false);
+            try {
+                redisTemplate.delete(redisKey);
+            } catch (DataAccessException cleanup) {
+                log.warn("Failed to release idempotency key {}: {}", redisKey, cleanup.getMessage());
+            }
+            throw e;
+        }
+        renewal.cancel(false);
+        try {
+            redisTemplate.opsForValue().set(redisKey, write(IdempotencyRecord.builder()
+                    .completed(true)
+                    .fingerprint(fingerprint)
+                    .response(write(response))
+                    .build()), ttl);
+        } catch (DataAccessException | IllegalStateException e) {
+            log.warn("Failed to store idempotent response for key {}: {}", redisKey, e.getMessage());
+            markProcessed(redisKey, fingerprint);
+        }
+        return response;
+    }
+
+    private void renew(String redisKey, String inProgress) {
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(redisKey), inProgress,
+                    String.valueOf(inProgressTtl.toMillis()));
+            if (renewed == null || renewed == 0L) {
+                log.warn("Idempotency key {} is no longer held by this request", redisKey);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to renew idempotency key {}: {}", redisKey, e.getMessage());
+        }
+    }
+
+    private void markProcessed(String redisKey, String fingerprint) {
+        try {
+            redisTemplate.opsForValue().set(redisKey, write(IdempotencyRecord.builder()
+                    .completed(true)
+                    .fingerprint(fingerprint)
+                    .build()), ttl);
+        } catch (DataAccessException e) {
+            log.error("Failed to mark idempotency key {} as processed, a retry after {} may run the request again: {}",
+                    redisKey, inProgressTtl, e.getMessage());
+        }
+    }
+
+    private IdempotencyStoreUnavailableException unavailable(DataAccessException e) {
+        return new IdempotencyStoreUnavailableException(Math.max(1, unavailableRetryAfter.toSeconds()), e);
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the original request to finish");
+        }
+    }
+
+    private String fingerprint(Object request) {
+        return DigestUtils.md5DigestAsHex(write(request).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotency record", e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize idempotency record", e);
+        }
+    }
+}
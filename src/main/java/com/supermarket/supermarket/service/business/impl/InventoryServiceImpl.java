@@ -1,29 +1,49 @@
 package com.supermarket.supermarket.service.business.impl;
 
+import com.supermarket.supermarket.dto.inventory.BranchLockStats;
 import com.supermarket.supermarket.dto.inventory.LowStockAlertResponse;
+import com.supermarket.supermarket.dto.inventory.StockDelta;
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
 import com.supermarket.supermarket.exception.InsufficientStockException;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.export.EntityStreamer;
+import com.supermarket.supermarket.lock.BranchStockLocks;
 import com.supermarket.supermarket.model.branch.BranchInventory;
 import com.supermarket.supermarket.model.sale.SaleDetail;
 import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.retry.OptimisticRetry;
+import com.supermarket.supermarket.service.business.InventoryReservationMode;
 import com.supermarket.supermarket.service.business.InventoryService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "jpa", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class InventoryServiceImpl implements InventoryService {
 
     private final BranchInventoryRepository branchInventoryRepository;
+    private final BranchStockLocks branchStockLocks;
+    private final EntityStreamer entityStreamer;
+
+    @Value("${inventory.reservation-mode:OPTIMISTIC}")
+    private InventoryReservationMode reservationMode = InventoryReservationMode.OPTIMISTIC;
 
     @Override
     @Transactional(readOnly = true)
@@ -33,6 +53,12 @@ public class InventoryServiceImpl implements InventoryService {
                 .orElse(0);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockLevel> getStockLevels(Long branchId, Collection<Long> productIds) {
+        return branchInventoryRepository.findStockLevels(branchId, productIds);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<LowStockAlertResponse> getLowStockInBranch(Long branchId) {
@@ -43,15 +69,30 @@ public class InventoryServiceImpl implements InventoryService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<LowStockAlertResponse> getLowStockGlobal() {
-        return branchInventoryRepository.findLowStockGlobal().stream()
-                .map(this::mapToLowStockAlert)
-                .collect(Collectors.toList());
+    public CursorPage<LowStockAlertResponse> getLowStockGlobal(String cursor, Integer size) {
+        Long after = CursorPage.idCursor(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        List<BranchInventory> inventories = branchInventoryRepository.findLowStockGlobalAfter(
+                after != null ? after : 0L, Limit.of(pageSize + 1));
+        return CursorPage.of(inventories, pageSize, this::mapToLowStockAlert, BranchInventory::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamLowStockGlobal(Consumer<LowStockAlertResponse> sink) {
+        entityStreamer.forEach(branchInventoryRepository.streamLowStockGlobal(), this::mapToLowStockAlert, sink);
     }
 
     @Override
     @Transactional
+    @OptimisticRetry("inventory-reduce")
     public void validateAndReduceStock(Long branchId, Long productId, Integer quantity) {
+        branchStockLocks.lockBranches(branchId);
+        if (reservationMode == InventoryReservationMode.ATOMIC) {
+            reserveAtomically(branchId, Map.of(productId, quantity));
+            log.info("Reduced stock for product {} in branch {} by {}", productId, branchId, quantity);
+            return;
+        }
         BranchInventory inventory = findInventory(branchId, productId);
         verifySufficientStock(inventory, quantity);
         inventory.setStock(inventory.getStock() - quantity);
@@ -62,7 +103,9 @@ public class InventoryServiceImpl implements InventoryService {
 
     @Override
     @Transactional
+    @OptimisticRetry("inventory-restore")
     public void restoreStock(Long branchId, Long productId, Integer quantity) {
+        branchStockLocks.lockBranches(branchId);
         BranchInventory inventory = findInventory(branchId, productId);
         inventory.setStock(inventory.getStock() + quantity);
         branchInventoryRepository.save(inventory);
@@ -72,7 +115,9 @@ public class InventoryServiceImpl implements InventoryService {
 
     @Override
     @Transactional
+    @OptimisticRetry("inventory-increase")
     public void increaseStock(Long branchId, Long productId, Integer quantity) {
+        branchStockLocks.lockBranches(branchId);
         BranchInventory inventory = findInventory(branchId, productId);
         inventory.setStock(inventory.getStock() + quantity);
         branchInventoryRepository.save(inventory);
@@ -81,15 +126,52 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     @Transactional
-    public void validateAndReduceStockBatch(Long branchId, List<SaleDetailRequest> details) {
+    @OptimisticRetry("inventory-reduce")
+    @Timed("supermarket.inventory.batch")
+    public List<StockLevel> validateAndReduceStockBatch(Long branchId, List<SaleDetailRequest> details) {
         log.info("Reducing batch stock for branch {} with {} items", branchId, details.size());
 
         Map<Long, Integer> requiredQuantities = buildQuantityMap(details);
+        branchStockLocks.lockBranches(branchId);
+        if (reservationMode == InventoryReservationMode.ATOMIC) {
+            reserveAtomically(branchId, requiredQuantities);
+            return branchInventoryRepository.findStockLevels(branchId, requiredQuantities.keySet());
+        }
         List<BranchInventory> inventories = loadInventories(branchId, requiredQuantities.keySet());
         verifySufficientStockBatch(inventories, requiredQuantities);
 
         applyStockReduction(inventories, requiredQuantities);
         branchInventoryRepository.saveAll(inventories);
+        return inventories.stream()
+                .map(inv -> new StockLevel(inv.getProduct().getId(), inv.getStock(), inv.getMinStock()))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    @Timed("supermarket.inventory.batch")
+    public List<Long> reserveStock(Long branchId, Map<Long, Integer> quantities) {
+        branchStockLocks.lockBranches(branchId);
+        return branchInventoryRepository.decrementStockIfAvailable(branchId, quantities);
+    }
+
+    @Override
+    @Transactional
+    @Timed("supermarket.inventory.batch")
+    public void releaseStock(Long branchId, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        branchStockLocks.lockBranches(branchId);
+        branchInventoryRepository.applyStockDeltas(quantities.entrySet().stream()
+                .map(entry -> new StockDelta(branchId, entry.getKey(), entry.getValue()))
+                .toList());
+        log.info("Released held stock for {} products in branch {}", quantities.size(), branchId);
+    }
+
+    @Override
+    public BranchLockStats getBranchLockStats() {
+        return branchStockLocks.getStats();
     }
 
     private Map<Long, Integer> buildQuantityMap(List<SaleDetailRequest> details) {
@@ -100,12 +182,25 @@ public class InventoryServiceImpl implements InventoryService {
         ));
     }
 
+    private void reserveAtomically(Long branchId, Map<Long, Integer> requiredQuantities) {
+        List<Long> rejected = branchInventoryRepository.decrementStockIfAvailable(branchId, requiredQuantities);
+        if (rejected.isEmpty()) {
+            return;
+        }
+        List<BranchInventory> inventories = loadInventories(branchId, Set.copyOf(rejected));
+        verifySufficientStockBatch(inventories, requiredQuantities);
+        throw new InsufficientStockException(
+                String.format("Insufficient stock for products %s in branch %d", rejected, branchId));
+    }
+
     private void applyStockReduction(List<BranchInventory> inventories, Map<Long, Integer> required) {
         inventories.forEach(inv -> inv.setStock(inv.getStock() - required.get(inv.getProduct().getId())));
     }
 
 
     @Transactional
+    @OptimisticRetry("inventory-restore")
+    @Timed("supermarket.inventory.batch")
     public void restoreStockBatch(Long branchId, List<SaleDetail> details) {
         if (details == null || details.isEmpty()) {
             log.debug("Nothing to restore");
@@ -113,6 +208,7 @@ public class InventoryServiceImpl implements InventoryService {
         }
 
         log.info("Restoring batch stock for branch {} with {} items", branchId, details.size());
+        branchStockLocks.lockBranches(branchId);
 
         Map<Long, Integer> quantitiesToRestore = details.stream()
                 .collect(Collectors.groupingBy(
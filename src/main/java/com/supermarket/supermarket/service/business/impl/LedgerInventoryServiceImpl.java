@@ -0,0 +1,226 @@
+package com.supermarket.supermarket.service.business.impl;
+
+import com.supermarket.supermarket.dto.inventory.BranchLockStats;
+import com.supermarket.supermarket.dto.inventory.LowStockAlertResponse;
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.export.EntityStreamer;
+import com.supermarket.supermarket.ledger.StockLedger;
+import com.supermarket.supermarket.lock.BranchStockLocks;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.sale.SaleDetail;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.service.business.InventoryService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "ledger")
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerInventoryServiceImpl implements InventoryService {
+
+    private final StockLedger stockLedger;
+    private final BranchInventoryRepository branchInventoryRepository;
+    private final BranchStockLocks branchStockLocks;
+    private final EntityStreamer entityStreamer;
+
+    @Override
+    public Integer getStockInBranch(Long branchId, Long productId) {
+        return stockLedger.find(branchId, productId)
+                .map(StockLevel::getStock)
+                .orElse(0);
+    }
+
+    @Override
+    public List<StockLevel> getStockLevels(Long branchId, Collection<Long> productIds) {
+        return stockLedger.levels(branchId, productIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LowStockAlertResponse> getLowStockInBranch(Long branchId) {
+        stockLedger.flush();
+        return branchInventoryRepository.findLowStockByBranchId(branchId).stream()
+                .map(this::mapToLowStockAlert)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<LowStockAlertResponse> getLowStockGlobal(String cursor, Integer size) {
+        stockLedger.flush();
+        Long after = CursorPage.idCursor(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        List<BranchInventory> inventories = branchInventoryRepository.findLowStockGlobalAfter(
+                after != null ? after : 0L, Limit.of(pageSize + 1));
+        return CursorPage.of(inventories, pageSize, this::mapToLowStockAlert, BranchInventory::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamLowStockGlobal(Consumer<LowStockAlertResponse> sink) {
+        stockLedger.flush();
+        entityStreamer.forEach(branchInventoryRepository.streamLowStockGlobal(), this::mapToLowStockAlert, sink);
+    }
+
+    @Override
+    @Transactional
+    public void validateAndReduceStock(Long branchId, Long productId, Integer quantity) {
+        requireTracked(branchId, Set.of(productId));
+        List<Long> rejected = stockLedger.reserve(branchId, Map.of(productId, quantity));
+        if (!rejected.isEmpty()) {
+            throw insufficientStock(branchId, productId, quantity);
+        }
+        log.info("Reduced stock for product {} in branch {} by {}", productId, branchId, quantity);
+    }
+
+    @Override
+    @Transactional
+    public void restoreStock(Long branchId, Long productId, Integer quantity) {
+        requireTracked(branchId, Set.of(productId));
+        stockLedger.add(branchId, Map.of(productId, quantity));
+        log.info("Restored stock for product {} in branch {} by {}", productId, branchId, quantity);
+    }
+
+    @Override
+    @Transactional
+    public void increaseStock(Long branchId, Long productId, Integer quantity) {
+        requireTracked(branchId, Set.of(productId));
+        stockLedger.add(branchId, Map.of(productId, quantity));
+        log.info("Increased stock for product {} in branch {} by {}", productId, branchId, quantity);
+    }
+
+    @Override
+    @Transactional
+    @Timed("supermarket.inventory.batch")
+    public List<StockLevel> validateAndReduceStockBatch(Long branchId, List<SaleDetailRequest> details) {
+        log.info("Reducing batch stock for branch {} with {} items", branchId, details == null ? 0 : details.size());
+        Map<Long, Integer> requiredQuantities = buildQuantityMap(details);
+        requireTracked(branchId, requiredQuantities.keySet());
+        List<Long> rejected = stockLedger.reserve(branchId, requiredQuantities);
+        if (!rejected.isEmpty()) {
+            Long productId = rejected.get(0);
+            throw insufficientStock(branchId, productId, requiredQuantities.get(productId));
+        }
+        return stockLedger.levels(branchId, requiredQuantities.keySet());
+    }
+
+    @Override
+    @Transactional
+    @Timed("supermarket.inventory.batch")
+    public void restoreStockBatch(Long branchId, List<SaleDetail> details) {
+        if (details == null || details.isEmpty()) {
+            log.debug("Nothing to restore");
+            return;
+        }
+        Map<Long, Integer> quantitiesToRestore = details.stream()
+                .collect(Collectors.groupingBy(
+                        d -> d.getProduct().getId(),
+                        Collectors.summingInt(SaleDetail::getQuantity)
+                ));
+        List<Long> missing = untracked(branchId, quantitiesToRestore.keySet());
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException(String.format("Products not found in branch: %s", missing));
+        }
+        stockLedger.add(branchId, quantitiesToRestore);
+        log.info("Stock restored for {} products in branch {}", quantitiesToRestore.size(), branchId);
+    }
+
+    @Override
+    @Transactional
+    @Timed("supermarket.inventory.batch")
+    public List<Long> reserveStock(Long branchId, Map<Long, Integer> quantities) {
+        return stockLedger.reserve(branchId, quantities);
+    }
+
+    @Override
+    @Transactional
+    @Timed("supermarket.inventory.batch")
+    public void releaseStock(Long branchId, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        stockLedger.add(branchId, quantities);
+        log.info("Released held stock for {} products in branch {}", quantities.size(), branchId);
+    }
+
+    @Override
+    public BranchLockStats getBranchLockStats() {
+        return branchStockLocks.getStats();
+    }
+
+    private void requireTracked(Long branchId, Set<Long> productIds) {
+        List<Long> missing = untracked(branchId, productIds);
+        if (missing.size() == 1 && productIds.size() == 1) {
+            throw new ResourceNotFoundException(
+                    String.format("Product %d not found in branch %d", missing.get(0), branchId));
+        }
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException(
+                    String.format("The following products do not exist in branch %d: %s", branchId, missing));
+        }
+    }
+
+    private List<Long> untracked(Long branchId, Set<Long> productIds) {
+        return productIds.stream()
+                .filter(productId -> stockLedger.find(branchId, productId).isEmpty())
+                .sorted()
+                .toList();
+    }
+
+    private InsufficientStockException insufficientStock(Long branchId, Long productId, Integer required) {
+        int available = stockLedger.find(branchId, productId).map(StockLevel::getStock).orElse(0);
+        return new InsufficientStockException(
+                String.format("Insufficient stock for product %d in branch %d. Available: %d, required: %d",
+                        productId, branchId, available, required));
+    }
+
+    private Map<Long, Integer> buildQuantityMap(List<SaleDetailRequest> details) {
+        if (details == null || details.isEmpty()) {
+            throw new IllegalArgumentException("Details list cannot be empty");
+        }
+        for (int i = 0; i < details.size(); i++) {
+            SaleDetailRequest item = details.get(i);
+            if (item.getProductId() == null) {
+                throw new IllegalArgumentException("Detail at position " + i + " does not have a productId");
+            }
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException(
+                        String.format("Invalid quantity (%d) for product %d",
+                                item.getQuantity(), item.getProductId())
+                );
+            }
+        }
+        return details.stream().collect(Collectors.groupingBy(
+                SaleDetailRequest::getProductId,
+                Collectors.summingInt(SaleDetailRequest::getQuantity)
+        ));
+    }
+
+    private LowStockAlertResponse mapToLowStockAlert(BranchInventory inventory) {
+        return LowStockAlertResponse.builder()
+                .branchId(inventory.getBranch().getId())
+                .branchName(inventory.getBranch().getName())
+                .productId(inventory.getProduct().getId())
+                .productName(inventory.getProduct().getName())
+                .currentStock(inventory.getStock())
+                .minStock(inventory.getMinStock())
+                .build();
+    }
+}
@@ -1,35 +1,33 @@
 package com.supermarket.supermarket.service.business.impl;
 
 import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.notification.NotificationAudience;
+import com.supermarket.supermarket.model.notification.NotificationOutbox;
 import com.supermarket.supermarket.model.notification.NotificationType;
 import com.supermarket.supermarket.model.sale.Sale;
 import com.supermarket.supermarket.model.transfer.StockTransfer;
 import com.supermarket.supermarket.model.user.User;
-import com.supermarket.supermarket.model.user.UserRole;
-import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.repository.NotificationOutboxRepository;
 import com.supermarket.supermarket.service.business.NotificationEventService;
-import com.supermarket.supermarket.service.business.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationEventServiceImpl implements NotificationEventService {
-    private final NotificationService notificationService;
-    private final UserRepository userRepository;
+    private final NotificationOutboxRepository outboxRepository;
 
     @Override
     public void onLowStock(String branchName, String productName, int currentStock, int minStock) {
         String message = String.format(
                 "Low stock alert: '%s' in branch '%s'. Current: %d, Minimum: %d",
                 productName, branchName, currentStock, minStock);
-        List<User> managers = userRepository.findByRoleIn(List.of(UserRole.ADMIN, UserRole.MANAGER));
-        notificationService.createNotificationForUsers(managers, NotificationType.LOW_STOCK, message, null);
+        enqueueForManagers(NotificationType.LOW_STOCK, message);
     }
 
     @Override
@@ -40,8 +38,7 @@ public class NotificationEventServiceImpl implements NotificationEventService {
                 transfer.getProduct().getName(),
                 transfer.getSourceBranch().getName(),
                 transfer.getTargetBranch().getName());
-        List<User> managers = userRepository.findByRoleIn(List.of(UserRole.ADMIN, UserRole.MANAGER));
-        notificationService.createNotificationForUsers(managers, NotificationType.TRANSFER_REQUESTED, message, null);
+        enqueueForManagers(NotificationType.TRANSFER_REQUESTED, message);
     }
 
     @Override
@@ -51,8 +48,7 @@ public class NotificationEventServiceImpl implements NotificationEventService {
                 transfer.getQuantity(),
                 transfer.getProduct().getName(),
                 transfer.getTargetBranch().getName());
-        notificationService.createNotification(
-                transfer.getRequestedBy(), NotificationType.TRANSFER_APPROVED, message, null);
+        enqueueForUser(transfer.getRequestedBy(), NotificationType.TRANSFER_APPROVED, message);
     }
 
     @Override
@@ -63,8 +59,7 @@ public class NotificationEventServiceImpl implements NotificationEventService {
                 transfer.getProduct().getName(),
                 transfer.getTargetBranch().getName(),
                 transfer.getRejectionReason());
-        notificationService.createNotification(
-                transfer.getRequestedBy(), NotificationType.TRANSFER_REJECTED, message, null);
+        enqueueForUser(transfer.getRequestedBy(), NotificationType.TRANSFER_REJECTED, message);
     }
 
     @Override
@@ -75,8 +70,7 @@ public class NotificationEventServiceImpl implements NotificationEventService {
                 transfer.getProduct().getName(),
                 transfer.getSourceBranch().getName(),
                 transfer.getTargetBranch().getName());
-        List<User> managers = userRepository.findByRoleIn(List.of(UserRole.ADMIN, UserRole.MANAGER));
-        notificationService.createNotificationForUsers(managers, NotificationType.TRANSFER_COMPLETED, message, null);
+        enqueueForManagers(NotificationType.TRANSFER_COMPLETED, message);
     }
 
     @Override
@@ -85,9 +79,7 @@ public class NotificationEventServiceImpl implements NotificationEventService {
                 "Cash register discrepancy detected in branch '%s'. Variance: %.2f",
                 register.getBranch().getName(),
                 variance);
-        List<User> managers = userRepository.findByRoleIn(List.of(UserRole.ADMIN, UserRole.MANAGER));
-        notificationService.createNotificationForUsers(
-                managers, NotificationType.CASH_REGISTER_DISCREPANCY, message, null);
+        enqueueForManagers(NotificationType.CASH_REGISTER_DISCREPANCY, message);
     }
 
     @Override
@@ -97,7 +89,28 @@ public class NotificationEventServiceImpl implements NotificationEventService {
                 sale.getId(),
                 sale.getBranch().getName(),
                 sale.getCancellationReason());
-        List<User> managers = userRepository.findByRoleIn(List.of(UserRole.ADMIN, UserRole.MANAGER));
-        notificationService.createNotificationForUsers(managers, NotificationType.SALE_CANCELLED, message, null);
+        enqueueForManagers(NotificationType.SALE_CANCELLED, message);
     }
-}
\ No newline at end of file
+
+    private void enqueueForManagers(NotificationType type, String message) {
+        enqueue(NotificationAudience.MANAGERS, null, type, message);
+    }
+
+    private void enqueueForUser(User recipient, NotificationType type, String message) {
+        if (recipient == null) {
+            return;
+        }
+        enqueue(NotificationAudience.USER, recipient.getId(), type, message);
+    }
+
+    private void enqueue(NotificationAudience audience, Long recipientId, NotificationType type, String message) {
+        outboxRepository.save(NotificationOutbox.builder()
+                .audience(audience)
+                .recipientId(recipientId)
+                .type(type)
+                .message(message)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.debug("Queued {} notification for {}", type, audience);
+    }
+}
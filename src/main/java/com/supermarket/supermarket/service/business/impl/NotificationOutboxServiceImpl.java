@@ -0,0 +1,217 @@
+package com.supermarket.supermarket.service.business.impl;
+
+import com.supermarket.supermarket.model.notification.NotificationAudience;
+import com.supermarket.supermarket.model.notification.NotificationOutbox;
+import com.supermarket.supermarket.model.notification.OutboxStatus;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.NotificationOutboxRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.service.business.NotificationOutboxService;
+import com.supermarket.supermarket.service.business.NotificationService;
+import com.supermarket.supermarket.service.business.RecipientDirectory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxServiceImpl implements NotificationOutboxService {
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final List<UserRole> MANAGER_ROLES = List.of(UserRole.ADMIN, UserRole.MANAGER);
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationService notificationService;
+    private final UserRepository userRepository;
+    private final RecipientDirectory recipientDirectory;
+    private final PlatformTransactionManager transactionManager;
+    private final AtomicLong pending = new AtomicLong();
+    private Instant pendingRefreshedAt = Instant.EPOCH;
+
+    @Value("${notification.outbox.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${notification.outbox.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${notification.outbox.initial-backoff:2s}")
+    private Duration initialBackoff = Duration.ofSeconds(2);
+
+    @Value("${notification.outbox.max-backoff:5m}")
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    @Value("${notification.outbox.retention-days:7}")
+    private int retentionDays = 7;
+
+    @Value("${notification.outbox.pending-refresh:15s}")
+    private Duration pendingRefresh = Duration.ofSeconds(15);
+
+    @Override
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public int dispatchPending() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int dispatched = 0;
+        while (true) {
+            BatchResult result = dispatchNextBatch(transactionTemplate);
+            dispatched += result.delivered();
+            if (result.fetched() < batchSize) {
+                break;
+            }
+        }
+        if (dispatched > 0) {
+            log.info("Notification outbox: dispatched {} events", dispatched);
+        }
+        refreshPending();
+        return dispatched;
+    }
+
+    @Override
+    public long countPending() {
+        return pending.get();
+    }
+
+    @Override
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeDispatched() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int deleted = new TransactionTemplate(transactionManager).execute(status ->
+                outboxRepository.deleteByStatusAndDispatchedBefore(OutboxStatus.DISPATCHED, cutoff));
+        log.info("Scheduled cleanup: deleted {} dispatched outbox events older than {} days", deleted, retentionDays);
+    }
+
+    private BatchResult dispatchNextBatch(TransactionTemplate transactionTemplate) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<NotificationOutbox> ready = fetchReady();
+                return new BatchResult(ready.size(), deliver(ready));
+            });
+        } catch (RuntimeException e) {
+            log.warn("Notification outbox batch failed ({}), dispatching one by one", e.getMessage());
+            return dispatchOneByOne(transactionTemplate);
+        }
+    }
+
+    private BatchResult dispatchOneByOne(TransactionTemplate transactionTemplate) {
+        List<NotificationOutbox> ready = transactionTemplate.execute(status -> fetchReady());
+        Set<String> blocked = new HashSet<>();
+        int delivered = 0;
+        for (NotificationOutbox candidate : ready) {
+            Long eventId = candidate.getId();
+            String stream = stream(candidate);
+            if (blocked.contains(stream)) {
+                continue;
+            }
+            try {
+                delivered += transactionTemplate.execute(status -> outboxRepository.findLockedById(eventId)
+                        .map(event -> deliver(List.of(event)))
+                        .orElse(0));
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("Notification outbox event {} was handled by another dispatcher", eventId);
+            } catch (RuntimeException e) {
+                Boolean retrying = transactionTemplate.execute(status -> recordFailure(eventId, e));
+                if (Boolean.TRUE.equals(retrying)) {
+                    blocked.add(stream);
+                }
+            }
+        }
+        return new BatchResult(ready.size(), delivered);
+    }
+
+    private List<NotificationOutbox> fetchReady() {
+        return outboxRepository.findLockedReadyInRecipientOrder(
+                OutboxStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+    }
+
+    private String stream(NotificationOutbox event) {
+        return event.getAudience() + ":" + event.getRecipientId();
+    }
+
+    private void refreshPending() {
+        Instant now = Instant.now();
+        if (now.isBefore(pendingRefreshedAt.plus(pendingRefresh))) {
+            return;
+        }
+        pending.set(outboxRepository.countByStatus(OutboxStatus.PENDING));
+        pendingRefreshedAt = now;
+    }
+
+    private int deliver(List<NotificationOutbox> claimed) {
+        List<NotificationOutbox> events = claimed.stream()
+                .filter(e -> e.getStatus() == OutboxStatus.PENDING)
+                .toList();
+        List<User> managers = events.stream().anyMatch(e -> e.getAudience() == NotificationAudience.MANAGERS)
+                ? recipientDirectory.findByRoles(MANAGER_ROLES).stream()
+                .map(recipient -> userRepository.getReferenceById(recipient.getUserId()))
+                .toList()
+                : List.of();
+        Set<Long> recipientIds = events.stream()
+                .filter(e -> e.getAudience() == NotificationAudience.USER)
+                .map(NotificationOutbox::getRecipientId)
+                .collect(Collectors.toSet());
+        Map<Long, User> users = recipientIds.isEmpty() ? Map.of()
+                : userRepository.findAllById(recipientIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationOutbox event : events) {
+            List<User> recipients = event.getAudience() == NotificationAudience.MANAGERS
+                    ? managers
+                    : users.containsKey(event.getRecipientId()) ? List.of(users.get(event.getRecipientId())) : List.of();
+            notificationService.createNotificationForUsers(recipients, event.getType(), event.getMessage(), event.getData());
+            event.setAttempts(event.getAttempts() + 1);
+            event.setStatus(OutboxStatus.DISPATCHED);
+            event.setDispatchedAt(now);
+        }
+        return events.size();
+    }
+
+    private boolean recordFailure(Long eventId, RuntimeException error) {
+        NotificationOutbox event = outboxRepository.findLockedById(eventId).orElse(null);
+        if (event == null || event.getStatus() != OutboxStatus.PENDING) {
+            return false;
+        }
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(truncate(error.getMessage()));
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxStatus.FAILED);
+            log.error("Notification outbox event {} failed permanently after {} attempts", eventId, attempts, error);
+            return false;
+        }
+        event.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+        log.warn("Notification outbox event {} failed (attempt {}/{}), retry at {}; later events for the same recipient wait",
+                eventId, attempts, maxAttempts, event.getNextAttemptAt());
+        return true;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record BatchResult(int fetched, int delivered) {
+    }
+}
@@ -1,7 +1,10 @@
 package com.supermarket.supermarket.service.business.impl;
 
 import com.supermarket.supermarket.dto.notification.NotificationResponse;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.pagination.KeysetCursor;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.export.EntityStreamer;
 import com.supermarket.supermarket.mapper.NotificationMapper;
 import com.supermarket.supermarket.model.notification.Notification;
 import com.supermarket.supermarket.model.notification.NotificationType;
@@ -11,12 +14,14 @@ import com.supermarket.supermarket.security.SecurityUtils;
 import com.supermarket.supermarket.service.business.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +32,7 @@ public class NotificationServiceImpl implements NotificationService {
     private final NotificationRepository notificationRepository;
     private final NotificationMapper notificationMapper;
     private final SecurityUtils securityUtils;
+    private final EntityStreamer entityStreamer;
 
     @Override
     public void createNotification(User recipient, NotificationType type, String message, String data) {
@@ -76,10 +82,29 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<NotificationResponse> getAllNotifications() {
+    public CursorPage<NotificationResponse> getAllNotifications(String cursor, Integer size, boolean count) {
         User currentUser = securityUtils.getCurrentUser();
-        return notificationMapper.toResponseList(
-                notificationRepository.findByUserIdOrderByCreatedAtDesc(currentUser.getId()));
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Notification> notifications = before == null
+                ? notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(currentUser.getId(), limit)
+                : notificationRepository.findByUserIdPageBefore(
+                        currentUser.getId(), before.getCreatedAt(), before.getId(), limit);
+        CursorPage<NotificationResponse> page = CursorPage.of(notifications, pageSize, notificationMapper::toResponse,
+                notification -> KeysetCursor.encode(notification.getCreatedAt(), notification.getId()));
+        if (count) {
+            page.setTotal(notificationRepository.countByUserId(currentUser.getId()));
+        }
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllNotifications(Consumer<NotificationResponse> sink) {
+        User currentUser = securityUtils.getCurrentUser();
+        entityStreamer.forEach(notificationRepository.streamByUserId(currentUser.getId()),
+                notificationMapper::toResponse, sink);
     }
 
     @Override
@@ -0,0 +1,176 @@
+package com.supermarket.supermarket.service.business.impl;
+
+import com.supermarket.supermarket.dto.product.ProductCatalogStats;
+import com.supermarket.supermarket.dto.product.ProductSnapshot;
+import com.supermarket.supermarket.dto.product.ProductVersion;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.service.business.ProductCatalog;
+import com.supermarket.supermarket.transaction.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCatalogImpl implements ProductCatalog, MessageListener {
+    private final ProductRepository productRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<Long, ProductSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleEntriesTotal = new AtomicLong();
+    private volatile int staleEntries;
+    private volatile LocalDateTime lastVerifiedAt;
+    private volatile LocalDateTime lastRebuiltAt;
+
+    @Value("${product.catalog.redis-enabled:true}")
+    private boolean redisEnabled = true;
+
+    @Override
+    public Map<Long, Product> getProducts(Collection<Long> ids) {
+        Map<Long, Product> products = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            ProductSnapshot snapshot = snapshots.get(id);
+            if (snapshot != null) {
+                products.put(id, snapshot.toProduct());
+            } else {
+                missing.add(id);
+            }
+        }
+        hits.addAndGet(products.size());
+        if (!missing.isEmpty()) {
+            misses.addAndGet(missing.size());
+            long seen = generation.get();
+            for (Product product : productRepository.findAllById(missing)) {
+                ProductSnapshot loaded = ProductSnapshot.of(product);
+                products.put(product.getId(), (generation.get() == seen ? store(loaded) : loaded).toProduct());
+            }
+        }
+        return products;
+    }
+
+    @Override
+    public void refreshAfterCommit(Product product) {
+        ProductSnapshot snapshot = ProductSnapshot.of(product);
+        TransactionCallbacks.afterCommit(() -> {
+            store(snapshot);
+            publish(snapshot.getId() + "|" + snapshot.getVersion());
+        });
+    }
+
+    @Override
+    public void evictAfterCommit(Long productId) {
+        TransactionCallbacks.afterCommit(() -> {
+            snapshots.remove(productId);
+            publish(productId.toString());
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 2);
+        try {
+            Long productId = Long.valueOf(parts[0]);
+            Long version = parts.length == 2 ? Long.valueOf(parts[1]) : null;
+            generation.incrementAndGet();
+            snapshots.computeIfPresent(productId, (id, current) ->
+                    version != null && current.getVersion() != null && current.getVersion() >= version ? current : null);
+        } catch (NumberFormatException e) {
+            log.warn("Product catalog: ignoring malformed invalidation '{}'", body);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${product.catalog.verify-interval-ms:60000}",
+            initialDelayString = "${product.catalog.verify-interval-ms:60000}")
+    public int verify() {
+        Map<Long, Long> versions = new HashMap<>();
+        for (ProductVersion row : productRepository.findAllVersions()) {
+            versions.put(row.getId(), row.getVersion());
+        }
+        int stale = 0;
+        for (ProductSnapshot snapshot : snapshots.values()) {
+            boolean current = versions.containsKey(snapshot.getId())
+                    && Objects.equals(versions.get(snapshot.getId()), snapshot.getVersion());
+            if (!current && snapshots.remove(snapshot.getId(), snapshot)) {
+                stale++;
+            }
+        }
+        staleEntries = stale;
+        staleEntriesTotal.addAndGet(stale);
+        lastVerifiedAt = LocalDateTime.now();
+        if (stale > 0) {
+            log.warn("Product catalog: evicted {} stale entries", stale);
+        }
+        return stale;
+    }
+
+    @Override
+    public ProductCatalogStats rebuild() {
+        List<Product> products = productRepository.findAll();
+        snapshots.clear();
+        products.forEach(product -> store(ProductSnapshot.of(product)));
+        LocalDateTime now = LocalDateTime.now();
+        staleEntries = 0;
+        lastVerifiedAt = now;
+        lastRebuiltAt = now;
+        log.info("Product catalog rebuilt with {} products", snapshots.size());
+        return getStats();
+    }
+
+    @Override
+    public ProductCatalogStats getStats() {
+        LocalDateTime verifiedAt = lastVerifiedAt;
+        return ProductCatalogStats.builder()
+                .size(snapshots.size())
+                .hits(hits.get())
+                .misses(misses.get())
+                .staleEntries(staleEntries)
+                .staleEntriesTotal(staleEntriesTotal.get())
+                .secondsSinceVerification(verifiedAt == null ? null
+                        : Duration.between(verifiedAt, LocalDateTime.now()).getSeconds())
+                .lastVerifiedAt(verifiedAt)
+                .lastRebuiltAt(lastRebuiltAt)
+                .build();
+    }
+
+    private void publish(String body) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, body);
+        } catch (DataAccessException e) {
+            log.warn("Product catalog: failed to publish invalidation '{}': {}", body, e.getMessage());
+        }
+    }
+
+    private ProductSnapshot store(ProductSnapshot snapshot) {
+        return snapshots.merge(snapshot.getId(), snapshot,
+                (current, candidate) -> candidate.isNewerThan(current) ? candidate : current);
+    }
+}
@@ -1,17 +1,22 @@
 package com.supermarket.supermarket.service.business.impl;
 
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.product.ProductCatalogStats;
 import com.supermarket.supermarket.dto.product.ProductRequest;
 import com.supermarket.supermarket.dto.product.ProductResponse;
 import com.supermarket.supermarket.exception.DuplicateResourceException;
 import com.supermarket.supermarket.exception.InvalidOperationException;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.export.EntityStreamer;
 import com.supermarket.supermarket.mapper.ProductMapper;
 import com.supermarket.supermarket.model.product.Product;
 import com.supermarket.supermarket.repository.ProductRepository;
 import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.service.business.ProductCatalog;
 import com.supermarket.supermarket.service.business.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -19,6 +24,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +35,8 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepo;
     private final ProductMapper productMapper;
     private final SaleRepository saleRepo;
+    private final ProductCatalog productCatalog;
+    private final EntityStreamer entityStreamer;
 
     @Transactional(readOnly = true)
     @Override
@@ -38,10 +46,21 @@ public class ProductServiceImpl implements ProductService {
         return productsPage.map(productMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<ProductResponse> getAllForDropdown(String cursor, Integer size) {
+        Long after = CursorPage.idCursor(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        List<Product> products = productRepo.findByIdGreaterThanOrderByIdAsc(
+                after != null ? after : 0L, Limit.of(pageSize + 1));
+        return CursorPage.of(products, pageSize, productMapper::toResponse, Product::getId);
+    }
+
+    @Transactional(readOnly = true)
     @Override
-    public List<ProductResponse> getAllForDropdown() {
-        log.info("Fetching simple list of products");
-        return productMapper.toResponseList(productRepo.findAll());
+    public void streamAllForDropdown(Consumer<ProductResponse> sink) {
+        log.info("Streaming simple list of products");
+        entityStreamer.forEach(productRepo.streamAll(), productMapper::toResponse, sink);
     }
 
     @Transactional(readOnly = true)
@@ -57,8 +76,9 @@ public class ProductServiceImpl implements ProductService {
         if (productRepo.existsByName(request.getName())) {
             throw new DuplicateResourceException("Product already exists with name: " + request.getName());
         }
-        Product product = productMapper.toEntity(request);
-        return productMapper.toResponse(productRepo.save(product));
+        Product saved = productRepo.save(productMapper.toEntity(request));
+        productCatalog.refreshAfterCommit(saved);
+        return productMapper.toResponse(saved);
     }
 
     @Override
@@ -71,7 +91,9 @@ public class ProductServiceImpl implements ProductService {
             }
         }
         productMapper.updateEntity(request, product);
-        return productMapper.toResponse(productRepo.save(product));
+        Product saved = productRepo.save(product);
+        productCatalog.refreshAfterCommit(saved);
+        return productMapper.toResponse(saved);
     }
 
     @Override
@@ -82,9 +104,21 @@ public class ProductServiceImpl implements ProductService {
             throw new InvalidOperationException("Cannot delete product: It has associated sales records");
         }
         productRepo.delete(product);
+        productCatalog.evictAfterCommit(id);
         log.info("Product deleted successfully - ID: {}", id);
     }
 
+    @Override
+    public ProductCatalogStats rebuildCatalog() {
+        log.info("Rebuilding product catalog");
+        return productCatalog.rebuild();
+    }
+
+    @Override
+    public ProductCatalogStats getCatalogStats() {
+        return productCatalog.getStats();
+    }
+
     private Product findProduct(Long id) {
         return productRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
@@ -0,0 +1,110 @@
+package com.supermarket.supermarket.service.business.impl;
+
+import com.supermarket.supermarket.dto.user.NotificationRecipient;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.service.business.RecipientDirectory;
+import com.supermarket.supermarket.transaction.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecipientDirectoryImpl implements RecipientDirectory, MessageListener {
+    private static final String CLEAR_ALL = "*";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<Set<UserRole>, CachedRecipients> recipientsByRoles = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Value("${notification.recipients.ttl:5m}")
+    private Duration ttl = Duration.ofMinutes(5);
+
+    @Value("${notification.recipients.redis-enabled:true}")
+    private boolean redisEnabled = true;
+
+    @Override
+    public List<NotificationRecipient> findByRoles(Collection<UserRole> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return List.of();
+        }
+        Set<UserRole> key = Set.copyOf(EnumSet.copyOf(roles));
+        CachedRecipients cached = recipientsByRoles.get(key);
+        if (cached != null && !cached.isExpired()) {
+            hits.incrementAndGet();
+            return cached.recipients();
+        }
+        misses.incrementAndGet();
+        long loadedAt = generation.get();
+        List<NotificationRecipient> recipients = List.copyOf(userRepository.findRecipientsByRoleIn(key));
+        if (generation.get() == loadedAt) {
+            recipientsByRoles.put(key, new CachedRecipients(recipients, System.nanoTime() + ttl.toNanos()));
+        }
+        return recipients;
+    }
+
+    @Override
+    public void invalidate() {
+        TransactionCallbacks.afterCompletion(() -> {
+            clear();
+            publish();
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        clear();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private void publish() {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, CLEAR_ALL);
+        } catch (DataAccessException e) {
+            log.warn("Recipient directory: failed to publish invalidation: {}", e.getMessage());
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        recipientsByRoles.clear();
+        log.debug("Recipient directory invalidated");
+    }
+
+    private record CachedRecipients(List<NotificationRecipient> recipients, long expiresAt) {
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.supermarket.supermarket.service.business.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.supermarket.supermarket.dto.report.ReportCacheStats;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.service.business.ReportCache;
+import com.supermarket.supermarket.service.business.ReportCacheKey;
+import com.supermarket.supermarket.transaction.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportCacheImpl implements ReportCache, MessageListener {
+    private static final String KEY_PREFIX = "report-cache:";
+    private static final String INDEX_PREFIX = "report-cache:index:";
+    private static final String VERSION_PREFIX = "report-cache:version:";
+    private static final String CLEAR_VERSION = VERSION_PREFIX + "clear";
+    private static final String ALL_BRANCHES = "all";
+    private static final String CLEAR_ALL = "*";
+    private static final int DEFAULT_MAX_ENTRIES = 2_000;
+    private static final int SCAN_COUNT = 500;
+    private static final RedisScript<Long> STORE_SCRIPT = RedisScript.of("""
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] or (redis.call('GET', KEYS[3]) or '0') ~= ARGV[2] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[3], 'EX', ARGV[4])
+            redis.call('ZADD', KEYS[4], ARGV[5], ARGV[6])
+            redis.call('EXPIRE', KEYS[4], ARGV[7])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedReport> entries = Caffeine.newBuilder()
+            .maximumSize(DEFAULT_MAX_ENTRIES)
+            .expireAfter(new ReportExpiry())
+            .build();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong redisHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Value("${reports.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${reports.cache.redis-enabled:true}")
+    private boolean redisEnabled = true;
+
+    @Value("${reports.cache.ttl:5m}")
+    private Duration ttl = Duration.ofMinutes(5);
+
+    @Value("${reports.cache.closed-ttl:24h}")
+    private Duration closedTtl = Duration.ofHours(24);
+
+    @Value("${reports.cache.max-entries:2000}")
+    void setMaxEntries(long maxEntries) {
+        entries.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maxEntries));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(ReportCacheKey key, TypeReference<T> type, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String id = key.id();
+        CachedReport cached = entries.getIfPresent(id);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return (T) cached.value();
+        }
+        long seen = generation.get();
+        boolean closed = key.isClosed(LocalDate.now());
+        String redisKey = redisKey(key);
+        T value = readRedis(redisKey, type);
+        if (value != null) {
+            redisHits.incrementAndGet();
+            storeLocal(seen, id, new CachedReport(key, value, closed));
+            return value;
+        }
+        List<String> versions = readVersions(key.branchId());
+        misses.incrementAndGet();
+        value = loader.get();
+        if (storeLocal(seen, id, new CachedReport(key, value, closed))) {
+            writeRedis(key, redisKey, value, closed, versions);
+        }
+        return value;
+    }
+
+    @Override
+    public void evictSalesAfterCommit(Collection<Sale> sales) {
+        Map<Long, Set<LocalDate>> dates = new HashMap<>();
+        for (Sale sale : sales) {
+            Set<LocalDate> branchDates = dates.computeIfAbsent(sale.getBranch().getId(), id -> new TreeSet<>());
+            if (sale.getDate() != null) {
+                branchDates.add(sale.getDate());
+            }
+            CashRegister register = sale.getCashRegister();
+            if (register != null && register.getStatus() == CashRegisterStatus.CLOSED && register.getClosingTime() != null) {
+                branchDates.add(register.getClosingTime().toLocalDate());
+            }
+        }
+        dates.forEach((branchId, branchDates) -> {
+            if (!branchDates.isEmpty()) {
+                TransactionCallbacks.afterCommit(() -> evict(branchId, branchDates));
+            }
+        });
+    }
+
+    @Override
+    public void evictAfterCommit(Long branchId, LocalDate date) {
+        TransactionCallbacks.afterCommit(() -> evict(branchId, Set.of(date)));
+    }
+
+    @Override
+    public void clear() {
+        clearLocal();
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().increment(CLEAR_VERSION);
+        } catch (DataAccessException e) {
+            log.warn("Report cache: failed to bump the clear version: {}", e.getMessage());
+            return;
+        }
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(KEY_PREFIX + "*")
+                .count(SCAN_COUNT)
+                .build())) {
+            List<String> keys = new ArrayList<>(SCAN_COUNT);
+            while (cursor.hasNext()) {
+                String redisKey = cursor.next();
+                if (!redisKey.startsWith(VERSION_PREFIX)) {
+                    keys.add(redisKey);
+                }
+                if (keys.size() == SCAN_COUNT || (!cursor.hasNext() && !keys.isEmpty())) {
+                    redisTemplate.delete(keys);
+                    keys.clear();
+                }
+            }
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, CLEAR_ALL);
+        } catch (DataAccessException e) {
+            log.warn("Report cache: failed to clear shared entries: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public ReportCacheStats getStats() {
+        return ReportCacheStats.builder()
+                .enabled(enabled)
+                .redisEnabled(redisEnabled)
+                .size(entries.estimatedSize())
+                .hits(hits.get())
+                .redisHits(redisHits.get())
+                .misses(misses.get())
+                .invalidations(invalidations.get())
+                .build();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (CLEAR_ALL.equals(body)) {
+            clearLocal();
+            return;
+        }
+        String[] parts = body.split("\\|", 2);
+        if (parts.length != 2) {
+            log.warn("Report cache: ignoring malformed invalidation '{}'", body);
+            return;
+        }
+        evictLocal(Long.valueOf(parts[0]), Arrays.stream(parts[1].split(","))
+                .map(LocalDate::parse)
+                .collect(Collectors.toSet()));
+    }
+
+    private void evict(Long branchId, Set<LocalDate> dates) {
+        evictLocal(branchId, dates);
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().increment(VERSION_PREFIX + scope(branchId));
+            redisTemplate.opsForValue().increment(VERSION_PREFIX + ALL_BRANCHES);
+            evictRedis(INDEX_PREFIX + scope(branchId), branchId, dates);
+            evictRedis(INDEX_PREFIX + ALL_BRANCHES, branchId, dates);
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, branchId + "|" + dates.stream()
+                    .map(LocalDate::toString)
+                    .collect(Collectors.joining(",")));
+        } catch (DataAccessException e) {
+            log.warn("Report cache: failed to evict shared entries for branch {}: {}", branchId, e.getMessage());
+        }
+    }
+
+    private void evictLocal(Long branchId, Set<LocalDate> dates) {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        entries.asMap().values().removeIf(cached -> dates.stream().anyMatch(date -> cached.key().covers(branchId, date)));
+    }
+
+    private void clearLocal() {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        entries.invalidateAll();
+    }
+
+    private void evictRedis(String index, Long branchId, Set<LocalDate> dates) {
+        ZSetOperations<String, String> indexOps = redisTemplate.opsForZSet();
+        indexOps.removeRangeByScore(index, 0, Instant.now().getEpochSecond());
+        Set<String> members = indexOps.range(index, 0, -1);
+        if (members == null || members.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        List<Object> stale = new ArrayList<>();
+        for (String member : members) {
+            String[] parts = member.split("\\|", -1);
+            ReportCacheKey range = new ReportCacheKey(null, null, date(parts[1]), date(parts[2]), null);
+            if (dates.stream().anyMatch(date -> range.covers(branchId, date))) {
+                keys.add(parts[0]);
+                stale.add(member);
+            }
+        }
+        if (!keys.isEmpty()) {
+            redisTemplate.delete(keys);
+            indexOps.remove(index, stale.toArray());
+        }
+    }
+
+    private boolean storeLocal(long seen, String id, CachedReport cached) {
+        if (generation.get() != seen) {
+            return false;
+        }
+        entries.put(id, cached);
+        if (generation.get() != seen) {
+            entries.asMap().remove(id, cached);
+            return false;
+        }
+        return true;
+    }
+
+    private <T> T readRedis(String redisKey, TypeReference<T> type) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(redisKey);
+            return json != null ? objectMapper.readValue(json, type) : null;
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Report cache: failed to read {}: {}", redisKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private List<String> readVersions(Long branchId) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            List<String> versions = redisTemplate.opsForValue()
+                    .multiGet(List.of(VERSION_PREFIX + scope(branchId), CLEAR_VERSION));
+            return versions != null
+                    ? versions.stream().map(version -> version != null ? version : "0").toList()
+                    : null;
+        } catch (DataAccessException e) {
+            log.warn("Report cache: failed to read versions for branch {}: {}", branchId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(ReportCacheKey key, String redisKey, Object value, boolean closed, List<String> versions) {
+        if (!redisEnabled || versions == null) {
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(value);
+            Duration lifetime = closed ? closedTtl : ttl;
+            String scope = scope(key.branchId());
+            Long stored = redisTemplate.execute(STORE_SCRIPT,
+                    List.of(redisKey, VERSION_PREFIX + scope, CLEAR_VERSION, INDEX_PREFIX + scope),
+                    versions.get(0),
+                    versions.get(1),
+                    json,
+                    String.valueOf(seconds(lifetime)),
+                    String.valueOf(Instant.now().plus(lifetime).getEpochSecond()),
+                    redisKey + "|" + text(key.startDate()) + "|" + text(key.endDate()),
+                    String.valueOf(seconds(closedTtl.compareTo(ttl) > 0 ? closedTtl : ttl)));
+            if (stored == null || stored == 0L) {
+                log.debug("Report cache: skipped storing {} loaded before an invalidation", redisKey);
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Report cache: failed to store {}: {}", redisKey, e.getMessage());
+        }
+    }
+
+    private String scope(Long branchId) {
+        return branchId != null ? branchId.toString() : ALL_BRANCHES;
+    }
+
+    private long seconds(Duration duration) {
+        return Math.max(1, duration.toSeconds());
+    }
+
+    private String redisKey(ReportCacheKey key) {
+        return KEY_PREFIX + key.report() + ":"
+                + DigestUtils.md5DigestAsHex(key.id().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String text(LocalDate date) {
+        return date != null ? date.toString() : "";
+    }
+
+    private LocalDate date(String text) {
+        return text.isEmpty() ? null : LocalDate.parse(text);
+    }
+
+    private record CachedReport(ReportCacheKey key, Object value, boolean closed) {
+    }
+
+    private class ReportExpiry implements Expiry<String, CachedReport> {
+        @Override
+        public long expireAfterCreate(String key, CachedReport value, long currentTime) {
+            return value.closed() ? closedTtl.toNanos() : ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedReport value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedReport value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.supermarket.supermarket.service.business.impl;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.supermarket.supermarket.dto.cashregister.CashRegisterFilterRequest;
 import com.supermarket.supermarket.dto.inventory.InventoryStatusResponse;
+import com.supermarket.supermarket.dto.pagination.PageSnapshot;
 import com.supermarket.supermarket.dto.report.CashRegisterReportResponse;
+import com.supermarket.supermarket.dto.report.ComparisonStep;
 import com.supermarket.supermarket.dto.report.ProductPerformanceDTO;
 import com.supermarket.supermarket.dto.report.ReportFilterRequest;
+import com.supermarket.supermarket.dto.report.ReportPeriod;
 import com.supermarket.supermarket.dto.report.SalesByBranchDTO;
 import com.supermarket.supermarket.dto.report.SalesByCashierDTO;
 import com.supermarket.supermarket.dto.report.SalesByProductDTO;
@@ -12,38 +16,78 @@ import com.supermarket.supermarket.dto.report.SalesComparisonResponse;
 import com.supermarket.supermarket.dto.report.SalesSummaryResponse;
 import com.supermarket.supermarket.repository.BranchInventoryRepository;
 import com.supermarket.supermarket.repository.BranchInventoryRepository.InventoryStatusProjection;
+import com.supermarket.supermarket.repository.BranchInventoryRepository.ProductPerformanceProjection;
 import com.supermarket.supermarket.repository.CashRegisterRepository;
 import com.supermarket.supermarket.repository.CashRegisterRepository.ClosureDiscrepancyProjection;
+import com.supermarket.supermarket.repository.ProductSalesDailyRepository;
 import com.supermarket.supermarket.repository.SaleRepository;
 import com.supermarket.supermarket.repository.SaleRepository.PeriodSummaryProjection;
+import com.supermarket.supermarket.repository.SaleRepository.SalesByBranchProjection;
+import com.supermarket.supermarket.repository.SaleRepository.SalesByCashierProjection;
+import com.supermarket.supermarket.repository.SaleRepository.SalesByProductProjection;
+import com.supermarket.supermarket.repository.SalesDailyRollupRepository;
+import com.supermarket.supermarket.service.business.ReportCache;
+import com.supermarket.supermarket.service.business.ReportCacheKey;
 import com.supermarket.supermarket.service.business.ReportService;
+import com.supermarket.supermarket.service.business.SalesRollupService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 @Slf4j
+@Timed("supermarket.report")
 public class ReportServiceImpl implements ReportService {
+    private static final TypeReference<SalesSummaryResponse> SUMMARY_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<SalesByBranchDTO>> BY_BRANCH_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<PageSnapshot<SalesByProductDTO>> BY_PRODUCT_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<SalesByCashierDTO>> BY_CASHIER_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<SalesComparisonResponse> COMPARISON_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<CashRegisterReportResponse> CASH_REGISTER_TYPE = new TypeReference<>() {
+    };
+
     private final SaleRepository saleRepository;
     private final BranchInventoryRepository branchInventoryRepository;
     private final CashRegisterRepository cashRegisterRepository;
+    private final SalesDailyRollupRepository salesRollupRepository;
+    private final ProductSalesDailyRepository productSalesRepository;
+    private final SalesRollupService salesRollupService;
+    private final ReportCache reportCache;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     public SalesSummaryResponse getSalesSummary(ReportFilterRequest filter) {
         LocalDate start = filter.getStartDate();
         LocalDate end = resolveEndDate(filter.getEndDate());
-        PeriodSummaryProjection projection = saleRepository.findPeriodSummary(start, end, filter.getBranchId());
+        return cached(cacheKey("sales-summary", filter.getBranchId(), start, end), SUMMARY_TYPE,
+                () -> loadSalesSummary(start, end, filter.getBranchId()));
+    }
+
+    private SalesSummaryResponse loadSalesSummary(LocalDate start, LocalDate end, Long branchId) {
+        PeriodSummaryProjection projection = findPeriodSummary(start, end, branchId);
         Long count = projection != null ? projection.getTransactionCount() : 0L;
         BigDecimal revenue = projection != null && projection.getTotalRevenue() != null
                 ? projection.getTotalRevenue()
@@ -57,80 +101,149 @@ public class ReportServiceImpl implements ReportService {
 
     @Override
     public List<SalesByBranchDTO> getSalesByBranch(ReportFilterRequest filter) {
-        return saleRepository
-                .findSalesGroupedByBranch(filter.getStartDate(), resolveEndDate(filter.getEndDate()), filter.getBranchId())
-                .stream()
-                .map(p -> SalesByBranchDTO.builder()
-                        .branchId(p.getBranchId())
-                        .branchName(p.getBranchName())
-                        .totalRevenue(p.getTotalRevenue())
-                        .transactionCount(p.getTransactionCount())
-                        .build())
-                .toList();
+        LocalDate end = resolveEndDate(filter.getEndDate());
+        return cached(cacheKey("sales-by-branch", filter.getBranchId(), filter.getStartDate(), end),
+                BY_BRANCH_TYPE, () -> {
+                    List<SalesByBranchProjection> rows = salesRollupService.isAvailable()
+                            ? salesRollupRepository.findSalesGroupedByBranch(filter.getStartDate(), end, filter.getBranchId())
+                            : saleRepository.findSalesGroupedByBranch(filter.getStartDate(), end, filter.getBranchId());
+                    return rows.stream()
+                            .map(this::toSalesByBranch)
+                            .toList();
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSalesByBranch(ReportFilterRequest filter, Consumer<SalesByBranchDTO> sink) {
+        LocalDate end = resolveEndDate(filter.getEndDate());
+        try (Stream<SalesByBranchProjection> rows = salesRollupService.isAvailable()
+                ? salesRollupRepository.streamSalesGroupedByBranch(filter.getStartDate(), end, filter.getBranchId())
+                : saleRepository.streamSalesGroupedByBranch(filter.getStartDate(), end, filter.getBranchId())) {
+            rows.map(this::toSalesByBranch).forEach(sink);
+        }
     }
 
     @Override
     public Page<SalesByProductDTO> getSalesByProduct(ReportFilterRequest filter, Pageable pageable) {
-        return saleRepository
-                .findSalesGroupedByProduct(
-                        filter.getStartDate(), resolveEndDate(filter.getEndDate()),
-                        filter.getBranchId(), filter.getProductId(), pageable)
-                .map(p -> SalesByProductDTO.builder()
-                        .productId(p.getProductId())
-                        .productName(p.getProductName())
-                        .productCategory(p.getProductCategory())
-                        .totalQuantitySold(p.getTotalQuantitySold())
-                        .totalRevenue(p.getTotalRevenue())
-                        .build());
+        LocalDate end = resolveEndDate(filter.getEndDate());
+        PageSnapshot<SalesByProductDTO> snapshot = cached(
+                cacheKey("sales-by-product", filter.getBranchId(), filter.getStartDate(), end,
+                        filter.getProductId(), pageKey(pageable)),
+                BY_PRODUCT_TYPE, () -> {
+                    Page<SalesByProductProjection> page = salesRollupService.isAvailable()
+                            ? productSalesRepository.findSalesGroupedByProduct(
+                                    filter.getStartDate(), end, filter.getBranchId(), filter.getProductId(), pageable)
+                            : saleRepository.findSalesGroupedByProduct(
+                                    filter.getStartDate(), end, filter.getBranchId(), filter.getProductId(), pageable);
+                    return PageSnapshot.of(page.map(this::toSalesByProduct));
+                });
+        return snapshot.toPage(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSalesByProduct(ReportFilterRequest filter, Consumer<SalesByProductDTO> sink) {
+        LocalDate end = resolveEndDate(filter.getEndDate());
+        try (Stream<SalesByProductProjection> rows = salesRollupService.isAvailable()
+                ? productSalesRepository.streamSalesGroupedByProduct(
+                        filter.getStartDate(), end, filter.getBranchId(), filter.getProductId())
+                : saleRepository.streamSalesGroupedByProduct(
+                        filter.getStartDate(), end, filter.getBranchId(), filter.getProductId())) {
+            rows.map(this::toSalesByProduct).forEach(sink);
+        }
     }
 
     @Override
     public List<SalesByCashierDTO> getSalesByCashier(ReportFilterRequest filter) {
-        return saleRepository
-                .findSalesGroupedByCashier(
-                        filter.getStartDate(), resolveEndDate(filter.getEndDate()),
-                        filter.getBranchId(), filter.getCashierId())
-                .stream()
-                .map(p -> {
-                    BigDecimal revenue = p.getTotalRevenue() != null ? p.getTotalRevenue() : BigDecimal.ZERO;
-                    Long count = p.getTransactionCount();
-                    return SalesByCashierDTO.builder()
-                            .cashierId(p.getCashierId())
-                            .cashierUsername(p.getCashierUsername())
-                            .totalRevenue(revenue)
-                            .transactionCount(count)
-                            .averageTicket(calculateAverage(revenue, count))
-                            .build();
-                })
-                .toList();
+        LocalDate end = resolveEndDate(filter.getEndDate());
+        return cached(
+                cacheKey("sales-by-cashier", filter.getBranchId(), filter.getStartDate(), end, filter.getCashierId()),
+                BY_CASHIER_TYPE, () -> {
+                    List<SalesByCashierProjection> rows = salesRollupService.isAvailable()
+                            ? salesRollupRepository.findSalesGroupedByCashier(
+                                    filter.getStartDate(), end, filter.getBranchId(), filter.getCashierId())
+                            : saleRepository.findSalesGroupedByCashier(
+                                    filter.getStartDate(), end, filter.getBranchId(), filter.getCashierId());
+                    return rows.stream()
+                            .map(this::toSalesByCashier)
+                            .toList();
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSalesByCashier(ReportFilterRequest filter, Consumer<SalesByCashierDTO> sink) {
+        LocalDate end = resolveEndDate(filter.getEndDate());
+        try (Stream<SalesByCashierProjection> rows = salesRollupService.isAvailable()
+                ? salesRollupRepository.streamSalesGroupedByCashier(
+                        filter.getStartDate(), end, filter.getBranchId(), filter.getCashierId())
+                : saleRepository.streamSalesGroupedByCashier(
+                        filter.getStartDate(), end, filter.getBranchId(), filter.getCashierId())) {
+            rows.map(this::toSalesByCashier).forEach(sink);
+        }
     }
 
     @Override
     public SalesComparisonResponse getSalesComparison(ReportFilterRequest filter) {
         LocalDate endDate = resolveEndDate(filter.getEndDate());
         LocalDate startDate = filter.getStartDate() != null ? filter.getStartDate() : endDate.minusDays(30);
-        long daysDiff = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        LocalDate previousStart = startDate.minusDays(daysDiff);
-        LocalDate previousEnd = startDate.minusDays(1);
-        PeriodSummaryProjection currentProjection = saleRepository.findPeriodSummary(startDate, endDate, filter.getBranchId());
-        PeriodSummaryProjection previousProjection = saleRepository.findPeriodSummary(previousStart, previousEnd, filter.getBranchId());
-        SalesComparisonResponse.PeriodSummary current = buildPeriodSummary(startDate, endDate, currentProjection);
-        SalesComparisonResponse.PeriodSummary previous = buildPeriodSummary(previousStart, previousEnd, previousProjection);
-        BigDecimal growth = previous.getTotalRevenue().compareTo(BigDecimal.ZERO) != 0
+        ComparisonStep step = filter.getComparisonStep() != null ? filter.getComparisonStep() : ComparisonStep.PERIOD;
+        int comparisonPeriods = filter.getComparisonPeriods() != null ? filter.getComparisonPeriods() : 1;
+        List<ReportPeriod> periods = comparisonPeriods(startDate, endDate, step, comparisonPeriods);
+        LocalDate oldestStart = periods.get(periods.size() - 1).getStartDate();
+        return cached(cacheKey("sales-comparison", filter.getBranchId(), oldestStart, endDate,
+                        startDate, step, comparisonPeriods),
+                COMPARISON_TYPE, () -> loadSalesComparison(periods, filter.getBranchId()));
+    }
+
+    private List<ReportPeriod> comparisonPeriods(LocalDate startDate, LocalDate endDate, ComparisonStep step, int count) {
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        List<ReportPeriod> periods = new ArrayList<>(count + 1);
+        for (int i = 0; i <= count; i++) {
+            periods.add(switch (step) {
+                case PERIOD -> new ReportPeriod(startDate.minusDays(days * i), endDate.minusDays(days * i));
+                case WEEK -> new ReportPeriod(startDate.minusWeeks(i), endDate.minusWeeks(i));
+                case MONTH -> new ReportPeriod(startDate.minusMonths(i), endDate.minusMonths(i));
+                case YEAR -> new ReportPeriod(startDate.minusYears(i), endDate.minusYears(i));
+            });
+        }
+        return periods;
+    }
+
+    private SalesComparisonResponse loadSalesComparison(List<ReportPeriod> periods, Long branchId) {
+        List<PeriodSummaryProjection> projections = salesRollupService.isAvailable()
+                ? salesRollupRepository.findPeriodSummaries(periods, branchId)
+                : saleRepository.findPeriodSummaries(periods, branchId);
+        List<SalesComparisonResponse.PeriodSummary> summaries = new ArrayList<>(periods.size());
+        for (int i = 0; i < periods.size(); i++) {
+            summaries.add(buildPeriodSummary(periods.get(i).getStartDate(), periods.get(i).getEndDate(), projections.get(i)));
+        }
+        for (int i = 0; i < summaries.size() - 1; i++) {
+            summaries.get(i).setGrowthPercentage(calculateGrowth(summaries.get(i), summaries.get(i + 1)));
+        }
+        SalesComparisonResponse.PeriodSummary current = summaries.get(0);
+        return SalesComparisonResponse.builder()
+                .currentPeriod(current)
+                .previousPeriod(summaries.get(1))
+                .growthPercentage(current.getGrowthPercentage())
+                .periods(summaries)
+                .build();
+    }
+
+    private BigDecimal calculateGrowth(SalesComparisonResponse.PeriodSummary current,
+                                       SalesComparisonResponse.PeriodSummary previous) {
+        return previous.getTotalRevenue().compareTo(BigDecimal.ZERO) != 0
                 ? current.getTotalRevenue()
                 .subtract(previous.getTotalRevenue())
                 .divide(previous.getTotalRevenue(), 4, RoundingMode.HALF_UP)
                 .multiply(BigDecimal.valueOf(100))
                 .setScale(2, RoundingMode.HALF_UP)
                 : BigDecimal.ZERO;
-        return SalesComparisonResponse.builder()
-                .currentPeriod(current)
-                .previousPeriod(previous)
-                .growthPercentage(growth)
-                .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InventoryStatusResponse getInventoryStatus(ReportFilterRequest filter) {
         InventoryStatusProjection projection = branchInventoryRepository.findInventoryStatus(filter.getBranchId());
         if (projection == null) {
@@ -152,45 +265,44 @@ public class ReportServiceImpl implements ReportService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<ProductPerformanceDTO> getProductPerformance(ReportFilterRequest filter, Pageable pageable) {
-        return branchInventoryRepository
-                .findProductPerformance(filter.getStartDate(), resolveEndDate(filter.getEndDate()), filter.getBranchId(), pageable)
-                .map(p -> {
-                    double turnover = p.getCurrentStock() != null && p.getCurrentStock() > 0
-                            ? (double) p.getTotalSold() / p.getCurrentStock()
-                            : 0.0;
-                    return ProductPerformanceDTO.builder()
-                            .productId(p.getProductId())
-                            .productName(p.getProductName())
-                            .productCategory(p.getProductCategory())
-                            .totalSold(p.getTotalSold())
-                            .currentStock(p.getCurrentStock())
-                            .inventoryTurnoverRate(BigDecimal.valueOf(turnover).setScale(2, RoundingMode.HALF_UP))
-                            .build();
-                });
+        LocalDate end = resolveEndDate(filter.getEndDate());
+        Page<ProductPerformanceProjection> page = salesRollupService.isAvailable()
+                ? productSalesRepository.findProductPerformance(filter.getStartDate(), end, filter.getBranchId(), pageable)
+                : branchInventoryRepository.findProductPerformance(filter.getStartDate(), end, filter.getBranchId(), pageable);
+        return page.map(this::toProductPerformance);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamProductPerformance(ReportFilterRequest filter, Consumer<ProductPerformanceDTO> sink) {
+        LocalDate end = resolveEndDate(filter.getEndDate());
+        try (Stream<ProductPerformanceProjection> rows = salesRollupService.isAvailable()
+                ? productSalesRepository.streamProductPerformance(filter.getStartDate(), end, filter.getBranchId())
+                : branchInventoryRepository.streamProductPerformance(filter.getStartDate(), end, filter.getBranchId())) {
+            rows.map(this::toProductPerformance).forEach(sink);
+        }
     }
 
     @Override
     public CashRegisterReportResponse getCashRegisterReport(CashRegisterFilterRequest filter, Pageable pageable) {
+        LocalDate end = resolveEndDate(filter.getEndDate());
+        return cached(cacheKey("cash-register", filter.getBranchId(), filter.getStartDate(), end,
+                        filter.isShowOnlyDiscrepancies(), pageKey(pageable)),
+                CASH_REGISTER_TYPE, () -> loadCashRegisterReport(filter, end, pageable));
+    }
+
+    private CashRegisterReportResponse loadCashRegisterReport(CashRegisterFilterRequest filter, LocalDate end,
+                                                              Pageable pageable) {
         Page<ClosureDiscrepancyProjection> page = cashRegisterRepository.findClosureDiscrepancies(
                 filter.getStartDate(),
-                resolveEndDate(filter.getEndDate()),
+                end,
                 filter.getBranchId(),
                 filter.isShowOnlyDiscrepancies(),
                 pageable);
         List<CashRegisterReportResponse.ClosureDiscrepancyDTO> discrepancies = page.getContent().stream()
-                .map(p -> CashRegisterReportResponse.ClosureDiscrepancyDTO.builder()
-                        .registerId(p.getRegisterId())
-                        .branchId(p.getBranchId())
-                        .branchName(p.getBranchName())
-                        .openingTime(p.getOpeningTime())
-                        .closingTime(p.getClosingTime())
-                        .openedBy(p.getOpenedBy())
-                        .closedBy(p.getClosedBy())
-                        .expectedAmount(p.getExpectedAmount())
-                        .actualClosingAmount(p.getActualClosingAmount())
-                        .varianceAmount(p.getVarianceAmount())
-                        .build())
+                .map(this::toClosureDiscrepancy)
                 .toList();
         BigDecimal totalSurplus = discrepancies.stream()
                 .map(CashRegisterReportResponse.ClosureDiscrepancyDTO::getVarianceAmount)
@@ -208,6 +320,101 @@ public class ReportServiceImpl implements ReportService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCashRegisterClosures(CashRegisterFilterRequest filter,
+                                           Consumer<CashRegisterReportResponse.ClosureDiscrepancyDTO> sink) {
+        try (Stream<ClosureDiscrepancyProjection> rows = cashRegisterRepository.streamClosureDiscrepancies(
+                filter.getStartDate(), resolveEndDate(filter.getEndDate()),
+                filter.getBranchId(), filter.isShowOnlyDiscrepancies())) {
+            rows.map(this::toClosureDiscrepancy).forEach(sink);
+        }
+    }
+
+    private SalesByBranchDTO toSalesByBranch(SalesByBranchProjection p) {
+        return SalesByBranchDTO.builder()
+                .branchId(p.getBranchId())
+                .branchName(p.getBranchName())
+                .totalRevenue(p.getTotalRevenue())
+                .transactionCount(p.getTransactionCount())
+                .build();
+    }
+
+    private SalesByProductDTO toSalesByProduct(SalesByProductProjection p) {
+        return SalesByProductDTO.builder()
+                .productId(p.getProductId())
+                .productName(p.getProductName())
+                .productCategory(p.getProductCategory())
+                .totalQuantitySold(p.getTotalQuantitySold())
+                .totalRevenue(p.getTotalRevenue())
+                .build();
+    }
+
+    private SalesByCashierDTO toSalesByCashier(SalesByCashierProjection p) {
+        BigDecimal revenue = p.getTotalRevenue() != null ? p.getTotalRevenue() : BigDecimal.ZERO;
+        Long count = p.getTransactionCount();
+        return SalesByCashierDTO.builder()
+                .cashierId(p.getCashierId())
+                .cashierUsername(p.getCashierUsername())
+                .totalRevenue(revenue)
+                .transactionCount(count)
+                .averageTicket(calculateAverage(revenue, count))
+                .build();
+    }
+
+    private ProductPerformanceDTO toProductPerformance(ProductPerformanceProjection p) {
+        double turnover = p.getCurrentStock() != null && p.getCurrentStock() > 0
+                ? (double) p.getTotalSold() / p.getCurrentStock()
+                : 0.0;
+        return ProductPerformanceDTO.builder()
+                .productId(p.getProductId())
+                .productName(p.getProductName())
+                .productCategory(p.getProductCategory())
+                .totalSold(p.getTotalSold())
+                .currentStock(p.getCurrentStock())
+                .inventoryTurnoverRate(BigDecimal.valueOf(turnover).setScale(2, RoundingMode.HALF_UP))
+                .build();
+    }
+
+    private CashRegisterReportResponse.ClosureDiscrepancyDTO toClosureDiscrepancy(ClosureDiscrepancyProjection p) {
+        return CashRegisterReportResponse.ClosureDiscrepancyDTO.builder()
+                .registerId(p.getRegisterId())
+                .branchId(p.getBranchId())
+                .branchName(p.getBranchName())
+                .openingTime(p.getOpeningTime())
+                .closingTime(p.getClosingTime())
+                .openedBy(p.getOpenedBy())
+                .closedBy(p.getClosedBy())
+                .expectedAmount(p.getExpectedAmount())
+                .actualClosingAmount(p.getActualClosingAmount())
+                .varianceAmount(p.getVarianceAmount())
+                .build();
+    }
+
+    private PeriodSummaryProjection findPeriodSummary(LocalDate start, LocalDate end, Long branchId) {
+        return salesRollupService.isAvailable()
+                ? salesRollupRepository.findPeriodSummary(start, end, branchId)
+                : saleRepository.findPeriodSummary(start, end, branchId);
+    }
+
+    private <T> T cached(ReportCacheKey key, TypeReference<T> type, Supplier<T> loader) {
+        return reportCache.get(key, type, () -> {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            return transactionTemplate.execute(status -> loader.get());
+        });
+    }
+
+    private ReportCacheKey cacheKey(String report, Long branchId, LocalDate start, LocalDate end, Object... variant) {
+        return new ReportCacheKey(report, branchId, start, end, Arrays.toString(variant));
+    }
+
+    private String pageKey(Pageable pageable) {
+        return pageable.isPaged()
+                ? pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort()
+                : "unpaged:" + pageable.getSort();
+    }
+
     private LocalDate resolveEndDate(LocalDate endDate) {
         return endDate != null ? endDate : LocalDate.now();
     }
@@ -0,0 +1,198 @@
+package com.supermarket.supermarket.service.business.impl;
+
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.sale.SaleBatchItemResult;
+import com.supermarket.supermarket.dto.sale.SaleBatchItemStatus;
+import com.supermarket.supermarket.dto.sale.SaleBatchRequest;
+import com.supermarket.supermarket.dto.sale.SaleBatchResponse;
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.lock.BranchStockLocks;
+import com.supermarket.supermarket.mapper.SaleMapper;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.security.SecurityUtils;
+import com.supermarket.supermarket.service.business.CashRegisterService;
+import com.supermarket.supermarket.service.business.InventoryService;
+import com.supermarket.supermarket.service.business.ProductCatalog;
+import com.supermarket.supermarket.service.business.SaleBatchService;
+import com.supermarket.supermarket.service.business.SaleCheckout;
+import com.supermarket.supermarket.service.business.SaleService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SaleBatchServiceImpl implements SaleBatchService {
+    private final BranchRepository branchRepository;
+    private final ProductCatalog productCatalog;
+    private final InventoryService inventoryService;
+    private final CashRegisterService cashRegisterService;
+    private final SaleService saleService;
+    private final SaleMapper saleMapper;
+    private final SecurityUtils securityUtils;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final BranchStockLocks branchStockLocks;
+    private final BusinessMetrics businessMetrics;
+    private final SaleCheckout saleCheckout;
+
+    @Override
+    @Timed("supermarket.sale.batch")
+    public SaleBatchResponse createBatch(SaleBatchRequest request) {
+        List<SaleRequest> sales = request.getSales();
+        SaleBatchItemResult[] results = new SaleBatchItemResult[sales.size()];
+        Map<Long, List<Integer>> indexesByBranch = new LinkedHashMap<>();
+        List<Integer> heldIndexes = new ArrayList<>();
+        for (int i = 0; i < sales.size(); i++) {
+            String violation = validate(sales.get(i));
+            if (violation != null) {
+                results[i] = SaleBatchItemResult.rejected(i, violation);
+            } else if (sales.get(i).getHoldId() != null) {
+                heldIndexes.add(i);
+            } else {
+                indexesByBranch.computeIfAbsent(sales.get(i).getBranchId(), k -> new ArrayList<>()).add(i);
+            }
+        }
+        User cashier = securityUtils.getCurrentUser();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        indexesByBranch.forEach((branchId, indexes) -> {
+            try {
+                GroupOutcome outcome = transactionTemplate.execute(
+                        status -> processGroup(branchId, indexes, sales, cashier));
+                outcome.results().forEach((index, result) -> results[index] = result);
+                for (int k = 0; k < outcome.stockRejections(); k++) {
+                    businessMetrics.stockRejected("batch");
+                }
+            } catch (RuntimeException e) {
+                log.warn("Grouped ingestion failed for branch {} ({}), falling back to serial processing of {} sales",
+                        branchId, e.getMessage(), indexes.size());
+                processSerially(indexes, sales, results);
+            }
+        });
+        processSerially(heldIndexes, sales, results);
+        List<SaleBatchItemResult> ordered = Arrays.asList(results);
+        int created = (int) ordered.stream().filter(r -> r.getStatus() == SaleBatchItemStatus.CREATED).count();
+        log.info("Sale batch processed: {} received, {} created, {} rejected", sales.size(), created, sales.size() - created);
+        return SaleBatchResponse.builder()
+                .total(sales.size())
+                .created(created)
+                .rejected(sales.size() - created)
+                .results(ordered)
+                .build();
+    }
+
+    private GroupOutcome processGroup(Long branchId, List<Integer> indexes, List<SaleRequest> sales, User cashier) {
+        Map<Integer, SaleBatchItemResult> results = new HashMap<>();
+        Branch branch = branchRepository.findById(branchId).orElse(null);
+        if (branch == null) {
+            indexes.forEach(i -> results.put(i, SaleBatchItemResult.rejected(i, "Branch not found")));
+            return new GroupOutcome(results, 0);
+        }
+        CashRegister cashRegister = cashRegisterService.findRegisterEntityByBranch(branchId).orElse(null);
+        if (cashRegister == null) {
+            String error = "No open register found for branch " + branchId;
+            indexes.forEach(i -> results.put(i, SaleBatchItemResult.rejected(i, error)));
+            return new GroupOutcome(results, 0);
+        }
+        branchStockLocks.lockBranches(branchId);
+        Set<Long> productIds = indexes.stream()
+                .flatMap(i -> sales.get(i).getDetails().stream())
+                .map(SaleDetailRequest::getProductId)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productCatalog.getProducts(productIds);
+        Map<Long, StockLevel> stockLevels = inventoryService.getStockLevels(branchId, productIds).stream()
+                .collect(Collectors.toMap(StockLevel::getProductId, Function.identity()));
+        Map<Long, Integer> available = new HashMap<>();
+        stockLevels.forEach((productId, level) -> available.put(productId, level.getStock()));
+        Map<Long, Integer> reserved = new HashMap<>();
+        List<Sale> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        int stockRejections = 0;
+        for (Integer index : indexes) {
+            SaleRequest saleRequest = sales.get(index);
+            Map<Long, Integer> required = saleRequest.getDetails().stream()
+                    .collect(Collectors.toMap(SaleDetailRequest::getProductId, SaleDetailRequest::getQuantity, Integer::sum));
+            try {
+                saleCheckout.verifyAvailability(branchId, required, products, available);
+            } catch (InsufficientStockException e) {
+                stockRejections++;
+                results.put(index, SaleBatchItemResult.rejected(index, e.getMessage()));
+                continue;
+            } catch (ResourceNotFoundException e) {
+                results.put(index, SaleBatchItemResult.rejected(index, e.getMessage()));
+                continue;
+            }
+            required.forEach((productId, quantity) -> {
+                available.merge(productId, -quantity, Integer::sum);
+                reserved.merge(productId, quantity, Integer::sum);
+            });
+            accepted.add(saleCheckout.buildSale(saleRequest, branch, cashRegister, cashier, products));
+            acceptedIndexes.add(index);
+        }
+        if (accepted.isEmpty()) {
+            return new GroupOutcome(results, stockRejections);
+        }
+        List<StockLevel> remaining = saleCheckout.reserveStock(branchId, reserved, stockLevels);
+        List<Sale> saved = saleCheckout.complete(branch, accepted, remaining, products);
+        for (int k = 0; k < saved.size(); k++) {
+            int index = acceptedIndexes.get(k);
+            results.put(index, SaleBatchItemResult.created(index, saleMapper.toResponse(saved.get(k))));
+        }
+        return new GroupOutcome(results, stockRejections);
+    }
+
+    private void processSerially(List<Integer> indexes, List<SaleRequest> sales, SaleBatchItemResult[] results) {
+        for (Integer index : indexes) {
+            try {
+                results[index] = SaleBatchItemResult.created(index, saleService.create(sales.get(index)));
+            } catch (RuntimeException e) {
+                if (e instanceof InsufficientStockException) {
+                    businessMetrics.stockRejected("batch");
+                }
+                results[index] = SaleBatchItemResult.rejected(index, e.getMessage());
+            }
+        }
+    }
+
+    private String validate(SaleRequest request) {
+        if (request == null) {
+            return "Sale request is required";
+        }
+        Set<ConstraintViolation<SaleRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private record GroupOutcome(Map<Integer, SaleBatchItemResult> results, int stockRejections) {
+    }
+}
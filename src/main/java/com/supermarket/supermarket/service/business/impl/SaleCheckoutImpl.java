@@ -0,0 +1,157 @@
+package com.supermarket.supermarket.service.business.impl;
+
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.mapper.SaleMapper;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.model.sale.SaleDetail;
+import com.supermarket.supermarket.model.sale.SaleStatus;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.service.business.InventoryService;
+import com.supermarket.supermarket.service.business.NotificationEventService;
+import com.supermarket.supermarket.service.business.ProductCatalog;
+import com.supermarket.supermarket.service.business.ReportCache;
+import com.supermarket.supermarket.service.business.SaleCheckout;
+import com.supermarket.supermarket.service.business.SalesRollupService;
+import com.supermarket.supermarket.service.business.StockHoldService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class SaleCheckoutImpl implements SaleCheckout {
+    private final SaleRepository saleRepo;
+    private final ProductCatalog productCatalog;
+    private final InventoryService inventoryService;
+    private final StockHoldService stockHoldService;
+    private final NotificationEventService notificationEventService;
+    private final SaleMapper saleMapper;
+    private final BusinessMetrics businessMetrics;
+    private final SalesRollupService salesRollupService;
+    private final ReportCache reportCache;
+
+    @Override
+    public Map<Long, Product> loadProducts(Collection<Long> productIds) {
+        Map<Long, Product> products = productCatalog.getProducts(productIds);
+        List<Long> missing = missing(productIds, products);
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Products not found with IDs: " + missing);
+        }
+        return products;
+    }
+
+    @Override
+    public void verifyAvailability(Long branchId, Map<Long, Integer> required,
+                                   Map<Long, Product> products, Map<Long, Integer> available) {
+        List<Long> missingProducts = missing(required.keySet(), products);
+        if (!missingProducts.isEmpty()) {
+            throw new ResourceNotFoundException("Products not found with IDs: " + missingProducts);
+        }
+        List<Long> missingInventory = missing(required.keySet(), available);
+        if (!missingInventory.isEmpty()) {
+            throw new ResourceNotFoundException(String.format(
+                    "The following products do not exist in branch %d: %s", branchId, missingInventory));
+        }
+        for (Map.Entry<Long, Integer> entry : required.entrySet()) {
+            int stock = available.get(entry.getKey());
+            if (stock < entry.getValue()) {
+                Product product = products.get(entry.getKey());
+                throw new InsufficientStockException(String.format(
+                        "Insufficient stock for product '%s' (ID: %d) in branch %d. Available: %d, required: %d",
+                        product.getName(), product.getId(), branchId, stock, entry.getValue()));
+            }
+        }
+    }
+
+    @Override
+    public Sale buildSale(SaleRequest request, Branch branch, CashRegister cashRegister,
+                          User cashier, Map<Long, Product> products) {
+        Sale sale = saleMapper.toEntity(request);
+        sale.setStatus(SaleStatus.REGISTERED);
+        sale.setCreatedBy(cashier);
+        sale.setBranch(branch);
+        sale.setCashRegister(cashRegister);
+        List<SaleDetail> details = request.getDetails().stream()
+                .map(detailRequest -> {
+                    Product product = products.get(detailRequest.getProductId());
+                    return SaleDetail.builder()
+                            .sale(sale)
+                            .product(product)
+                            .quantity(detailRequest.getQuantity())
+                            .price(product.getPrice())
+                            .build();
+                })
+                .collect(Collectors.toCollection(ArrayList::new));
+        sale.setDetails(details);
+        sale.setTotal(details.stream()
+                .map(detail -> detail.getPrice().multiply(BigDecimal.valueOf(detail.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        return sale;
+    }
+
+    @Override
+    public List<StockLevel> reduceStock(SaleRequest request) {
+        if (request.getHoldId() == null) {
+            return inventoryService.validateAndReduceStockBatch(request.getBranchId(), request.getDetails());
+        }
+        Map<Long, Integer> quantities = request.getDetails().stream()
+                .collect(Collectors.toMap(SaleDetailRequest::getProductId, SaleDetailRequest::getQuantity, Integer::sum));
+        stockHoldService.consume(request.getHoldId(), request.getBranchId(), quantities);
+        return inventoryService.getStockLevels(request.getBranchId(), quantities.keySet());
+    }
+
+    @Override
+    public List<StockLevel> reserveStock(Long branchId, Map<Long, Integer> quantities, Map<Long, StockLevel> stockLevels) {
+        List<Long> rejected = inventoryService.reserveStock(branchId, quantities);
+        if (!rejected.isEmpty()) {
+            throw new InsufficientStockException(String.format(
+                    "Stock changed concurrently for products %s in branch %d", rejected, branchId));
+        }
+        return quantities.entrySet().stream()
+                .map(entry -> {
+                    StockLevel level = stockLevels.get(entry.getKey());
+                    return new StockLevel(entry.getKey(), level.getStock() - entry.getValue(), level.getMinStock());
+                })
+                .toList();
+    }
+
+    @Override
+    public List<Sale> complete(Branch branch, List<Sale> sales, List<StockLevel> stockLevels, Map<Long, Product> products) {
+        List<Sale> saved = saleRepo.saveAll(sales);
+        salesRollupService.record(saved);
+        reportCache.evictSalesAfterCommit(saved);
+        businessMetrics.salesCreated(branch.getId(), saved.size());
+        for (StockLevel level : stockLevels) {
+            if (level.isLow()) {
+                notificationEventService.onLowStock(
+                        branch.getName(),
+                        products.get(level.getProductId()).getName(),
+                        level.getStock(),
+                        level.getMinStock());
+            }
+        }
+        return saved;
+    }
+
+    private List<Long> missing(Collection<Long> productIds, Map<Long, ?> found) {
+        return productIds.stream()
+                .filter(productId -> !found.containsKey(productId))
+                .sorted()
+                .toList();
+    }
+}
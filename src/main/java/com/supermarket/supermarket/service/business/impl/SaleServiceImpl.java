@@ -1,5 +1,8 @@
 package com.supermarket.supermarket.service.business.impl;
 
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.pagination.KeysetCursor;
 import com.supermarket.supermarket.dto.sale.CancelSaleRequest;
 import com.supermarket.supermarket.dto.sale.SaleRequest;
 import com.supermarket.supermarket.dto.sale.SaleResponse;
@@ -7,37 +10,37 @@ import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
 import com.supermarket.supermarket.exception.InsufficientPermissionsException;
 import com.supermarket.supermarket.exception.InvalidSaleStateException;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.export.EntityStreamer;
 import com.supermarket.supermarket.mapper.SaleMapper;
 import com.supermarket.supermarket.model.branch.Branch;
 import com.supermarket.supermarket.model.cashregister.CashRegister;
 import com.supermarket.supermarket.model.product.Product;
 import com.supermarket.supermarket.model.sale.Sale;
-import com.supermarket.supermarket.model.sale.SaleDetail;
 import com.supermarket.supermarket.model.sale.SaleStatus;
 import com.supermarket.supermarket.model.user.User;
 import com.supermarket.supermarket.repository.BranchRepository;
-import com.supermarket.supermarket.repository.ProductRepository;
 import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.retry.OptimisticRetry;
 import com.supermarket.supermarket.security.SecurityUtils;
 import com.supermarket.supermarket.service.business.CashRegisterService;
 import com.supermarket.supermarket.service.business.InventoryService;
 import com.supermarket.supermarket.service.business.NotificationEventService;
+import com.supermarket.supermarket.service.business.ReportCache;
+import com.supermarket.supermarket.service.business.SaleCheckout;
 import com.supermarket.supermarket.service.business.SaleService;
+import com.supermarket.supermarket.service.business.SalesRollupService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -47,106 +50,69 @@ import java.util.stream.Collectors;
 public class SaleServiceImpl implements SaleService {
     private final SaleRepository saleRepo;
     private final BranchRepository branchRepository;
-    private final ProductRepository productRepository;
     private final SaleMapper saleMapper;
     private final InventoryService inventoryService;
     private final SecurityUtils securityUtils;
     private final CashRegisterService cashRegisterService;
     private final NotificationEventService notificationEventService;
+    private final EntityStreamer entityStreamer;
+    private final SalesRollupService salesRollupService;
+    private final ReportCache reportCache;
+    private final SaleCheckout saleCheckout;
 
     @Override
+    @OptimisticRetry("sale-create")
+    @Timed("supermarket.sale.create")
     public SaleResponse create(SaleRequest request) {
-        Sale sale = buildSale(request);
-        List<SaleDetail> details = buildSaleDetails(request, sale);
-        sale.getDetails().addAll(details);
-        sale.setTotal(calculateTotal(details));
-        Sale saved = saleRepo.save(sale);
-        checkLowStockAfterSale(saved);
-        return saleMapper.toResponse(saved);
-    }
-
-    private Sale buildSale(SaleRequest request) {
         User currentUser = securityUtils.getCurrentUser();
+        CashRegister cashRegister = cashRegisterService.getRegisterEntityByBranch(request.getBranchId());
         Branch branch = branchRepository.findById(request.getBranchId())
                 .orElseThrow(() -> new ResourceNotFoundException("Branch not found"));
-        CashRegister cashRegister = cashRegisterService.getRegisterEntityByBranch(branch.getId());
-        Sale sale = saleMapper.toEntity(request);
-        sale.setStatus(SaleStatus.REGISTERED);
-        sale.setDetails(new ArrayList<>());
-        sale.setCreatedBy(currentUser);
-        sale.setBranch(branch);
-        sale.setCashRegister(cashRegister);
-        return sale;
-    }
-
-    private List<SaleDetail> buildSaleDetails(SaleRequest request, Sale sale) {
-        Set<Long> uniqueProductIds = request.getDetails().stream()
+        Map<Long, Product> products = saleCheckout.loadProducts(request.getDetails().stream()
                 .map(SaleDetailRequest::getProductId)
-                .collect(Collectors.toSet());
-        List<Product> products = productRepository.findAllById(uniqueProductIds);
-        if (products.size() != uniqueProductIds.size()) {
-            Set<Long> foundIds = products.stream()
-                    .map(Product::getId)
-                    .collect(Collectors.toSet());
-            List<Long> missingIds = uniqueProductIds.stream()
-                    .filter(id -> !foundIds.contains(id))
-                    .toList();
-            throw new ResourceNotFoundException("Products not found with IDs: " + missingIds);
-        }
-        Map<Long, Product> productMap = products.stream()
-                .collect(Collectors.toMap(Product::getId, Function.identity()));
-        inventoryService.validateAndReduceStockBatch(request.getBranchId(), request.getDetails());
-        return request.getDetails().stream()
-                .map(detailRequest -> {
-                    Product product = productMap.get(detailRequest.getProductId());
-                    return SaleDetail.builder()
-                            .sale(sale)
-                            .product(product)
-                            .quantity(detailRequest.getQuantity())
-                            .price(product.getPrice())
-                            .build();
-                })
-                .toList();
-    }
-
-    private BigDecimal calculateTotal(List<SaleDetail> details) {
-        return details.stream()
-                .map(detail -> detail.getPrice().multiply(BigDecimal.valueOf(detail.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private void checkLowStockAfterSale(Sale sale) {
-        try {
-            for (SaleDetail detail : sale.getDetails()) {
-                int remaining = inventoryService.getStockInBranch(
-                        sale.getBranch().getId(), detail.getProduct().getId());
-                if (remaining <= 10) {
-                    notificationEventService.onLowStock(
-                            sale.getBranch().getName(),
-                            detail.getProduct().getName(),
-                            remaining,
-                            10);
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Failed to check low stock after sale {}: {}", sale.getId(), e.getMessage());
-        }
+                .collect(Collectors.toSet()));
+        List<StockLevel> stockLevels = saleCheckout.reduceStock(request);
+        Sale sale = saleCheckout.buildSale(request, branch, cashRegister, currentUser, products);
+        Sale saved = saleCheckout.complete(branch, List.of(sale), stockLevels, products).get(0);
+        return saleMapper.toResponse(saved);
     }
 
     @Override
+    @OptimisticRetry("sale-delete")
     public void delete(Long id) {
         Sale sale = saleRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sale not found"));
-        if (sale.getStatus() == SaleStatus.REGISTERED && !CollectionUtils.isEmpty(sale.getDetails())) {
-            inventoryService.restoreStockBatch(sale.getBranch().getId(), sale.getDetails());
+        if (sale.getStatus() == SaleStatus.REGISTERED
+                && saleRepo.transitionStatus(id, SaleStatus.REGISTERED, SaleStatus.CANCELLED) == 1) {
+            if (!CollectionUtils.isEmpty(sale.getDetails())) {
+                inventoryService.restoreStockBatch(sale.getBranch().getId(), sale.getDetails());
+            }
+            salesRollupService.reverse(sale);
+            reportCache.evictSalesAfterCommit(List.of(sale));
         }
         saleRepo.delete(sale);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<SaleResponse> getAll() {
-        return saleMapper.toResponseList(saleRepo.findAll());
+    public CursorPage<SaleResponse> getAll(String cursor, Integer size, boolean count) {
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Sale> sales = before == null
+                ? saleRepo.findAllByOrderByCreatedAtDescIdDesc(limit)
+                : saleRepo.findPageBefore(before.getCreatedAt(), before.getId(), limit);
+        CursorPage<SaleResponse> page = toCursorPage(sales, pageSize);
+        if (count) {
+            page.setTotal(saleRepo.count());
+        }
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<SaleResponse> sink) {
+        entityStreamer.forEach(saleRepo.streamAll(), saleMapper::toResponse, sink);
     }
 
     @Override
@@ -158,16 +124,21 @@ public class SaleServiceImpl implements SaleService {
     }
 
     @Override
+    @OptimisticRetry("sale-cancel")
+    @Timed("supermarket.sale.cancel")
     public SaleResponse cancel(Long id, CancelSaleRequest request) {
         User currentUser = securityUtils.getCurrentUser();
         Sale sale = saleRepo.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sale not found with id: " + id));
-        if (sale.getStatus() == SaleStatus.CANCELLED) {
+        if (sale.getStatus() == SaleStatus.CANCELLED
+                || saleRepo.transitionStatus(id, SaleStatus.REGISTERED, SaleStatus.CANCELLED) == 0) {
             throw new InvalidSaleStateException("Sale is already cancelled");
         }
         if (!CollectionUtils.isEmpty(sale.getDetails())) {
             inventoryService.restoreStockBatch(sale.getBranch().getId(), sale.getDetails());
         }
+        salesRollupService.reverse(sale);
+        reportCache.evictSalesAfterCommit(List.of(sale));
         sale.setStatus(SaleStatus.CANCELLED);
         sale.setCancelledBy(currentUser);
         sale.setCancellationReason(request.getReason());
@@ -179,9 +150,18 @@ public class SaleServiceImpl implements SaleService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<SaleResponse> getSalesByCashier(Long cashierId, Pageable pageable) {
-        return saleRepo.findByCreatedById(cashierId, pageable)
-                .map(saleMapper::toResponse);
+    public CursorPage<SaleResponse> getSalesByCashier(Long cashierId, String cursor, Integer size, boolean count) {
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Sale> sales = before == null
+                ? saleRepo.findByCreatedByIdOrderByCreatedAtDescIdDesc(cashierId, limit)
+                : saleRepo.findByCreatedByIdPageBefore(cashierId, before.getCreatedAt(), before.getId(), limit);
+        CursorPage<SaleResponse> page = toCursorPage(sales, pageSize);
+        if (count) {
+            page.setTotal(saleRepo.countByCreatedById(cashierId));
+        }
+        return page;
     }
 
     @Override
@@ -195,5 +175,8 @@ public class SaleServiceImpl implements SaleService {
         return saleMapper.toResponse(sale);
     }
 
-    
+    private CursorPage<SaleResponse> toCursorPage(List<Sale> sales, int pageSize) {
+        return CursorPage.of(sales, pageSize, saleMapper::toResponse,
+                sale -> KeysetCursor.encode(sale.getCreatedAt(), sale.getId()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.supermarket.supermarket.service.business.impl;
+
+import com.supermarket.supermarket.dto.report.SalesRollupStats;
+import com.supermarket.supermarket.exception.InvalidOperationException;
+import com.supermarket.supermarket.model.sale.ProductSalesDaily;
+import com.supermarket.supermarket.model.sale.ProductSalesDailyId;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.model.sale.SaleDetail;
+import com.supermarket.supermarket.model.sale.SaleStatus;
+import com.supermarket.supermarket.model.sale.SalesDailyRollup;
+import com.supermarket.supermarket.model.sale.SalesDailyRollupId;
+import com.supermarket.supermarket.repository.ProductSalesDailyRepository;
+import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.repository.SalesDailyRollupRepository;
+import com.supermarket.supermarket.service.business.ReportCache;
+import com.supermarket.supermarket.service.business.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesRollupServiceImpl implements SalesRollupService {
+    private final SalesDailyRollupRepository rollupRepository;
+    private final ProductSalesDailyRepository productSalesRepository;
+    private final SaleRepository saleRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ReportCache reportCache;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile boolean initialized;
+    private volatile Integer lastRebuildRows;
+    private volatile Long lastRebuildMillis;
+    private volatile LocalDateTime lastRebuiltAt;
+
+    @Value("${reports.rollup.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void record(Collection<Sale> sales) {
+        apply(sales, 1);
+    }
+
+    @Override
+    public void reverse(Sale sale) {
+        apply(List.of(sale), -1);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return enabled && initialized;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        boolean empty = rollupRepository.count() == 0 || productSalesRepository.count() == 0;
+        if (empty && saleRepository.existsByStatus(SaleStatus.REGISTERED)) {
+            log.info("Sales rollup is empty; rebuilding it from sale history");
+            rebuild();
+        }
+        initialized = true;
+    }
+
+    @Override
+    public SalesRollupStats rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new InvalidOperationException("A sales rollup rebuild is already running");
+        }
+        try {
+            long started = System.nanoTime();
+            Integer rows = new TransactionTemplate(transactionManager).execute(status -> {
+                rollupRepository.deleteAllRows();
+                productSalesRepository.deleteAllRows();
+                return rollupRepository.insertFromSales() + productSalesRepository.insertFromSales();
+            });
+            reportCache.clear();
+            lastRebuildRows = rows;
+            lastRebuildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            lastRebuiltAt = LocalDateTime.now();
+            log.info("Sales rollup rebuilt with {} rows in {} ms", rows, lastRebuildMillis);
+        } finally {
+            rebuilding.set(false);
+        }
+        return getStats();
+    }
+
+    @Override
+    public SalesRollupStats getStats() {
+        return SalesRollupStats.builder()
+                .enabled(enabled)
+                .available(isAvailable())
+                .rebuilding(rebuilding.get())
+                .rows(rollupRepository.count())
+                .productRows(productSalesRepository.count())
+                .lastRebuildRows(lastRebuildRows)
+                .lastRebuildMillis(lastRebuildMillis)
+                .lastRebuiltAt(lastRebuiltAt)
+                .build();
+    }
+
+    private void apply(Collection<Sale> sales, int sign) {
+        Map<SalesDailyRollupId, SalesDailyRollup> deltas = new LinkedHashMap<>();
+        Map<ProductSalesDailyId, ProductSalesDaily> productDeltas = new LinkedHashMap<>();
+        for (Sale sale : sales) {
+            if (sale.getDate() == null || sale.getTotal() == null) {
+                continue;
+            }
+            collectProductDeltas(sale, sign, productDeltas);
+            Long cashierId = sale.getCreatedBy() != null ? sale.getCreatedBy().getId() : SalesDailyRollup.NO_CASHIER;
+            SalesDailyRollupId key = new SalesDailyRollupId(sale.getDate(), sale.getBranch().getId(), cashierId);
+            SalesDailyRollup delta = deltas.computeIfAbsent(key, k -> SalesDailyRollup.builder()
+                    .date(k.getDate())
+                    .branchId(k.getBranchId())
+                    .cashierId(k.getCashierId())
+                    .revenue(BigDecimal.ZERO)
+                    .txCount(0L)
+                    .build());
+            delta.setRevenue(delta.getRevenue().add(sign > 0 ? sale.getTotal() : sale.getTotal().negate()));
+            delta.setTxCount(delta.getTxCount() + sign);
+        }
+        for (SalesDailyRollup delta : deltas.values()) {
+            rollupRepository.add(delta.getDate(), delta.getBranchId(), delta.getCashierId(),
+                    delta.getRevenue(), delta.getTxCount());
+        }
+        for (ProductSalesDaily delta : productDeltas.values()) {
+            productSalesRepository.add(delta.getDate(), delta.getBranchId(), delta.getProductId(),
+                    delta.getQty(), delta.getRevenue());
+        }
+    }
+
+    private void collectProductDeltas(Sale sale, int sign, Map<ProductSalesDailyId, ProductSalesDaily> deltas) {
+        if (sale.getDetails() == null) {
+            return;
+        }
+        for (SaleDetail detail : sale.getDetails()) {
+            ProductSalesDailyId key = new ProductSalesDailyId(
+                    sale.getDate(), sale.getBranch().getId(), detail.getProduct().getId());
+            ProductSalesDaily delta = deltas.computeIfAbsent(key, k -> ProductSalesDaily.builder()
+                    .date(k.getDate())
+                    .branchId(k.getBranchId())
+                    .productId(k.getProductId())
+                    .qty(0L)
+                    .revenue(BigDecimal.ZERO)
+                    .build());
+            BigDecimal revenue = detail.getPrice().multiply(BigDecimal.valueOf(detail.getQuantity()));
+            delta.setQty(delta.getQty() + (long) sign * detail.getQuantity());
+            delta.setRevenue(delta.getRevenue().add(sign > 0 ? revenue : revenue.negate()));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.supermarket.supermarket.service.business.impl;
+
+import com.supermarket.supermarket.dto.hold.StockHoldItem;
+import com.supermarket.supermarket.dto.hold.StockHoldRequest;
+import com.supermarket.supermarket.dto.hold.StockHoldResponse;
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.exception.InsufficientPermissionsException;
+import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.exception.InvalidOperationException;
+import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.mapper.StockHoldMapper;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.hold.HoldStatus;
+import com.supermarket.supermarket.model.hold.StockHold;
+import com.supermarket.supermarket.model.hold.StockHoldLine;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.StockHoldRepository;
+import com.supermarket.supermarket.security.SecurityUtils;
+import com.supermarket.supermarket.service.business.InventoryService;
+import com.supermarket.supermarket.service.business.StockHoldService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockHoldServiceImpl implements StockHoldService {
+    private final StockHoldRepository stockHoldRepository;
+    private final BranchRepository branchRepository;
+    private final InventoryService inventoryService;
+    private final StockHoldMapper stockHoldMapper;
+    private final SecurityUtils securityUtils;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${inventory.holds.ttl:10m}")
+    private Duration ttl = Duration.ofMinutes(10);
+
+    @Value("${inventory.holds.reaper-batch-size:200}")
+    private int reaperBatchSize = 200;
+
+    @Override
+    @Transactional
+    public StockHoldResponse create(StockHoldRequest request) {
+        Branch branch = branchRepository.findById(request.getBranchId())
+                .orElseThrow(() -> new ResourceNotFoundException("Branch not found"));
+        Map<Long, Integer> quantities = request.getItems().stream()
+                .collect(Collectors.toMap(StockHoldItem::getProductId, StockHoldItem::getQuantity, Integer::sum,
+                        TreeMap::new));
+        reserve(branch.getId(), quantities);
+        LocalDateTime now = LocalDateTime.now();
+        StockHold hold = StockHold.builder()
+                .branch(branch)
+                .createdBy(securityUtils.getCurrentUser())
+                .lines(quantities.entrySet().stream()
+                        .map(entry -> new StockHoldLine(entry.getKey(), entry.getValue()))
+                        .collect(Collectors.toList()))
+                .status(HoldStatus.ACTIVE)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+        StockHold saved = stockHoldRepository.save(hold);
+        log.info("Stock hold {} placed in branch {} for {} products until {}",
+                saved.getId(), branch.getId(), quantities.size(), saved.getExpiresAt());
+        return stockHoldMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockHoldResponse getById(Long id) {
+        return stockHoldMapper.toResponse(findHold(id));
+    }
+
+    @Override
+    @Transactional
+    public void release(Long id) {
+        StockHold hold = findHold(id);
+        checkOwnership(hold, "release");
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new InvalidOperationException(
+                    String.format("Stock hold %d is already %s", id, hold.getStatus()));
+        }
+        resolve(hold, HoldStatus.RELEASED, LocalDateTime.now());
+        inventoryService.releaseStock(hold.getBranch().getId(), quantitiesOf(hold));
+        log.info("Stock hold {} released", id);
+    }
+
+    @Override
+    @Transactional
+    public void consume(Long holdId, Long branchId, Map<Long, Integer> quantities) {
+        StockHold hold = findHold(holdId);
+        checkOwnership(hold, "use");
+        LocalDateTime now = LocalDateTime.now();
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new InvalidOperationException(
+                    String.format("Stock hold %d is %s and cannot be used for a sale", holdId, hold.getStatus()));
+        }
+        if (!hold.getBranch().getId().equals(branchId)) {
+            throw new InvalidOperationException(
+                    String.format("Stock hold %d belongs to branch %d, not %d", holdId, hold.getBranch().getId(), branchId));
+        }
+        if (!hold.getExpiresAt().isAfter(now)) {
+            throw new InvalidOperationException(
+                    String.format("Stock hold %d expired at %s", holdId, hold.getExpiresAt()));
+        }
+        Map<Long, Integer> held = quantitiesOf(hold);
+        Map<Long, Integer> missing = new TreeMap<>();
+        Map<Long, Integer> surplus = new TreeMap<>();
+        quantities.forEach((productId, quantity) -> {
+            int difference = quantity - held.getOrDefault(productId, 0);
+            if (difference > 0) {
+                missing.put(productId, difference);
+            }
+        });
+        held.forEach((productId, quantity) -> {
+            int difference = quantity - quantities.getOrDefault(productId, 0);
+            if (difference > 0) {
+                surplus.put(productId, difference);
+            }
+        });
+        if (!missing.isEmpty()) {
+            reserve(branchId, missing);
+        }
+        if (!surplus.isEmpty()) {
+            inventoryService.releaseStock(branchId, surplus);
+        }
+        resolve(hold, HoldStatus.CONSUMED, now);
+        log.info("Stock hold {} consumed by a sale ({} extra, {} returned products)",
+                holdId, missing.size(), surplus.size());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.holds.reaper-interval-ms:5000}")
+    public int releaseExpired() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int released = 0;
+        while (true) {
+            Integer batch;
+            try {
+                batch = transactionTemplate.execute(status -> releaseExpiredBatch(LocalDateTime.now()));
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("Expired hold batch raced with a checkout, retrying on next run: {}", e.getMessage());
+                break;
+            }
+            released += batch;
+            if (batch < reaperBatchSize) {
+                break;
+            }
+        }
+        if (released > 0) {
+            log.info("Released {} expired stock holds", released);
+        }
+        return released;
+    }
+
+    private int releaseExpiredBatch(LocalDateTime now) {
+        List<StockHold> expired = stockHoldRepository.findByStatusAndExpiresAtBeforeOrderByExpiresAtAsc(
+                HoldStatus.ACTIVE, now, PageRequest.of(0, reaperBatchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Map<Long, Integer>> quantitiesByBranch = new TreeMap<>();
+        for (StockHold hold : expired) {
+            resolve(hold, HoldStatus.EXPIRED, now);
+            Map<Long, Integer> branchQuantities = quantitiesByBranch.computeIfAbsent(
+                    hold.getBranch().getId(), k -> new HashMap<>());
+            hold.getLines().forEach(line -> branchQuantities.merge(line.getProductId(), line.getQuantity(), Integer::sum));
+        }
+        stockHoldRepository.saveAllAndFlush(expired);
+        quantitiesByBranch.forEach(inventoryService::releaseStock);
+        return expired.size();
+    }
+
+    private void reserve(Long branchId, Map<Long, Integer> quantities) {
+        List<Long> rejected = inventoryService.reserveStock(branchId, quantities);
+        if (rejected.isEmpty()) {
+            return;
+        }
+        Map<Long, StockLevel> levels = inventoryService.getStockLevels(branchId, rejected).stream()
+                .collect(Collectors.toMap(StockLevel::getProductId, level -> level));
+        List<Long> unknown = rejected.stream()
+                .filter(productId -> !levels.containsKey(productId))
+                .sorted()
+                .toList();
+        if (!unknown.isEmpty()) {
+            throw new ResourceNotFoundException(
+                    String.format("The following products do not exist in branch %d: %s", branchId, unknown));
+        }
+        Long productId = rejected.get(0);
+        throw new InsufficientStockException(
+                String.format("Insufficient stock for product %d in branch %d. Available: %d, required: %d",
+                        productId, branchId, levels.get(productId).getStock(), quantities.get(productId)));
+    }
+
+    private StockHold findHold(Long id) {
+        return stockHoldRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Stock hold not found with ID: " + id));
+    }
+
+    private void checkOwnership(StockHold hold, String action) {
+        User currentUser = securityUtils.getCurrentUser();
+        boolean isCreator = hold.getCreatedBy() != null && hold.getCreatedBy().getId().equals(currentUser.getId());
+        boolean isSupervisor = currentUser.getRole() == UserRole.ADMIN || currentUser.getRole() == UserRole.MANAGER;
+        if (!isCreator && !isSupervisor) {
+            throw new InsufficientPermissionsException("You are not allowed to " + action + " this stock hold");
+        }
+    }
+
+    private void resolve(StockHold hold, HoldStatus status, LocalDateTime now) {
+        hold.setStatus(status);
+        hold.setResolvedAt(now);
+    }
+
+    private Map<Long, Integer> quantitiesOf(StockHold hold) {
+        return hold.getLines().stream()
+                .collect(Collectors.toMap(StockHoldLine::getProductId, StockHoldLine::getQuantity, Integer::sum));
+    }
+}
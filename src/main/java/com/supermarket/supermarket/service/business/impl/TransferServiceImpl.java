@@ -1,5 +1,6 @@
 package com.supermarket.supermarket.service.business.impl;
 
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.dto.transfer.RejectTransferRequest;
 import com.supermarket.supermarket.dto.transfer.TransferRequest;
 import com.supermarket.supermarket.dto.transfer.TransferResponse;
@@ -7,6 +8,8 @@ import com.supermarket.supermarket.exception.InsufficientPermissionsException;
 import com.supermarket.supermarket.exception.InsufficientStockException;
 import com.supermarket.supermarket.exception.InvalidOperationException;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.export.EntityStreamer;
+import com.supermarket.supermarket.lock.BranchStockLocks;
 import com.supermarket.supermarket.mapper.TransferMapper;
 import com.supermarket.supermarket.model.branch.Branch;
 import com.supermarket.supermarket.model.product.Product;
@@ -17,17 +20,21 @@ import com.supermarket.supermarket.model.user.UserRole;
 import com.supermarket.supermarket.repository.BranchRepository;
 import com.supermarket.supermarket.repository.ProductRepository;
 import com.supermarket.supermarket.repository.StockTransferRepository;
+import com.supermarket.supermarket.retry.OptimisticRetry;
 import com.supermarket.supermarket.security.SecurityUtils;
 import com.supermarket.supermarket.service.business.InventoryService;
 import com.supermarket.supermarket.service.business.NotificationEventService;
 import com.supermarket.supermarket.service.business.TransferService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -41,8 +48,11 @@ public class TransferServiceImpl implements TransferService {
     private final TransferMapper transferMapper;
     private final SecurityUtils securityUtils;
     private final NotificationEventService notificationEventService;
+    private final BranchStockLocks branchStockLocks;
+    private final EntityStreamer entityStreamer;
 
     @Override
+    @Timed("supermarket.transfer.transition")
     public TransferResponse requestTransfer(TransferRequest request) {
         log.info("Requesting transfer: source={}, target={}, product={}, quantity={}",
                 request.getSourceBranchId(), request.getTargetBranchId(),
@@ -79,6 +89,7 @@ public class TransferServiceImpl implements TransferService {
     }
 
     @Override
+    @Timed("supermarket.transfer.transition")
     public TransferResponse approveTransfer(Long transferId) {
         log.info("Approving transfer id: {}", transferId);
         StockTransfer transfer = findTransfer(transferId);
@@ -96,6 +107,7 @@ public class TransferServiceImpl implements TransferService {
     }
 
     @Override
+    @Timed("supermarket.transfer.transition")
     public TransferResponse rejectTransfer(Long transferId, RejectTransferRequest request) {
         log.info("Rejecting transfer id: {}", transferId);
         StockTransfer transfer = findTransfer(transferId);
@@ -114,12 +126,15 @@ public class TransferServiceImpl implements TransferService {
     }
 
     @Override
+    @OptimisticRetry("transfer-complete")
+    @Timed("supermarket.transfer.transition")
     public TransferResponse completeTransfer(Long transferId) {
         log.info("Completing transfer id: {}", transferId);
         StockTransfer transfer = findTransfer(transferId);
         if (transfer.getStatus() != TransferStatus.APPROVED) {
             throw new InvalidOperationException("Only APPROVED transfers can be completed");
         }
+        branchStockLocks.lockBranches(transfer.getSourceBranch().getId(), transfer.getTargetBranch().getId());
         Integer availableStock = inventoryService.getStockInBranch(
                 transfer.getSourceBranch().getId(), transfer.getProduct().getId());
         if (availableStock < transfer.getQuantity()) {
@@ -147,6 +162,7 @@ public class TransferServiceImpl implements TransferService {
     }
 
     @Override
+    @Timed("supermarket.transfer.transition")
     public TransferResponse cancelTransfer(Long transferId) {
         log.info("Cancelling transfer id: {}", transferId);
         StockTransfer transfer = findTransfer(transferId);
@@ -167,8 +183,18 @@ public class TransferServiceImpl implements TransferService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<TransferResponse> getAllTransfers() {
-        return transferMapper.toResponseList(transferRepository.findAll());
+    public CursorPage<TransferResponse> getAllTransfers(String cursor, Integer size) {
+        Long before = CursorPage.idCursor(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        List<StockTransfer> transfers = transferRepository.findByIdLessThanOrderByIdDesc(
+                before != null ? before : Long.MAX_VALUE, Limit.of(pageSize + 1));
+        return CursorPage.of(transfers, pageSize, transferMapper::toResponse, StockTransfer::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllTransfers(Consumer<TransferResponse> sink) {
+        entityStreamer.forEach(transferRepository.streamAll(), transferMapper::toResponse, sink);
     }
 
     @Override
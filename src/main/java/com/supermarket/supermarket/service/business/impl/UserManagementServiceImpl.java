@@ -12,6 +12,7 @@ import com.supermarket.supermarket.model.user.User;
 import com.supermarket.supermarket.model.user.UserRole;
 import com.supermarket.supermarket.repository.UserRepository;
 import com.supermarket.supermarket.security.SecurityUtils;
+import com.supermarket.supermarket.service.business.RecipientDirectory;
 import com.supermarket.supermarket.service.business.UserManagementService;
 import com.supermarket.supermarket.specification.UserSpecifications;
 import com.supermarket.supermarket.validator.PasswordValidator;
@@ -36,6 +37,7 @@ public class UserManagementServiceImpl implements UserManagementService {
     private final PasswordEncoder passwordEncoder;
     private final PasswordValidator passwordValidator;
     private final SecurityUtils securityUtils;
+    private final RecipientDirectory recipientDirectory;
 
     @Override
     @Transactional(readOnly = true)
@@ -75,6 +77,7 @@ public class UserManagementServiceImpl implements UserManagementService {
                 .active(true)
                 .build();
         User saved = userRepository.save(user);
+        recipientDirectory.invalidate();
         log.info("User created successfully: {}", saved.getEmail());
         return toResponse(saved);
     }
@@ -94,7 +97,9 @@ public class UserManagementServiceImpl implements UserManagementService {
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setRole(request.getRole());
-        return toResponse(userRepository.save(user));
+        User saved = userRepository.save(user);
+        recipientDirectory.invalidate();
+        return toResponse(saved);
     }
 
     @Override
@@ -102,7 +107,9 @@ public class UserManagementServiceImpl implements UserManagementService {
         log.info("Updating role for user ID: {} to {}", id, request.getRole());
         User user = findUser(id);
         user.setRole(request.getRole());
-        return toResponse(userRepository.save(user));
+        User saved = userRepository.save(user);
+        recipientDirectory.invalidate();
+        return toResponse(saved);
     }
 
     @Override
@@ -111,6 +118,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         User user = findUser(id);
         user.setActive(false);
         userRepository.save(user);
+        recipientDirectory.invalidate();
         log.info("User deactivated successfully - ID: {}", id);
     }
 
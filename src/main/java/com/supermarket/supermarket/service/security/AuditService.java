@@ -1,16 +1,22 @@
 package com.supermarket.supermarket.service.security;
 
+import com.supermarket.supermarket.dto.audit.AuditLogResponse;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.pagination.KeysetCursor;
 import com.supermarket.supermarket.model.audit.AuditLog;
 import com.supermarket.supermarket.model.audit.AuditStatus;
 import com.supermarket.supermarket.repository.AuditLogRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -36,6 +42,42 @@ public class AuditService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLogResponse> getAuditLogs(String username, String cursor, Integer size, boolean count) {
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        boolean byUser = username != null && !username.isBlank();
+        List<AuditLog> logs;
+        if (byUser) {
+            logs = before == null
+                    ? auditLogRepository.findByUsernameOrderByTimestampDescIdDesc(username, limit)
+                    : auditLogRepository.findByUsernamePageBefore(username, before.getCreatedAt(), before.getId(), limit);
+        } else {
+            logs = before == null
+                    ? auditLogRepository.findAllByOrderByTimestampDescIdDesc(limit)
+                    : auditLogRepository.findPageBefore(before.getCreatedAt(), before.getId(), limit);
+        }
+        CursorPage<AuditLogResponse> page = CursorPage.of(logs, pageSize, this::toResponse,
+                auditLog -> KeysetCursor.encode(auditLog.getTimestamp(), auditLog.getId()));
+        if (count) {
+            page.setTotal(byUser ? auditLogRepository.countByUsername(username) : auditLogRepository.count());
+        }
+        return page;
+    }
+
+    private AuditLogResponse toResponse(AuditLog auditLog) {
+        return AuditLogResponse.builder()
+                .id(auditLog.getId())
+                .username(auditLog.getUsername())
+                .action(auditLog.getAction())
+                .details(auditLog.getDetails())
+                .ipAddress(auditLog.getIpAddress())
+                .timestamp(auditLog.getTimestamp())
+                .status(auditLog.getStatus())
+                .build();
+    }
+
     private String getClientIpAddress() {
         ServletRequestAttributes attributes =
                 (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
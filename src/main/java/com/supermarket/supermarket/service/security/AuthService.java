@@ -11,6 +11,7 @@ import com.supermarket.supermarket.model.user.User;
 import com.supermarket.supermarket.model.user.UserRole;
 import com.supermarket.supermarket.repository.UserRepository;
 import com.supermarket.supermarket.security.SecurityUser;
+import com.supermarket.supermarket.service.business.RecipientDirectory;
 import com.supermarket.supermarket.validator.PasswordValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +36,7 @@ public class AuthService {
     private final RateLimitService rateLimitService;
     private final AuditService auditService;
     private final PasswordValidator passwordValidator;
+    private final RecipientDirectory recipientDirectory;
 
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user: {}", request.getEmail());
@@ -66,6 +68,7 @@ public class AuthService {
                 .active(true)
                 .build();
         User savedUser = userRepository.save(user);
+        recipientDirectory.invalidate();
         SecurityUser securityUser = new SecurityUser(savedUser);
         String token = jwtService.generateToken(securityUser);
         auditService.logAction(savedUser.getEmail(), "REGISTER_SUCCESS",
@@ -2,6 +2,7 @@ package com.supermarket.supermarket.service.security;
 
 import com.supermarket.supermarket.exception.RateLimitExceededException;
 import com.supermarket.supermarket.exception.RateLimitServiceException;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -19,6 +20,7 @@ public class RateLimitService {
     private static final String RATE_LIMIT_PREFIX = "rate_limit:";
     private final RedisTemplate<String, Object> redisTemplate;
 
+    @Timed("supermarket.security.rate.limit")
     public void checkRateLimit(String key) {
         String redisKey = RATE_LIMIT_PREFIX + key;
         try {
@@ -17,7 +17,8 @@ CREATE TABLE IF NOT EXISTS notifications (
     data TEXT,
     read BOOLEAN NOT NULL DEFAULT FALSE,
     created_at DATETIME NOT NULL,
-    FOREIGN KEY (user_id) REFERENCES users(id)
+    FOREIGN KEY (user_id) REFERENCES users(id),
+    INDEX idx_notifications_user_created_at_id (user_id, created_at, id)
 );
 
 CREATE TABLE IF NOT EXISTS audit_logs (
@@ -27,7 +28,27 @@ CREATE TABLE IF NOT EXISTS audit_logs (
     details VARCHAR(1000),
     ip_address VARCHAR(50),
     timestamp DATETIME NOT NULL,
-    status VARCHAR(20) NOT NULL
+    status VARCHAR(20) NOT NULL,
+    INDEX idx_audit_logs_timestamp_id (timestamp, id),
+    INDEX idx_audit_logs_username_timestamp_id (username, timestamp, id)
+);
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    audience VARCHAR(20) NOT NULL,
+    recipient_id BIGINT,
+    type VARCHAR(50) NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    data TEXT,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL,
+    last_error VARCHAR(500),
+    created_at DATETIME NOT NULL,
+    dispatched_at DATETIME,
+    version BIGINT,
+    INDEX idx_outbox_status_id (status, id),
+    INDEX idx_outbox_status_recipient_id (status, audience, recipient_id, id)
 );
 
 CREATE TABLE IF NOT EXISTS branch (
@@ -54,6 +75,7 @@ CREATE TABLE IF NOT EXISTS cash_registers (
     status VARCHAR(20) NOT NULL,
     opened_by_id BIGINT NOT NULL,
     closed_by_id BIGINT,
+    INDEX idx_cash_registers_branch_status (branch_id, status),
     FOREIGN KEY (branch_id) REFERENCES branch(id),
     FOREIGN KEY (opened_by_id) REFERENCES users(id),
     FOREIGN KEY (closed_by_id) REFERENCES users(id)
@@ -101,7 +123,7 @@ CREATE TABLE IF NOT EXISTS sale (
     branch_id BIGINT NOT NULL,
     cash_register_id BIGINT NOT NULL,
     created_by_id BIGINT,
-    created_at DATETIME,
+    created_at DATETIME NOT NULL,
     cancelled_by_id BIGINT,
     cancellation_reason VARCHAR(255),
     cancelled_at DATETIME,
@@ -131,6 +153,27 @@ CREATE TABLE IF NOT EXISTS payments (
     FOREIGN KEY (sale_id) REFERENCES sale(id)
 );
 
+CREATE TABLE IF NOT EXISTS sales_daily_rollup (
+    date DATE NOT NULL,
+    branch_id BIGINT NOT NULL,
+    cashier_id BIGINT NOT NULL,
+    revenue DECIMAL(38, 2) NOT NULL,
+    tx_count BIGINT NOT NULL,
+    PRIMARY KEY (branch_id, cashier_id, date),
+    INDEX idx_sales_daily_rollup_date (date)
+);
+
+CREATE TABLE IF NOT EXISTS product_sales_daily (
+    date DATE NOT NULL,
+    branch_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    qty BIGINT NOT NULL,
+    revenue DECIMAL(38, 2) NOT NULL,
+    PRIMARY KEY (branch_id, date, product_id),
+    INDEX idx_product_sales_daily_date (date),
+    INDEX idx_product_sales_daily_product_date (product_id, date)
+);
+
 INSERT IGNORE INTO users (id, username, email, password, first_name, last_name, role, active) VALUES
 (1, 'admin', 'admin@supermarket.com', '$2a$10$Xx9Q8LrOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy', 'System', 'Administrator', 'ADMIN', true),
 (2, 'manager1', 'manager@supermarket.com', '$2a$10$Yy9Q8LrOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhXz', 'Store', 'Manager', 'MANAGER', true),
@@ -161,8 +204,8 @@ INSERT IGNORE INTO product (id, name, category, price, version) VALUES
 (27, 'Hand Soap', 'Cleaning', 1200.50, 0), (28, 'Toilet Paper 4 rolls', 'Cleaning', 2800.00, 0),
 (29, 'All-purpose Cleaner', 'Cleaning', 3200.00, 0), (30, 'Disinfectant 500ml', 'Cleaning', 1800.00, 0);
 
-INSERT IGNORE INTO branch_inventory (branch_id, product_id, stock, min_stock, last_restock_date, version)
-SELECT b.id, p.id, 50, 10, NOW(), 0 FROM product p CROSS JOIN branch b;
+INSERT IGNORE INTO branch_inventory (id, branch_id, product_id, stock, min_stock, last_restock_date, version)
+SELECT ROW_NUMBER() OVER (ORDER BY b.id, p.id), b.id, p.id, 50, 10, NOW(), 0 FROM product p CROSS JOIN branch b;
 
 INSERT IGNORE INTO cash_registers (id, branch_id, opening_balance, closing_balance, opening_time, closing_time, status, opened_by_id, closed_by_id) VALUES
 (1, 1, 10000.00, 38600.00, '2026-02-21 08:00:00', '2026-02-21 20:00:00', 'CLOSED', 3, 2),
@@ -267,6 +310,9 @@ INSERT IGNORE INTO stock_transfers (id, source_branch_id, target_branch_id, prod
 (9, 1, 3, 15, 3,  'REJECTED',  3, 2, '2026-02-23 11:00:00', '2026-02-23 11:30:00', NULL, 'Insufficient demand in target branch', 0),
 (10, 5, 2, 20, 4, 'CANCELLED', 4, NULL, '2026-02-24 10:00:00', NULL, NULL, NULL, 0);
 
+UPDATE sale SET created_at = COALESCE(CAST(date AS DATETIME), cancelled_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+ALTER TABLE sale MODIFY created_at DATETIME NOT NULL;
+
 ALTER TABLE notifications AUTO_INCREMENT = 1;
 ALTER TABLE users AUTO_INCREMENT = 5;
 ALTER TABLE audit_logs AUTO_INCREMENT = 1;
@@ -277,4 +323,31 @@ ALTER TABLE branch_inventory AUTO_INCREMENT = 151;
 ALTER TABLE stock_transfers AUTO_INCREMENT = 11;
 ALTER TABLE sale AUTO_INCREMENT = 26;
 ALTER TABLE sale_detail AUTO_INCREMENT = 71;
-ALTER TABLE payments AUTO_INCREMENT = 25;
\ No newline at end of file
+ALTER TABLE payments AUTO_INCREMENT = 25;
+
+CREATE TABLE IF NOT EXISTS sale_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS sale_detail_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS payments_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS branch_inventory_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS notifications_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS audit_logs_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS notification_outbox_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS stock_holds_seq (next_val BIGINT);
+
+INSERT INTO sale_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM sale_seq);
+INSERT INTO sale_detail_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM sale_detail_seq);
+INSERT INTO payments_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM payments_seq);
+INSERT INTO branch_inventory_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM branch_inventory_seq);
+INSERT INTO notifications_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM notifications_seq);
+INSERT INTO audit_logs_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM audit_logs_seq);
+INSERT INTO notification_outbox_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM notification_outbox_seq);
+INSERT INTO stock_holds_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM stock_holds_seq);
+
+UPDATE sale_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM sale));
+UPDATE sale_detail_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM sale_detail));
+UPDATE payments_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM payments));
+UPDATE branch_inventory_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM branch_inventory));
+UPDATE notifications_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM notifications));
+UPDATE audit_logs_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM audit_logs));
+UPDATE notification_outbox_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM notification_outbox));
+UPDATE stock_holds_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM stock_holds));
@@ -0,0 +1,299 @@
+package com.supermarket.supermarket.benchmark;
+
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.CashRegisterRepository;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.security.SecurityUser;
+import com.supermarket.supermarket.service.business.SaleService;
+import com.supermarket.supermarket.service.security.JwtService;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=16",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Slf4j
+abstract class AbstractRequestMixBenchmark {
+    private static final int CLIENTS = 64;
+    private static final int REQUESTS_PER_CLIENT = 30;
+    private static final int HISTORY_SALES = 300;
+    private static final String PASSWORD = "bench-password";
+    private static final String[] REPORT_PATHS = {
+            "/reports/sales/summary",
+            "/reports/sales/by-product",
+            "/reports/sales/by-cashier",
+            "/reports/inventory/performance"
+    };
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SaleService saleService;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BranchInventoryRepository branchInventoryRepository;
+    @Autowired
+    private CashRegisterRepository cashRegisterRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    abstract String label();
+
+    @Test
+    @DisplayName("POST /sales mixed with /reports and logins - throughput and checkout latency")
+    void checkoutLatencyUnderMixedTraffic() throws Exception {
+        Scenario scenario = seed();
+        run(scenario, 8, 5);
+        MixResult result = run(scenario, CLIENTS, REQUESTS_PER_CLIENT);
+        log.info("[{}] clients={} requests={} failures={} elapsed={}ms -> {} req/s",
+                label(), CLIENTS, result.requests(), result.failures(), result.elapsedMillis(),
+                String.format("%.1f", result.requests() / (result.elapsedMillis() / 1000.0)));
+        result.latencies().forEach((kind, latencies) -> log.info("[{}] {} count={} p50={}ms p95={}ms max={}ms",
+                label(), kind, latencies.size(), percentile(latencies, 50), percentile(latencies, 95),
+                percentile(latencies, 100)));
+        assertThat(result.failures()).isZero();
+    }
+
+    private MixResult run(Scenario scenario, int clients, int requestsPerClient) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        Map<Kind, Queue<Long>> latencies = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            latencies.put(kind, new ConcurrentLinkedQueue<>());
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < requestsPerClient; i++) {
+                    Kind kind = Kind.of(client + i);
+                    long begin = System.nanoTime();
+                    int status = send(kind.request(this, scenario, client + i));
+                    latencies.get(kind).add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+                    if (status != kind.expectedStatus) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        Map<Kind, List<Long>> sorted = new EnumMap<>(Kind.class);
+        latencies.forEach((kind, values) -> sorted.put(kind, values.stream().sorted().toList()));
+        return new MixResult(clients * requestsPerClient, failures.get(), elapsed, sorted);
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest saleRequest(Scenario scenario) {
+        String body = String.format("{\"branchId\":%d,\"date\":\"%s\",\"details\":[{\"productId\":%d,\"quantity\":1}]}",
+                scenario.branchId(), LocalDate.now(), scenario.productId());
+        return HttpRequest.newBuilder(uri("/sales"))
+                .header("Authorization", "Bearer " + scenario.cashierToken())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest reportRequest(Scenario scenario, int index) {
+        return HttpRequest.newBuilder(uri(REPORT_PATHS[index % REPORT_PATHS.length]))
+                .header("Authorization", "Bearer " + scenario.managerToken())
+                .GET()
+                .build();
+    }
+
+    private HttpRequest loginRequest(Scenario scenario) {
+        String body = String.format("{\"email\":\"%s\",\"password\":\"%s\"}", scenario.managerEmail(), PASSWORD);
+        return HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private Scenario seed() {
+        String suffix = label() + "-" + System.nanoTime();
+        Branch branch = branchRepository.save(Branch.builder()
+                .name("Mix Branch " + suffix)
+                .address("Mix Street " + suffix)
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Mix Product " + suffix)
+                .category("Bench")
+                .price(new BigDecimal("1.00"))
+                .build());
+        branchInventoryRepository.save(BranchInventory.builder()
+                .branch(branch)
+                .product(product)
+                .stock(1_000_000)
+                .minStock(0)
+                .build());
+        User cashier = saveUser("mix-cashier-" + suffix, UserRole.CASHIER);
+        User manager = saveUser("mix-manager-" + suffix, UserRole.MANAGER);
+        cashRegisterRepository.save(CashRegister.builder()
+                .branch(branch)
+                .openingBalance(BigDecimal.ZERO)
+                .openingTime(LocalDateTime.now())
+                .status(CashRegisterStatus.OPEN)
+                .openedBy(cashier)
+                .build());
+        SecurityUser principal = new SecurityUser(cashier);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        try {
+            for (int i = 0; i < HISTORY_SALES; i++) {
+                saleService.create(SaleRequest.builder()
+                        .branchId(branch.getId())
+                        .date(LocalDate.now())
+                        .details(List.of(SaleDetailRequest.builder()
+                                .productId(product.getId())
+                                .quantity(1 + i % 3)
+                                .build()))
+                        .build());
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return new Scenario(branch.getId(), product.getId(),
+                jwtService.generateToken(new SecurityUser(cashier)),
+                jwtService.generateToken(new SecurityUser(manager)),
+                manager.getEmail());
+    }
+
+    private User saveUser(String username, UserRole role) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@test.com")
+                .password(passwordEncoder.encode(PASSWORD))
+                .firstName("Mix")
+                .lastName(role.name())
+                .role(role)
+                .active(true)
+                .build());
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    private enum Kind {
+        SALE(201),
+        REPORT(200),
+        LOGIN(200);
+
+        private final int expectedStatus;
+
+        Kind(int expectedStatus) {
+            this.expectedStatus = expectedStatus;
+        }
+
+        static Kind of(int index) {
+            int slot = index % 10;
+            if (slot < 7) {
+                return SALE;
+            }
+            return slot < 9 ? REPORT : LOGIN;
+        }
+
+        HttpRequest request(AbstractRequestMixBenchmark benchmark, Scenario scenario, int index) {
+            return switch (this) {
+                case SALE -> benchmark.saleRequest(scenario);
+                case REPORT -> benchmark.reportRequest(scenario, index);
+                case LOGIN -> benchmark.loginRequest(scenario);
+            };
+        }
+    }
+
+    private record Scenario(Long branchId, Long productId, String cashierToken, String managerToken,
+                            String managerEmail) {
+    }
+
+    private record MixResult(int requests, int failures, long elapsedMillis, Map<Kind, List<Long>> latencies) {
+    }
+}
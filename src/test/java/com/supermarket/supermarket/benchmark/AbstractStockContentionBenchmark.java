@@ -0,0 +1,220 @@
+package com.supermarket.supermarket.benchmark;
+
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.CashRegisterRepository;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.security.SecurityUser;
+import com.supermarket.supermarket.service.business.InventoryReservationMode;
+import com.supermarket.supermarket.service.business.InventoryService;
+import com.supermarket.supermarket.service.business.SaleService;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Slf4j
+abstract class AbstractStockContentionBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 4, 8, 16};
+    private static final int SALES_PER_THREAD = 50;
+    private static final int WARMUP_SALES = 50;
+
+    @Autowired
+    private SaleService saleService;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BranchInventoryRepository branchInventoryRepository;
+    @Autowired
+    private CashRegisterRepository cashRegisterRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    abstract InventoryReservationMode mode();
+
+    String label() {
+        return mode().name();
+    }
+
+    @Test
+    @DisplayName("N threads hammering the same product - sales per second")
+    void salesPerSecondUnderContention() throws Exception {
+        hammer(seed(WARMUP_SALES), 1, WARMUP_SALES);
+        for (int threads : THREAD_COUNTS) {
+            int attempts = threads * SALES_PER_THREAD;
+            Scenario scenario = seed(attempts);
+            RunResult result = hammer(scenario, threads, SALES_PER_THREAD);
+            log.info("[{}] threads={} attempts={} sold={} conflicts={} rejected={} elapsed={}ms -> {} sales/s",
+                    label(), threads, attempts, result.sold(), result.conflicts(), result.rejected(),
+                    result.elapsedMillis(), String.format("%.1f", result.salesPerSecond()));
+            assertThat(currentStock(scenario)).isEqualTo(attempts - result.sold());
+        }
+    }
+
+    @Test
+    @DisplayName("Demand above stock - never oversells")
+    void neverOversells() throws Exception {
+        int threads = 16;
+        int stock = threads * SALES_PER_THREAD / 2;
+        Scenario scenario = seed(stock);
+        RunResult result = hammer(scenario, threads, SALES_PER_THREAD);
+        log.info("[{}] oversell check: stock={} sold={} conflicts={} rejected={}",
+                label(), stock, result.sold(), result.conflicts(), result.rejected());
+        assertThat(result.sold()).isLessThanOrEqualTo(stock);
+        assertThat(currentStock(scenario)).isEqualTo(stock - result.sold());
+        if (mode() == InventoryReservationMode.ATOMIC) {
+            assertThat(result.sold()).isEqualTo(stock);
+            assertThat(result.conflicts()).isZero();
+        }
+    }
+
+    private RunResult hammer(Scenario scenario, int threads, int salesPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                authenticate(scenario.cashier());
+                start.await();
+                for (int i = 0; i < salesPerThread; i++) {
+                    try {
+                        saleService.create(singleUnitSale(scenario));
+                        sold.incrementAndGet();
+                    } catch (ObjectOptimisticLockingFailureException | UnexpectedRollbackException e) {
+                        conflicts.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                SecurityContextHolder.clearContext();
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return new RunResult(sold.get(), conflicts.get(), rejected.get(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                sold.get() / (elapsed / 1_000_000_000.0));
+    }
+
+    private Scenario seed(int stock) {
+        String suffix = label() + "-" + System.nanoTime();
+        Branch branch = branchRepository.save(Branch.builder()
+                .name("Bench Branch " + suffix)
+                .address("Bench Street " + suffix)
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Bench Product " + suffix)
+                .category("Bench")
+                .price(new BigDecimal("1.00"))
+                .build());
+        branchInventoryRepository.save(BranchInventory.builder()
+                .branch(branch)
+                .product(product)
+                .stock(stock)
+                .minStock(0)
+                .build());
+        User cashier = userRepository.save(User.builder()
+                .username("bench-" + suffix)
+                .email("bench-" + suffix + "@test.com")
+                .password("not-used")
+                .firstName("Bench")
+                .lastName("Cashier")
+                .role(UserRole.CASHIER)
+                .active(true)
+                .build());
+        cashRegisterRepository.save(CashRegister.builder()
+                .branch(branch)
+                .openingBalance(BigDecimal.ZERO)
+                .openingTime(LocalDateTime.now())
+                .status(CashRegisterStatus.OPEN)
+                .openedBy(cashier)
+                .build());
+        return new Scenario(branch.getId(), product.getId(), cashier);
+    }
+
+    private int currentStock(Scenario scenario) {
+        return inventoryService.getStockInBranch(scenario.branchId(), scenario.productId());
+    }
+
+    private SaleRequest singleUnitSale(Scenario scenario) {
+        return SaleRequest.builder()
+                .branchId(scenario.branchId())
+                .date(LocalDate.now())
+                .details(List.of(SaleDetailRequest.builder()
+                        .productId(scenario.productId())
+                        .quantity(1)
+                        .build()))
+                .build();
+    }
+
+    private void authenticate(User user) {
+        SecurityUser principal = new SecurityUser(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private record Scenario(Long branchId, Long productId, User cashier) {
+    }
+
+    private record RunResult(int sold, int conflicts, int rejected, long elapsedMillis, double salesPerSecond) {
+    }
+}
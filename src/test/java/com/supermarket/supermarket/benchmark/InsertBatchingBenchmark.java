@@ -0,0 +1,206 @@
+package com.supermarket.supermarket.benchmark;
+
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.sale.SaleResponse;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.notification.NotificationType;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.CashRegisterRepository;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.security.SecurityUser;
+import com.supermarket.supermarket.service.business.NotificationService;
+import com.supermarket.supermarket.service.business.SaleService;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Slf4j
+class InsertBatchingBenchmark {
+    private static final int SALE_LINES = 40;
+    private static final int RECIPIENTS = 20;
+
+    @Autowired
+    private JdbcRoundTripCounter roundTripCounter;
+    @Autowired
+    private SaleService saleService;
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BranchInventoryRepository branchInventoryRepository;
+    @Autowired
+    private CashRegisterRepository cashRegisterRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    @TestConfiguration
+    static class RoundTripCountingConfig {
+        @Bean
+        JdbcRoundTripCounter jdbcRoundTripCounter() {
+            return new JdbcRoundTripCounter();
+        }
+
+        @Bean
+        static BeanPostProcessor roundTripCountingDataSource(ObjectProvider<JdbcRoundTripCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counter.getObject().wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("A 40-line sale inserts all of its details in one batched round trip")
+    void fortyLineSale_shouldInsertDetailsInOneRoundTrip() {
+        String suffix = String.valueOf(System.nanoTime());
+        User cashier = userRepository.save(user("cashier-" + suffix, UserRole.CASHIER));
+        Branch branch = branchRepository.save(Branch.builder()
+                .name("Batch Branch " + suffix)
+                .address("Batch Street " + suffix)
+                .build());
+        List<SaleDetailRequest> details = new ArrayList<>();
+        for (int i = 0; i < SALE_LINES; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("Batch Product " + suffix + "-" + i)
+                    .category("Bench")
+                    .price(new BigDecimal("1.25"))
+                    .build());
+            branchInventoryRepository.save(BranchInventory.builder()
+                    .branch(branch)
+                    .product(product)
+                    .stock(1_000)
+                    .minStock(0)
+                    .build());
+            details.add(SaleDetailRequest.builder().productId(product.getId()).quantity(1).build());
+        }
+        cashRegisterRepository.save(CashRegister.builder()
+                .branch(branch)
+                .openingBalance(BigDecimal.ZERO)
+                .openingTime(LocalDateTime.now())
+                .status(CashRegisterStatus.OPEN)
+                .openedBy(cashier)
+                .build());
+        authenticate(cashier);
+        SaleRequest request = SaleRequest.builder()
+                .branchId(branch.getId())
+                .date(LocalDate.now())
+                .details(details)
+                .build();
+
+        roundTripCounter.reset();
+        SaleResponse response = saleService.create(request);
+
+        List<JdbcRoundTripCounter.RoundTrip> detailInserts = roundTripCounter.roundTripsStartingWith("insert into sale_detail ");
+        List<JdbcRoundTripCounter.RoundTrip> saleInserts = roundTripCounter.roundTripsStartingWith("insert into sale ");
+        log.info("{}-line sale: sale inserts={} round trips, detail inserts={} round trips ({} rows), sequence calls={}",
+                SALE_LINES, saleInserts.size(), detailInserts.size(),
+                detailInserts.stream().mapToInt(JdbcRoundTripCounter.RoundTrip::rows).sum(),
+                sequenceCalls("sale_detail_seq"));
+        assertThat(response.getDetails()).hasSize(SALE_LINES);
+        assertThat(saleInserts).hasSize(1);
+        assertThat(detailInserts).hasSize(1);
+        assertThat(detailInserts.get(0).rows()).isEqualTo(SALE_LINES);
+    }
+
+    @Test
+    @DisplayName("A 20-recipient notification fan-out inserts all rows in one batched round trip")
+    void twentyRecipientFanOut_shouldInsertInOneRoundTrip() {
+        String suffix = String.valueOf(System.nanoTime());
+        List<User> recipients = new ArrayList<>();
+        for (int i = 0; i < RECIPIENTS; i++) {
+            recipients.add(userRepository.save(user("manager-" + suffix + "-" + i, UserRole.MANAGER)));
+        }
+
+        roundTripCounter.reset();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                notificationService.createNotificationForUsers(recipients, NotificationType.LOW_STOCK,
+                        "Low stock fan-out benchmark", null));
+
+        List<JdbcRoundTripCounter.RoundTrip> inserts = roundTripCounter.roundTripsStartingWith("insert into notifications ");
+        log.info("{}-recipient fan-out: notification inserts={} round trips ({} rows), sequence calls={}",
+                RECIPIENTS, inserts.size(), inserts.stream().mapToInt(JdbcRoundTripCounter.RoundTrip::rows).sum(),
+                sequenceCalls("notifications_seq"));
+        assertThat(inserts).hasSize(1);
+        assertThat(inserts.get(0).rows()).isEqualTo(RECIPIENTS);
+    }
+
+    private int sequenceCalls(String sequence) {
+        return (int) roundTripCounter.roundTripsStartingWith("").stream()
+                .filter(roundTrip -> roundTrip.sql().contains(sequence))
+                .count();
+    }
+
+    private User user(String username, UserRole role) {
+        return User.builder()
+                .username(username)
+                .email(username + "@test.com")
+                .password("not-used")
+                .firstName("Batch")
+                .lastName("User")
+                .role(role)
+                .active(true)
+                .build();
+    }
+
+    private void authenticate(User user) {
+        SecurityUser principal = new SecurityUser(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,84 @@
+package com.supermarket.supermarket.benchmark;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class JdbcRoundTripCounter {
+    private final List<RoundTrip> roundTrips = new CopyOnWriteArrayList<>();
+
+    DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args, result) ->
+                method.getName().equals("getConnection") ? wrapConnection((Connection) result) : result);
+    }
+
+    void reset() {
+        roundTrips.clear();
+    }
+
+    List<RoundTrip> roundTripsStartingWith(String sqlPrefix) {
+        String prefix = sqlPrefix.toLowerCase(Locale.ROOT);
+        List<RoundTrip> matching = new ArrayList<>();
+        for (RoundTrip roundTrip : roundTrips) {
+            if (roundTrip.sql().startsWith(prefix)) {
+                matching.add(roundTrip);
+            }
+        }
+        return matching;
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) ->
+                method.getName().equals("prepareStatement")
+                        ? wrapStatement((PreparedStatement) result, (String) args[0])
+                        : result);
+    }
+
+    private PreparedStatement wrapStatement(PreparedStatement statement, String sql) {
+        String normalized = sql.trim().toLowerCase(Locale.ROOT);
+        int[] pendingRows = {0};
+        return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+            switch (method.getName()) {
+                case "addBatch" -> pendingRows[0]++;
+                case "executeBatch" -> {
+                    roundTrips.add(new RoundTrip(normalized, pendingRows[0]));
+                    pendingRows[0] = 0;
+                }
+                case "execute", "executeUpdate", "executeQuery", "executeLargeUpdate" ->
+                        roundTrips.add(new RoundTrip(normalized, 1));
+                default -> {
+                }
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultDecorator decorator) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return decorator.decorate(method, args, result);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private interface ResultDecorator {
+        Object decorate(Method method, Object[] args, Object result) throws Exception;
+    }
+
+    record RoundTrip(String sql, int rows) {
+    }
+}
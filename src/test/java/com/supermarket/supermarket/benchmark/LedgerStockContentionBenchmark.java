@@ -0,0 +1,21 @@
+package com.supermarket.supermarket.benchmark;
+
+import com.supermarket.supermarket.service.business.InventoryReservationMode;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+        "inventory.engine=ledger",
+        "inventory.ledger.journal-dir=target/stock-ledger-benchmark"
+})
+class LedgerStockContentionBenchmark extends AbstractStockContentionBenchmark {
+
+    @Override
+    InventoryReservationMode mode() {
+        return InventoryReservationMode.ATOMIC;
+    }
+
+    @Override
+    String label() {
+        return "LEDGER";
+    }
+}
@@ -0,0 +1,13 @@
+package com.supermarket.supermarket.benchmark;
+
+import com.supermarket.supermarket.service.business.InventoryReservationMode;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "inventory.reservation-mode=OPTIMISTIC")
+class OptimisticStockContentionBenchmark extends AbstractStockContentionBenchmark {
+
+    @Override
+    InventoryReservationMode mode() {
+        return InventoryReservationMode.OPTIMISTIC;
+    }
+}
@@ -0,0 +1,12 @@
+package com.supermarket.supermarket.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadRequestMixBenchmark extends AbstractRequestMixBenchmark {
+
+    @Override
+    String label() {
+        return "PLATFORM";
+    }
+}
@@ -0,0 +1,196 @@
+package com.supermarket.supermarket.benchmark;
+
+import com.supermarket.supermarket.dto.sale.SaleBatchRequest;
+import com.supermarket.supermarket.dto.sale.SaleBatchResponse;
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.CashRegisterRepository;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.security.SecurityUser;
+import com.supermarket.supermarket.service.business.SaleBatchService;
+import com.supermarket.supermarket.service.business.SaleService;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Slf4j
+class SaleBatchIngestionBenchmark {
+    private static final int REPLAY_SIZE = 500;
+    private static final int PRODUCTS = 20;
+    private static final int WARMUP_SIZE = 100;
+
+    @Autowired
+    private SaleService saleService;
+    @Autowired
+    private SaleBatchService saleBatchService;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BranchInventoryRepository branchInventoryRepository;
+    @Autowired
+    private CashRegisterRepository cashRegisterRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Offline replay of 500 sales - serial create vs batch ingestion")
+    void batchVersusSerialReplay() {
+        Scenario warmup = seed();
+        authenticate(warmup.cashier());
+        replaySerially(buildReplay(warmup, WARMUP_SIZE));
+        saleBatchService.createBatch(new SaleBatchRequest(buildReplay(warmup, WARMUP_SIZE)));
+
+        Scenario serial = seed();
+        authenticate(serial.cashier());
+        List<SaleRequest> serialReplay = buildReplay(serial, REPLAY_SIZE);
+        long serialStart = System.nanoTime();
+        int serialCreated = replaySerially(serialReplay);
+        long serialMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - serialStart);
+
+        Scenario batch = seed();
+        authenticate(batch.cashier());
+        List<SaleRequest> batchReplay = buildReplay(batch, REPLAY_SIZE);
+        long batchStart = System.nanoTime();
+        SaleBatchResponse response = saleBatchService.createBatch(new SaleBatchRequest(batchReplay));
+        long batchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batchStart);
+
+        log.info("Replay of {} sales: serial={}ms ({} created), batch={}ms ({} created) -> speedup {}x",
+                REPLAY_SIZE, serialMillis, serialCreated, batchMillis, response.getCreated(),
+                String.format("%.1f", (double) serialMillis / Math.max(1, batchMillis)));
+        assertThat(serialCreated).isEqualTo(REPLAY_SIZE);
+        assertThat(response.getCreated()).isEqualTo(REPLAY_SIZE);
+        assertThat(totalStock(batch)).isEqualTo(totalStock(serial));
+    }
+
+    private int replaySerially(List<SaleRequest> replay) {
+        int created = 0;
+        for (SaleRequest request : replay) {
+            saleService.create(request);
+            created++;
+        }
+        return created;
+    }
+
+    private List<SaleRequest> buildReplay(Scenario scenario, int size) {
+        Random random = new Random(42);
+        List<SaleRequest> replay = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<SaleDetailRequest> details = new ArrayList<>();
+            int lines = 1 + random.nextInt(3);
+            for (int l = 0; l < lines; l++) {
+                details.add(SaleDetailRequest.builder()
+                        .productId(scenario.productIds().get(random.nextInt(PRODUCTS)))
+                        .quantity(1 + random.nextInt(3))
+                        .build());
+            }
+            replay.add(SaleRequest.builder()
+                    .branchId(scenario.branchId())
+                    .date(LocalDate.now())
+                    .details(details)
+                    .build());
+        }
+        return replay;
+    }
+
+    private Scenario seed() {
+        String suffix = "batch-" + System.nanoTime();
+        Branch branch = branchRepository.save(Branch.builder()
+                .name("Bench Branch " + suffix)
+                .address("Bench Street " + suffix)
+                .build());
+        List<Long> productIds = new ArrayList<>();
+        for (int p = 0; p < PRODUCTS; p++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("Bench Product " + suffix + "-" + p)
+                    .category("Bench")
+                    .price(new BigDecimal("1.00"))
+                    .build());
+            branchInventoryRepository.save(BranchInventory.builder()
+                    .branch(branch)
+                    .product(product)
+                    .stock(1_000_000)
+                    .minStock(0)
+                    .build());
+            productIds.add(product.getId());
+        }
+        User cashier = userRepository.save(User.builder()
+                .username("bench-" + suffix)
+                .email("bench-" + suffix + "@test.com")
+                .password("not-used")
+                .firstName("Bench")
+                .lastName("Cashier")
+                .role(UserRole.CASHIER)
+                .active(true)
+                .build());
+        cashRegisterRepository.save(CashRegister.builder()
+                .branch(branch)
+                .openingBalance(BigDecimal.ZERO)
+                .openingTime(LocalDateTime.now())
+                .status(CashRegisterStatus.OPEN)
+                .openedBy(cashier)
+                .build());
+        return new Scenario(branch.getId(), productIds, cashier);
+    }
+
+    private int totalStock(Scenario scenario) {
+        return branchInventoryRepository.findByBranchId(scenario.branchId()).stream()
+                .mapToInt(BranchInventory::getStock)
+                .sum();
+    }
+
+    private void authenticate(User user) {
+        SecurityUser principal = new SecurityUser(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private record Scenario(Long branchId, List<Long> productIds, User cashier) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.supermarket.supermarket.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.TestPropertySource;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadRequestMixBenchmark extends AbstractRequestMixBenchmark {
+
+    @Override
+    String label() {
+        return "VIRTUAL";
+    }
+}
@@ -1,6 +1,8 @@
 package com.supermarket.supermarket.fixtures.sale;
 
 import com.supermarket.supermarket.dto.sale.CancelSaleRequest;
+import com.supermarket.supermarket.dto.sale.SaleBatchItemResult;
+import com.supermarket.supermarket.dto.sale.SaleBatchResponse;
 import com.supermarket.supermarket.dto.sale.SaleRequest;
 import com.supermarket.supermarket.dto.sale.SaleResponse;
 import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
@@ -139,4 +141,15 @@ public class SaleFixtures {
                                 .build()))
                 .build();
     }
-}
\ No newline at end of file
+
+    public static SaleBatchResponse saleBatchResponse() {
+        return SaleBatchResponse.builder()
+                .total(2)
+                .created(1)
+                .rejected(1)
+                .results(List.of(
+                        SaleBatchItemResult.created(0, saleResponse()),
+                        SaleBatchItemResult.rejected(1, "Insufficient stock")))
+                .build();
+    }
+}
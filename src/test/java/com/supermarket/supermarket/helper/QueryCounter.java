@@ -0,0 +1,56 @@
+package com.supermarket.supermarket.helper;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryCounter implements StatementInspector {
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDING.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static List<String> record(Action action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            action.run();
+        } finally {
+            RECORDING.remove();
+        }
+        return statements;
+    }
+
+    public static void assertSelectCount(int expected, Action action) throws Exception {
+        assertThat(ofType(record(action), "select"))
+                .as("SELECT statements")
+                .hasSize(expected);
+    }
+
+    public static void assertStatementCount(int expected, Action action) throws Exception {
+        assertThat(record(action))
+                .as("SQL statements")
+                .hasSize(expected);
+    }
+
+    public static List<String> ofType(List<String> statements, String verb) {
+        return statements.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(verb))
+                .toList();
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,185 @@
+package com.supermarket.supermarket.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supermarket.supermarket.dto.sale.SaleBatchRequest;
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.helper.TestUserHelper;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.CashRegisterRepository;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.service.business.SaleService;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.supermarket.supermarket.fixtures.auth.AuthFixtures.adminRegisterRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cashregister;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CashRegisterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestUserHelper testUserHelper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BranchInventoryRepository branchInventoryRepository;
+    @Autowired
+    private CashRegisterRepository cashRegisterRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+    @MockitoSpyBean
+    private SaleService saleService;
+
+    private String adminToken;
+    private User admin;
+    private Product milk;
+
+    @BeforeAll
+    void seed() throws Exception {
+        adminToken = testUserHelper.registerAndGetToken(adminRegisterRequest(), UserRole.ADMIN);
+        admin = userRepository.findByEmail(adminRegisterRequest().getEmail()).orElseThrow();
+        milk = productRepository.save(Product.builder().name("Register Milk").category("Dairy")
+                .price(new BigDecimal("1.50")).build());
+    }
+
+    @Test
+    @DisplayName("A register closed by another instance should reject sales on this one")
+    void sale_whenRegisterClosedElsewhere_ShouldBeRejected() throws Exception {
+        Branch branch = branchRepository.save(Branch.builder().name("Register Closed Elsewhere").address("Elsewhere Street").build());
+        branchInventoryRepository.save(BranchInventory.builder()
+                .branch(branch)
+                .product(milk)
+                .stock(100)
+                .minStock(1)
+                .build());
+        CashRegister register = cashRegisterRepository.save(CashRegister.builder()
+                .branch(branch)
+                .openingBalance(BigDecimal.TEN)
+                .openingTime(LocalDateTime.now().minusHours(1))
+                .status(CashRegisterStatus.OPEN)
+                .openedBy(admin)
+                .build());
+        postSale(saleRequest(branch.getId())).andExpect(status().isCreated());
+
+        register.setStatus(CashRegisterStatus.CLOSED);
+        register.setClosingTime(LocalDateTime.now());
+        register.setClosingBalance(new BigDecimal("11.50"));
+        register.setClosedBy(admin);
+        cashRegisterRepository.save(register);
+
+        postSale(saleRequest(branch.getId())).andExpect(status().isNotFound());
+        String body = mockMvc.perform(post("/sales/batch")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SaleBatchRequest(List.of(saleRequest(branch.getId()))))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        JsonNode batch = objectMapper.readTree(body);
+        assertThat(batch.get("created").asInt()).isZero();
+        assertThat(batch.get("results").get(0).get("error").asText()).contains("No open register");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sale WHERE cash_register_id = ?",
+                Long.class, register.getId())).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT stock FROM branch_inventory WHERE branch_id = ?",
+                Integer.class, branch.getId())).isEqualTo(98);
+    }
+
+    @Test
+    @DisplayName("A batch for a branch without an open register should reject its group without the serial fallback")
+    void batch_whenNoRegisterOpen_ShouldRejectGroupInsideItsTransaction() throws Exception {
+        Branch branch = branchRepository.save(Branch.builder().name("Register Closed").address("Closed Street").build());
+        branchInventoryRepository.save(BranchInventory.builder()
+                .branch(branch)
+                .product(milk)
+                .stock(100)
+                .minStock(1)
+                .build());
+
+        String body = mockMvc.perform(post("/sales/batch")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SaleBatchRequest(List.of(
+                                saleRequest(branch.getId()), saleRequest(branch.getId()))))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        JsonNode batch = objectMapper.readTree(body);
+        assertThat(batch.get("rejected").asInt()).isEqualTo(2);
+        assertThat(batch.get("results").get(1).get("error").asText()).contains("No open register");
+        then(saleService).should(never()).create(any());
+        assertThat(jdbcTemplate.queryForObject("SELECT stock FROM branch_inventory WHERE branch_id = ?",
+                Integer.class, branch.getId())).isEqualTo(100);
+    }
+
+    private ResultActions postSale(SaleRequest request) throws Exception {
+        return mockMvc.perform(post("/sales")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private SaleRequest saleRequest(Long branchId) {
+        return SaleRequest.builder()
+                .branchId(branchId)
+                .date(LocalDate.now())
+                .details(List.of(SaleDetailRequest.builder()
+                        .productId(milk.getId())
+                        .quantity(2)
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,336 @@
+package com.supermarket.supermarket.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supermarket.supermarket.helper.TestUserHelper;
+import com.supermarket.supermarket.model.audit.AuditLog;
+import com.supermarket.supermarket.model.audit.AuditStatus;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.notification.Notification;
+import com.supermarket.supermarket.model.notification.NotificationType;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.model.sale.SaleDetail;
+import com.supermarket.supermarket.model.sale.SaleStatus;
+import com.supermarket.supermarket.model.transfer.StockTransfer;
+import com.supermarket.supermarket.model.transfer.TransferStatus;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.AuditLogRepository;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.CashRegisterRepository;
+import com.supermarket.supermarket.repository.NotificationRepository;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.repository.StockTransferRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.supermarket.supermarket.fixtures.auth.AuthFixtures.adminRegisterRequest;
+import static com.supermarket.supermarket.fixtures.auth.AuthFixtures.cashierRegisterRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cursorpage;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CursorPaginationIntegrationTest {
+    private static final int PRODUCTS = 7;
+    private static final int SALES = 5;
+    private static final int TRANSFERS = 3;
+    private static final int NOTIFICATIONS = 4;
+    private static final int AUDIT_LOGS = 5;
+    private static final String AUDITED_USER = "cursor-auditor";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestUserHelper testUserHelper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BranchInventoryRepository branchInventoryRepository;
+    @Autowired
+    private CashRegisterRepository cashRegisterRepository;
+    @Autowired
+    private SaleRepository saleRepository;
+    @Autowired
+    private StockTransferRepository stockTransferRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    private String adminToken;
+    private String cashierToken;
+    private List<Long> productIds;
+    private List<Long> saleIds;
+
+    @BeforeAll
+    void seed() throws Exception {
+        adminToken = testUserHelper.registerAndGetToken(adminRegisterRequest(), UserRole.ADMIN);
+        cashierToken = testUserHelper.registerAndGetToken(cashierRegisterRequest(), UserRole.CASHIER);
+        User admin = userRepository.findByEmail(adminRegisterRequest().getEmail()).orElseThrow();
+        User cashier = userRepository.findByEmail(cashierRegisterRequest().getEmail()).orElseThrow();
+        Branch source = branchRepository.save(Branch.builder().name("Cursor Source").address("Street 1").build());
+        Branch target = branchRepository.save(Branch.builder().name("Cursor Target").address("Street 2").build());
+        List<Product> products = new ArrayList<>();
+        for (int p = 0; p < PRODUCTS; p++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("Cursor Product " + p)
+                    .category("Cursor")
+                    .price(new BigDecimal("1.50"))
+                    .build());
+            products.add(product);
+            branchInventoryRepository.save(BranchInventory.builder()
+                    .branch(source)
+                    .product(product)
+                    .stock(p)
+                    .minStock(5)
+                    .build());
+        }
+        productIds = products.stream().map(Product::getId).toList();
+        CashRegister register = cashRegisterRepository.save(CashRegister.builder()
+                .branch(source)
+                .openingBalance(BigDecimal.TEN)
+                .openingTime(LocalDateTime.now())
+                .status(CashRegisterStatus.OPEN)
+                .openedBy(cashier)
+                .build());
+        saleIds = new ArrayList<>();
+        for (int s = 0; s < SALES; s++) {
+            Sale sale = Sale.builder()
+                    .date(LocalDate.now())
+                    .status(SaleStatus.REGISTERED)
+                    .total(new BigDecimal("3.00"))
+                    .branch(source)
+                    .cashRegister(register)
+                    .createdBy(cashier)
+                    .createdAt(LocalDateTime.now())
+                    .details(new ArrayList<>())
+                    .build();
+            for (int d = 0; d < 2; d++) {
+                sale.getDetails().add(SaleDetail.builder()
+                        .sale(sale)
+                        .product(products.get((s + d) % PRODUCTS))
+                        .quantity(1)
+                        .price(new BigDecimal("1.50"))
+                        .build());
+            }
+            saleIds.add(saleRepository.save(sale).getId());
+        }
+        jdbcTemplate.update("UPDATE sale SET created_at = ?", Timestamp.valueOf(LocalDateTime.now().withNano(0)));
+        for (int t = 0; t < TRANSFERS; t++) {
+            stockTransferRepository.save(StockTransfer.builder()
+                    .sourceBranch(source)
+                    .targetBranch(target)
+                    .product(products.get(t))
+                    .quantity(1)
+                    .status(TransferStatus.PENDING)
+                    .requestedBy(cashier)
+                    .requestedAt(LocalDateTime.now())
+                    .build());
+        }
+        for (int n = 0; n < NOTIFICATIONS; n++) {
+            notificationRepository.save(Notification.builder()
+                    .user(admin)
+                    .type(NotificationType.LOW_STOCK)
+                    .message("Cursor notification " + n)
+                    .build());
+        }
+        LocalDateTime auditedAt = LocalDateTime.now().withNano(0);
+        for (int a = 0; a < AUDIT_LOGS; a++) {
+            auditLogRepository.save(AuditLog.builder()
+                    .username(AUDITED_USER)
+                    .action("LOGIN_SUCCESS")
+                    .timestamp(a < 3 ? auditedAt : auditedAt.minusMinutes(a))
+                    .status(AuditStatus.SUCCESS)
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /products/all - walking the cursor should visit every product once in id order")
+    void products_ShouldWalkAllPages() throws Exception {
+        List<Long> visited = walk("/products/all", 3);
+
+        assertThat(visited).containsExactlyElementsOf(productIds);
+    }
+
+    @Test
+    @DisplayName("GET /sales - walking the cursor should visit every sale once, newest first")
+    void sales_ShouldWalkAllPages() throws Exception {
+        List<Long> visited = walk("/sales", 2);
+
+        assertThat(visited).containsExactlyElementsOf(saleIds.stream().sorted(Comparator.reverseOrder()).toList());
+    }
+
+    @Test
+    @DisplayName("GET /cashier/my-sales - sales sharing a created_at should be visited once each through the id tie-breaker")
+    void mySales_ShouldWalkTiedTimestamps() throws Exception {
+        List<Long> visited = walk("/cashier/my-sales", 2, cashierToken);
+
+        assertThat(visited).containsExactlyElementsOf(saleIds.stream().sorted(Comparator.reverseOrder()).toList());
+        assertThat(page("/cashier/my-sales?size=2", cashierToken).has("total")).isFalse();
+        assertThat(page("/cashier/my-sales?size=2&count=true", cashierToken).get("total").asLong()).isEqualTo(SALES);
+    }
+
+    @Test
+    @DisplayName("GET /audit-logs - should walk one user's trail newest first and count it on demand")
+    void auditLogs_ShouldWalkUserTrail() throws Exception {
+        List<Long> visited = walk("/audit-logs?username=" + AUDITED_USER + "&count=true", 2, adminToken);
+
+        assertThat(visited).hasSize(AUDIT_LOGS).doesNotHaveDuplicates();
+        assertThat(visited.subList(0, 3)).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(visited.subList(3, AUDIT_LOGS)).isSorted();
+        assertThat(page("/audit-logs?username=" + AUDITED_USER + "&count=true", adminToken).get("total").asLong())
+                .isEqualTo(AUDIT_LOGS);
+    }
+
+    @Test
+    @DisplayName("GET /audit-logs - should be restricted to administrators")
+    void auditLogs_ShouldRequireAdmin() throws Exception {
+        mockMvc.perform(get("/audit-logs").header("Authorization", "Bearer " + cashierToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("GET /sales?format=ndjson - should stream every sale with its details")
+    void sales_ShouldStreamNdjson() throws Exception {
+        List<JsonNode> lines = stream("/sales");
+
+        assertThat(lines).extracting(line -> line.get("id").asLong())
+                .containsExactlyElementsOf(saleIds.stream().sorted(Comparator.reverseOrder()).toList());
+        assertThat(lines).allSatisfy(line -> {
+            assertThat(line.get("details")).hasSize(2);
+            assertThat(line.get("cashRegisterStatus").asText()).isEqualTo("OPEN");
+        });
+    }
+
+    @Test
+    @DisplayName("GET /transfers - should page and stream transfers with their branches")
+    void transfers_ShouldPageAndStream() throws Exception {
+        assertThat(walk("/transfers", 2)).hasSize(TRANSFERS);
+        assertThat(stream("/transfers")).hasSize(TRANSFERS)
+                .allSatisfy(line -> assertThat(line.get("targetBranchName").asText()).isEqualTo("Cursor Target"));
+    }
+
+    @Test
+    @DisplayName("GET /inventory/low-stock - should page and stream only rows at or below minimum stock")
+    void lowStock_ShouldPageAndStream() throws Exception {
+        JsonNode page = page("/inventory/low-stock?size=4");
+        assertThat(page.get("items")).hasSize(4);
+        assertThat(page.get("hasNext").asBoolean()).isTrue();
+
+        assertThat(stream("/inventory/low-stock")).hasSize(PRODUCTS - 1)
+                .allSatisfy(line -> assertThat(line.get("currentStock").asInt()).isLessThanOrEqualTo(5));
+    }
+
+    @Test
+    @DisplayName("GET /notifications/all - should page and stream the current user's notifications")
+    void notifications_ShouldPageAndStream() throws Exception {
+        assertThat(walk("/notifications/all", 3)).hasSize(NOTIFICATIONS);
+        assertThat(stream("/notifications/all")).hasSize(NOTIFICATIONS);
+    }
+
+    @Test
+    @DisplayName("A malformed cursor should be rejected")
+    void invalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/sales").param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> walk(String path, int size) throws Exception {
+        return walk(path, size, adminToken);
+    }
+
+    private List<Long> walk(String path, int size, String token) throws Exception {
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            String query = (path.contains("?") ? "&" : "?") + "size=" + size;
+            JsonNode page = page(path + query + (cursor != null ? "&cursor=" + cursor : ""), token);
+            assertThat(page.get("items").size()).isLessThanOrEqualTo(size);
+            page.get("items").forEach(item -> visited.add(item.get("id").asLong()));
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        return visited;
+    }
+
+    private JsonNode page(String uri) throws Exception {
+        return page(uri, adminToken);
+    }
+
+    private JsonNode page(String uri, String token) throws Exception {
+        String body = mockMvc.perform(get(uri).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private List<JsonNode> stream(String path) throws Exception {
+        MvcResult started = mockMvc.perform(get(path).param("format", "ndjson")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+}
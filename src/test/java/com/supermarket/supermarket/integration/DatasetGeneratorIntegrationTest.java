@@ -0,0 +1,130 @@
+package com.supermarket.supermarket.integration;
+
+import com.supermarket.supermarket.datagen.DatasetGenerator;
+import com.supermarket.supermarket.datagen.DatasetSpec;
+import com.supermarket.supermarket.datagen.DatasetSummary;
+import com.supermarket.supermarket.model.sale.Payment;
+import com.supermarket.supermarket.model.sale.PaymentType;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.model.sale.SaleStatus;
+import com.supermarket.supermarket.repository.PaymentRepository;
+import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:datagen;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DatasetGeneratorIntegrationTest {
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SaleRepository saleRepository;
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    private static DatasetSpec spec(String name) {
+        return spec(name, 1_500);
+    }
+
+    private static DatasetSpec spec(String name, int sales) {
+        return DatasetSpec.builder()
+                .seed(7L)
+                .name(name)
+                .branches(3)
+                .products(50)
+                .cashiersPerBranch(2)
+                .days(10)
+                .endDate(LocalDate.of(2025, 1, 31))
+                .sales(sales)
+                .transfers(40)
+                .notifications(60)
+                .batchSize(400)
+                .build();
+    }
+
+    @Test
+    @DisplayName("generate - same seed should produce the same volumes and revenue")
+    void generate_ShouldBeDeterministic() {
+        DatasetSummary first = datasetGenerator.generate(spec("detA"));
+        DatasetSummary second = datasetGenerator.generate(spec("detB"));
+
+        assertThat(second.getSaleDetails()).isEqualTo(first.getSaleDetails());
+        assertThat(second.getPayments()).isEqualTo(first.getPayments());
+        assertThat(second.getCancelledSales()).isEqualTo(first.getCancelledSales());
+        assertThat(second.getRevenue()).isEqualByComparingTo(first.getRevenue());
+    }
+
+    @Test
+    @DisplayName("generate - should write consistent rows that JPA can keep appending to")
+    void generate_ShouldWriteConsistentRows() {
+        DatasetSummary summary = datasetGenerator.generate(spec("rows"));
+
+        assertThat(summary.getUsers()).isEqualTo(9);
+        assertThat(summary.getCashRegisters()).isEqualTo(30);
+        assertThat(summary.getInventoryRows()).isEqualTo(150);
+        assertThat(summary.getPayments() + summary.getCancelledSales()).isEqualTo(1_500);
+        assertThat(summary.getSaleDetails()).isGreaterThan(1_500);
+        assertThat(count("SELECT COUNT(*) FROM sale s JOIN branch b ON b.id = s.branch_id WHERE b.name LIKE 'rows Branch %'"))
+                .isEqualTo(1_500);
+        assertThat(count("SELECT COUNT(*) FROM sale_detail d JOIN sale s ON s.id = d.sale_id "
+                + "JOIN branch b ON b.id = s.branch_id WHERE b.name LIKE 'rows Branch %'"))
+                .isEqualTo(summary.getSaleDetails());
+        BigDecimal paid = jdbcTemplate.queryForObject("SELECT SUM(p.amount) FROM payments p JOIN sale s ON s.id = p.sale_id "
+                + "JOIN branch b ON b.id = s.branch_id WHERE b.name LIKE 'rows Branch %'", BigDecimal.class);
+        assertThat(paid).isEqualByComparingTo(summary.getRevenue());
+        BigDecimal rolledUp = jdbcTemplate.queryForObject("SELECT SUM(r.revenue) FROM sales_daily_rollup r "
+                + "JOIN branch b ON b.id = r.branch_id WHERE b.name LIKE 'rows Branch %'", BigDecimal.class);
+        assertThat(rolledUp).isEqualByComparingTo(summary.getRevenue());
+        assertThat(count("SELECT COUNT(*) FROM cash_registers c JOIN branch b ON b.id = c.branch_id "
+                + "WHERE b.name LIKE 'rows Branch %' AND c.status = 'OPEN'")).isEqualTo(3);
+
+        Long saleId = jdbcTemplate.queryForObject("SELECT MAX(s.id) FROM sale s JOIN branch b ON b.id = s.branch_id "
+                + "WHERE b.name LIKE 'rows Branch %' AND s.status = ?", Long.class, SaleStatus.REGISTERED.name());
+        Sale sale = saleRepository.findById(saleId).orElseThrow();
+        Payment payment = paymentRepository.save(Payment.builder()
+                .sale(sale)
+                .amount(BigDecimal.ONE)
+                .paymentType(PaymentType.CASH)
+                .paymentDate(LocalDateTime.now())
+                .build());
+        assertThat(count("SELECT COUNT(*) FROM payments WHERE id = " + payment.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("generate - should refuse to generate the same dataset twice")
+    void generate_WhenNameExists_ShouldThrow() {
+        datasetGenerator.generate(spec("twice", 10));
+
+        assertThatThrownBy(() -> datasetGenerator.generate(spec("twice")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("twice");
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.supermarket.supermarket.integration;
+
+import com.supermarket.supermarket.helper.TestUserHelper;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.supermarket.supermarket.fixtures.auth.AuthFixtures.adminRegisterRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "security.prometheus.password=scrape-secret",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestUserHelper testUserHelper;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Test
+    @DisplayName("Prometheus scrape should accept an ADMIN token and expose pool, ORM and business meters")
+    void prometheusScrape_ShouldExposeMeters() throws Exception {
+        String adminToken = testUserHelper.registerAndGetToken(adminRegisterRequest(), UserRole.ADMIN);
+        mockMvc.perform(get("/reports/sales/summary")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(scrape)
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_sessions_open_total")
+                .contains("supermarket_catalog_size")
+                .contains("supermarket_outbox_pending")
+                .contains("supermarket_recipients_lookups_total{application=\"supermarket\",result=\"hit\"}")
+                .contains("supermarket_recipients_lookups_total{application=\"supermarket\",result=\"miss\"}")
+                .contains("supermarket_report_seconds_bucket")
+                .contains("method=\"getSalesSummary\"")
+                .contains("supermarket_security_jwt_authentication_seconds_count")
+                .contains("outcome=\"authenticated\"")
+                .contains("http_server_requests_seconds_bucket");
+    }
+
+    @Test
+    @DisplayName("Prometheus scrape should require credentials and accept the dedicated scrape user")
+    void prometheusScrape_ShouldRequireScrapeCredentials() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("The metrics endpoint should require authentication")
+    void metricsEndpoint_ShouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,68 @@
+package com.supermarket.supermarket.integration;
+
+import com.supermarket.supermarket.helper.TestUserHelper;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.supermarket.supermarket.fixtures.auth.AuthFixtures.adminRegisterRequest;
+import static com.supermarket.supermarket.fixtures.auth.AuthFixtures.cashierRegisterRequest;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prometheussecurity;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class PrometheusSecurityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestUserHelper testUserHelper;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Test
+    @DisplayName("Prometheus scrape without credentials should return 401")
+    void prometheusScrape_WithoutCredentials_ShouldReturn401() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Prometheus scrape should reject HTTP Basic when no scrape password is configured")
+    void prometheusScrape_WithoutScrapePassword_ShouldRejectBasic() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "prometheus")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Prometheus scrape should forbid non-admin tokens and accept an ADMIN token")
+    void prometheusScrape_ShouldRequireAdminToken() throws Exception {
+        String cashierToken = testUserHelper.registerAndGetToken(cashierRegisterRequest(), UserRole.CASHIER);
+        String adminToken = testUserHelper.registerAndGetToken(adminRegisterRequest(), UserRole.ADMIN);
+
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + cashierToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,385 @@
+package com.supermarket.supermarket.integration;
+
+import com.supermarket.supermarket.helper.QueryCounter;
+import com.supermarket.supermarket.helper.TestUserHelper;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.notification.Notification;
+import com.supermarket.supermarket.model.notification.NotificationType;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.sale.Payment;
+import com.supermarket.supermarket.model.sale.PaymentType;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.model.sale.SaleDetail;
+import com.supermarket.supermarket.model.sale.SaleStatus;
+import com.supermarket.supermarket.model.transfer.StockTransfer;
+import com.supermarket.supermarket.model.transfer.TransferStatus;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.CashRegisterRepository;
+import com.supermarket.supermarket.repository.NotificationRepository;
+import com.supermarket.supermarket.repository.PaymentRepository;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.repository.StockTransferRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.service.business.SalesRollupService;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.supermarket.supermarket.fixtures.auth.AuthFixtures.adminRegisterRequest;
+import static com.supermarket.supermarket.fixtures.auth.AuthFixtures.cashierRegisterRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.supermarket.supermarket.helper.QueryCounter"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryCountIntegrationTest {
+    private static final int AUTHENTICATION = 1;
+    private static final int BRANCHES = 3;
+    private static final int SALES_PER_BRANCH = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestUserHelper testUserHelper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BranchInventoryRepository branchInventoryRepository;
+    @Autowired
+    private CashRegisterRepository cashRegisterRepository;
+    @Autowired
+    private SaleRepository saleRepository;
+    @Autowired
+    private PaymentRepository paymentRepository;
+    @Autowired
+    private StockTransferRepository stockTransferRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    private String adminToken;
+    private String cashierToken;
+    private User admin;
+    private List<Branch> branches;
+    private List<Product> products;
+    private List<Sale> sales;
+    private Long transferId;
+
+    @BeforeAll
+    void seed() throws Exception {
+        adminToken = testUserHelper.registerAndGetToken(adminRegisterRequest(), UserRole.ADMIN);
+        cashierToken = testUserHelper.registerAndGetToken(cashierRegisterRequest(), UserRole.CASHIER);
+        admin = userRepository.findByEmail(adminRegisterRequest().getEmail()).orElseThrow();
+        User cashier = userRepository.findByEmail(cashierRegisterRequest().getEmail()).orElseThrow();
+        branches = new ArrayList<>();
+        products = new ArrayList<>();
+        sales = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            products.add(productRepository.save(Product.builder()
+                    .name("Query Product " + p)
+                    .category("Query")
+                    .price(new BigDecimal("2.50"))
+                    .build()));
+        }
+        for (int b = 0; b < BRANCHES; b++) {
+            Branch branch = branchRepository.save(Branch.builder()
+                    .name("Query Branch " + b)
+                    .address("Query Street " + b)
+                    .build());
+            branches.add(branch);
+            for (Product product : products) {
+                branchInventoryRepository.save(BranchInventory.builder()
+                        .branch(branch)
+                        .product(product)
+                        .stock(3)
+                        .minStock(5)
+                        .build());
+            }
+            CashRegister register = cashRegisterRepository.save(CashRegister.builder()
+                    .branch(branch)
+                    .openingBalance(BigDecimal.TEN)
+                    .openingTime(LocalDateTime.now())
+                    .status(CashRegisterStatus.OPEN)
+                    .openedBy(cashier)
+                    .build());
+            for (int s = 0; s < SALES_PER_BRANCH; s++) {
+                Sale sale = Sale.builder()
+                        .date(LocalDate.now())
+                        .status(s == 0 ? SaleStatus.CANCELLED : SaleStatus.REGISTERED)
+                        .total(new BigDecimal("5.00"))
+                        .branch(branch)
+                        .cashRegister(register)
+                        .createdBy(cashier)
+                        .cancelledBy(s == 0 ? admin : null)
+                        .createdAt(LocalDateTime.now())
+                        .details(new ArrayList<>())
+                        .build();
+                for (int d = 0; d < 2; d++) {
+                    sale.getDetails().add(SaleDetail.builder()
+                            .sale(sale)
+                            .product(products.get((s + d) % products.size()))
+                            .quantity(1)
+                            .price(new BigDecimal("2.50"))
+                            .build());
+                }
+                sales.add(saleRepository.save(sale));
+            }
+        }
+        for (int i = 0; i < 2; i++) {
+            paymentRepository.save(Payment.builder()
+                    .sale(sales.get(1))
+                    .amount(new BigDecimal("2.50"))
+                    .paymentType(PaymentType.CASH)
+                    .paymentDate(LocalDateTime.now())
+                    .build());
+        }
+        for (int t = 0; t < 6; t++) {
+            StockTransfer transfer = stockTransferRepository.save(StockTransfer.builder()
+                    .sourceBranch(branches.get(t % BRANCHES))
+                    .targetBranch(branches.get((t + 1) % BRANCHES))
+                    .product(products.get(t % products.size()))
+                    .quantity(1)
+                    .status(t % 2 == 0 ? TransferStatus.PENDING : TransferStatus.APPROVED)
+                    .requestedBy(t % 2 == 0 ? cashier : admin)
+                    .approvedBy(t % 2 == 0 ? null : admin)
+                    .requestedAt(LocalDateTime.now())
+                    .build());
+            transferId = transfer.getId();
+        }
+        for (int n = 0; n < 3; n++) {
+            notificationRepository.save(Notification.builder()
+                    .user(admin)
+                    .type(NotificationType.LOW_STOCK)
+                    .message("Low stock " + n)
+                    .build());
+        }
+        salesRollupService.rebuild();
+    }
+
+    private void assertSelects(int expected, String path, String token) throws Exception {
+        QueryCounter.assertSelectCount(AUTHENTICATION + expected, () -> mockMvc.perform(get(path)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("The statement inspector should only record while armed")
+    void queryCounter_ShouldOnlyRecordWhileArmed() throws Exception {
+        productRepository.findAll();
+
+        List<String> statements = QueryCounter.record(() -> productRepository.count());
+
+        assertThat(statements).hasSize(1);
+        assertThat(QueryCounter.ofType(statements, "select")).hasSize(1);
+    }
+
+    @Nested
+    @DisplayName("Sales")
+    class Sales {
+        @Test
+        @DisplayName("GET /sales should seek a page with to-one associations and batch details")
+        void getAll() throws Exception {
+            assertSelects(3, "/sales", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /sales/{id} should fetch the sale graph in one query")
+        void getById() throws Exception {
+            assertSelects(1, "/sales/" + sales.get(0).getId(), adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /cashier/my-sales should seek one page with to-one associations and batch details, without a count")
+        void getMySales() throws Exception {
+            assertSelects(3, "/cashier/my-sales", cashierToken);
+        }
+
+        @Test
+        @DisplayName("GET /cashier/my-sales?count=true should add exactly one COUNT query")
+        void getMySalesWithCount() throws Exception {
+            assertSelects(4, "/cashier/my-sales?count=true", cashierToken);
+        }
+
+        @Test
+        @DisplayName("GET /cashier/my-sales/{id} should fetch the sale graph in one query")
+        void getMySale() throws Exception {
+            assertSelects(1, "/cashier/my-sales/" + sales.get(1).getId(), cashierToken);
+        }
+
+        @Test
+        @DisplayName("GET /payments/sale/{id} should load payments in one query")
+        void getPayments() throws Exception {
+            assertSelects(1, "/payments/sale/" + sales.get(1).getId(), adminToken);
+        }
+    }
+
+    @Nested
+    @DisplayName("Transfers")
+    class Transfers {
+        @Test
+        @DisplayName("GET /transfers should fetch branches, product and users in one query")
+        void getAll() throws Exception {
+            assertSelects(1, "/transfers", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /transfers/{id} should fetch the transfer graph in one query")
+        void getById() throws Exception {
+            assertSelects(1, "/transfers/" + transferId, adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /transfers/status/{status} should fetch the transfer graph in one query")
+        void getByStatus() throws Exception {
+            assertSelects(1, "/transfers/status/PENDING", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /transfers/source/{id} should check the branch and fetch transfers once")
+        void getBySource() throws Exception {
+            assertSelects(2, "/transfers/source/" + branches.get(0).getId(), adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /transfers/target/{id} should check the branch and fetch transfers once")
+        void getByTarget() throws Exception {
+            assertSelects(2, "/transfers/target/" + branches.get(0).getId(), adminToken);
+        }
+    }
+
+    @Nested
+    @DisplayName("Inventory")
+    class Inventory {
+        @Test
+        @DisplayName("GET /inventory/low-stock should join branch and product")
+        void getLowStockGlobal() throws Exception {
+            assertSelects(1, "/inventory/low-stock", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /inventory/branches/{id}/low-stock should join branch and product")
+        void getLowStockByBranch() throws Exception {
+            assertSelects(1, "/inventory/branches/" + branches.get(0).getId() + "/low-stock", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /inventory/branches/{id}/products/{id} should load one inventory row")
+        void getInventory() throws Exception {
+            assertSelects(1, "/inventory/branches/" + branches.get(0).getId()
+                    + "/products/" + products.get(0).getId(), adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /cash-registers/branches/{id}/current should load the register, its branch and opener")
+        void getCurrentRegister() throws Exception {
+            assertSelects(3, "/cash-registers/branches/" + branches.get(0).getId() + "/current", adminToken);
+        }
+    }
+
+    @Nested
+    @DisplayName("Catalog, users and notifications")
+    class Catalog {
+        @Test
+        @DisplayName("GET /branches should load branches in one query")
+        void getBranches() throws Exception {
+            assertSelects(1, "/branches", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /products should load products in one query")
+        void getProducts() throws Exception {
+            assertSelects(1, "/products", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /users should load users in one query")
+        void getUsers() throws Exception {
+            assertSelects(1, "/users", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /profile should reuse the authenticated user")
+        void getProfile() throws Exception {
+            assertSelects(0, "/profile", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /notifications/all should load notifications and their owner once")
+        void getNotifications() throws Exception {
+            assertSelects(2, "/notifications/all", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /notifications/count should count in one query")
+        void countNotifications() throws Exception {
+            assertSelects(1, "/notifications/count", adminToken);
+        }
+    }
+
+    @Nested
+    @DisplayName("Reports")
+    class Reports {
+        @Test
+        @DisplayName("GET /reports/sales/summary should aggregate in one query")
+        void salesSummary() throws Exception {
+            assertSelects(1, "/reports/sales/summary", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /reports/sales/comparison should aggregate every period in one query")
+        void salesComparison() throws Exception {
+            assertSelects(1, "/reports/sales/comparison", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /reports/inventory/status should aggregate in one query")
+        void inventoryStatus() throws Exception {
+            assertSelects(1, "/reports/inventory/status", adminToken);
+        }
+
+        @Test
+        @DisplayName("GET /reports/cash-registers should aggregate in one query")
+        void cashRegisters() throws Exception {
+            assertSelects(1, "/reports/cash-registers", adminToken);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.supermarket.supermarket.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supermarket.supermarket.dto.cashregister.CloseRegisterRequest;
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.helper.TestUserHelper;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.CashRegisterRepository;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.supermarket.supermarket.fixtures.auth.AuthFixtures.adminRegisterRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reportcache;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReportCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestUserHelper testUserHelper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BranchInventoryRepository branchInventoryRepository;
+    @Autowired
+    private CashRegisterRepository cashRegisterRepository;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    private String adminToken;
+    private User admin;
+    private Product milk;
+
+    @BeforeAll
+    void seed() throws Exception {
+        adminToken = testUserHelper.registerAndGetToken(adminRegisterRequest(), UserRole.ADMIN);
+        admin = userRepository.findByEmail(adminRegisterRequest().getEmail()).orElseThrow();
+        milk = productRepository.save(Product.builder().name("Cache Milk").category("Dairy")
+                .price(new BigDecimal("1.50")).build());
+    }
+
+    @Test
+    @DisplayName("A cached summary should survive sales in other branches and refresh after a sale in its branch")
+    void summary_ShouldBeInvalidatedByBranch() throws Exception {
+        Long branchId = openBranch("Main").getBranch().getId();
+        Long otherBranchId = openBranch("Other").getBranch().getId();
+        createSale(branchId, 2, LocalDate.now());
+        assertThat(revenue(summary(branchId, null))).isEqualByComparingTo("3.00");
+        long hits = cacheStats().get("hits").asLong();
+
+        assertThat(revenue(summary(branchId, null))).isEqualByComparingTo("3.00");
+        createSale(otherBranchId, 1, LocalDate.now());
+        assertThat(revenue(summary(branchId, null))).isEqualByComparingTo("3.00");
+        assertThat(cacheStats().get("hits").asLong()).isEqualTo(hits + 2);
+
+        createSale(branchId, 1, LocalDate.now());
+        assertThat(revenue(summary(branchId, null))).isEqualByComparingTo("4.50");
+        assertThat(cacheStats().get("hits").asLong()).isEqualTo(hits + 2);
+    }
+
+    @Test
+    @DisplayName("A closed historical range should only be refreshed by sales dated inside it")
+    void historicalRange_ShouldBeInvalidatedByDate() throws Exception {
+        Long branchId = openBranch("History").getBranch().getId();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        createSale(branchId, 4, yesterday);
+        assertThat(revenue(summary(branchId, yesterday))).isEqualByComparingTo("6.00");
+        long hits = cacheStats().get("hits").asLong();
+
+        createSale(branchId, 1, LocalDate.now());
+        assertThat(revenue(summary(branchId, yesterday))).isEqualByComparingTo("6.00");
+        assertThat(cacheStats().get("hits").asLong()).isEqualTo(hits + 1);
+
+        createSale(branchId, 2, yesterday);
+        assertThat(revenue(summary(branchId, yesterday))).isEqualByComparingTo("9.00");
+    }
+
+    @Test
+    @DisplayName("Closing a register should refresh the cached closure report of its branch")
+    void cashRegisterReport_ShouldBeInvalidatedByClose() throws Exception {
+        CashRegister register = openBranch("Closure");
+        Long branchId = register.getBranch().getId();
+        createSale(branchId, 2, LocalDate.now());
+        assertThat(closures(branchId).get("totalClosures").asLong()).isZero();
+        assertThat(closures(branchId).get("totalClosures").asLong()).isZero();
+
+        mockMvc.perform(post("/cash-registers/{id}/close", register.getId())
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CloseRegisterRequest(new BigDecimal("13.00")))))
+                .andExpect(status().isOk());
+
+        JsonNode report = closures(branchId);
+        assertThat(report.get("totalClosures").asLong()).isEqualTo(1);
+        assertThat(report.get("discrepancies").get(0).get("expectedAmount").decimalValue()).isEqualByComparingTo("13.00");
+    }
+
+    private CashRegister openBranch(String name) {
+        Branch branch = branchRepository.save(Branch.builder().name("Cache " + name).address(name + " Street").build());
+        branchInventoryRepository.save(BranchInventory.builder()
+                .branch(branch)
+                .product(milk)
+                .stock(100)
+                .minStock(1)
+                .build());
+        return cashRegisterRepository.save(CashRegister.builder()
+                .branch(branch)
+                .openingBalance(BigDecimal.TEN)
+                .openingTime(LocalDateTime.now().minusHours(1))
+                .status(CashRegisterStatus.OPEN)
+                .openedBy(admin)
+                .build());
+    }
+
+    private void createSale(Long branchId, int quantity, LocalDate date) throws Exception {
+        SaleRequest request = SaleRequest.builder()
+                .branchId(branchId)
+                .date(date)
+                .details(List.of(SaleDetailRequest.builder()
+                        .productId(milk.getId())
+                        .quantity(quantity)
+                        .build()))
+                .build();
+        mockMvc.perform(post("/sales")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+
+    private JsonNode summary(Long branchId, LocalDate endDate) throws Exception {
+        MockHttpServletRequestBuilder request = get("/reports/sales/summary").param("branchId", branchId.toString());
+        if (endDate != null) {
+            request.param("startDate", endDate.minusDays(6).toString()).param("endDate", endDate.toString());
+        }
+        return read(request);
+    }
+
+    private JsonNode closures(Long branchId) throws Exception {
+        return read(get("/reports/cash-registers").param("branchId", branchId.toString()));
+    }
+
+    private JsonNode cacheStats() throws Exception {
+        return read(get("/reports/cache"));
+    }
+
+    private BigDecimal revenue(JsonNode summary) {
+        return summary.get("totalRevenue").decimalValue();
+    }
+
+    private JsonNode read(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request.header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
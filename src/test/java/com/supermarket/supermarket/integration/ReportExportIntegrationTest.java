@@ -0,0 +1,220 @@
+package com.supermarket.supermarket.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supermarket.supermarket.helper.TestUserHelper;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.model.sale.SaleDetail;
+import com.supermarket.supermarket.model.sale.SaleStatus;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.CashRegisterRepository;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.service.business.SalesRollupService;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.supermarket.supermarket.fixtures.auth.AuthFixtures.adminRegisterRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reportexport;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReportExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestUserHelper testUserHelper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BranchInventoryRepository branchInventoryRepository;
+    @Autowired
+    private CashRegisterRepository cashRegisterRepository;
+    @Autowired
+    private SaleRepository saleRepository;
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    private String adminToken;
+
+    @BeforeAll
+    void seed() throws Exception {
+        adminToken = testUserHelper.registerAndGetToken(adminRegisterRequest(), UserRole.ADMIN);
+        User admin = userRepository.findByEmail(adminRegisterRequest().getEmail()).orElseThrow();
+        Branch branch = branchRepository.save(Branch.builder().name("Export Branch").address("Street 1").build());
+        Map<String, BigDecimal> catalog = Map.of(
+                "Plain Milk", new BigDecimal("1.50"),
+                "Eggs, dozen", new BigDecimal("3.00"),
+                "=HYPERLINK(\"x\")", new BigDecimal("2.00"));
+        List<Product> products = new ArrayList<>();
+        catalog.forEach((name, price) -> {
+            Product product = productRepository.save(Product.builder()
+                    .name(name)
+                    .category("Export")
+                    .price(price)
+                    .build());
+            products.add(product);
+            branchInventoryRepository.save(BranchInventory.builder()
+                    .branch(branch)
+                    .product(product)
+                    .stock(10)
+                    .minStock(2)
+                    .build());
+        });
+        CashRegister register = cashRegisterRepository.save(CashRegister.builder()
+                .branch(branch)
+                .openingBalance(BigDecimal.TEN)
+                .openingTime(LocalDateTime.now().minusHours(8))
+                .status(CashRegisterStatus.OPEN)
+                .openedBy(admin)
+                .build());
+        BigDecimal registered = BigDecimal.ZERO;
+        for (Product product : products) {
+            Sale sale = Sale.builder()
+                    .date(LocalDate.now())
+                    .status(SaleStatus.REGISTERED)
+                    .total(product.getPrice().multiply(BigDecimal.valueOf(2)))
+                    .branch(branch)
+                    .cashRegister(register)
+                    .createdBy(admin)
+                    .details(new ArrayList<>())
+                    .build();
+            sale.getDetails().add(SaleDetail.builder()
+                    .sale(sale)
+                    .product(product)
+                    .quantity(2)
+                    .price(product.getPrice())
+                    .build());
+            registered = registered.add(saleRepository.save(sale).getTotal());
+        }
+        register.setStatus(CashRegisterStatus.CLOSED);
+        register.setClosingTime(LocalDateTime.now());
+        register.setClosedBy(admin);
+        register.setClosingBalance(BigDecimal.TEN.add(registered).subtract(BigDecimal.ONE));
+        cashRegisterRepository.save(register);
+        salesRollupService.rebuild();
+    }
+
+    @Test
+    @DisplayName("GET /reports/sales/by-product/export - should stream every row as an escaped CSV attachment")
+    void salesByProduct_ShouldExportCsv() throws Exception {
+        MockHttpServletResponse response = export("/reports/sales/by-product/export", "csv");
+
+        assertThat(response.getContentType()).isEqualTo("text/csv;charset=UTF-8");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                .isEqualTo("attachment; filename=\"sales-by-product.csv\"");
+        String[] lines = response.getContentAsString().split("\r\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("productId,productName,productCategory,totalQuantitySold,totalRevenue");
+        assertThat(lines[1]).contains("\"Eggs, dozen\",Export,2,6.00");
+        assertThat(lines[2]).contains(",\"'=HYPERLINK(\"\"x\"\")\",Export,2,4.00");
+        assertThat(lines[3]).contains(",Plain Milk,Export,2,3.00");
+    }
+
+    @Test
+    @DisplayName("GET /reports/inventory/performance/export - should stream one JSON document per product")
+    void productPerformance_ShouldExportNdjson() throws Exception {
+        MockHttpServletResponse response = export("/reports/inventory/performance/export", "ndjson");
+
+        assertThat(response.getContentType()).isEqualTo("application/x-ndjson");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : response.getContentAsString().split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(lines).hasSize(3).allSatisfy(line -> {
+            assertThat(line.get("totalSold").asLong()).isEqualTo(2);
+            assertThat(line.get("currentStock").asInt()).isEqualTo(10);
+            assertThat(line.get("inventoryTurnoverRate").decimalValue()).isEqualByComparingTo("0.20");
+        });
+    }
+
+    @Test
+    @DisplayName("GET /reports/cash-registers/export - should format closure times like the JSON report")
+    void cashRegisters_ShouldExportCsv() throws Exception {
+        String[] lines = export("/reports/cash-registers/export", "csv").getContentAsString().split("\r\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("registerId,branchId,branchName,openingTime,closingTime,openedBy,closedBy,"
+                + "expectedAmount,actualClosingAmount,varianceAmount");
+        assertThat(lines[1]).matches(".*,Export Branch,\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2},.*")
+                .endsWith(",23.00,22.00,-1.00");
+    }
+
+    @Test
+    @DisplayName("GET /reports/sales/by-branch/export and by-cashier/export - should export grouped rows")
+    void groupedReports_ShouldExportCsv() throws Exception {
+        String[] byBranch = export("/reports/sales/by-branch/export", "csv").getContentAsString().split("\r\n");
+        String[] byCashier = export("/reports/sales/by-cashier/export", "CSV").getContentAsString().split("\r\n");
+
+        assertThat(byBranch).hasSize(2);
+        assertThat(byBranch[1]).endsWith(",Export Branch,13.00,3");
+        assertThat(byCashier).hasSize(2);
+        assertThat(byCashier[1]).endsWith(",13.00,3,4.33");
+    }
+
+    @Test
+    @DisplayName("An unsupported export format should be rejected before streaming starts")
+    void unsupportedFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/reports/sales/by-product/export").param("format", "xlsx")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletResponse export(String path, String format) throws Exception {
+        MvcResult started = mockMvc.perform(get(path).param("format", format)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+    }
+}
@@ -0,0 +1,353 @@
+package com.supermarket.supermarket.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.supermarket.supermarket.dto.report.ReportPeriod;
+import com.supermarket.supermarket.dto.sale.SaleBatchRequest;
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.helper.TestUserHelper;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.branch.BranchInventory;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.CashRegisterRepository;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.repository.ProductSalesDailyRepository;
+import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.repository.SaleRepository.PeriodSummaryProjection;
+import com.supermarket.supermarket.repository.SalesDailyRollupRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.service.security.RateLimitService;
+import com.supermarket.supermarket.service.security.TokenBlacklistService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.supermarket.supermarket.fixtures.auth.AuthFixtures.adminRegisterRequest;
+import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.validCancelRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:salesrollup;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SalesRollupIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestUserHelper testUserHelper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BranchInventoryRepository branchInventoryRepository;
+    @Autowired
+    private CashRegisterRepository cashRegisterRepository;
+    @Autowired
+    private SaleRepository saleRepository;
+    @Autowired
+    private ProductSalesDailyRepository productSalesDailyRepository;
+    @Autowired
+    private SalesDailyRollupRepository salesDailyRollupRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private RateLimitService rateLimitService;
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
+    private String adminToken;
+    private User admin;
+    private Product milk;
+    private Product bread;
+
+    @BeforeAll
+    void seed() throws Exception {
+        adminToken = testUserHelper.registerAndGetToken(adminRegisterRequest(), UserRole.ADMIN);
+        admin = userRepository.findByEmail(adminRegisterRequest().getEmail()).orElseThrow();
+        milk = productRepository.save(Product.builder().name("Rollup Milk").category("Dairy")
+                .price(new BigDecimal("1.50")).build());
+        bread = productRepository.save(Product.builder().name("Rollup Bread").category("Bakery")
+                .price(new BigDecimal("2.25")).build());
+    }
+
+    @Test
+    @DisplayName("Reports should follow created, batched, cancelled and deleted sales through the rollup")
+    void reports_ShouldTrackSaleLifecycle() throws Exception {
+        Long branchId = openBranch("Lifecycle");
+        Long first = createSale(branchId, milk, 2);
+        createSale(branchId, bread, 4);
+        Long third = createSale(branchId, milk, 1);
+        mockMvc.perform(post("/sales/batch")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SaleBatchRequest(List.of(
+                                saleRequest(branchId, bread, 1), saleRequest(branchId, milk, 3))))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/sales/{id}/cancel", first)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validCancelRequest())))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/sales/{id}", third)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+
+        JsonNode summary = report("/reports/sales/summary", branchId);
+        assertThat(summary.get("totalRevenue").decimalValue()).isEqualByComparingTo("15.75");
+        assertThat(summary.get("transactionCount").asLong()).isEqualTo(3);
+        JsonNode byBranch = report("/reports/sales/by-branch", branchId);
+        assertThat(byBranch).hasSize(1);
+        assertThat(byBranch.get(0).get("totalRevenue").decimalValue()).isEqualByComparingTo("15.75");
+        JsonNode byCashier = report("/reports/sales/by-cashier", branchId);
+        assertThat(byCashier).hasSize(1);
+        assertThat(byCashier.get(0).get("cashierId").asLong()).isEqualTo(admin.getId());
+        assertThat(byCashier.get(0).get("transactionCount").asLong()).isEqualTo(3);
+
+        JsonNode byProduct = report("/reports/sales/by-product", branchId).get("content");
+        assertThat(byProduct).hasSize(2);
+        assertThat(byProduct.get(0).get("productName").asText()).isEqualTo("Rollup Bread");
+        assertThat(byProduct.get(0).get("totalQuantitySold").asLong()).isEqualTo(5);
+        assertThat(byProduct.get(0).get("totalRevenue").decimalValue()).isEqualByComparingTo("11.25");
+        assertThat(byProduct.get(1).get("totalQuantitySold").asLong()).isEqualTo(3);
+        assertThat(byProduct.get(1).get("totalRevenue").decimalValue()).isEqualByComparingTo("4.50");
+        JsonNode performance = report("/reports/inventory/performance", branchId).get("content");
+        assertThat(performance).hasSize(2);
+        assertThat(performance.get(0).get("totalSold").asLong()).isEqualTo(5);
+        assertThat(performance.get(1).get("totalSold").asLong()).isEqualTo(3);
+
+        rebuild();
+        assertThat(report("/reports/sales/summary", branchId)).isEqualTo(summary);
+        assertThat(report("/reports/sales/by-cashier", branchId)).isEqualTo(byCashier);
+        assertThat(report("/reports/sales/by-product", branchId).get("content")).isEqualTo(byProduct);
+    }
+
+    @Test
+    @DisplayName("Product reports from the rollup should match the raw sale_detail queries")
+    void productReports_ShouldMatchRawQueries() throws Exception {
+        Long branchId = openBranch("Raw");
+        createSale(branchId, milk, 4);
+        createSale(branchId, bread, 2);
+        Long cancelled = createSale(branchId, bread, 7);
+        mockMvc.perform(post("/sales/{id}/cancel", cancelled)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validCancelRequest())))
+                .andExpect(status().isOk());
+        LocalDate today = LocalDate.now();
+        Pageable byRevenue = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "totalRevenue"));
+        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "totalSold"));
+
+        assertThat(productSalesDailyRepository.findSalesGroupedByProduct(today, today, branchId, null, byRevenue)
+                .map(row -> row.getProductId() + ":" + row.getTotalQuantitySold() + ":" + row.getTotalRevenue())
+                .getContent())
+                .containsExactlyInAnyOrderElementsOf(saleRepository
+                        .findSalesGroupedByProduct(today, today, branchId, null, byRevenue)
+                        .map(row -> row.getProductId() + ":" + row.getTotalQuantitySold() + ":" + row.getTotalRevenue())
+                        .getContent());
+        assertThat(productSalesDailyRepository.findProductPerformance(today, today, branchId, page)
+                .map(row -> row.getProductId() + ":" + row.getTotalSold())
+                .getContent())
+                .containsExactly(milk.getId() + ":4", bread.getId() + ":2")
+                .isEqualTo(branchInventoryRepository.findProductPerformance(today, today, branchId, page)
+                        .map(row -> row.getProductId() + ":" + row.getTotalSold())
+                        .getContent());
+    }
+
+    @Test
+    @DisplayName("Period summaries should compute every period in one pass and match the per-period queries")
+    void periodSummaries_ShouldMatchPerPeriodQueries() throws Exception {
+        Long branchId = openBranch("Periods");
+        LocalDate today = LocalDate.now();
+        createSale(branchId, milk, 2, today);
+        createSale(branchId, milk, 4, today.minusWeeks(1));
+        createSale(branchId, bread, 2, today.minusWeeks(2).minusDays(3));
+        List<ReportPeriod> periods = List.of(
+                new ReportPeriod(today.minusDays(6), today),
+                new ReportPeriod(today.minusDays(13), today.minusDays(7)),
+                new ReportPeriod(today.minusDays(20), today.minusDays(14)),
+                new ReportPeriod(today.minusDays(27), today.minusDays(21)));
+        List<String> perPeriod = periods.stream()
+                .map(period -> saleRepository.findPeriodSummary(period.getStartDate(), period.getEndDate(), branchId))
+                .map(this::totals)
+                .toList();
+
+        assertThat(perPeriod).containsExactly("3.00:1", "6.00:1", "4.50:1", "0.00:0");
+        assertThat(saleRepository.findPeriodSummaries(periods, branchId).stream().map(this::totals))
+                .containsExactlyElementsOf(perPeriod);
+        assertThat(salesDailyRollupRepository.findPeriodSummaries(periods, branchId).stream().map(this::totals))
+                .containsExactlyElementsOf(perPeriod);
+
+        String body = mockMvc.perform(get("/reports/sales/comparison")
+                        .param("branchId", branchId.toString())
+                        .param("startDate", today.minusDays(6).toString())
+                        .param("endDate", today.toString())
+                        .param("comparisonStep", "WEEK")
+                        .param("comparisonPeriods", "3")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        JsonNode comparison = objectMapper.readTree(body);
+        assertThat(comparison.get("periods")).hasSize(4);
+        assertThat(comparison.get("growthPercentage").decimalValue()).isEqualByComparingTo("-50.00");
+        assertThat(comparison.get("previousPeriod")).isEqualTo(comparison.get("periods").get(1));
+        assertThat(comparison.get("periods").get(1).get("growthPercentage").decimalValue()).isEqualByComparingTo("33.33");
+        assertThat(comparison.get("periods").get(3).get("totalRevenue").decimalValue()).isEqualByComparingTo("0");
+        assertThat(comparison.get("periods").get(3).get("growthPercentage").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("A sale should leave the rollup only once however often it is cancelled or deleted")
+    void cancelAndDelete_ShouldReverseTheRollupOnce() throws Exception {
+        Long branchId = openBranch("Reverse Once");
+        createSale(branchId, milk, 2);
+        Long cancelled = createSale(branchId, bread, 1);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/sales/{id}/cancel", cancelled)
+                            .header("Authorization", "Bearer " + adminToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validCancelRequest())))
+                    .andExpect(attempt == 0 ? status().isOk() : status().isBadRequest());
+        }
+        mockMvc.perform(delete("/sales/{id}", cancelled)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+
+        JsonNode summary = report("/reports/sales/summary", branchId);
+        assertThat(summary.get("totalRevenue").decimalValue()).isEqualByComparingTo("3.00");
+        assertThat(summary.get("transactionCount").asLong()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT stock FROM branch_inventory WHERE branch_id = ? AND product_id = ?",
+                Integer.class, branchId, bread.getId())).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("POST /reports/rollup/rebuild should repair a rollup that drifted from the sale rows")
+    void rebuild_ShouldRepairDrift() throws Exception {
+        Long branchId = openBranch("Drift");
+        createSale(branchId, bread, 2);
+        jdbcTemplate.update("UPDATE sales_daily_rollup SET revenue = revenue + 100, tx_count = tx_count + 5"
+                + " WHERE branch_id = ?", branchId);
+        assertThat(report("/reports/sales/summary", branchId).get("transactionCount").asLong()).isEqualTo(6);
+
+        JsonNode stats = rebuild();
+
+        assertThat(stats.get("available").asBoolean()).isTrue();
+        assertThat(stats.get("rows").asLong()).isPositive();
+        assertThat(stats.get("lastRebuiltAt").isNull()).isFalse();
+        JsonNode summary = report("/reports/sales/summary", branchId);
+        assertThat(summary.get("totalRevenue").decimalValue()).isEqualByComparingTo("4.50");
+        assertThat(summary.get("transactionCount").asLong()).isEqualTo(1);
+    }
+
+    private Long openBranch(String name) {
+        Branch branch = branchRepository.save(Branch.builder().name("Rollup " + name).address(name + " Street").build());
+        for (Product product : List.of(milk, bread)) {
+            branchInventoryRepository.save(BranchInventory.builder()
+                    .branch(branch)
+                    .product(product)
+                    .stock(100)
+                    .minStock(1)
+                    .build());
+        }
+        cashRegisterRepository.save(CashRegister.builder()
+                .branch(branch)
+                .openingBalance(BigDecimal.TEN)
+                .openingTime(LocalDateTime.now().minusHours(1))
+                .status(CashRegisterStatus.OPEN)
+                .openedBy(admin)
+                .build());
+        return branch.getId();
+    }
+
+    private SaleRequest saleRequest(Long branchId, Product product, int quantity) {
+        return saleRequest(branchId, product, quantity, LocalDate.now());
+    }
+
+    private SaleRequest saleRequest(Long branchId, Product product, int quantity, LocalDate date) {
+        return SaleRequest.builder()
+                .branchId(branchId)
+                .date(date)
+                .details(List.of(SaleDetailRequest.builder()
+                        .productId(product.getId())
+                        .quantity(quantity)
+                        .build()))
+                .build();
+    }
+
+    private Long createSale(Long branchId, Product product, int quantity) throws Exception {
+        return createSale(branchId, product, quantity, LocalDate.now());
+    }
+
+    private Long createSale(Long branchId, Product product, int quantity, LocalDate date) throws Exception {
+        String body = mockMvc.perform(post("/sales")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(saleRequest(branchId, product, quantity, date))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private JsonNode report(String path, Long branchId) throws Exception {
+        String body = mockMvc.perform(get(path).param("branchId", branchId.toString())
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private String totals(PeriodSummaryProjection summary) {
+        BigDecimal revenue = summary.getTotalRevenue() != null ? summary.getTotalRevenue() : BigDecimal.ZERO;
+        return revenue.setScale(2).toPlainString() + ":" + summary.getTransactionCount();
+    }
+
+    private JsonNode rebuild() throws Exception {
+        String body = mockMvc.perform(post("/reports/rollup/rebuild")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
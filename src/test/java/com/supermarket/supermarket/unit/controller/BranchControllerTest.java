@@ -6,7 +6,9 @@ import com.supermarket.supermarket.controller.BranchController;
 import com.supermarket.supermarket.dto.branch.BranchResponse;
 import com.supermarket.supermarket.exception.GlobalExceptionHandler;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
 import com.supermarket.supermarket.service.business.BranchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -42,7 +44,7 @@ class BranchControllerTest {
         objectMapper.registerModule(new JavaTimeModule());
         branchController = new BranchController(branchService);
         mockMvc = MockMvcBuilders.standaloneSetup(branchController)
-                .setControllerAdvice(new GlobalExceptionHandler())
+                .setControllerAdvice(new GlobalExceptionHandler(new BusinessMetrics(new SimpleMeterRegistry())))
                 .build();
     }
 
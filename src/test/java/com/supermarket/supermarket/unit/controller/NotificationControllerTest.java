@@ -4,10 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.supermarket.supermarket.controller.NotificationController;
 import com.supermarket.supermarket.dto.notification.NotificationResponse;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.exception.GlobalExceptionHandler;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.export.NdjsonWriter;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
 import com.supermarket.supermarket.model.notification.NotificationType;
 import com.supermarket.supermarket.service.business.NotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,9 +44,9 @@ class NotificationControllerTest {
     void setUp() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
-        NotificationController notificationController = new NotificationController(notificationService);
+        NotificationController notificationController = new NotificationController(notificationService, new NdjsonWriter(objectMapper));
         mockMvc = MockMvcBuilders.standaloneSetup(notificationController)
-                .setControllerAdvice(new GlobalExceptionHandler())
+                .setControllerAdvice(new GlobalExceptionHandler(new BusinessMetrics(new SimpleMeterRegistry())))
                 .build();
     }
 
@@ -72,11 +76,15 @@ class NotificationControllerTest {
     @Test
     @DisplayName("GET /notifications/all - should return all notifications")
     void getAllNotifications_ShouldReturnList() throws Exception {
-        given(notificationService.getAllNotifications())
-                .willReturn(List.of(buildResponse(1L, false), buildResponse(2L, true)));
+        given(notificationService.getAllNotifications(null, null, false))
+                .willReturn(CursorPage.<NotificationResponse>builder()
+                        .items(List.of(buildResponse(2L, true), buildResponse(1L, false)))
+                        .size(2)
+                        .build());
         mockMvc.perform(get("/notifications/all"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(false));
     }
 
     @Test
@@ -3,10 +3,15 @@ package com.supermarket.supermarket.unit.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.supermarket.supermarket.controller.ProductController;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.product.ProductCatalogStats;
 import com.supermarket.supermarket.dto.product.ProductResponse;
 import com.supermarket.supermarket.exception.GlobalExceptionHandler;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.export.NdjsonWriter;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
 import com.supermarket.supermarket.service.business.ProductService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -47,12 +52,12 @@ class ProductControllerTest {
     void setUp() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
-        productController = new ProductController(productService);
+        productController = new ProductController(productService, new NdjsonWriter(objectMapper));
         PageableHandlerMethodArgumentResolver pageableResolver = new PageableHandlerMethodArgumentResolver();
         SortHandlerMethodArgumentResolver sortResolver = new SortHandlerMethodArgumentResolver();
         mockMvc = MockMvcBuilders.standaloneSetup(productController)
                 .setCustomArgumentResolvers(pageableResolver, sortResolver)
-                .setControllerAdvice(new GlobalExceptionHandler()).build();
+                .setControllerAdvice(new GlobalExceptionHandler(new BusinessMetrics(new SimpleMeterRegistry()))).build();
     }
 
     @Test
@@ -69,10 +74,13 @@ class ProductControllerTest {
     @Test
     @DisplayName("GET /products/all - should return simple list")
     void getAllList_ShouldReturnList() throws Exception {
-        given(productService.getAllForDropdown()).willReturn(List.of(productResponse()));
-        mockMvc.perform(get("/products/all"))
+        given(productService.getAllForDropdown(null, 100)).willReturn(CursorPage.<ProductResponse>builder()
+                .items(List.of(productResponse()))
+                .size(1)
+                .build());
+        mockMvc.perform(get("/products/all").param("size", "100"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.items", hasSize(1)));
     }
 
     @Test
@@ -140,4 +148,24 @@ class ProductControllerTest {
         mockMvc.perform(delete("/products/999"))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /products/catalog/stats - should return catalog statistics")
+    void getCatalogStats_ShouldReturnStats() throws Exception {
+        given(productService.getCatalogStats()).willReturn(ProductCatalogStats.builder()
+                .size(40).hits(120).misses(40).staleEntries(1).build());
+        mockMvc.perform(get("/products/catalog/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(40))
+                .andExpect(jsonPath("$.staleEntries").value(1));
+    }
+
+    @Test
+    @DisplayName("POST /products/catalog/rebuild - should rebuild catalog")
+    void rebuildCatalog_ShouldReturnStats() throws Exception {
+        given(productService.rebuildCatalog()).willReturn(ProductCatalogStats.builder().size(40).build());
+        mockMvc.perform(post("/products/catalog/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(40));
+    }
+}
@@ -8,7 +8,9 @@ import com.supermarket.supermarket.dto.user.ChangePasswordRequest;
 import com.supermarket.supermarket.dto.user.ProfileUpdateRequest;
 import com.supermarket.supermarket.exception.GlobalExceptionHandler;
 import com.supermarket.supermarket.exception.InvalidOperationException;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
 import com.supermarket.supermarket.service.business.UserManagementService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -42,7 +44,7 @@ class ProfileControllerTest {
         objectMapper.registerModule(new JavaTimeModule());
         ProfileController profileController = new ProfileController(userManagementService);
         mockMvc = MockMvcBuilders.standaloneSetup(profileController)
-                .setControllerAdvice(new GlobalExceptionHandler())
+                .setControllerAdvice(new GlobalExceptionHandler(new BusinessMetrics(new SimpleMeterRegistry())))
                 .build();
     }
 
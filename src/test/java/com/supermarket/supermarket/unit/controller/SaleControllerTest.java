@@ -3,10 +3,19 @@ package com.supermarket.supermarket.unit.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.supermarket.supermarket.controller.SaleController;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.sale.SaleBatchRequest;
+import com.supermarket.supermarket.dto.sale.SaleBatchResponse;
 import com.supermarket.supermarket.dto.sale.SaleResponse;
 import com.supermarket.supermarket.exception.GlobalExceptionHandler;
+import com.supermarket.supermarket.exception.IdempotencyConflictException;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.export.NdjsonWriter;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
+import com.supermarket.supermarket.service.business.IdempotencyService;
+import com.supermarket.supermarket.service.business.SaleBatchService;
 import com.supermarket.supermarket.service.business.SaleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,26 +24,39 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.cancelledSaleResponse;
 import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.invalidCancelRequest;
 import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.invalidSaleRequest;
+import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.saleBatchResponse;
 import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.saleResponse;
 import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.validCancelRequest;
 import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.validSaleRequest;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +64,10 @@ class SaleControllerTest {
     private MockMvc mockMvc;
     @Mock
     private SaleService saleService;
+    @Mock
+    private IdempotencyService idempotencyService;
+    @Mock
+    private SaleBatchService saleBatchService;
     private ObjectMapper objectMapper;
     private SaleController saleController;
 
@@ -49,20 +75,67 @@ class SaleControllerTest {
     void setUp() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
-        saleController = new SaleController(saleService);
+        saleController = new SaleController(saleService, idempotencyService, saleBatchService, new NdjsonWriter(objectMapper));
         mockMvc = MockMvcBuilders.standaloneSetup(saleController)
-                .setControllerAdvice(new GlobalExceptionHandler())
+                .setControllerAdvice(new GlobalExceptionHandler(new BusinessMetrics(new SimpleMeterRegistry())))
                 .build();
     }
 
     @Test
-    @DisplayName("GET /sales - should return list")
+    @DisplayName("GET /sales - should return a cursor page")
     void getAll_ShouldReturnList() throws Exception {
-        given(saleService.getAll()).willReturn(List.of(saleResponse()));
+        given(saleService.getAll("MjAyNS0wMS0wMVQxMDowMHw0MA", 10, false)).willReturn(CursorPage.<SaleResponse>builder()
+                .items(List.of(saleResponse()))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("MjAyNS0wMS0wMVQwOTo1OXwzOQ")
+                .build());
+
+        mockMvc.perform(get("/sales").param("cursor", "MjAyNS0wMS0wMVQxMDowMHw0MA").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("MjAyNS0wMS0wMVQwOTo1OXwzOQ"))
+                .andExpect(jsonPath("$.total").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /sales?count=true - should include the total count")
+    void getAll_WithCount_ShouldIncludeTotal() throws Exception {
+        given(saleService.getAll(null, null, true)).willReturn(CursorPage.<SaleResponse>builder()
+                .items(List.of(saleResponse()))
+                .size(1)
+                .total(1L)
+                .build());
 
-        mockMvc.perform(get("/sales"))
+        mockMvc.perform(get("/sales").param("count", "true"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.total").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /sales?format=ndjson - should stream one JSON document per line")
+    void streamAll_ShouldWriteNdjson() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<SaleResponse> sink = invocation.getArgument(0);
+            sink.accept(saleResponse());
+            sink.accept(cancelledSaleResponse());
+            return null;
+        }).given(saleService).streamAll(any());
+
+        MvcResult result = mockMvc.perform(get("/sales").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NdjsonWriter.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThat(body.split("\n")).hasSize(2)
+                .allSatisfy(line -> assertThat(objectMapper.readTree(line).get("id")).isNotNull());
+        then(saleService).should(never()).getAll(any(), any(), anyBoolean());
     }
 
     @Test
@@ -90,6 +163,8 @@ class SaleControllerTest {
     void create_ShouldReturn201() throws Exception {
         SaleResponse response = saleResponse();
         given(saleService.create(any())).willReturn(response);
+        given(idempotencyService.execute(eq("sales"), isNull(), any(), eq(SaleResponse.class), any()))
+                .willAnswer(invocation -> invocation.<Supplier<SaleResponse>>getArgument(4).get());
 
         mockMvc.perform(post("/sales")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -99,6 +174,34 @@ class SaleControllerTest {
                 .andExpect(jsonPath("$.total").value(12.50));
     }
 
+    @Test
+    @DisplayName("POST /sales - should replay stored response for a known Idempotency-Key")
+    void create_WithIdempotencyKey_ShouldReplayStoredResponse() throws Exception {
+        given(idempotencyService.execute(eq("sales"), eq("pos-1-0001"), any(), eq(SaleResponse.class), any()))
+                .willReturn(saleResponse());
+
+        mockMvc.perform(post("/sales")
+                        .header("Idempotency-Key", "pos-1-0001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validSaleRequest())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.total").value(12.50));
+        then(saleService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("POST /sales - should return 409 when Idempotency-Key is reused with another payload")
+    void create_WithReusedIdempotencyKey_ShouldReturn409() throws Exception {
+        given(idempotencyService.execute(eq("sales"), eq("pos-1-0001"), any(), eq(SaleResponse.class), any()))
+                .willThrow(new IdempotencyConflictException("Idempotency-Key was already used"));
+
+        mockMvc.perform(post("/sales")
+                        .header("Idempotency-Key", "pos-1-0001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validSaleRequest())))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("POST /sales - should return 400 when invalid request")
     void create_WithInvalidRequest_ShouldReturn400() throws Exception {
@@ -108,6 +211,48 @@ class SaleControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /sales/batch - should return a result per sale")
+    void createBatch_ShouldReturnPerItemResults() throws Exception {
+        given(saleBatchService.createBatch(any())).willReturn(saleBatchResponse());
+        given(idempotencyService.execute(eq("sales-batch"), isNull(), any(), eq(SaleBatchResponse.class), any()))
+                .willAnswer(invocation -> invocation.<Supplier<SaleBatchResponse>>getArgument(4).get());
+
+        mockMvc.perform(post("/sales/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SaleBatchRequest(List.of(validSaleRequest(), validSaleRequest())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].error").value("Insufficient stock"));
+    }
+
+    @Test
+    @DisplayName("POST /sales/batch - should replay stored results for a known Idempotency-Key")
+    void createBatch_WithIdempotencyKey_ShouldReplayStoredResponse() throws Exception {
+        given(idempotencyService.execute(eq("sales-batch"), eq("pos-1-batch-0001"), any(), eq(SaleBatchResponse.class), any()))
+                .willReturn(saleBatchResponse());
+
+        mockMvc.perform(post("/sales/batch")
+                        .header("Idempotency-Key", "pos-1-batch-0001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SaleBatchRequest(List.of(validSaleRequest(), validSaleRequest())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1));
+        then(saleBatchService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("POST /sales/batch - should return 400 when batch is empty")
+    void createBatch_WithEmptyBatch_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/sales/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SaleBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("POST /sales/{id}/cancel - should cancel sale")
     void cancel_ShouldReturnCancelledSale() throws Exception {
@@ -3,6 +3,7 @@ package com.supermarket.supermarket.unit.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.supermarket.supermarket.controller.TransferController;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.dto.transfer.RejectTransferRequest;
 import com.supermarket.supermarket.dto.transfer.TransferRequest;
 import com.supermarket.supermarket.dto.transfer.TransferResponse;
@@ -10,8 +11,10 @@ import com.supermarket.supermarket.exception.GlobalExceptionHandler;
 import com.supermarket.supermarket.exception.InvalidOperationException;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
 import com.supermarket.supermarket.fixtures.transfer.TransferFixtures;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
 import com.supermarket.supermarket.model.transfer.TransferStatus;
 import com.supermarket.supermarket.service.business.TransferService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -52,7 +55,7 @@ class TransferControllerTest {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         mockMvc = MockMvcBuilders.standaloneSetup(transferController)
-                .setControllerAdvice(new GlobalExceptionHandler())
+                .setControllerAdvice(new GlobalExceptionHandler(new BusinessMetrics(new SimpleMeterRegistry())))
                 .build();
     }
 
@@ -90,11 +93,14 @@ class TransferControllerTest {
     @Test
     @DisplayName("GET /transfers - should return list of transfers")
     void getAllTransfers_ShouldReturnList() throws Exception {
-        given(transferService.getAllTransfers()).willReturn(List.of(TransferFixtures.transferResponse(TransferStatus.PENDING)));
+        given(transferService.getAllTransfers(null, null)).willReturn(CursorPage.<TransferResponse>builder()
+                .items(List.of(TransferFixtures.transferResponse(TransferStatus.PENDING)))
+                .size(1)
+                .build());
 
         mockMvc.perform(get("/transfers"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.items", hasSize(1)));
     }
 
     @Test
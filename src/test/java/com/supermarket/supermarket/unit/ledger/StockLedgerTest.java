@@ -0,0 +1,321 @@
+package com.supermarket.supermarket.unit.ledger;
+
+import com.supermarket.supermarket.dto.inventory.StockDelta;
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.ledger.StockLedger;
+import com.supermarket.supermarket.model.branch.StockLedgerCheckpoint;
+import com.supermarket.supermarket.model.branch.StockLedgerLease;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.repository.StockLedgerCheckpointRepository;
+import com.supermarket.supermarket.repository.StockLedgerCommitRepository;
+import com.supermarket.supermarket.repository.StockLedgerLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.willThrow;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerTest {
+    @Mock
+    private BranchInventoryRepository branchInventoryRepository;
+    @Mock
+    private StockLedgerCheckpointRepository checkpointRepository;
+    @Mock
+    private StockLedgerCommitRepository commitRepository;
+    @Mock
+    private StockLedgerLeaseRepository leaseRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @TempDir
+    private Path journalDir;
+    private final AtomicReference<StockLedgerLease> lease = new AtomicReference<>();
+    private StockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        given(leaseRepository.findLockedById(1L)).willAnswer(invocation -> Optional.ofNullable(lease.get()));
+        given(leaseRepository.save(any())).willAnswer(invocation -> {
+            lease.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        given(checkpointRepository.findById(1L)).willReturn(Optional.empty());
+        given(branchInventoryRepository.findBranchIdsWithInventory()).willReturn(List.of(1L));
+        given(branchInventoryRepository.findStockLevelsByBranch(1L)).willReturn(List.of(
+                new StockLevel(10L, 20, 5),
+                new StockLevel(11L, 3, 1)));
+        ledger = startLedger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ledger.destroy();
+    }
+
+    private StockLedger startLedger() {
+        StockLedger started = new StockLedger(branchInventoryRepository, checkpointRepository, commitRepository,
+                leaseRepository, transactionManager, journalDir.toString(), false, true, Duration.ofMinutes(1));
+        started.afterSingletonsInstantiated();
+        return started;
+    }
+
+    private void crash() {
+        lease.get().setExpiresAt(LocalDateTime.now().minusSeconds(1));
+    }
+
+    private static List<TransactionSynchronization> completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(sync -> sync.beforeCommit(false));
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(status));
+        return synchronizations;
+    }
+
+    @Nested
+    @DisplayName("Reservations")
+    class Reservations {
+
+        @Test
+        @DisplayName("Should reserve stock in memory without touching the database")
+        void reserve_shouldDecrementInMemory() {
+            List<Long> rejected = ledger.reserve(1L, Map.of(10L, 4));
+
+            assertThat(rejected).isEmpty();
+            assertThat(ledger.find(1L, 10L)).get().extracting(StockLevel::getStock).isEqualTo(16);
+            then(branchInventoryRepository).should(never()).applyStockDeltas(anyList());
+        }
+
+        @Test
+        @DisplayName("Should reserve all lines or none of them")
+        void reserve_whenOneLineIsShort_shouldRejectWholeRequest() {
+            List<Long> rejected = ledger.reserve(1L, Map.of(10L, 4, 11L, 5));
+
+            assertThat(rejected).containsExactly(11L);
+            assertThat(ledger.find(1L, 10L)).get().extracting(StockLevel::getStock).isEqualTo(20);
+            assertThat(ledger.find(1L, 11L)).get().extracting(StockLevel::getStock).isEqualTo(3);
+            assertThat(ledger.getStats().getRejections()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should load untracked rows lazily and reject unknown ones")
+        void reserve_withUnknownRow_shouldLoadOrReject() {
+            given(branchInventoryRepository.findStockLevels(2L, List.of(10L))).willReturn(List.of(new StockLevel(10L, 7, 2)));
+            given(branchInventoryRepository.findStockLevels(2L, List.of(99L))).willReturn(List.of());
+
+            assertThat(ledger.reserve(2L, Map.of(10L, 7))).isEmpty();
+            assertThat(ledger.reserve(2L, Map.of(99L, 1))).containsExactly(99L);
+        }
+
+        @Test
+        @DisplayName("Should give stock back when the surrounding transaction rolls back")
+        void reserve_whenTransactionRollsBack_shouldRestoreStock() {
+            TransactionSynchronizationManager.initSynchronization();
+            ledger.reserve(1L, Map.of(10L, 4));
+            ledger.add(1L, Map.of(11L, 2));
+            assertThat(ledger.find(1L, 11L)).get().extracting(StockLevel::getStock).isEqualTo(3);
+
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            assertThat(ledger.find(1L, 10L)).get().extracting(StockLevel::getStock).isEqualTo(20);
+            assertThat(ledger.find(1L, 11L)).get().extracting(StockLevel::getStock).isEqualTo(3);
+            assertThat(ledger.getStats().getPendingDeltas()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should apply additions only once the transaction commits")
+        void add_shouldApplyAfterCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+            ledger.add(1L, Map.of(11L, 2));
+
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+            assertThat(ledger.find(1L, 11L)).get().extracting(StockLevel::getStock).isEqualTo(5);
+            assertThat(ledger.getStats().getPendingDeltas()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Write-behind")
+    class WriteBehind {
+
+        @Test
+        @DisplayName("Should flush aggregated deltas and advance the checkpoint")
+        @SuppressWarnings("unchecked")
+        void flush_shouldWriteAggregatedDeltas() {
+            ledger.reserve(1L, Map.of(10L, 4));
+            ledger.reserve(1L, Map.of(10L, 1));
+            ledger.add(1L, Map.of(11L, 2));
+
+            ledger.flush();
+
+            ArgumentCaptor<List<StockDelta>> deltas = ArgumentCaptor.forClass(List.class);
+            then(branchInventoryRepository).should().applyStockDeltas(deltas.capture());
+            assertThat(deltas.getValue()).containsExactlyInAnyOrder(
+                    new StockDelta(1L, 10L, -5), new StockDelta(1L, 11L, 2));
+            ArgumentCaptor<StockLedgerCheckpoint> checkpoint = ArgumentCaptor.forClass(StockLedgerCheckpoint.class);
+            then(checkpointRepository).should().save(checkpoint.capture());
+            assertThat(checkpoint.getValue().getLastSequence()).isEqualTo(3);
+            assertThat(ledger.getStats().getPendingDeltas()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should keep deltas pending when the database write fails")
+        void flush_whenDatabaseFails_shouldRetryLater() {
+            ledger.reserve(1L, Map.of(10L, 4));
+            willThrow(new IllegalStateException("database down"))
+                    .willDoNothing()
+                    .given(branchInventoryRepository).applyStockDeltas(anyList());
+
+            ledger.flush();
+            assertThat(ledger.getStats().getPendingDeltas()).isEqualTo(1);
+            assertThat(ledger.getStats().getFlushFailures()).isEqualTo(1);
+
+            ledger.flush();
+            assertThat(ledger.getStats().getPendingDeltas()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should replay unflushed journal entries on restart")
+        @SuppressWarnings("unchecked")
+        void restart_shouldReplayJournal() {
+            ledger.reserve(1L, Map.of(10L, 4));
+            ledger.add(1L, Map.of(10L, 1));
+
+            crash();
+            StockLedger restarted = startLedger();
+            restarted.destroy();
+
+            ArgumentCaptor<List<StockDelta>> deltas = ArgumentCaptor.forClass(List.class);
+            then(branchInventoryRepository).should().applyStockDeltas(deltas.capture());
+            assertThat(deltas.getValue()).containsExactly(new StockDelta(1L, 10L, -3));
+        }
+
+        @Test
+        @DisplayName("Should skip journal entries already covered by the checkpoint and ignore torn records")
+        void restart_shouldHonourCheckpointAndTornTail() throws IOException {
+            ledger.reserve(1L, Map.of(10L, 4));
+            ledger.reserve(1L, Map.of(10L, 2));
+            try (var files = Files.list(journalDir)) {
+                Path segment = files.findFirst().orElseThrow();
+                Files.writeString(segment, "3;1,10,-9", StandardOpenOption.APPEND);
+            }
+            given(checkpointRepository.findById(1L)).willReturn(Optional.of(StockLedgerCheckpoint.builder()
+                    .id(1L).lastSequence(1L).build()));
+
+            crash();
+            StockLedger restarted = startLedger();
+            restarted.destroy();
+
+            then(branchInventoryRepository).should().applyStockDeltas(List.of(new StockDelta(1L, 10L, -2)));
+            then(branchInventoryRepository).should(never()).applyStockDeltas(List.of(new StockDelta(1L, 10L, -11)));
+        }
+
+        @Test
+        @DisplayName("Should replay only journaled transactions whose database commit is recorded")
+        void restart_shouldSkipTransactionsThatNeverCommitted() {
+            TransactionSynchronizationManager.initSynchronization();
+            ledger.reserve(1L, Map.of(10L, 4));
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+            TransactionSynchronizationManager.initSynchronization();
+            ledger.reserve(1L, Map.of(10L, 6));
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+            TransactionSynchronizationManager.clearSynchronization();
+            ArgumentCaptor<String> transactionIds = ArgumentCaptor.forClass(String.class);
+            then(commitRepository).should(times(2)).insert(transactionIds.capture(), any());
+            String committed = transactionIds.getAllValues().get(0);
+            given(commitRepository.findCommitted(anyList())).willReturn(List.of(committed));
+
+            crash();
+            StockLedger restarted = startLedger();
+            restarted.destroy();
+
+            then(branchInventoryRepository).should().applyStockDeltas(List.of(new StockDelta(1L, 10L, -4)));
+            then(commitRepository).should().deleteByTransactionIds(
+                    argThat(ids -> ids.containsAll(transactionIds.getAllValues()) && ids.size() == 2));
+        }
+    }
+    @Nested
+    @DisplayName("Single instance")
+    class SingleInstance {
+
+        @Test
+        @DisplayName("Should refuse to start while another ledger holds the lease")
+        void start_whenLeaseHeldElsewhere_shouldFail() {
+            assertThatThrownBy(StockLedgerTest.this::startLedger)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("lease is held by");
+        }
+
+        @Test
+        @DisplayName("Should stop reserving and keep deltas once another instance took the lease over")
+        void flush_whenLeaseTakenOver_shouldStopLedger() {
+            ledger.reserve(1L, Map.of(10L, 4));
+            lease.set(StockLedgerLease.builder().id(1L).owner("other").expiresAt(LocalDateTime.now().plusMinutes(1)).build());
+
+            ledger.flush();
+
+            then(branchInventoryRepository).should(never()).applyStockDeltas(anyList());
+            assertThat(ledger.getStats().getPendingDeltas()).isEqualTo(1);
+            assertThatThrownBy(() -> ledger.reserve(1L, Map.of(10L, 1)))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Should extend its own lease on renewal")
+        void renewLease_shouldPushExpiry() {
+            LocalDateTime before = LocalDateTime.now().plusSeconds(10);
+            lease.get().setExpiresAt(before);
+
+            ledger.renewLease();
+
+            assertThat(lease.get().getExpiresAt()).isAfter(before);
+        }
+
+        @Test
+        @DisplayName("Should pick up min stock changes when flushing a row")
+        void flush_shouldRefreshMinStock() {
+            ledger.reserve(1L, Map.of(10L, 4));
+            given(branchInventoryRepository.findStockLevels(1L, List.of(10L))).willReturn(List.of(new StockLevel(10L, 16, 12)));
+
+            ledger.flush();
+
+            assertThat(ledger.find(1L, 10L)).get().extracting(StockLevel::getMinStock).isEqualTo(12);
+            assertThat(ledger.find(1L, 10L)).get().extracting(StockLevel::getStock).isEqualTo(16);
+        }
+    }
+}
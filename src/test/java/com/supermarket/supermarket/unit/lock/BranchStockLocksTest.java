@@ -0,0 +1,153 @@
+package com.supermarket.supermarket.unit.lock;
+
+import com.supermarket.supermarket.dto.inventory.BranchLockStats;
+import com.supermarket.supermarket.lock.BranchStockLocks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BranchStockLocksTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void completeTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static void inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+        } finally {
+            completeTransaction();
+        }
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled, even outside a transaction")
+    void lockBranches_whenDisabled_shouldBeNoOp() {
+        BranchStockLocks locks = new BranchStockLocks(false, 8, Duration.ofSeconds(1));
+
+        locks.lockBranches(1L, 2L);
+
+        assertThat(locks.getStats().getAcquisitions()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse to lock outside a transaction")
+    void lockBranches_outsideTransaction_shouldThrow() {
+        BranchStockLocks locks = new BranchStockLocks(true, 8, Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> locks.lockBranches(1L)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should hold the branch lock until the transaction completes and record the wait")
+    void lockBranches_shouldHoldUntilCompletion() throws Exception {
+        BranchStockLocks locks = new BranchStockLocks(true, 8, Duration.ofSeconds(5));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> inTransaction(() -> {
+            locks.lockBranches(1L);
+            locked.countDown();
+            await(release);
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<?> waiter = executor.submit(() -> inTransaction(() -> locks.lockBranches(1L)));
+        Thread.sleep(100);
+        assertThat(waiter.isDone()).isFalse();
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        waiter.get(5, TimeUnit.SECONDS);
+
+        BranchLockStats stats = locks.getStats();
+        assertThat(stats.getAcquisitions()).isEqualTo(2);
+        assertThat(stats.getContended()).isEqualTo(1);
+        assertThat(stats.getMaxWaitMillis()).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should time out when the branch stays locked")
+    void lockBranches_whenTimeoutElapses_shouldThrow() throws Exception {
+        BranchStockLocks locks = new BranchStockLocks(true, 8, Duration.ofMillis(50));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> inTransaction(() -> {
+            locks.lockBranches(3L);
+            locked.countDown();
+            await(release);
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            TransactionSynchronizationManager.initSynchronization();
+            assertThatThrownBy(() -> locks.lockBranches(3L)).isInstanceOf(CannotAcquireLockException.class);
+            assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(locks.getStats().getTimeouts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not deadlock when transfers lock the same branches in opposite order")
+    void lockBranches_withOppositeOrder_shouldNotDeadlock() throws Exception {
+        BranchStockLocks locks = new BranchStockLocks(true, 8, Duration.ofSeconds(2));
+        List<Future<?>> transfers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            boolean forward = t % 2 == 0;
+            transfers.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    inTransaction(() -> {
+                        if (forward) {
+                            locks.lockBranches(1L, 2L);
+                        } else {
+                            locks.lockBranches(2L, 1L);
+                        }
+                    });
+                }
+            }));
+        }
+
+        for (Future<?> transfer : transfers) {
+            transfer.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(locks.getStats().getTimeouts()).isZero();
+        assertThat(locks.getStats().getAcquisitions()).isEqualTo(4 * 500 * 2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
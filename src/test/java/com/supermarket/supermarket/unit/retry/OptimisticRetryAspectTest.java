@@ -0,0 +1,129 @@
+package com.supermarket.supermarket.unit.retry;
+
+import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.retry.OptimisticRetry;
+import com.supermarket.supermarket.retry.OptimisticRetryAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OptimisticRetryAspectTest {
+    private MockEnvironment environment;
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryAspect aspect;
+    private StockOperations target;
+    private StockOperations operations;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("retry.optimistic-lock.max-attempts", "3")
+                .withProperty("retry.optimistic-lock.initial-backoff-ms", "1")
+                .withProperty("retry.optimistic-lock.max-backoff-ms", "2");
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new OptimisticRetryAspect(environment, meterRegistry);
+        target = new StockOperations();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        operations = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Nested
+    @DisplayName("Retry behaviour")
+    class RetryBehaviour {
+        @Test
+        @DisplayName("Should re-run the operation after an optimistic lock conflict")
+        void shouldRetryOnOptimisticLockFailure() {
+            target.failTimes.set(2);
+
+            String result = operations.reserve();
+
+            assertThat(result).isEqualTo("ok");
+            assertThat(target.calls.get()).isEqualTo(3);
+            assertThat(aspect.getRetryCount("sale-create")).isEqualTo(2);
+            assertThat(aspect.getExhaustedCount("sale-create")).isZero();
+            assertThat(meterRegistry.get("supermarket.optimistic.lock.retries")
+                    .tags("operation", "sale-create", "outcome", "retried")
+                    .functionCounter()
+                    .count()).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should give up once the operation budget is exhausted")
+        void shouldStopAfterMaxAttempts() {
+            target.failTimes.set(10);
+
+            assertThatThrownBy(() -> operations.reserve())
+                    .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+            assertThat(target.calls.get()).isEqualTo(3);
+            assertThat(aspect.getExhaustedCount("sale-create")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should honour per-operation attempt overrides")
+        void shouldUsePerOperationBudget() {
+            environment.setProperty("retry.optimistic-lock.sale-create.max-attempts", "5");
+            target.failTimes.set(4);
+
+            assertThat(operations.reserve()).isEqualTo("ok");
+            assertThat(target.calls.get()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should not retry insufficient stock")
+        void shouldNotRetryInsufficientStock() {
+            assertThatThrownBy(() -> operations.outOfStock())
+                    .isInstanceOf(InsufficientStockException.class);
+            assertThat(target.calls.get()).isEqualTo(1);
+            assertThat(aspect.getRetryCount("sale-create")).isZero();
+        }
+
+        @Test
+        @DisplayName("Should leave retries to the outermost transaction boundary")
+        void shouldNotRetryInsideActiveTransaction() {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            target.failTimes.set(1);
+
+            assertThatThrownBy(() -> operations.reserve())
+                    .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+            assertThat(target.calls.get()).isEqualTo(1);
+        }
+    }
+
+    static class StockOperations {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger failTimes = new AtomicInteger();
+
+        @OptimisticRetry("sale-create")
+        public String reserve() {
+            calls.incrementAndGet();
+            if (failTimes.getAndDecrement() > 0) {
+                throw new ObjectOptimisticLockingFailureException("BranchInventory", 1L);
+            }
+            return "ok";
+        }
+
+        @OptimisticRetry("sale-create")
+        public String outOfStock() {
+            calls.incrementAndGet();
+            throw new InsufficientStockException("Insufficient stock");
+        }
+    }
+}
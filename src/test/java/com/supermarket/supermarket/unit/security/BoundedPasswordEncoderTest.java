@@ -0,0 +1,131 @@
+package com.supermarket.supermarket.unit.security;
+
+import com.supermarket.supermarket.exception.PasswordHashingBusyException;
+import com.supermarket.supermarket.security.BoundedPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should delegate encoding and matching")
+    void shouldDelegate() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new TrackingEncoder(0), 2, TIMEOUT);
+
+        assertThat(encoder.encode("secret")).isEqualTo("{hashed}secret");
+        assertThat(encoder.matches("secret", "{hashed}secret")).isTrue();
+        assertThat(encoder.matches("other", "{hashed}secret")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never run more hashes at once than the configured limit")
+    void shouldCapConcurrentHashes() throws Exception {
+        TrackingEncoder delegate = new TrackingEncoder(20);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, 2, TIMEOUT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return encoder.matches("secret", "{hashed}secret");
+            }));
+        }
+
+        start.countDown();
+        for (Future<Boolean> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(delegate.peak.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail fast instead of parking the thread when every permit stays busy")
+    void shouldFailFastWhenSaturated() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "{hashed}" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        }, 1, Duration.ofMillis(50));
+        Future<String> busy = executor.submit(() -> encoder.encode("secret"));
+        hashing.await(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> encoder.matches("secret", "{hashed}secret"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+
+        finish.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isEqualTo("{hashed}secret");
+        assertThat(encoder.matches("secret", "{hashed}secret")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject a limit below one")
+    void shouldRejectInvalidLimit() {
+        assertThatThrownBy(() -> new BoundedPasswordEncoder(new TrackingEncoder(0), 0, TIMEOUT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class TrackingEncoder implements PasswordEncoder {
+        private final long workMillis;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        TrackingEncoder(long workMillis) {
+            this.workMillis = workMillis;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{hashed}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(workMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -18,6 +18,7 @@ import com.supermarket.supermarket.repository.CashRegisterRepository;
 import com.supermarket.supermarket.repository.SaleRepository;
 import com.supermarket.supermarket.security.SecurityUtils;
 import com.supermarket.supermarket.service.business.NotificationEventService;
+import com.supermarket.supermarket.service.business.ReportCache;
 import com.supermarket.supermarket.service.business.impl.CashRegisterServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,6 +54,8 @@ class CashRegisterServiceTest {
     private SecurityUtils securityUtils;
     @Mock
     private NotificationEventService notificationEventService;
+    @Mock
+    private ReportCache reportCache;
 
     @InjectMocks
     private CashRegisterServiceImpl cashRegisterService;
@@ -129,6 +132,7 @@ class CashRegisterServiceTest {
         assertThat(register.getClosingBalance()).isEqualByComparingTo("150.00");
         assertThat(register.getClosedBy()).isEqualTo(mockUser);
         then(cashRegisterRepository).should().save(register);
+        then(reportCache).should().evictAfterCommit(branch.getId(), register.getClosingTime().toLocalDate());
         then(notificationEventService).shouldHaveNoInteractions();
     }
 
@@ -171,4 +175,27 @@ class CashRegisterServiceTest {
                 argThat(variance -> variance.compareTo(new BigDecimal("10.00")) == 0)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRegisterEntityByBranch_shouldReadOpenRegisterUnderLock() {
+        CashRegister register = CashRegisterFixtures.openRegister(100L, branch, mockUser);
+        given(cashRegisterRepository.findLockedByBranchIdAndStatus(branch.getId(), CashRegisterStatus.OPEN))
+                .willReturn(Optional.of(register));
+
+        CashRegister result = cashRegisterService.getRegisterEntityByBranch(branch.getId());
+
+        assertThat(result.getId()).isEqualTo(100L);
+        then(cashRegisterRepository).should().findLockedByBranchIdAndStatus(branch.getId(), CashRegisterStatus.OPEN);
+    }
+
+    @Test
+    void getRegisterEntityByBranch_whenNoneOpen_shouldThrowException() {
+        given(cashRegisterRepository.findLockedByBranchIdAndStatus(branch.getId(), CashRegisterStatus.OPEN))
+                .willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cashRegisterService.getRegisterEntityByBranch(branch.getId()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("No open register found for branch");
+        assertThat(cashRegisterService.findRegisterEntityByBranch(branch.getId())).isEmpty();
+    }
+}
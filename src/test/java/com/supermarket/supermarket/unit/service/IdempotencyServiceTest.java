@@ -0,0 +1,273 @@
+package com.supermarket.supermarket.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.supermarket.supermarket.dto.idempotency.IdempotencyRecord;
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.dto.sale.SaleResponse;
+import com.supermarket.supermarket.exception.IdempotencyConflictException;
+import com.supermarket.supermarket.exception.IdempotencyStoreUnavailableException;
+import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.security.SecurityUtils;
+import com.supermarket.supermarket.service.business.impl.IdempotencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.saleResponse;
+import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.validSaleRequest;
+import static com.supermarket.supermarket.fixtures.user.UserFixtures.defaultCashier;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+    private static final String REDIS_KEY = "idempotency:sales:1:pos-1-0001";
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private SecurityUtils securityUtils;
+    @Mock
+    private TaskScheduler taskScheduler;
+    @Mock
+    private ScheduledFuture<?> renewal;
+    private ObjectMapper objectMapper;
+    private IdempotencyServiceImpl idempotencyService;
+    private SaleRequest request;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        idempotencyService = new IdempotencyServiceImpl(redisTemplate, objectMapper, securityUtils, taskScheduler);
+        ReflectionTestUtils.setField(idempotencyService, "pollInterval", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeout", Duration.ofMillis(50));
+        request = validSaleRequest();
+    }
+
+    @Test
+    @DisplayName("Should run the action directly when no key is supplied")
+    void execute_withoutKey_shouldSkipStore() {
+        SaleResponse result = idempotencyService.execute("sales", null, request, SaleResponse.class, () -> saleResponse());
+
+        assertThat(result.getId()).isEqualTo(saleResponse().getId());
+        then(redisTemplate).shouldHaveNoInteractions();
+    }
+
+    @Nested
+    @DisplayName("With Idempotency-Key")
+    class WithKey {
+        @BeforeEach
+        void setUp() {
+            given(securityUtils.getCurrentUser()).willReturn(defaultCashier());
+            given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        }
+
+        private void givenKeyAcquired() {
+            given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(true);
+            given(taskScheduler.scheduleAtFixedRate(any(Runnable.class), any(Duration.class)))
+                    .willAnswer(invocation -> renewal);
+        }
+
+        @Test
+        @DisplayName("Should store the response of the first attempt")
+        void execute_firstAttempt_shouldStoreResponse() {
+            givenKeyAcquired();
+
+            SaleResponse result = idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> saleResponse());
+
+            assertThat(result.getTotal()).isEqualByComparingTo(saleResponse().getTotal());
+            then(valueOperations).should().set(eq(REDIS_KEY), anyString(), eq(Duration.ofHours(24)));
+        }
+
+        @Test
+        @DisplayName("Should replay the stored response without running the action")
+        void execute_replay_shouldReturnStoredResponse() throws Exception {
+            given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(false);
+            given(valueOperations.get(REDIS_KEY)).willReturn(completedRecord(request));
+            AtomicInteger calls = new AtomicInteger();
+
+            SaleResponse result = idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> {
+                calls.incrementAndGet();
+                return saleResponse();
+            });
+
+            assertThat(calls.get()).isZero();
+            assertThat(result.getId()).isEqualTo(saleResponse().getId());
+        }
+
+        @Test
+        @DisplayName("Should wait for an in-flight duplicate and replay its response")
+        void execute_concurrentDuplicate_shouldWaitForFirstAttempt() throws Exception {
+            given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(false);
+            given(valueOperations.get(REDIS_KEY)).willReturn(inProgressRecord(request), completedRecord(request));
+
+            SaleResponse result = idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> {
+                throw new AssertionError("duplicate must not run");
+            });
+
+            assertThat(result.getId()).isEqualTo(saleResponse().getId());
+        }
+
+        @Test
+        @DisplayName("Should reject a key reused with a different payload")
+        void execute_differentPayload_shouldConflict() throws Exception {
+            SaleRequest other = validSaleRequest();
+            other.setBranchId(99L);
+            given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(false);
+            given(valueOperations.get(REDIS_KEY)).willReturn(completedRecord(other));
+
+            assertThatThrownBy(() -> idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> saleResponse()))
+                    .isInstanceOf(IdempotencyConflictException.class);
+        }
+
+        @Test
+        @DisplayName("Should give up when the first attempt never finishes")
+        void execute_stuckAttempt_shouldConflictAfterTimeout() throws Exception {
+            given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(false);
+            given(valueOperations.get(REDIS_KEY)).willReturn(inProgressRecord(request));
+
+            assertThatThrownBy(() -> idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> saleResponse()))
+                    .isInstanceOf(IdempotencyConflictException.class)
+                    .hasMessageContaining("still being processed");
+        }
+
+        @Test
+        @DisplayName("Should release the key when the action fails")
+        void execute_failure_shouldReleaseKey() {
+            givenKeyAcquired();
+
+            assertThatThrownBy(() -> idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> {
+                throw new InsufficientStockException("Insufficient stock");
+            })).isInstanceOf(InsufficientStockException.class);
+            then(redisTemplate).should().delete(REDIS_KEY);
+        }
+
+        @Test
+        @DisplayName("Should keep the business exception when releasing the key fails")
+        void execute_failureWithStoreDown_shouldKeepOriginalException() {
+            givenKeyAcquired();
+            given(redisTemplate.delete(REDIS_KEY)).willThrow(new RedisConnectionFailureException("down"));
+
+            assertThatThrownBy(() -> idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> {
+                throw new InsufficientStockException("Insufficient stock");
+            })).isInstanceOf(InsufficientStockException.class);
+        }
+
+        @Test
+        @DisplayName("Should renew the in-progress lease while the action runs and stop once it finishes")
+        void execute_firstAttempt_shouldRenewLeaseUntilDone() {
+            givenKeyAcquired();
+
+            idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> {
+                then(renewal).should(never()).cancel(false);
+                return saleResponse();
+            });
+
+            ArgumentCaptor<Runnable> renew = ArgumentCaptor.forClass(Runnable.class);
+            then(taskScheduler).should().scheduleAtFixedRate(renew.capture(), eq(Duration.ofSeconds(10)));
+            then(renewal).should().cancel(false);
+            renew.getValue().run();
+            then(redisTemplate).should().execute(any(RedisScript.class), eq(List.of(REDIS_KEY)),
+                    argThat(owner -> owner.toString().contains("\"owner\":\"")), eq("30000"));
+        }
+
+        @Test
+        @DisplayName("Should fail closed when the store is down before the key is taken")
+        void execute_storeDownOnAcquire_shouldRejectWithoutRunning() {
+            given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class)))
+                    .willThrow(new RedisConnectionFailureException("down"));
+
+            assertThatThrownBy(() -> idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> {
+                throw new AssertionError("must not run without deduplication");
+            }))
+                    .isInstanceOf(IdempotencyStoreUnavailableException.class)
+                    .extracting("retryAfterSeconds").isEqualTo(5L);
+        }
+
+        @Test
+        @DisplayName("Should fail closed when the store fails while polling")
+        void execute_storeDownWhilePolling_shouldRejectWithoutRunning() {
+            given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(false);
+            given(valueOperations.get(REDIS_KEY)).willThrow(new RedisConnectionFailureException("down"));
+
+            assertThatThrownBy(() -> idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> {
+                throw new AssertionError("must not run without deduplication");
+            })).isInstanceOf(IdempotencyStoreUnavailableException.class);
+        }
+
+        @Test
+        @DisplayName("Should mark the key as processed when the response cannot be stored")
+        void execute_responseStoreFails_shouldMarkKeyProcessed() {
+            givenKeyAcquired();
+            willThrow(new RedisConnectionFailureException("down")).given(valueOperations)
+                    .set(eq(REDIS_KEY), argThat(json -> json.contains("\"response\":\"")), eq(Duration.ofHours(24)));
+
+            SaleResponse result = idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> saleResponse());
+
+            assertThat(result.getId()).isEqualTo(saleResponse().getId());
+            then(valueOperations).should().set(eq(REDIS_KEY),
+                    argThat(json -> json.contains("\"completed\":true") && json.contains("\"response\":null")),
+                    eq(Duration.ofHours(24)));
+            then(redisTemplate).should(never()).delete(REDIS_KEY);
+        }
+
+        @Test
+        @DisplayName("Should not run a retry again when the original response could not be stored")
+        void execute_processedWithoutResponse_shouldConflict() throws Exception {
+            given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(false);
+            given(valueOperations.get(REDIS_KEY)).willReturn(objectMapper.writeValueAsString(
+                    IdempotencyRecord.builder().completed(true).fingerprint(fingerprint(request)).build()));
+
+            assertThatThrownBy(() -> idempotencyService.execute("sales", "pos-1-0001", request, SaleResponse.class, () -> {
+                throw new AssertionError("duplicate must not run");
+            }))
+                    .isInstanceOf(IdempotencyConflictException.class)
+                    .hasMessageContaining("already processed");
+        }
+    }
+
+    private String inProgressRecord(SaleRequest payload) throws Exception {
+        return objectMapper.writeValueAsString(IdempotencyRecord.builder().fingerprint(fingerprint(payload)).owner("other").build());
+    }
+
+    private String completedRecord(SaleRequest payload) throws Exception {
+        return objectMapper.writeValueAsString(IdempotencyRecord.builder()
+                .completed(true)
+                .fingerprint(fingerprint(payload))
+                .response(objectMapper.writeValueAsString(saleResponse()))
+                .build());
+    }
+
+    private String fingerprint(Object payload) throws Exception {
+        return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsString(payload).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,14 +1,19 @@
 package com.supermarket.supermarket.unit.service;
 
 import com.supermarket.supermarket.dto.inventory.LowStockAlertResponse;
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
 import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.exception.InvalidOperationException;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.lock.BranchStockLocks;
 import com.supermarket.supermarket.model.branch.Branch;
 import com.supermarket.supermarket.model.branch.BranchInventory;
 import com.supermarket.supermarket.model.product.Product;
 import com.supermarket.supermarket.model.sale.SaleDetail;
 import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.service.business.InventoryReservationMode;
 import com.supermarket.supermarket.service.business.impl.InventoryServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,10 +23,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -29,6 +37,7 @@ import static com.supermarket.supermarket.fixtures.branch.BranchFixtures.default
 import static com.supermarket.supermarket.fixtures.product.ProductFixtures.defaultProduct;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
@@ -39,6 +48,8 @@ import static org.mockito.Mockito.verify;
 class InventoryServiceTest {
     @Mock
     private BranchInventoryRepository branchInventoryRepository;
+    @Mock
+    private BranchStockLocks branchStockLocks;
     @InjectMocks
     private InventoryServiceImpl inventoryService;
     private Branch branch;
@@ -102,21 +113,47 @@ class InventoryServiceTest {
         }
 
         @Test
-        @DisplayName("getLowStockGlobal - should return list of low stock items globally")
+        @DisplayName("getLowStockGlobal - should return the first cursor page of low stock items globally")
         void getLowStockGlobal_ShouldReturnList() {
             BranchInventory lowStockItem = BranchInventory.builder()
+                    .id(7L)
                     .branch(branch)
                     .product(product)
                     .stock(2)
                     .minStock(5)
                     .build();
-            given(branchInventoryRepository.findLowStockGlobal())
+            given(branchInventoryRepository.findLowStockGlobalAfter(0L, Limit.of(CursorPage.DEFAULT_SIZE + 1)))
                     .willReturn(List.of(lowStockItem));
-            List<LowStockAlertResponse> result = inventoryService.getLowStockGlobal();
-            assertThat(result).hasSize(1);
-            LowStockAlertResponse alert = result.get(0);
+            CursorPage<LowStockAlertResponse> result = inventoryService.getLowStockGlobal(null, null);
+            assertThat(result.getItems()).hasSize(1);
+            assertThat(result.isHasNext()).isFalse();
+            assertThat(result.getNextCursor()).isNull();
+            LowStockAlertResponse alert = result.getItems().get(0);
             assertThat(alert.getCurrentStock()).isEqualTo(2);
         }
+
+        @Test
+        @DisplayName("getLowStockGlobal - should resume after the cursor and report the next one")
+        void getLowStockGlobal_WithCursor_ShouldSeekPastIt() {
+            List<BranchInventory> rows = List.of(
+                    BranchInventory.builder().id(11L).branch(branch).product(product).stock(1).minStock(5).build(),
+                    BranchInventory.builder().id(12L).branch(branch).product(product).stock(2).minStock(5).build(),
+                    BranchInventory.builder().id(13L).branch(branch).product(product).stock(3).minStock(5).build());
+            given(branchInventoryRepository.findLowStockGlobalAfter(10L, Limit.of(3))).willReturn(rows);
+
+            CursorPage<LowStockAlertResponse> result = inventoryService.getLowStockGlobal("10", 2);
+
+            assertThat(result.getItems()).extracting(LowStockAlertResponse::getCurrentStock).containsExactly(1, 2);
+            assertThat(result.isHasNext()).isTrue();
+            assertThat(result.getNextCursor()).isEqualTo("12");
+        }
+
+        @Test
+        @DisplayName("getLowStockGlobal - should reject a malformed cursor")
+        void getLowStockGlobal_WithInvalidCursor_ShouldThrow() {
+            assertThatThrownBy(() -> inventoryService.getLowStockGlobal("abc", null))
+                    .isInstanceOf(InvalidOperationException.class);
+        }
     }
 
     @Nested
@@ -186,10 +223,12 @@ class InventoryServiceTest {
                     .id(101L).branch(branch).product(product2).stock(10).minStock(5).build();
             given(branchInventoryRepository.findByBranchIdAndProductIdIn(1L, Set.of(1L, 2L)))
                     .willReturn(List.of(inv1, inv2));
-            inventoryService.validateAndReduceStockBatch(1L, detailRequests);
+            List<StockLevel> levels = inventoryService.validateAndReduceStockBatch(1L, detailRequests);
             assertThat(inv1.getStock()).isEqualTo(15);
             assertThat(inv2.getStock()).isEqualTo(7);
             verify(branchInventoryRepository).saveAll(List.of(inv1, inv2));
+            assertThat(levels).extracting(StockLevel::getProductId, StockLevel::getStock, StockLevel::getMinStock)
+                    .containsExactly(tuple(1L, 15, 5), tuple(2L, 7, 5));
         }
 
         @Test
@@ -275,6 +314,82 @@ class InventoryServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Atomic reservation mode")
+    class AtomicReservation {
+        @BeforeEach
+        void enableAtomicMode() {
+            ReflectionTestUtils.setField(inventoryService, "reservationMode", InventoryReservationMode.ATOMIC);
+        }
+
+        @Test
+        @DisplayName("validateAndReduceStockBatch - should issue guarded decrements without loading rows")
+        void validateAndReduceStockBatch_Success() {
+            List<SaleDetailRequest> requests = List.of(
+                    SaleDetailRequest.builder().productId(1L).quantity(5).build(),
+                    SaleDetailRequest.builder().productId(2L).quantity(3).build(),
+                    SaleDetailRequest.builder().productId(1L).quantity(2).build()
+            );
+            given(branchInventoryRepository.decrementStockIfAvailable(1L, Map.of(1L, 7, 2L, 3)))
+                    .willReturn(List.of());
+            given(branchInventoryRepository.findStockLevels(1L, Set.of(1L, 2L)))
+                    .willReturn(List.of(new StockLevel(1L, 43, 5), new StockLevel(2L, 4, 5)));
+            List<StockLevel> levels = inventoryService.validateAndReduceStockBatch(1L, requests);
+            assertThat(levels).filteredOn(StockLevel::isLow).extracting(StockLevel::getProductId).containsExactly(2L);
+            then(branchInventoryRepository).should(never()).findByBranchIdAndProductIdIn(any(), any());
+            then(branchInventoryRepository).should(never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("validateAndReduceStockBatch - should report insufficient stock from rejected lines")
+        void validateAndReduceStockBatch_InsufficientStock() {
+            List<SaleDetailRequest> requests = List.of(
+                    SaleDetailRequest.builder().productId(1L).quantity(60).build()
+            );
+            given(branchInventoryRepository.decrementStockIfAvailable(1L, Map.of(1L, 60)))
+                    .willReturn(List.of(1L));
+            given(branchInventoryRepository.findByBranchIdAndProductIdIn(1L, Set.of(1L)))
+                    .willReturn(List.of(inventory));
+            assertThatThrownBy(() -> inventoryService.validateAndReduceStockBatch(1L, requests))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("Available: 50, required: 60");
+        }
+
+        @Test
+        @DisplayName("validateAndReduceStockBatch - should report missing inventory rows as not found")
+        void validateAndReduceStockBatch_MissingProduct() {
+            List<SaleDetailRequest> requests = List.of(
+                    SaleDetailRequest.builder().productId(99L).quantity(1).build()
+            );
+            given(branchInventoryRepository.decrementStockIfAvailable(1L, Map.of(99L, 1)))
+                    .willReturn(List.of(99L));
+            given(branchInventoryRepository.findByBranchIdAndProductIdIn(1L, Set.of(99L)))
+                    .willReturn(List.of());
+            assertThatThrownBy(() -> inventoryService.validateAndReduceStockBatch(1L, requests))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("do not exist in branch");
+        }
+
+        @Test
+        @DisplayName("validateAndReduceStock - should use a single guarded decrement")
+        void validateAndReduceStock_Success() {
+            given(branchInventoryRepository.decrementStockIfAvailable(1L, Map.of(1L, 10)))
+                    .willReturn(List.of());
+            inventoryService.validateAndReduceStock(1L, 1L, 10);
+            then(branchInventoryRepository).should(never()).save(any());
+        }
+
+        @Test
+        @DisplayName("reserveStock - should lock the branch and return the rejected products")
+        void reserveStock_ShouldReturnRejected() {
+            given(branchInventoryRepository.decrementStockIfAvailable(1L, Map.of(1L, 10, 2L, 3)))
+                    .willReturn(List.of(2L));
+            List<Long> rejected = inventoryService.reserveStock(1L, Map.of(1L, 10, 2L, 3));
+            assertThat(rejected).containsExactly(2L);
+            then(branchStockLocks).should().lockBranches(1L);
+        }
+    }
+
     @Nested
     @DisplayName("Concurrency (Optimistic Locking)")
     class Concurrency {
@@ -0,0 +1,111 @@
+package com.supermarket.supermarket.unit.service;
+
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.saleDetail.SaleDetailRequest;
+import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.ledger.StockLedger;
+import com.supermarket.supermarket.lock.BranchStockLocks;
+import com.supermarket.supermarket.repository.BranchInventoryRepository;
+import com.supermarket.supermarket.service.business.impl.LedgerInventoryServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerInventoryServiceTest {
+    @Mock
+    private StockLedger stockLedger;
+    @Mock
+    private BranchInventoryRepository branchInventoryRepository;
+    @Mock
+    private BranchStockLocks branchStockLocks;
+    @InjectMocks
+    private LedgerInventoryServiceImpl inventoryService;
+
+    @Nested
+    @DisplayName("Single stock operations")
+    class SingleStockOperations {
+        @Test
+        @DisplayName("validateAndReduceStock - should reserve in the ledger without touching the database")
+        void validateAndReduceStock_ShouldReserveInLedger() {
+            given(stockLedger.find(1L, 1L)).willReturn(Optional.of(new StockLevel(1L, 50, 5)));
+            given(stockLedger.reserve(1L, Map.of(1L, 10))).willReturn(List.of());
+
+            inventoryService.validateAndReduceStock(1L, 1L, 10);
+
+            then(stockLedger).should().reserve(1L, Map.of(1L, 10));
+            then(branchInventoryRepository).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("validateAndReduceStock - should throw when the ledger rejects the reservation")
+        void validateAndReduceStock_WhenRejected_ShouldThrow() {
+            given(stockLedger.find(1L, 1L)).willReturn(Optional.of(new StockLevel(1L, 3, 5)));
+            given(stockLedger.reserve(1L, Map.of(1L, 10))).willReturn(List.of(1L));
+
+            assertThatThrownBy(() -> inventoryService.validateAndReduceStock(1L, 1L, 10))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("Available: 3, required: 10");
+        }
+
+        @Test
+        @DisplayName("increaseStock - should throw when the product is not stocked in the branch")
+        void increaseStock_WhenUntracked_ShouldThrow() {
+            given(stockLedger.find(1L, 99L)).willReturn(Optional.empty());
+
+            assertThatThrownBy(() -> inventoryService.increaseStock(1L, 99L, 5))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("Product 99 not found in branch 1");
+            then(stockLedger).should(never()).add(any(), anyMap());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch operations")
+    class BatchOperations {
+        @Test
+        @DisplayName("validateAndReduceStockBatch - should reserve aggregated quantities and return ledger levels")
+        void validateAndReduceStockBatch_ShouldReturnLedgerLevels() {
+            given(stockLedger.find(1L, 1L)).willReturn(Optional.of(new StockLevel(1L, 50, 5)));
+            given(stockLedger.reserve(1L, Map.of(1L, 7))).willReturn(List.of());
+            given(stockLedger.levels(1L, Set.of(1L))).willReturn(List.of(new StockLevel(1L, 43, 5)));
+
+            List<StockLevel> levels = inventoryService.validateAndReduceStockBatch(1L, List.of(
+                    SaleDetailRequest.builder().productId(1L).quantity(3).build(),
+                    SaleDetailRequest.builder().productId(1L).quantity(4).build()));
+
+            assertThat(levels).extracting(StockLevel::getStock).containsExactly(43);
+        }
+
+        @Test
+        @DisplayName("getLowStockGlobal - should flush pending deltas before querying")
+        void getLowStockGlobal_ShouldFlushFirst() {
+            given(branchInventoryRepository.findLowStockGlobalAfter(0L, Limit.of(CursorPage.DEFAULT_SIZE + 1)))
+                    .willReturn(List.of());
+
+            inventoryService.getLowStockGlobal(null, null);
+
+            then(stockLedger).should().flush();
+        }
+    }
+}
@@ -3,161 +3,141 @@ package com.supermarket.supermarket.unit.service;
 import com.supermarket.supermarket.fixtures.cashregister.CashRegisterFixtures;
 import com.supermarket.supermarket.fixtures.sale.SaleFixtures;
 import com.supermarket.supermarket.fixtures.transfer.TransferFixtures;
-import com.supermarket.supermarket.fixtures.user.UserFixtures;
 import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.notification.NotificationAudience;
+import com.supermarket.supermarket.model.notification.NotificationOutbox;
 import com.supermarket.supermarket.model.notification.NotificationType;
+import com.supermarket.supermarket.model.notification.OutboxStatus;
 import com.supermarket.supermarket.model.sale.Sale;
 import com.supermarket.supermarket.model.sale.SaleStatus;
 import com.supermarket.supermarket.model.transfer.StockTransfer;
 import com.supermarket.supermarket.model.transfer.TransferStatus;
-import com.supermarket.supermarket.model.user.User;
-import com.supermarket.supermarket.model.user.UserRole;
-import com.supermarket.supermarket.repository.UserRepository;
-import com.supermarket.supermarket.service.business.NotificationService;
+import com.supermarket.supermarket.repository.NotificationOutboxRepository;
 import com.supermarket.supermarket.service.business.impl.NotificationEventServiceImpl;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
-import java.util.List;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isNull;
-import static org.mockito.BDDMockito.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.then;
-import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationEventServiceTest {
     @Mock
-    private NotificationService notificationService;
-    @Mock
-    private UserRepository userRepository;
+    private NotificationOutboxRepository outboxRepository;
     @InjectMocks
     private NotificationEventServiceImpl notificationEventService;
 
-    @Test
-    @DisplayName("onLowStock - should notify admins and managers")
-    void onLowStock_ShouldNotifyManagers() {
-        List<User> managers = List.of(UserFixtures.defaultAdmin(), UserFixtures.defaultManager());
-        given(userRepository.findByRoleIn(List.of(UserRole.ADMIN, UserRole.MANAGER)))
-                .willReturn(managers);
+    private NotificationOutbox capturedEvent() {
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        then(outboxRepository).should().save(captor.capture());
+        NotificationOutbox event = captor.getValue();
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(event.getAttempts()).isZero();
+        assertThat(event.getNextAttemptAt()).isNotNull();
+        return event;
+    }
 
+    @Test
+    @DisplayName("onLowStock - should queue an event for admins and managers")
+    void onLowStock_ShouldQueueManagerEvent() {
         notificationEventService.onLowStock("Central Branch", "Rice", 3, 10);
 
-        then(notificationService).should().createNotificationForUsers(
-                eq(managers),
-                eq(NotificationType.LOW_STOCK),
-                argThat(msg -> msg.contains("Rice") && msg.contains("Central Branch") && msg.contains("3")),
-                isNull());
+        NotificationOutbox event = capturedEvent();
+        assertThat(event.getAudience()).isEqualTo(NotificationAudience.MANAGERS);
+        assertThat(event.getRecipientId()).isNull();
+        assertThat(event.getType()).isEqualTo(NotificationType.LOW_STOCK);
+        assertThat(event.getMessage()).contains("Rice", "Central Branch", "3");
     }
 
     @Test
-    @DisplayName("onTransferRequested - should notify admins and managers")
-    void onTransferRequested_ShouldNotifyManagers() {
-        List<User> managers = List.of(UserFixtures.defaultAdmin(), UserFixtures.defaultManager());
-        given(userRepository.findByRoleIn(List.of(UserRole.ADMIN, UserRole.MANAGER)))
-                .willReturn(managers);
+    @DisplayName("onTransferRequested - should queue an event for admins and managers")
+    void onTransferRequested_ShouldQueueManagerEvent() {
         StockTransfer transfer = TransferFixtures.pendingTransfer();
 
         notificationEventService.onTransferRequested(transfer);
 
-        then(notificationService).should().createNotificationForUsers(
-                eq(managers),
-                eq(NotificationType.TRANSFER_REQUESTED),
-                argThat(msg -> msg.contains("Premium Rice")),
-                isNull());
+        NotificationOutbox event = capturedEvent();
+        assertThat(event.getAudience()).isEqualTo(NotificationAudience.MANAGERS);
+        assertThat(event.getType()).isEqualTo(NotificationType.TRANSFER_REQUESTED);
+        assertThat(event.getMessage()).contains("Premium Rice");
     }
 
     @Test
-    @DisplayName("onTransferApproved - should notify requester only")
-    void onTransferApproved_ShouldNotifyRequester() {
+    @DisplayName("onTransferApproved - should queue an event for the requester only")
+    void onTransferApproved_ShouldQueueRequesterEvent() {
         StockTransfer transfer = TransferFixtures.approvedTransfer();
 
         notificationEventService.onTransferApproved(transfer);
 
-        then(notificationService).should().createNotification(
-                eq(transfer.getRequestedBy()),
-                eq(NotificationType.TRANSFER_APPROVED),
-                argThat(msg -> msg.contains("approved")),
-                isNull());
-        then(notificationService).should(never()).createNotificationForUsers(any(), any(), any(), any());
+        NotificationOutbox event = capturedEvent();
+        assertThat(event.getAudience()).isEqualTo(NotificationAudience.USER);
+        assertThat(event.getRecipientId()).isEqualTo(transfer.getRequestedBy().getId());
+        assertThat(event.getType()).isEqualTo(NotificationType.TRANSFER_APPROVED);
+        assertThat(event.getMessage()).contains("approved");
     }
 
     @Test
-    @DisplayName("onTransferRejected - should notify requester with reason")
-    void onTransferRejected_ShouldNotifyRequesterWithReason() {
+    @DisplayName("onTransferRejected - should queue an event for the requester with reason")
+    void onTransferRejected_ShouldQueueRequesterEventWithReason() {
         StockTransfer transfer = TransferFixtures.pendingTransfer();
         transfer.setStatus(TransferStatus.REJECTED);
         transfer.setRejectionReason("Not enough demand");
 
         notificationEventService.onTransferRejected(transfer);
 
-        then(notificationService).should().createNotification(
-                eq(transfer.getRequestedBy()),
-                eq(NotificationType.TRANSFER_REJECTED),
-                argThat(msg -> msg.contains("rejected") && msg.contains("Not enough demand")),
-                isNull());
+        NotificationOutbox event = capturedEvent();
+        assertThat(event.getAudience()).isEqualTo(NotificationAudience.USER);
+        assertThat(event.getRecipientId()).isEqualTo(transfer.getRequestedBy().getId());
+        assertThat(event.getType()).isEqualTo(NotificationType.TRANSFER_REJECTED);
+        assertThat(event.getMessage()).contains("rejected", "Not enough demand");
     }
 
     @Test
-    @DisplayName("onTransferCompleted - should notify admins and managers")
-    void onTransferCompleted_ShouldNotifyManagers() {
-        List<User> managers = List.of(UserFixtures.defaultAdmin(), UserFixtures.defaultManager());
-        given(userRepository.findByRoleIn(List.of(UserRole.ADMIN, UserRole.MANAGER)))
-                .willReturn(managers);
+    @DisplayName("onTransferCompleted - should queue an event for admins and managers")
+    void onTransferCompleted_ShouldQueueManagerEvent() {
         StockTransfer transfer = TransferFixtures.approvedTransfer();
         transfer.setStatus(TransferStatus.COMPLETED);
 
         notificationEventService.onTransferCompleted(transfer);
 
-        then(notificationService).should().createNotificationForUsers(
-                eq(managers),
-                eq(NotificationType.TRANSFER_COMPLETED),
-                argThat(msg -> msg.contains("completed")),
-                isNull());
+        NotificationOutbox event = capturedEvent();
+        assertThat(event.getAudience()).isEqualTo(NotificationAudience.MANAGERS);
+        assertThat(event.getType()).isEqualTo(NotificationType.TRANSFER_COMPLETED);
+        assertThat(event.getMessage()).contains("completed");
     }
 
     @Test
-    @DisplayName("onCashRegisterDiscrepancy - should notify admins and managers")
-    void onCashRegisterDiscrepancy_ShouldNotifyManagers() {
-        List<User> managers = List.of(UserFixtures.defaultAdmin(), UserFixtures.defaultManager());
-        given(userRepository.findByRoleIn(List.of(UserRole.ADMIN, UserRole.MANAGER)))
-                .willReturn(managers);
+    @DisplayName("onCashRegisterDiscrepancy - should queue an event for admins and managers")
+    void onCashRegisterDiscrepancy_ShouldQueueManagerEvent() {
         CashRegister register = CashRegisterFixtures.closedRegister();
-        BigDecimal variance = new BigDecimal("-50.00");
 
-        notificationEventService.onCashRegisterDiscrepancy(register, variance);
+        notificationEventService.onCashRegisterDiscrepancy(register, new BigDecimal("-50.00"));
 
-        then(notificationService).should().createNotificationForUsers(
-                eq(managers),
-                eq(NotificationType.CASH_REGISTER_DISCREPANCY),
-                argThat(msg -> msg.contains("discrepancy")),
-                isNull());
+        NotificationOutbox event = capturedEvent();
+        assertThat(event.getAudience()).isEqualTo(NotificationAudience.MANAGERS);
+        assertThat(event.getType()).isEqualTo(NotificationType.CASH_REGISTER_DISCREPANCY);
+        assertThat(event.getMessage()).contains("discrepancy");
     }
 
     @Test
-    @DisplayName("onSaleCancelled - should notify admins and managers")
-    void onSaleCancelled_ShouldNotifyManagers() {
-        List<User> managers = List.of(UserFixtures.defaultAdmin(), UserFixtures.defaultManager());
-        given(userRepository.findByRoleIn(List.of(UserRole.ADMIN, UserRole.MANAGER)))
-                .willReturn(managers);
+    @DisplayName("onSaleCancelled - should queue an event for admins and managers")
+    void onSaleCancelled_ShouldQueueManagerEvent() {
         Sale sale = SaleFixtures.saleWithDetails();
         sale.setStatus(SaleStatus.CANCELLED);
         sale.setCancellationReason("Customer changed mind");
 
         notificationEventService.onSaleCancelled(sale);
 
-        then(notificationService).should().createNotificationForUsers(
-                eq(managers),
-                eq(NotificationType.SALE_CANCELLED),
-                argThat(msg -> msg.contains("cancelled") && msg.contains("Customer changed mind")),
-                isNull());
+        NotificationOutbox event = capturedEvent();
+        assertThat(event.getAudience()).isEqualTo(NotificationAudience.MANAGERS);
+        assertThat(event.getType()).isEqualTo(NotificationType.SALE_CANCELLED);
+        assertThat(event.getMessage()).contains("cancelled", "Customer changed mind");
     }
-}
\ No newline at end of file
+}
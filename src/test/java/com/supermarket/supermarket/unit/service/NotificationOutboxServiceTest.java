@@ -0,0 +1,252 @@
+package com.supermarket.supermarket.unit.service;
+
+import com.supermarket.supermarket.dto.user.NotificationRecipient;
+import com.supermarket.supermarket.fixtures.user.UserFixtures;
+import com.supermarket.supermarket.model.notification.NotificationAudience;
+import com.supermarket.supermarket.model.notification.NotificationOutbox;
+import com.supermarket.supermarket.model.notification.NotificationType;
+import com.supermarket.supermarket.model.notification.OutboxStatus;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.NotificationOutboxRepository;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.service.business.NotificationService;
+import com.supermarket.supermarket.service.business.RecipientDirectory;
+import com.supermarket.supermarket.service.business.impl.NotificationOutboxServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxServiceTest {
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private RecipientDirectory recipientDirectory;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private NotificationOutboxServiceImpl outboxService;
+    private List<User> managers;
+
+    @BeforeEach
+    void setUp() {
+        managers = List.of(UserFixtures.defaultAdmin(), UserFixtures.defaultManager());
+    }
+
+    private void givenManagersInDirectory() {
+        given(recipientDirectory.findByRoles(List.of(UserRole.ADMIN, UserRole.MANAGER))).willReturn(managers.stream()
+                .map(user -> new NotificationRecipient(user.getId(), user.getEmail()))
+                .toList());
+        managers.forEach(user -> given(userRepository.getReferenceById(user.getId())).willReturn(user));
+    }
+
+    private NotificationOutbox managerEvent(long id, String message) {
+        return NotificationOutbox.builder()
+                .id(id)
+                .audience(NotificationAudience.MANAGERS)
+                .type(NotificationType.LOW_STOCK)
+                .message(message)
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+
+    private void failDeliveryOf(String message, String error) {
+        willAnswer(invocation -> {
+            if (message.equals(invocation.getArgument(2))) {
+                throw new DataAccessResourceFailureException(error);
+            }
+            return null;
+        }).given(notificationService).createNotificationForUsers(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should deliver a batch resolving managers once and mark events dispatched")
+    void dispatchPending_shouldDeliverBatch() {
+        NotificationOutbox first = managerEvent(1L, "first");
+        NotificationOutbox second = managerEvent(2L, "second");
+        NotificationOutbox personal = NotificationOutbox.builder()
+                .id(3L)
+                .audience(NotificationAudience.USER)
+                .recipientId(1L)
+                .type(NotificationType.TRANSFER_APPROVED)
+                .message("approved")
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+        User cashier = UserFixtures.defaultCashier();
+        given(outboxRepository.findLockedReadyInRecipientOrder(eq(OutboxStatus.PENDING), any(), any()))
+                .willReturn(List.of(first, second, personal));
+        givenManagersInDirectory();
+        given(userRepository.findAllById(Set.of(1L))).willReturn(List.of(cashier));
+
+        int dispatched = outboxService.dispatchPending();
+
+        assertThat(dispatched).isEqualTo(3);
+        then(recipientDirectory).should(times(1)).findByRoles(any());
+        then(notificationService).should().createNotificationForUsers(managers, NotificationType.LOW_STOCK, "first", null);
+        then(notificationService).should().createNotificationForUsers(managers, NotificationType.LOW_STOCK, "second", null);
+        then(notificationService).should().createNotificationForUsers(List.of(cashier), NotificationType.TRANSFER_APPROVED, "approved", null);
+        assertThat(List.of(first, second, personal))
+                .allSatisfy(event -> {
+                    assertThat(event.getStatus()).isEqualTo(OutboxStatus.DISPATCHED);
+                    assertThat(event.getDispatchedAt()).isNotNull();
+                });
+    }
+
+    @Test
+    @DisplayName("Should hold back later events of a failing recipient, keep delivering other recipients, and schedule a retry")
+    void dispatchPending_whenEventFails_shouldBlockItsRecipientAndBackOff() {
+        NotificationOutbox first = managerEvent(1L, "first");
+        NotificationOutbox failing = managerEvent(2L, "failing");
+        NotificationOutbox third = managerEvent(3L, "third");
+        NotificationOutbox personal = NotificationOutbox.builder()
+                .id(4L)
+                .audience(NotificationAudience.USER)
+                .recipientId(1L)
+                .type(NotificationType.TRANSFER_APPROVED)
+                .message("approved")
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+        User cashier = UserFixtures.defaultCashier();
+        given(outboxRepository.findLockedReadyInRecipientOrder(eq(OutboxStatus.PENDING), any(), any()))
+                .willReturn(List.of(managerEvent(1L, "first"), failing, third, personal));
+        given(outboxRepository.findLockedById(1L)).willReturn(Optional.of(first));
+        given(outboxRepository.findLockedById(2L)).willReturn(Optional.of(failing));
+        given(outboxRepository.findLockedById(4L)).willReturn(Optional.of(personal));
+        givenManagersInDirectory();
+        given(userRepository.findAllById(Set.of(1L))).willReturn(List.of(cashier));
+        failDeliveryOf("failing", "database unavailable");
+
+        int dispatched = outboxService.dispatchPending();
+
+        assertThat(dispatched).isEqualTo(2);
+        assertThat(first.getStatus()).isEqualTo(OutboxStatus.DISPATCHED);
+        assertThat(personal.getStatus()).isEqualTo(OutboxStatus.DISPATCHED);
+        assertThat(third.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        then(notificationService).should(never()).createNotificationForUsers(any(), any(), eq("third"), any());
+        assertThat(failing.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(failing.getAttempts()).isEqualTo(1);
+        assertThat(failing.getLastError()).contains("database unavailable");
+        assertThat(failing.getNextAttemptAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should mark an event failed after the last attempt and move past it")
+    void dispatchPending_whenAttemptsExhausted_shouldMarkFailed() {
+        NotificationOutbox failing = managerEvent(1L, "failing");
+        failing.setAttempts(4);
+        NotificationOutbox next = managerEvent(2L, "next");
+        given(outboxRepository.findLockedReadyInRecipientOrder(eq(OutboxStatus.PENDING), any(), any()))
+                .willReturn(List.of(failing, next));
+        given(outboxRepository.findLockedById(1L)).willReturn(Optional.of(failing));
+        given(outboxRepository.findLockedById(2L)).willReturn(Optional.of(next));
+        givenManagersInDirectory();
+        failDeliveryOf("failing", "boom");
+
+        int dispatched = outboxService.dispatchPending();
+
+        assertThat(dispatched).isEqualTo(1);
+        assertThat(failing.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(next.getStatus()).isEqualTo(OutboxStatus.DISPATCHED);
+    }
+
+    @Test
+    @DisplayName("Should skip an event another dispatcher already delivered when retrying one by one")
+    void dispatchPending_whenEventAlreadyDispatched_shouldSkipIt() {
+        NotificationOutbox failing = managerEvent(1L, "failing");
+        NotificationOutbox delivered = managerEvent(2L, "delivered elsewhere");
+        NotificationOutbox claimedElsewhere = managerEvent(2L, "delivered elsewhere");
+        claimedElsewhere.setStatus(OutboxStatus.DISPATCHED);
+        claimedElsewhere.setAttempts(1);
+        given(outboxRepository.findLockedReadyInRecipientOrder(eq(OutboxStatus.PENDING), any(), any()))
+                .willReturn(List.of(delivered, failing));
+        given(outboxRepository.findLockedById(1L)).willReturn(Optional.of(failing));
+        given(outboxRepository.findLockedById(2L)).willReturn(Optional.of(claimedElsewhere));
+        givenManagersInDirectory();
+        failDeliveryOf("failing", "boom");
+
+        int dispatched = outboxService.dispatchPending();
+
+        assertThat(dispatched).isZero();
+        assertThat(claimedElsewhere.getStatus()).isEqualTo(OutboxStatus.DISPATCHED);
+        assertThat(claimedElsewhere.getAttempts()).isEqualTo(1);
+        then(notificationService).should(times(1))
+                .createNotificationForUsers(any(), any(), eq("delivered elsewhere"), any());
+    }
+
+    @Test
+    @DisplayName("Should not count an optimistic locking conflict as a delivery attempt")
+    void dispatchPending_whenEventUpdatedConcurrently_shouldNotRecordFailure() {
+        NotificationOutbox conflicting = managerEvent(1L, "conflicting");
+        given(outboxRepository.findLockedReadyInRecipientOrder(eq(OutboxStatus.PENDING), any(), any()))
+                .willReturn(List.of(conflicting));
+        given(outboxRepository.findLockedById(1L)).willReturn(Optional.of(conflicting));
+        givenManagersInDirectory();
+        willAnswer(invocation -> {
+            throw new ObjectOptimisticLockingFailureException(NotificationOutbox.class, 1L);
+        }).given(notificationService).createNotificationForUsers(any(), any(), any(), any());
+
+        int dispatched = outboxService.dispatchPending();
+
+        assertThat(dispatched).isZero();
+        assertThat(conflicting.getAttempts()).isZero();
+        assertThat(conflicting.getLastError()).isNull();
+        then(outboxRepository).should(times(1)).findLockedById(1L);
+    }
+
+    @Test
+    @DisplayName("Should only fetch ready events that no earlier backing-off event of their recipient holds back")
+    void dispatchPending_shouldFetchReadyEventsInRecipientOrder() {
+        LocalDateTime before = LocalDateTime.now();
+        given(outboxRepository.findLockedReadyInRecipientOrder(eq(OutboxStatus.PENDING), any(), any()))
+                .willReturn(List.of());
+
+        int dispatched = outboxService.dispatchPending();
+
+        assertThat(dispatched).isZero();
+        then(outboxRepository).should().findLockedReadyInRecipientOrder(
+                eq(OutboxStatus.PENDING), argThat(now -> !now.isBefore(before)), any());
+        then(notificationService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should serve the pending gauge from the dispatcher instead of counting on every read")
+    void countPending_shouldReuseValueRefreshedByDispatcher() {
+        given(outboxRepository.findLockedReadyInRecipientOrder(eq(OutboxStatus.PENDING), any(), any()))
+                .willReturn(List.of());
+        given(outboxRepository.countByStatus(OutboxStatus.PENDING)).willReturn(7L);
+
+        outboxService.dispatchPending();
+        outboxService.dispatchPending();
+
+        assertThat(outboxService.countPending()).isEqualTo(7L);
+        assertThat(outboxService.countPending()).isEqualTo(7L);
+        then(outboxRepository).should(times(1)).countByStatus(OutboxStatus.PENDING);
+    }
+}
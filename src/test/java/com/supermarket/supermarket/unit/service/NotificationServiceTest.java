@@ -1,6 +1,8 @@
 package com.supermarket.supermarket.unit.service;
 
 import com.supermarket.supermarket.dto.notification.NotificationResponse;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.pagination.KeysetCursor;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
 import com.supermarket.supermarket.fixtures.user.UserFixtures;
 import com.supermarket.supermarket.mapper.NotificationMapper;
@@ -17,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -124,21 +127,38 @@ class NotificationServiceTest {
     }
 
     @Test
-    @DisplayName("getAllNotifications - should return all notifications for current user")
+    @DisplayName("getAllNotifications - should return a cursor page of the current user's notifications")
     void getAllNotifications_ShouldReturnAll() {
         given(securityUtils.getCurrentUser()).willReturn(mockUser);
-        Notification n1 = Notification.builder().id(1L).user(mockUser)
+        LocalDateTime cursorAt = LocalDateTime.of(2025, 5, 10, 9, 0);
+        Notification n1 = Notification.builder().id(1L).user(mockUser).createdAt(cursorAt.minusHours(2))
                 .type(NotificationType.LOW_STOCK).message("msg1").read(false).build();
-        Notification n2 = Notification.builder().id(2L).user(mockUser)
+        Notification n2 = Notification.builder().id(2L).user(mockUser).createdAt(cursorAt.minusHours(1))
                 .type(NotificationType.SALE_CANCELLED).message("msg2").read(true).build();
-        given(notificationRepository.findByUserIdOrderByCreatedAtDesc(mockUser.getId()))
-                .willReturn(List.of(n1, n2));
-        given(notificationMapper.toResponseList(List.of(n1, n2)))
-                .willReturn(List.of(
-                        NotificationResponse.builder().id(1L).read(false).build(),
-                        NotificationResponse.builder().id(2L).read(true).build()));
-        List<NotificationResponse> result = notificationService.getAllNotifications();
-        assertThat(result).hasSize(2);
+        given(notificationRepository.findByUserIdPageBefore(mockUser.getId(), cursorAt, 5L, Limit.of(2)))
+                .willReturn(List.of(n2, n1));
+        given(notificationMapper.toResponse(n2))
+                .willReturn(NotificationResponse.builder().id(2L).read(true).build());
+        CursorPage<NotificationResponse> result = notificationService.getAllNotifications(
+                KeysetCursor.encode(cursorAt, 5L), 1, false);
+        assertThat(result.getItems()).extracting(NotificationResponse::getId).containsExactly(2L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo(KeysetCursor.encode(n2.getCreatedAt(), 2L));
+        assertThat(result.getTotal()).isNull();
+        then(notificationRepository).should(never()).countByUserId(mockUser.getId());
+    }
+
+    @Test
+    @DisplayName("getAllNotifications - first page should start from the newest notification and count on demand")
+    void getAllNotifications_FirstPageWithCount_ShouldIncludeTotal() {
+        given(securityUtils.getCurrentUser()).willReturn(mockUser);
+        given(notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(mockUser.getId(), Limit.of(51)))
+                .willReturn(List.of());
+        given(notificationRepository.countByUserId(mockUser.getId())).willReturn(7L);
+        CursorPage<NotificationResponse> result = notificationService.getAllNotifications(null, null, true);
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getTotal()).isEqualTo(7L);
     }
 
     @Test
@@ -0,0 +1,231 @@
+package com.supermarket.supermarket.unit.service;
+
+import com.supermarket.supermarket.dto.product.ProductCatalogStats;
+import com.supermarket.supermarket.dto.product.ProductVersion;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.repository.ProductRepository;
+import com.supermarket.supermarket.service.business.ProductCatalog;
+import com.supermarket.supermarket.service.business.impl.ProductCatalogImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogTest {
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @InjectMocks
+    private ProductCatalogImpl productCatalog;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void receive(String body) {
+        productCatalog.onMessage(new DefaultMessage(ProductCatalog.INVALIDATION_CHANNEL.getBytes(), body.getBytes()), null);
+    }
+
+    private Product product(Long id, String price, Long version) {
+        return Product.builder().id(id).name("Product " + id).category("Food")
+                .price(new BigDecimal(price)).version(version).build();
+    }
+
+    @Nested
+    @DisplayName("Lookups")
+    class Lookups {
+        @Test
+        @DisplayName("Should load missing products once and serve them from memory afterwards")
+        void getProducts_shouldCacheLoadedProducts() {
+            given(productRepository.findAllById(List.of(1L, 2L)))
+                    .willReturn(List.of(product(1L, "2.50", 0L), product(2L, "4.00", 3L)));
+
+            productCatalog.getProducts(List.of(1L, 2L));
+            Map<Long, Product> products = productCatalog.getProducts(Set.of(1L, 2L));
+
+            assertThat(products).containsOnlyKeys(1L, 2L);
+            assertThat(products.get(2L).getPrice()).isEqualByComparingTo("4.00");
+            assertThat(products.get(2L).getVersion()).isEqualTo(3L);
+            then(productRepository).should(times(1)).findAllById(List.of(1L, 2L));
+            ProductCatalogStats stats = productCatalog.getStats();
+            assertThat(stats.getHits()).isEqualTo(2);
+            assertThat(stats.getMisses()).isEqualTo(2);
+            assertThat(stats.getSize()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should hand out independent copies so callers cannot mutate cached prices")
+        void getProducts_shouldReturnCopies() {
+            given(productRepository.findAllById(List.of(1L))).willReturn(List.of(product(1L, "2.50", 0L)));
+            productCatalog.getProducts(List.of(1L)).get(1L).setPrice(BigDecimal.ONE);
+
+            assertThat(productCatalog.getProducts(List.of(1L)).get(1L).getPrice()).isEqualByComparingTo("2.50");
+        }
+
+        @Test
+        @DisplayName("Should omit products that do not exist")
+        void getProducts_whenMissing_shouldOmit() {
+            given(productRepository.findAllById(List.of(99L))).willReturn(List.of());
+
+            assertThat(productCatalog.getProducts(List.of(99L))).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class Updates {
+        @Test
+        @DisplayName("Should apply a product change only after the transaction commits")
+        void refreshAfterCommit_shouldWaitForCommit() {
+            given(productRepository.findAllById(List.of(1L))).willReturn(List.of(product(1L, "2.50", 0L)));
+            productCatalog.getProducts(List.of(1L));
+            TransactionSynchronizationManager.initSynchronization();
+
+            productCatalog.refreshAfterCommit(product(1L, "3.10", 1L));
+            assertThat(productCatalog.getProducts(List.of(1L)).get(1L).getPrice()).isEqualByComparingTo("2.50");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(productCatalog.getProducts(List.of(1L)).get(1L).getPrice()).isEqualByComparingTo("3.10");
+        }
+
+        @Test
+        @DisplayName("Should ignore a snapshot older than the cached version")
+        void refreshAfterCommit_withOlderVersion_shouldKeepNewer() {
+            productCatalog.refreshAfterCommit(product(1L, "3.10", 2L));
+            productCatalog.refreshAfterCommit(product(1L, "2.50", 1L));
+
+            assertThat(productCatalog.getProducts(List.of(1L)).get(1L).getPrice()).isEqualByComparingTo("3.10");
+            then(productRepository).should(never()).findAllById(List.of(1L));
+        }
+
+        @Test
+        @DisplayName("Should drop a deleted product")
+        void evictAfterCommit_shouldRemoveProduct() {
+            productCatalog.refreshAfterCommit(product(1L, "3.10", 2L));
+
+            productCatalog.evictAfterCommit(1L);
+
+            assertThat(productCatalog.getStats().getSize()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Staleness")
+    class Staleness {
+        @Test
+        @DisplayName("Should evict entries whose version no longer matches the database")
+        void verify_shouldEvictStaleEntries() {
+            productCatalog.refreshAfterCommit(product(1L, "2.50", 0L));
+            productCatalog.refreshAfterCommit(product(2L, "4.00", 3L));
+            productCatalog.refreshAfterCommit(product(3L, "1.00", 1L));
+            given(productRepository.findAllVersions())
+                    .willReturn(List.of(new ProductVersion(1L, 0L), new ProductVersion(2L, 4L)));
+
+            int stale = productCatalog.verify();
+
+            ProductCatalogStats stats = productCatalog.getStats();
+            assertThat(stale).isEqualTo(2);
+            assertThat(stats.getSize()).isEqualTo(1);
+            assertThat(stats.getStaleEntries()).isEqualTo(2);
+            assertThat(stats.getStaleEntriesTotal()).isEqualTo(2);
+            assertThat(stats.getSecondsSinceVerification()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should replace the whole catalog on rebuild")
+        void rebuild_shouldReloadAllProducts() {
+            productCatalog.refreshAfterCommit(product(9L, "9.99", 0L));
+            given(productRepository.findAll()).willReturn(List.of(product(1L, "2.50", 0L), product(2L, "4.00", 3L)));
+
+            ProductCatalogStats stats = productCatalog.rebuild();
+
+            assertThat(stats.getSize()).isEqualTo(2);
+            assertThat(stats.getLastRebuiltAt()).isNotNull();
+            assertThat(productCatalog.getProducts(List.of(1L, 2L))).containsOnlyKeys(1L, 2L);
+            then(productRepository).should(never()).findAllById(List.of(1L, 2L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Other instances")
+    class OtherInstances {
+        @Test
+        @DisplayName("Should broadcast the product id and version once a change commits")
+        void refreshAfterCommit_shouldPublishVersion() {
+            productCatalog.refreshAfterCommit(product(1L, "3.10", 2L));
+            productCatalog.evictAfterCommit(5L);
+
+            then(redisTemplate).should().convertAndSend(ProductCatalog.INVALIDATION_CHANNEL, "1|2");
+            then(redisTemplate).should().convertAndSend(ProductCatalog.INVALIDATION_CHANNEL, "5");
+        }
+
+        @Test
+        @DisplayName("Should drop a snapshot older than a version changed elsewhere and reload it")
+        void onMessage_withNewerVersion_shouldEvict() {
+            productCatalog.refreshAfterCommit(product(1L, "2.50", 1L));
+            given(productRepository.findAllById(List.of(1L))).willReturn(List.of(product(1L, "3.10", 2L)));
+
+            receive("1|2");
+
+            assertThat(productCatalog.getProducts(List.of(1L)).get(1L).getPrice()).isEqualByComparingTo("3.10");
+        }
+
+        @Test
+        @DisplayName("Should keep a snapshot that is already at the broadcast version")
+        void onMessage_withSameVersion_shouldKeep() {
+            productCatalog.refreshAfterCommit(product(1L, "3.10", 2L));
+
+            receive("1|2");
+
+            assertThat(productCatalog.getStats().getSize()).isEqualTo(1);
+            then(productRepository).should(never()).findAllById(List.of(1L));
+        }
+
+        @Test
+        @DisplayName("Should drop a product deleted elsewhere")
+        void onMessage_withoutVersion_shouldEvict() {
+            productCatalog.refreshAfterCommit(product(1L, "3.10", 2L));
+
+            receive("1");
+
+            assertThat(productCatalog.getStats().getSize()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not cache a load that raced with an invalidation")
+        void getProducts_whenInvalidatedWhileLoading_shouldNotCache() {
+            given(productRepository.findAllById(List.of(1L))).willAnswer(invocation -> {
+                receive("1|2");
+                return List.of(product(1L, "2.50", 1L));
+            });
+
+            productCatalog.getProducts(List.of(1L));
+
+            assertThat(productCatalog.getStats().getSize()).isZero();
+        }
+    }
+}
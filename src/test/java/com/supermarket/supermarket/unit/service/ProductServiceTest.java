@@ -1,5 +1,6 @@
 package com.supermarket.supermarket.unit.service;
 
+import com.supermarket.supermarket.dto.pagination.CursorPage;
 import com.supermarket.supermarket.dto.product.ProductRequest;
 import com.supermarket.supermarket.dto.product.ProductResponse;
 import com.supermarket.supermarket.exception.DuplicateResourceException;
@@ -9,6 +10,7 @@ import com.supermarket.supermarket.mapper.ProductMapper;
 import com.supermarket.supermarket.model.product.Product;
 import com.supermarket.supermarket.repository.ProductRepository;
 import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.service.business.ProductCatalog;
 import com.supermarket.supermarket.service.business.impl.ProductServiceImpl;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -44,6 +47,8 @@ class ProductServiceTest {
     private ProductMapper productMapper;
     @Mock
     private SaleRepository saleRepository;
+    @Mock
+    private ProductCatalog productCatalog;
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -62,14 +67,16 @@ class ProductServiceTest {
     }
 
     @Test
-    @DisplayName("GET ALL DROPDOWN - should return simple list")
+    @DisplayName("GET ALL DROPDOWN - should return the first cursor page")
     void getAllForDropdown_ShouldReturnList() {
         Product product = defaultProduct();
         ProductResponse response = productResponse();
-        given(productRepository.findAll()).willReturn(List.of(product));
-        given(productMapper.toResponseList(List.of(product))).willReturn(List.of(response));
-        List<ProductResponse> result = productService.getAllForDropdown();
-        assertThat(result).hasSize(1);
+        given(productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPage.DEFAULT_SIZE + 1)))
+                .willReturn(List.of(product));
+        given(productMapper.toResponse(product)).willReturn(response);
+        CursorPage<ProductResponse> result = productService.getAllForDropdown(null, null);
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
     }
 
     @Test
@@ -106,6 +113,7 @@ class ProductServiceTest {
         ProductResponse result = productService.create(request);
         assertThat(result).isNotNull();
         then(productRepository).should().save(entity);
+        then(productCatalog).should().refreshAfterCommit(entity);
     }
 
     @Test
@@ -132,6 +140,7 @@ class ProductServiceTest {
         ProductResponse result = productService.update(id, request);
         assertThat(result).isNotNull();
         then(productMapper).should().updateEntity(request, existingProduct);
+        then(productCatalog).should().refreshAfterCommit(existingProduct);
     }
 
     @Test
@@ -155,6 +164,7 @@ class ProductServiceTest {
         given(saleRepository.existsByDetailsProductId(id)).willReturn(false);
         productService.delete(id);
         then(productRepository).should().delete(product);
+        then(productCatalog).should().evictAfterCommit(id);
     }
 
     @Test
@@ -0,0 +1,140 @@
+package com.supermarket.supermarket.unit.service;
+
+import com.supermarket.supermarket.dto.user.NotificationRecipient;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.UserRepository;
+import com.supermarket.supermarket.service.business.RecipientDirectory;
+import com.supermarket.supermarket.service.business.impl.RecipientDirectoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class RecipientDirectoryTest {
+    private static final Set<UserRole> MANAGER_ROLES = Set.of(UserRole.ADMIN, UserRole.MANAGER);
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @InjectMocks
+    private RecipientDirectoryImpl recipientDirectory;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private List<NotificationRecipient> managers() {
+        return List.of(new NotificationRecipient(2L, "manager@test.com"), new NotificationRecipient(3L, "admin@test.com"));
+    }
+
+    @Test
+    @DisplayName("Should load recipients once per role set regardless of role order")
+    void findByRoles_shouldCacheByRoleSet() {
+        given(userRepository.findRecipientsByRoleIn(MANAGER_ROLES)).willReturn(managers());
+
+        List<NotificationRecipient> first = recipientDirectory.findByRoles(List.of(UserRole.ADMIN, UserRole.MANAGER));
+        List<NotificationRecipient> second = recipientDirectory.findByRoles(List.of(UserRole.MANAGER, UserRole.ADMIN));
+
+        assertThat(first).containsExactlyElementsOf(managers());
+        assertThat(second).isSameAs(first);
+        assertThat(recipientDirectory.getMissCount()).isEqualTo(1);
+        assertThat(recipientDirectory.getHitCount()).isEqualTo(1);
+        then(userRepository).should(times(1)).findRecipientsByRoleIn(MANAGER_ROLES);
+    }
+
+    @Test
+    @DisplayName("Should reload recipients after invalidation")
+    void invalidate_shouldDropCachedRecipients() {
+        given(userRepository.findRecipientsByRoleIn(MANAGER_ROLES)).willReturn(managers());
+        recipientDirectory.findByRoles(MANAGER_ROLES);
+
+        recipientDirectory.invalidate();
+        recipientDirectory.findByRoles(MANAGER_ROLES);
+
+        assertThat(recipientDirectory.getMissCount()).isEqualTo(2);
+        then(userRepository).should(times(2)).findRecipientsByRoleIn(MANAGER_ROLES);
+    }
+
+    @Test
+    @DisplayName("Should defer invalidation until the surrounding transaction completes")
+    void invalidate_insideTransaction_shouldWaitForCompletion() {
+        given(userRepository.findRecipientsByRoleIn(MANAGER_ROLES)).willReturn(managers());
+        recipientDirectory.findByRoles(MANAGER_ROLES);
+        TransactionSynchronizationManager.initSynchronization();
+
+        recipientDirectory.invalidate();
+        recipientDirectory.findByRoles(MANAGER_ROLES);
+        assertThat(recipientDirectory.getHitCount()).isEqualTo(1);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        recipientDirectory.findByRoles(MANAGER_ROLES);
+
+        assertThat(recipientDirectory.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should return no recipients for an empty role set without querying")
+    void findByRoles_withNoRoles_shouldReturnEmpty() {
+        assertThat(recipientDirectory.findByRoles(List.of())).isEmpty();
+        then(userRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should tell other instances to drop their recipients on invalidation")
+    void invalidate_shouldPublishToOtherInstances() {
+        recipientDirectory.invalidate();
+
+        then(redisTemplate).should().convertAndSend(RecipientDirectory.INVALIDATION_CHANNEL, "*");
+    }
+
+    @Test
+    @DisplayName("Should reload recipients after another instance invalidates them")
+    void onMessage_shouldDropCachedRecipients() {
+        given(userRepository.findRecipientsByRoleIn(MANAGER_ROLES)).willReturn(managers());
+        recipientDirectory.findByRoles(MANAGER_ROLES);
+
+        recipientDirectory.onMessage(new DefaultMessage(
+                RecipientDirectory.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "*".getBytes(StandardCharsets.UTF_8)), null);
+        recipientDirectory.findByRoles(MANAGER_ROLES);
+
+        assertThat(recipientDirectory.getMissCount()).isEqualTo(2);
+        then(redisTemplate).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should reload recipients once the TTL has passed")
+    void findByRoles_afterTtl_shouldReload() {
+        ReflectionTestUtils.setField(recipientDirectory, "ttl", Duration.ZERO);
+        given(userRepository.findRecipientsByRoleIn(MANAGER_ROLES)).willReturn(managers());
+
+        recipientDirectory.findByRoles(MANAGER_ROLES);
+        recipientDirectory.findByRoles(MANAGER_ROLES);
+
+        assertThat(recipientDirectory.getMissCount()).isEqualTo(2);
+        then(userRepository).should(times(2)).findRecipientsByRoleIn(MANAGER_ROLES);
+    }
+}
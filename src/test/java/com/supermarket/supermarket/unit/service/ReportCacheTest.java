@@ -0,0 +1,301 @@
+package com.supermarket.supermarket.unit.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.supermarket.supermarket.dto.report.SalesSummaryResponse;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.cashregister.CashRegister;
+import com.supermarket.supermarket.model.cashregister.CashRegisterStatus;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.service.business.ReportCache;
+import com.supermarket.supermarket.service.business.ReportCacheKey;
+import com.supermarket.supermarket.service.business.impl.ReportCacheImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.DigestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class ReportCacheTest {
+    private static final TypeReference<SalesSummaryResponse> SUMMARY = new TypeReference<>() {
+    };
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate LAST_MONTH = TODAY.minusMonths(1);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+    private ObjectMapper objectMapper;
+    private ReportCacheImpl reportCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        reportCache = new ReportCacheImpl(redisTemplate, objectMapper);
+        ReflectionTestUtils.setField(reportCache, "redisEnabled", false);
+        loads = new AtomicInteger();
+    }
+
+    private ReportCacheKey key(Long branchId, LocalDate start, LocalDate end) {
+        return new ReportCacheKey("sales-summary", branchId, start, end, "[]");
+    }
+
+    private SalesSummaryResponse load(ReportCacheKey key) {
+        return reportCache.get(key, SUMMARY, () -> SalesSummaryResponse.builder()
+                .totalRevenue(BigDecimal.valueOf(loads.incrementAndGet()))
+                .transactionCount(1L)
+                .build());
+    }
+
+    @Nested
+    @DisplayName("Local tier")
+    class LocalTier {
+        @Test
+        @DisplayName("Should serve a repeated report from memory")
+        void get_shouldReuseLoadedReport() {
+            ReportCacheKey key = key(1L, LAST_MONTH, TODAY);
+
+            load(key);
+            SalesSummaryResponse second = load(key);
+
+            assertThat(loads).hasValue(1);
+            assertThat(second.getTotalRevenue()).isEqualByComparingTo("1");
+            assertThat(reportCache.getStats().getHits()).isEqualTo(1);
+            assertThat(reportCache.getStats().getMisses()).isEqualTo(1);
+            then(redisTemplate).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("Should evict only reports of the affected branch whose range covers the date")
+        void evictAfterCommit_shouldEvictCoveringReports() {
+            ReportCacheKey sameBranch = key(1L, LAST_MONTH, TODAY);
+            ReportCacheKey allBranches = key(null, null, TODAY);
+            ReportCacheKey otherBranch = key(2L, LAST_MONTH, TODAY);
+            ReportCacheKey earlierRange = key(1L, LAST_MONTH, LAST_MONTH.plusDays(7));
+            List.of(sameBranch, allBranches, otherBranch, earlierRange).forEach(ReportCacheTest.this::load);
+
+            reportCache.evictAfterCommit(1L, TODAY);
+            List.of(sameBranch, allBranches, otherBranch, earlierRange).forEach(ReportCacheTest.this::load);
+
+            assertThat(loads).hasValue(6);
+            assertThat(reportCache.getStats().getInvalidations()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should evict the closure date of a closed register when one of its sales changes")
+        void evictSalesAfterCommit_shouldEvictClosureDate() {
+            LocalDate closedOn = LAST_MONTH.plusDays(1);
+            ReportCacheKey closures = new ReportCacheKey("cash-register", 1L, closedOn, closedOn, "[false]");
+            load(closures);
+            Sale sale = Sale.builder()
+                    .date(LAST_MONTH)
+                    .branch(Branch.builder().id(1L).build())
+                    .cashRegister(CashRegister.builder()
+                            .status(CashRegisterStatus.CLOSED)
+                            .closingTime(closedOn.atTime(21, 0))
+                            .build())
+                    .build();
+
+            reportCache.evictSalesAfterCommit(List.of(sale));
+            load(closures);
+
+            assertThat(loads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Should expire ranges that include today but keep closed historical ranges")
+        void get_shouldKeepClosedRangesLonger() {
+            ReflectionTestUtils.setField(reportCache, "ttl", Duration.ofNanos(1));
+            ReportCacheKey open = key(1L, LAST_MONTH, TODAY);
+            ReportCacheKey closed = key(1L, LAST_MONTH, TODAY.minusDays(1));
+
+            load(open);
+            load(closed);
+            load(open);
+            load(closed);
+
+            assertThat(loads).hasValue(3);
+        }
+
+        @Test
+        @DisplayName("Should expire closed historical ranges locally after the closed ttl")
+        void get_shouldExpireClosedRangesAfterClosedTtl() {
+            ReflectionTestUtils.setField(reportCache, "closedTtl", Duration.ofNanos(1));
+            ReportCacheKey closed = key(1L, LAST_MONTH, TODAY.minusDays(1));
+
+            load(closed);
+            load(closed);
+
+            assertThat(loads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Should not cache a report loaded while an invalidation ran")
+        void get_whenInvalidatedDuringLoad_shouldNotStore() {
+            ReportCacheKey key = key(1L, LAST_MONTH, TODAY);
+
+            reportCache.get(key, SUMMARY, () -> {
+                reportCache.evictAfterCommit(1L, TODAY);
+                return SalesSummaryResponse.builder().totalRevenue(BigDecimal.ZERO).build();
+            });
+            load(key);
+
+            assertThat(loads).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("Should always load when the cache is disabled")
+        void get_whenDisabled_shouldAlwaysLoad() {
+            ReflectionTestUtils.setField(reportCache, "enabled", false);
+            ReportCacheKey key = key(1L, LAST_MONTH, TODAY);
+
+            load(key);
+            load(key);
+
+            assertThat(loads).hasValue(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Redis tier")
+    class RedisTier {
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(reportCache, "redisEnabled", true);
+        }
+
+        @Test
+        @DisplayName("Should serve a report another instance stored in Redis")
+        void get_shouldReadSharedEntry() throws Exception {
+            given(redisTemplate.opsForValue()).willReturn(valueOperations);
+            given(valueOperations.get(startsWith("report-cache:sales-summary:"))).willReturn(objectMapper.writeValueAsString(
+                    SalesSummaryResponse.builder().totalRevenue(new BigDecimal("42.50")).transactionCount(3L).build()));
+
+            SalesSummaryResponse result = load(key(1L, LAST_MONTH, TODAY));
+
+            assertThat(result.getTotalRevenue()).isEqualByComparingTo("42.50");
+            assertThat(loads).hasValue(0);
+            assertThat(reportCache.getStats().getRedisHits()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should store open ranges with the short TTL, closed ranges with the closed TTL, and index both by branch")
+        void get_shouldStoreSharedEntry() {
+            given(redisTemplate.opsForValue()).willReturn(valueOperations);
+            given(valueOperations.multiGet(anyList())).willReturn(Arrays.asList(null, null));
+
+            load(key(1L, LAST_MONTH, TODAY));
+            load(key(null, LAST_MONTH, TODAY.minusDays(1)));
+
+            then(redisTemplate).should().execute(any(), eq(List.of(storedKey(1L, LAST_MONTH, TODAY),
+                            "report-cache:version:1", "report-cache:version:clear", "report-cache:index:1")),
+                    eq("0"), eq("0"), anyString(), eq("300"), anyString(), anyString(), eq("86400"));
+            then(redisTemplate).should().execute(any(), eq(List.of(storedKey(null, LAST_MONTH, TODAY.minusDays(1)),
+                            "report-cache:version:all", "report-cache:version:clear", "report-cache:index:all")),
+                    eq("0"), eq("0"), anyString(), eq("86400"), anyString(), anyString(), eq("86400"));
+        }
+
+        @Test
+        @DisplayName("Should guard the shared write with the versions read before loading")
+        void get_shouldStoreWithVersionsReadBeforeLoading() {
+            given(redisTemplate.opsForValue()).willReturn(valueOperations);
+            given(valueOperations.multiGet(List.of("report-cache:version:1", "report-cache:version:clear")))
+                    .willReturn(List.of("3", "7"));
+
+            load(key(1L, LAST_MONTH, TODAY.minusDays(1)));
+
+            then(redisTemplate).should().execute(any(), anyList(), eq("3"), eq("7"),
+                    anyString(), anyString(), anyString(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should bump versions, prune expired index members and delete covering shared entries")
+        void evictAfterCommit_shouldDeleteSharedEntriesAndPublish() {
+            given(redisTemplate.opsForValue()).willReturn(valueOperations);
+            given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+            String covering = "report-cache:sales-summary:a|" + LAST_MONTH + "|" + TODAY;
+            String earlier = "report-cache:sales-summary:b|" + LAST_MONTH + "|" + LAST_MONTH.plusDays(7);
+            given(zSetOperations.range("report-cache:index:1", 0, -1)).willReturn(Set.of(covering, earlier));
+            given(zSetOperations.range("report-cache:index:all", 0, -1)).willReturn(Set.of());
+
+            reportCache.evictAfterCommit(1L, TODAY);
+
+            then(valueOperations).should().increment("report-cache:version:1");
+            then(valueOperations).should().increment("report-cache:version:all");
+            then(zSetOperations).should().removeRangeByScore(eq("report-cache:index:1"), eq(0.0), anyDouble());
+            then(redisTemplate).should().delete(List.of("report-cache:sales-summary:a"));
+            then(zSetOperations).should().remove("report-cache:index:1", covering);
+            then(redisTemplate).should().convertAndSend(ReportCache.INVALIDATION_CHANNEL, "1|" + TODAY);
+        }
+
+        @Test
+        @DisplayName("Should fall back to loading when Redis is unreachable")
+        void get_whenRedisDown_shouldLoad() {
+            given(redisTemplate.opsForValue()).willReturn(valueOperations);
+            given(valueOperations.get(anyString()))
+                    .willThrow(new RedisConnectionFailureException("down"));
+            given(valueOperations.multiGet(anyList()))
+                    .willThrow(new RedisConnectionFailureException("down"));
+
+            SalesSummaryResponse result = load(key(1L, LAST_MONTH, TODAY));
+
+            assertThat(result.getTotalRevenue()).isEqualByComparingTo("1");
+            then(redisTemplate).should(never()).execute(any(), anyList(), any(Object[].class));
+            then(redisTemplate).should(never()).convertAndSend(anyString(), anyString());
+        }
+    }
+
+    private String storedKey(Long branchId, LocalDate start, LocalDate end) {
+        return "report-cache:sales-summary:" + DigestUtils.md5DigestAsHex(
+                key(branchId, start, end).id().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should evict local entries when another instance broadcasts an invalidation")
+    void onMessage_shouldEvictLocalEntries() {
+        ReportCacheKey key = key(3L, LAST_MONTH, TODAY);
+        load(key);
+
+        reportCache.onMessage(new DefaultMessage(
+                ReportCache.INVALIDATION_CHANNEL.getBytes(), ("3|" + TODAY).getBytes()), null);
+        load(key);
+
+        assertThat(loads).hasValue(2);
+    }
+}
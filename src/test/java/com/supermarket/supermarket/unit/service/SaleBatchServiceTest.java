@@ -0,0 +1,224 @@
+package com.supermarket.supermarket.unit.service;
+
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.sale.SaleBatchItemStatus;
+import com.supermarket.supermarket.dto.sale.SaleBatchRequest;
+import com.supermarket.supermarket.dto.sale.SaleBatchResponse;
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.lock.BranchStockLocks;
+import com.supermarket.supermarket.mapper.SaleMapper;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.security.SecurityUtils;
+import com.supermarket.supermarket.service.business.CashRegisterService;
+import com.supermarket.supermarket.service.business.InventoryService;
+import com.supermarket.supermarket.service.business.NotificationEventService;
+import com.supermarket.supermarket.service.business.ProductCatalog;
+import com.supermarket.supermarket.service.business.ReportCache;
+import com.supermarket.supermarket.service.business.SaleService;
+import com.supermarket.supermarket.service.business.SalesRollupService;
+import com.supermarket.supermarket.service.business.impl.SaleBatchServiceImpl;
+import com.supermarket.supermarket.service.business.impl.SaleCheckoutImpl;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.supermarket.supermarket.fixtures.branch.BranchFixtures.defaultBranch;
+import static com.supermarket.supermarket.fixtures.cashregister.CashRegisterFixtures.openRegister;
+import static com.supermarket.supermarket.fixtures.product.ProductFixtures.defaultProduct;
+import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.invalidSaleRequest;
+import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.saleResponse;
+import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.validSaleRequest;
+import static com.supermarket.supermarket.fixtures.user.UserFixtures.defaultCashier;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class SaleBatchServiceTest {
+    @Mock
+    private SaleRepository saleRepo;
+    @Mock
+    private BranchRepository branchRepository;
+    @Mock
+    private ProductCatalog productCatalog;
+    @Mock
+    private InventoryService inventoryService;
+    @Mock
+    private CashRegisterService cashRegisterService;
+    @Mock
+    private SaleService saleService;
+    @Mock
+    private NotificationEventService notificationEventService;
+    @Mock
+    private SaleMapper saleMapper;
+    @Mock
+    private SecurityUtils securityUtils;
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private BranchStockLocks branchStockLocks;
+    @Mock
+    private BusinessMetrics businessMetrics;
+    @Mock
+    private SalesRollupService salesRollupService;
+    @Mock
+    private ReportCache reportCache;
+    @InjectMocks
+    private SaleCheckoutImpl saleCheckout;
+    @InjectMocks
+    private SaleBatchServiceImpl saleBatchService;
+    private Branch branch;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        branch = defaultBranch();
+        product = defaultProduct();
+        given(securityUtils.getCurrentUser()).willReturn(defaultCashier());
+        ReflectionTestUtils.setField(saleBatchService, "saleCheckout", saleCheckout);
+    }
+
+    private void givenBranchWithStock(int stock) {
+        given(branchRepository.findById(1L)).willReturn(Optional.of(branch));
+        given(cashRegisterService.findRegisterEntityByBranch(1L)).willReturn(Optional.of(openRegister()));
+        given(productCatalog.getProducts(any())).willReturn(Map.of(product.getId(), product));
+        given(inventoryService.getStockLevels(any(), any())).willReturn(List.of(
+                new StockLevel(product.getId(), stock, 0)));
+    }
+
+    @Test
+    @DisplayName("Should create every sale of a branch with one aggregated stock decrement")
+    void createBatch_shouldApplyStockOncePerBranch() {
+        givenBranchWithStock(100);
+        given(inventoryService.reserveStock(anyLong(), anyMap())).willReturn(List.of());
+        given(saleRepo.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+        given(saleMapper.toEntity(any())).willAnswer(invocation -> new Sale());
+        given(saleMapper.toResponse(any())).willReturn(saleResponse());
+
+        SaleBatchResponse response = saleBatchService.createBatch(
+                new SaleBatchRequest(List.of(validSaleRequest(), validSaleRequest(), validSaleRequest())));
+
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getRejected()).isZero();
+        then(inventoryService).should().reserveStock(1L, Map.of(1L, 15));
+        then(saleService).should(never()).create(any());
+        then(businessMetrics).should().salesCreated(1L, 3);
+        then(salesRollupService).should().record(argThat(sales -> sales.size() == 3));
+        then(reportCache).should().evictSalesAfterCommit(argThat(sales -> sales.size() == 3));
+    }
+
+    @Test
+    @DisplayName("Should reject only the sales that exceed the remaining stock")
+    void createBatch_shouldRejectItemsBeyondStock() {
+        givenBranchWithStock(12);
+        given(inventoryService.reserveStock(anyLong(), anyMap())).willReturn(List.of());
+        given(saleRepo.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+        given(saleMapper.toEntity(any())).willAnswer(invocation -> new Sale());
+        given(saleMapper.toResponse(any())).willReturn(saleResponse());
+
+        SaleBatchResponse response = saleBatchService.createBatch(
+                new SaleBatchRequest(List.of(validSaleRequest(), validSaleRequest(), validSaleRequest())));
+
+        assertThat(response.getResults()).extracting("status")
+                .containsExactly(SaleBatchItemStatus.CREATED, SaleBatchItemStatus.CREATED, SaleBatchItemStatus.REJECTED);
+        assertThat(response.getResults().get(2).getError()).contains("Insufficient stock");
+        then(inventoryService).should().reserveStock(1L, Map.of(1L, 10));
+        then(businessMetrics).should().stockRejected("batch");
+    }
+
+    @Test
+    @DisplayName("Should report invalid items without failing the rest of the batch")
+    void createBatch_shouldRejectInvalidItems() {
+        givenBranchWithStock(100);
+        given(inventoryService.reserveStock(anyLong(), anyMap())).willReturn(List.of());
+        given(saleRepo.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+        given(saleMapper.toEntity(any())).willAnswer(invocation -> new Sale());
+        given(saleMapper.toResponse(any())).willReturn(saleResponse());
+
+        SaleBatchResponse response = saleBatchService.createBatch(
+                new SaleBatchRequest(List.of(invalidSaleRequest(), validSaleRequest())));
+
+        assertThat(response.getResults().get(0).getStatus()).isEqualTo(SaleBatchItemStatus.REJECTED);
+        assertThat(response.getResults().get(0).getError()).contains("branchId");
+        assertThat(response.getResults().get(1).getStatus()).isEqualTo(SaleBatchItemStatus.CREATED);
+    }
+
+    @Test
+    @DisplayName("Should fall back to serial creation when stock changed concurrently")
+    void createBatch_whenGuardedDecrementFails_shouldFallBackToSerial() {
+        givenBranchWithStock(100);
+        given(saleMapper.toEntity(any())).willAnswer(invocation -> new Sale());
+        given(inventoryService.reserveStock(anyLong(), anyMap())).willReturn(List.of(1L));
+        SaleRequest first = validSaleRequest();
+        SaleRequest second = validSaleRequest();
+        given(saleService.create(first)).willReturn(saleResponse());
+        given(saleService.create(second)).willThrow(new ResourceNotFoundException("No open register found for branch 1"));
+
+        SaleBatchResponse response = saleBatchService.createBatch(new SaleBatchRequest(List.of(first, second)));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getResults().get(1).getError()).contains("No open register");
+        then(saleRepo).should(never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should count a stock rejection once when the group falls back to serial creation")
+    void createBatch_whenGroupFailsAfterRejection_shouldCountRejectionOnce() {
+        givenBranchWithStock(12);
+        given(saleMapper.toEntity(any())).willAnswer(invocation -> new Sale());
+        given(inventoryService.reserveStock(anyLong(), anyMap())).willReturn(List.of(1L));
+        SaleRequest first = validSaleRequest();
+        SaleRequest second = validSaleRequest();
+        SaleRequest third = validSaleRequest();
+        given(saleService.create(first)).willReturn(saleResponse());
+        given(saleService.create(second)).willReturn(saleResponse());
+        given(saleService.create(third)).willThrow(new InsufficientStockException("Insufficient stock for product 1"));
+
+        SaleBatchResponse response = saleBatchService.createBatch(new SaleBatchRequest(List.of(first, second, third)));
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        then(businessMetrics).should(times(1)).stockRejected("batch");
+    }
+
+    @Test
+    @DisplayName("Should reject the whole branch group when no register is open")
+    void createBatch_withoutOpenRegister_shouldRejectGroup() {
+        given(branchRepository.findById(1L)).willReturn(Optional.of(branch));
+        given(cashRegisterService.findRegisterEntityByBranch(1L)).willReturn(Optional.empty());
+
+        SaleBatchResponse response = saleBatchService.createBatch(
+                new SaleBatchRequest(List.of(validSaleRequest(), validSaleRequest())));
+
+        assertThat(response.getRejected()).isEqualTo(2);
+        then(inventoryService).should(never()).reserveStock(anyLong(), anyMap());
+    }
+}
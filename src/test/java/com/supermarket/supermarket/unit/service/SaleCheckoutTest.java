@@ -0,0 +1,136 @@
+package com.supermarket.supermarket.unit.service;
+
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.sale.SaleRequest;
+import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.mapper.SaleMapper;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.service.business.InventoryService;
+import com.supermarket.supermarket.service.business.NotificationEventService;
+import com.supermarket.supermarket.service.business.ProductCatalog;
+import com.supermarket.supermarket.service.business.ReportCache;
+import com.supermarket.supermarket.service.business.SalesRollupService;
+import com.supermarket.supermarket.service.business.StockHoldService;
+import com.supermarket.supermarket.service.business.impl.SaleCheckoutImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static com.supermarket.supermarket.fixtures.branch.BranchFixtures.defaultBranch;
+import static com.supermarket.supermarket.fixtures.cashregister.CashRegisterFixtures.openRegister;
+import static com.supermarket.supermarket.fixtures.product.ProductFixtures.defaultProduct;
+import static com.supermarket.supermarket.fixtures.sale.SaleFixtures.validSaleRequest;
+import static com.supermarket.supermarket.fixtures.user.UserFixtures.defaultCashier;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class SaleCheckoutTest {
+
+    @Mock
+    private SaleRepository saleRepository;
+    @Mock
+    private ProductCatalog productCatalog;
+    @Mock
+    private InventoryService inventoryService;
+    @Mock
+    private StockHoldService stockHoldService;
+    @Mock
+    private NotificationEventService notificationEventService;
+    @Mock
+    private SaleMapper saleMapper;
+    @Mock
+    private BusinessMetrics businessMetrics;
+    @Mock
+    private SalesRollupService salesRollupService;
+    @Mock
+    private ReportCache reportCache;
+    @InjectMocks
+    private SaleCheckoutImpl saleCheckout;
+
+    private Branch branch;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        branch = defaultBranch();
+        product = defaultProduct();
+    }
+
+    @Nested
+    @DisplayName("Availability")
+    class Availability {
+        @Test
+        @DisplayName("Should reject products missing from the catalog before checking stock")
+        void verifyAvailability_withUnknownProduct_shouldThrowNotFound() {
+            assertThatThrownBy(() -> saleCheckout.verifyAvailability(1L, Map.of(9L, 1, 1L, 1),
+                    Map.of(1L, product), Map.of(1L, 10)))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessage("Products not found with IDs: [9]");
+        }
+
+        @Test
+        @DisplayName("Should report the available and required quantities when stock is short")
+        void verifyAvailability_withShortStock_shouldThrowInsufficientStock() {
+            assertThatThrownBy(() -> saleCheckout.verifyAvailability(1L, Map.of(1L, 6),
+                    Map.of(1L, product), Map.of(1L, 5)))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("Available: 5, required: 6");
+        }
+    }
+
+    @Test
+    @DisplayName("Should price every line from the catalog and total the sale")
+    void buildSale_shouldPriceLinesAndTotal() {
+        SaleRequest request = validSaleRequest();
+        given(saleMapper.toEntity(request)).willReturn(new Sale());
+
+        Sale sale = saleCheckout.buildSale(request, branch, openRegister(), defaultCashier(),
+                Map.of(product.getId(), product));
+
+        assertThat(sale.getDetails()).hasSize(1);
+        assertThat(sale.getTotal()).isEqualByComparingTo(product.getPrice().multiply(BigDecimal.valueOf(5)));
+        assertThat(sale.getBranch()).isSameAs(branch);
+    }
+
+    @Test
+    @DisplayName("Should fail the whole group when the guarded decrement rejects a product")
+    void reserveStock_whenStockChanged_shouldThrow() {
+        given(inventoryService.reserveStock(1L, Map.of(1L, 5))).willReturn(List.of(1L));
+
+        assertThatThrownBy(() -> saleCheckout.reserveStock(1L, Map.of(1L, 5), Map.of(1L, new StockLevel(1L, 20, 2))))
+                .isInstanceOf(InsufficientStockException.class);
+    }
+
+    @Test
+    @DisplayName("Should persist, record, evict and alert on the remaining stock in one step")
+    void complete_shouldRunPostSaleSteps() {
+        Sale sale = new Sale();
+        given(saleRepository.saveAll(List.of(sale))).willReturn(List.of(sale));
+        given(inventoryService.reserveStock(1L, Map.of(1L, 5))).willReturn(List.of());
+        List<StockLevel> remaining = saleCheckout.reserveStock(1L, Map.of(1L, 5), Map.of(1L, new StockLevel(1L, 8, 3)));
+
+        saleCheckout.complete(branch, List.of(sale), remaining, Map.of(product.getId(), product));
+
+        then(salesRollupService).should().record(List.of(sale));
+        then(reportCache).should().evictSalesAfterCommit(List.of(sale));
+        then(businessMetrics).should().salesCreated(branch.getId(), 1);
+        then(notificationEventService).should().onLowStock(branch.getName(), product.getName(), 3, 3);
+    }
+}
@@ -1,13 +1,18 @@
 package com.supermarket.supermarket.unit.service;
 
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.dto.pagination.CursorPage;
+import com.supermarket.supermarket.dto.pagination.KeysetCursor;
 import com.supermarket.supermarket.dto.sale.CancelSaleRequest;
 import com.supermarket.supermarket.dto.sale.SaleRequest;
 import com.supermarket.supermarket.dto.sale.SaleResponse;
 import com.supermarket.supermarket.exception.InsufficientPermissionsException;
 import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.exception.InvalidOperationException;
 import com.supermarket.supermarket.exception.InvalidSaleStateException;
 import com.supermarket.supermarket.exception.ResourceNotFoundException;
 import com.supermarket.supermarket.mapper.SaleMapper;
+import com.supermarket.supermarket.metrics.BusinessMetrics;
 import com.supermarket.supermarket.model.branch.Branch;
 import com.supermarket.supermarket.model.cashregister.CashRegister;
 import com.supermarket.supermarket.model.product.Product;
@@ -15,12 +20,16 @@ import com.supermarket.supermarket.model.sale.Sale;
 import com.supermarket.supermarket.model.sale.SaleStatus;
 import com.supermarket.supermarket.model.user.User;
 import com.supermarket.supermarket.repository.BranchRepository;
-import com.supermarket.supermarket.repository.ProductRepository;
 import com.supermarket.supermarket.repository.SaleRepository;
 import com.supermarket.supermarket.security.SecurityUtils;
 import com.supermarket.supermarket.service.business.CashRegisterService;
 import com.supermarket.supermarket.service.business.InventoryService;
 import com.supermarket.supermarket.service.business.NotificationEventService;
+import com.supermarket.supermarket.service.business.ProductCatalog;
+import com.supermarket.supermarket.service.business.ReportCache;
+import com.supermarket.supermarket.service.business.SalesRollupService;
+import com.supermarket.supermarket.service.business.StockHoldService;
+import com.supermarket.supermarket.service.business.impl.SaleCheckoutImpl;
 import com.supermarket.supermarket.service.business.impl.SaleServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -29,12 +38,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -54,7 +63,6 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.never;
 import static org.mockito.BDDMockito.then;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.BDDMockito.willThrow;
 
 @ExtendWith(MockitoExtension.class)
@@ -67,7 +75,7 @@ class SaleServiceTest {
     @Mock
     private BranchRepository branchRepository;
     @Mock
-    private ProductRepository productRepository;
+    private ProductCatalog productCatalog;
     @Mock
     private SaleMapper saleMapper;
     @Mock
@@ -76,7 +84,17 @@ class SaleServiceTest {
     private CashRegisterService cashRegisterService;
     @Mock
     private NotificationEventService notificationEventService;
+    @Mock
+    private StockHoldService stockHoldService;
+    @Mock
+    private BusinessMetrics businessMetrics;
+    @Mock
+    private SalesRollupService salesRollupService;
+    @Mock
+    private ReportCache reportCache;
 
+    @InjectMocks
+    private SaleCheckoutImpl saleCheckout;
     @InjectMocks
     private SaleServiceImpl saleService;
 
@@ -87,6 +105,7 @@ class SaleServiceTest {
     void setUp() {
         mockUser = defaultCashier();
         mockOpenRegister = openRegister();
+        ReflectionTestUtils.setField(saleService, "saleCheckout", saleCheckout);
     }
 
     @Test
@@ -105,20 +124,74 @@ class SaleServiceTest {
         given(saleMapper.toEntity(request)).willReturn(sale);
 
         Set<Long> productIds = Set.of(1L);
-        given(productRepository.findAllById(productIds)).willReturn(List.of(product));
+        given(productCatalog.getProducts(productIds)).willReturn(Map.of(product.getId(), product));
 
-        willDoNothing().given(inventoryService)
-                .validateAndReduceStockBatch(request.getBranchId(), request.getDetails());
+        given(inventoryService.validateAndReduceStockBatch(request.getBranchId(), request.getDetails()))
+                .willReturn(List.of(new StockLevel(1L, 45, 5)));
 
-        given(saleRepository.save(any(Sale.class))).willReturn(sale);
+        given(saleRepository.saveAll(List.of(sale))).willReturn(List.of(sale));
         given(saleMapper.toResponse(sale)).willReturn(response);
 
         SaleResponse result = saleService.create(request);
 
         assertThat(result).isNotNull();
         then(inventoryService).should().validateAndReduceStockBatch(request.getBranchId(), request.getDetails());
-        then(productRepository).should().findAllById(productIds);
-        then(saleRepository).should().save(sale);
+        then(inventoryService).should(never()).getStockInBranch(anyLong(), anyLong());
+        then(productCatalog).should().getProducts(productIds);
+        then(saleRepository).should().saveAll(List.of(sale));
+        then(businessMetrics).should().salesCreated(1L, 1);
+        then(salesRollupService).should().record(List.of(sale));
+        then(reportCache).should().evictSalesAfterCommit(List.of(sale));
+        then(notificationEventService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("CREATE - should consume the referenced hold instead of validating stock again")
+    void create_WithHold_ShouldConsumeHold() {
+        given(securityUtils.getCurrentUser()).willReturn(mockUser);
+        given(cashRegisterService.getRegisterEntityByBranch(anyLong())).willReturn(mockOpenRegister);
+
+        SaleRequest request = validSaleRequest();
+        request.setHoldId(7L);
+        Product product = defaultProduct();
+        Sale sale = saleWithDetails();
+
+        given(branchRepository.findById(1L)).willReturn(Optional.of(defaultBranch()));
+        given(saleMapper.toEntity(request)).willReturn(sale);
+        given(productCatalog.getProducts(Set.of(1L))).willReturn(Map.of(product.getId(), product));
+        given(inventoryService.getStockLevels(1L, Set.of(1L))).willReturn(List.of(new StockLevel(1L, 40, 5)));
+        given(saleRepository.saveAll(List.of(sale))).willReturn(List.of(sale));
+        given(saleMapper.toResponse(sale)).willReturn(saleResponse());
+
+        saleService.create(request);
+
+        then(stockHoldService).should().consume(7L, 1L, Map.of(1L, 5));
+        then(inventoryService).should(never()).validateAndReduceStockBatch(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("CREATE - should raise low stock alert from the post-sale stock using the row's own threshold")
+    void create_WhenStockFallsToMinimum_ShouldNotifyLowStock() {
+        given(securityUtils.getCurrentUser()).willReturn(mockUser);
+        given(cashRegisterService.getRegisterEntityByBranch(anyLong())).willReturn(mockOpenRegister);
+
+        SaleRequest request = validSaleRequest();
+        Branch branch = defaultBranch();
+        Product product = defaultProduct();
+        Sale sale = saleWithDetails();
+
+        given(branchRepository.findById(1L)).willReturn(Optional.of(branch));
+        given(saleMapper.toEntity(request)).willReturn(sale);
+        given(productCatalog.getProducts(Set.of(1L))).willReturn(Map.of(product.getId(), product));
+        given(inventoryService.validateAndReduceStockBatch(request.getBranchId(), request.getDetails()))
+                .willReturn(List.of(new StockLevel(1L, 25, 30)));
+        given(saleRepository.saveAll(List.of(sale))).willReturn(List.of(sale));
+        given(saleMapper.toResponse(sale)).willReturn(saleResponse());
+
+        saleService.create(request);
+
+        then(notificationEventService).should().onLowStock(sale.getBranch().getName(), product.getName(), 25, 30);
+        then(inventoryService).should(never()).getStockInBranch(anyLong(), anyLong());
     }
 
     @Test
@@ -129,21 +202,19 @@ class SaleServiceTest {
 
         SaleRequest request = validSaleRequest();
         Branch branch = defaultBranch();
-        Sale sale = saleWithDetails();
         Product product = defaultProduct();
 
         given(branchRepository.findById(1L)).willReturn(Optional.of(branch));
-        given(saleMapper.toEntity(request)).willReturn(sale);
 
         Set<Long> productIds = Set.of(1L);
-        given(productRepository.findAllById(productIds)).willReturn(List.of(product));
+        given(productCatalog.getProducts(productIds)).willReturn(Map.of(product.getId(), product));
 
         willThrow(new InsufficientStockException("Insufficient stock"))
                 .given(inventoryService).validateAndReduceStockBatch(request.getBranchId(), request.getDetails());
 
         assertThatThrownBy(() -> saleService.create(request))
                 .isInstanceOf(InsufficientStockException.class);
-        then(saleRepository).should(never()).save(any());
+        then(saleRepository).should(never()).saveAll(any());
     }
 
     @Test
@@ -159,8 +230,8 @@ class SaleServiceTest {
         assertThatThrownBy(() -> saleService.create(request))
                 .isInstanceOf(ResourceNotFoundException.class);
         then(inventoryService).shouldHaveNoInteractions();
-        then(productRepository).shouldHaveNoInteractions();
-        then(saleRepository).should(never()).save(any());
+        then(productCatalog).shouldHaveNoInteractions();
+        then(saleRepository).should(never()).saveAll(any());
     }
 
     @Test
@@ -172,18 +243,16 @@ class SaleServiceTest {
         SaleRequest request = validSaleRequest();
         request.getDetails().get(0).setProductId(999L);
         Branch branch = defaultBranch();
-        Sale sale = saleWithDetails();
 
         given(branchRepository.findById(1L)).willReturn(Optional.of(branch));
-        given(saleMapper.toEntity(request)).willReturn(sale);
 
         Set<Long> productIds = Set.of(999L);
-        given(productRepository.findAllById(productIds)).willReturn(List.of());
+        given(productCatalog.getProducts(productIds)).willReturn(Map.of());
 
         assertThatThrownBy(() -> saleService.create(request))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Products not found with IDs: [999]");
-        then(saleRepository).should(never()).save(any());
+        then(saleRepository).should(never()).saveAll(any());
     }
 
     @Test
@@ -194,14 +263,13 @@ class SaleServiceTest {
                 .willThrow(new ResourceNotFoundException("No open register found for branch"));
 
         SaleRequest request = validSaleRequest();
-        Branch branch = defaultBranch();
-        given(branchRepository.findById(1L)).willReturn(Optional.of(branch));
 
         assertThatThrownBy(() -> saleService.create(request))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("No open register found for branch");
+        then(branchRepository).shouldHaveNoInteractions();
         then(inventoryService).shouldHaveNoInteractions();
-        then(saleRepository).should(never()).save(any());
+        then(saleRepository).should(never()).saveAll(any());
     }
 
     @Test
@@ -215,6 +283,7 @@ class SaleServiceTest {
         SaleResponse response = cancelledSaleResponse();
 
         given(saleRepository.findWithDetailsById(id)).willReturn(Optional.of(sale));
+        given(saleRepository.transitionStatus(id, SaleStatus.REGISTERED, SaleStatus.CANCELLED)).willReturn(1);
         given(saleRepository.save(sale)).willReturn(sale);
         given(saleMapper.toResponse(sale)).willReturn(response);
 
@@ -224,6 +293,8 @@ class SaleServiceTest {
         assertThat(result.getStatus()).isEqualTo(SaleStatus.CANCELLED);
         then(inventoryService).should().restoreStockBatch(sale.getBranch().getId(), sale.getDetails());
         then(saleRepository).should().save(sale);
+        then(salesRollupService).should().reverse(sale);
+        then(reportCache).should().evictSalesAfterCommit(List.of(sale));
         assertThat(sale.getStatus()).isEqualTo(SaleStatus.CANCELLED);
         assertThat(sale.getCancellationReason()).isEqualTo(request.getReason());
         assertThat(sale.getCancelledBy()).isEqualTo(mockUser);
@@ -246,6 +317,27 @@ class SaleServiceTest {
                 .isInstanceOf(InvalidSaleStateException.class)
                 .hasMessageContaining("already cancelled");
         then(inventoryService).shouldHaveNoInteractions();
+        then(salesRollupService).shouldHaveNoInteractions();
+        then(saleRepository).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("CANCEL - should not reverse twice when a concurrent cancel already won")
+    void cancel_WhenConcurrentCancelWon_ShouldThrowWithoutReversing() {
+        given(securityUtils.getCurrentUser()).willReturn(mockUser);
+
+        Long id = 100L;
+        Sale sale = saleWithDetails();
+
+        given(saleRepository.findWithDetailsById(id)).willReturn(Optional.of(sale));
+        given(saleRepository.transitionStatus(id, SaleStatus.REGISTERED, SaleStatus.CANCELLED)).willReturn(0);
+
+        assertThatThrownBy(() -> saleService.cancel(id, validCancelRequest()))
+                .isInstanceOf(InvalidSaleStateException.class)
+                .hasMessageContaining("already cancelled");
+        then(inventoryService).shouldHaveNoInteractions();
+        then(salesRollupService).shouldHaveNoInteractions();
+        then(reportCache).shouldHaveNoInteractions();
         then(saleRepository).should(never()).save(any());
     }
 
@@ -293,10 +385,13 @@ class SaleServiceTest {
         sale.setStatus(SaleStatus.REGISTERED);
 
         given(saleRepository.findById(id)).willReturn(Optional.of(sale));
+        given(saleRepository.transitionStatus(id, SaleStatus.REGISTERED, SaleStatus.CANCELLED)).willReturn(1);
 
         saleService.delete(id);
 
         then(inventoryService).should().restoreStockBatch(sale.getBranch().getId(), sale.getDetails());
+        then(salesRollupService).should().reverse(sale);
+        then(reportCache).should().evictSalesAfterCommit(List.of(sale));
         then(saleRepository).should().delete(sale);
     }
 
@@ -312,6 +407,26 @@ class SaleServiceTest {
         saleService.delete(id);
 
         then(inventoryService).shouldHaveNoInteractions();
+        then(salesRollupService).shouldHaveNoInteractions();
+        then(reportCache).shouldHaveNoInteractions();
+        then(saleRepository).should().delete(sale);
+    }
+
+    @Test
+    @DisplayName("DELETE - should not reverse when a concurrent cancel already reversed the sale")
+    void delete_WhenConcurrentCancelWon_ShouldNotReverse() {
+        Long id = 100L;
+        Sale sale = saleWithDetails();
+        sale.setStatus(SaleStatus.REGISTERED);
+
+        given(saleRepository.findById(id)).willReturn(Optional.of(sale));
+        given(saleRepository.transitionStatus(id, SaleStatus.REGISTERED, SaleStatus.CANCELLED)).willReturn(0);
+
+        saleService.delete(id);
+
+        then(inventoryService).shouldHaveNoInteractions();
+        then(salesRollupService).shouldHaveNoInteractions();
+        then(reportCache).shouldHaveNoInteractions();
         then(saleRepository).should().delete(sale);
     }
 
@@ -327,20 +442,57 @@ class SaleServiceTest {
     }
 
     @Test
-    @DisplayName("GET SALES BY CASHIER - should return paginated cashier sales")
-    void getSalesByCashier_ShouldReturnPage() {
+    @DisplayName("GET SALES BY CASHIER - first page should seek from the newest sale and skip the count")
+    void getSalesByCashier_FirstPage_ShouldSkipCount() {
+        Sale newest = saleWithDetails();
+        Sale older = saleWithDetails();
+        older.setId(99L);
+        older.setCreatedAt(newest.getCreatedAt().minusMinutes(1));
+        SaleResponse response = saleResponse();
+
+        given(saleRepository.findByCreatedByIdOrderByCreatedAtDescIdDesc(1L, Limit.of(2)))
+                .willReturn(List.of(newest, older));
+        given(saleMapper.toResponse(newest)).willReturn(response);
+
+        CursorPage<SaleResponse> result = saleService.getSalesByCashier(1L, null, 1, false);
+
+        assertThat(result.getItems()).containsExactly(response);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getTotal()).isNull();
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+        assertThat(next.getCreatedAt()).isEqualTo(newest.getCreatedAt());
+        assertThat(next.getId()).isEqualTo(100L);
+        then(saleRepository).should(never()).countByCreatedById(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET SALES BY CASHIER - cursor should seek past the last (createdAt, id) and count on demand")
+    void getSalesByCashier_WithCursor_ShouldSeekAndCount() {
         Sale sale = saleWithDetails();
         SaleResponse response = saleResponse();
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Sale> salePage = new PageImpl<>(List.of(sale));
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000);
 
-        given(saleRepository.findByCreatedById(1L, pageable)).willReturn(salePage);
+        given(saleRepository.findByCreatedByIdPageBefore(1L, createdAt, 150L, Limit.of(11)))
+                .willReturn(List.of(sale));
+        given(saleRepository.countByCreatedById(1L)).willReturn(42L);
         given(saleMapper.toResponse(sale)).willReturn(response);
 
-        Page<SaleResponse> result = saleService.getSalesByCashier(1L, pageable);
+        CursorPage<SaleResponse> result = saleService.getSalesByCashier(
+                1L, KeysetCursor.encode(createdAt, 150L), 10, true);
 
-        assertThat(result.getContent()).hasSize(1);
-        assertThat(result.getContent().get(0).getCreatedById()).isEqualTo(1L);
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getCreatedById()).isEqualTo(1L);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getTotal()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("GET SALES BY CASHIER - should reject a tampered cursor")
+    void getSalesByCashier_WithInvalidCursor_ShouldThrow() {
+        assertThatThrownBy(() -> saleService.getSalesByCashier(1L, "not-a-cursor", 10, false))
+                .isInstanceOf(InvalidOperationException.class);
+        then(saleRepository).shouldHaveNoInteractions();
     }
 
     @Test
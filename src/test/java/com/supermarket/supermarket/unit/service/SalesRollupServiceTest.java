@@ -0,0 +1,187 @@
+package com.supermarket.supermarket.unit.service;
+
+import com.supermarket.supermarket.dto.report.SalesRollupStats;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.product.Product;
+import com.supermarket.supermarket.model.sale.Sale;
+import com.supermarket.supermarket.model.sale.SaleDetail;
+import com.supermarket.supermarket.model.sale.SaleStatus;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.repository.ProductSalesDailyRepository;
+import com.supermarket.supermarket.repository.SaleRepository;
+import com.supermarket.supermarket.repository.SalesDailyRollupRepository;
+import com.supermarket.supermarket.service.business.ReportCache;
+import com.supermarket.supermarket.service.business.impl.SalesRollupServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    @Mock
+    private SalesDailyRollupRepository rollupRepository;
+    @Mock
+    private ProductSalesDailyRepository productSalesRepository;
+    @Mock
+    private SaleRepository saleRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ReportCache reportCache;
+    @InjectMocks
+    private SalesRollupServiceImpl salesRollupService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(salesRollupService, "enabled", true);
+    }
+
+    private Sale sale(Long branchId, Long cashierId, LocalDate date, String total) {
+        return Sale.builder()
+                .date(date)
+                .status(SaleStatus.REGISTERED)
+                .total(new BigDecimal(total))
+                .branch(Branch.builder().id(branchId).build())
+                .createdBy(cashierId == null ? null : User.builder().id(cashierId).build())
+                .details(new ArrayList<>())
+                .build();
+    }
+
+    private Sale withLine(Sale sale, Long productId, int quantity, String price) {
+        sale.getDetails().add(SaleDetail.builder()
+                .sale(sale)
+                .product(Product.builder().id(productId).build())
+                .quantity(quantity)
+                .price(new BigDecimal(price))
+                .build());
+        return sale;
+    }
+
+    @Nested
+    @DisplayName("Incremental maintenance")
+    class Maintenance {
+        @Test
+        @DisplayName("Should add one upsert per (date, branch, cashier) with the summed revenue and count")
+        void record_shouldAggregateByKey() {
+            salesRollupService.record(List.of(
+                    sale(1L, 7L, DAY, "10.00"),
+                    sale(1L, 7L, DAY, "2.50"),
+                    sale(2L, 7L, DAY, "4.00")));
+
+            then(rollupRepository).should().add(DAY, 1L, 7L, new BigDecimal("12.50"), 2L);
+            then(rollupRepository).should().add(DAY, 2L, 7L, new BigDecimal("4.00"), 1L);
+        }
+
+        @Test
+        @DisplayName("Should subtract a reversed sale and file cashier-less sales under the sentinel cashier")
+        void reverse_shouldSubtract() {
+            salesRollupService.reverse(sale(3L, null, DAY, "9.99"));
+
+            then(rollupRepository).should().add(DAY, 3L, 0L, new BigDecimal("-9.99"), -1L);
+        }
+
+        @Test
+        @DisplayName("Should fold sale lines into one product delta per (date, branch, product)")
+        void record_shouldAggregateProductLines() {
+            Sale first = withLine(withLine(sale(1L, 7L, DAY, "8.00"), 10L, 2, "1.50"), 11L, 1, "5.00");
+            Sale second = withLine(sale(1L, 8L, DAY, "4.50"), 10L, 3, "1.50");
+
+            salesRollupService.record(List.of(first, second));
+
+            then(productSalesRepository).should().add(DAY, 1L, 10L, 5L, new BigDecimal("7.50"));
+            then(productSalesRepository).should().add(DAY, 1L, 11L, 1L, new BigDecimal("5.00"));
+        }
+
+        @Test
+        @DisplayName("Should subtract every line of a reversed sale from the product rollup")
+        void reverse_shouldSubtractProductLines() {
+            salesRollupService.reverse(withLine(sale(2L, 7L, DAY, "3.00"), 10L, 2, "1.50"));
+
+            then(productSalesRepository).should().add(DAY, 2L, 10L, -2L, new BigDecimal("-3.00"));
+        }
+
+        @Test
+        @DisplayName("Should skip undated sales because no date-bounded report can include them")
+        void record_shouldSkipUndatedSales() {
+            salesRollupService.record(List.of(sale(1L, 7L, null, "10.00")));
+
+            then(rollupRepository).should(never()).add(any(), anyLong(), anyLong(), any(), anyLong());
+            then(productSalesRepository).shouldHaveNoInteractions();
+        }
+    }
+
+    @Nested
+    @DisplayName("Availability and rebuild")
+    class Rebuild {
+        @Test
+        @DisplayName("Should rebuild an empty rollup at startup when registered sales exist")
+        void initialize_shouldRebuildEmptyRollup() {
+            given(rollupRepository.count()).willReturn(0L, 5L);
+            given(saleRepository.existsByStatus(SaleStatus.REGISTERED)).willReturn(true);
+            given(rollupRepository.insertFromSales()).willReturn(5);
+            given(productSalesRepository.insertFromSales()).willReturn(9);
+
+            assertThat(salesRollupService.isAvailable()).isFalse();
+            salesRollupService.initialize();
+
+            then(rollupRepository).should().deleteAllRows();
+            then(rollupRepository).should().insertFromSales();
+            then(productSalesRepository).should().deleteAllRows();
+            then(productSalesRepository).should().insertFromSales();
+            then(reportCache).should().clear();
+            assertThat(salesRollupService.isAvailable()).isTrue();
+            SalesRollupStats stats = salesRollupService.getStats();
+            assertThat(stats.getRows()).isEqualTo(5);
+            assertThat(stats.getLastRebuildRows()).isEqualTo(14);
+            assertThat(stats.getLastRebuiltAt()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should keep an already populated rollup at startup")
+        void initialize_shouldKeepPopulatedRollup() {
+            given(rollupRepository.count()).willReturn(12L);
+            given(productSalesRepository.count()).willReturn(40L);
+
+            salesRollupService.initialize();
+
+            then(rollupRepository).should(never()).deleteAllRows();
+            assertThat(salesRollupService.isAvailable()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should fall back to raw rows when the rollup is disabled")
+        void isAvailable_whenDisabled_shouldBeFalse() {
+            ReflectionTestUtils.setField(salesRollupService, "enabled", false);
+            given(rollupRepository.count()).willReturn(12L);
+            given(productSalesRepository.count()).willReturn(40L);
+
+            salesRollupService.initialize();
+
+            assertThat(salesRollupService.isAvailable()).isFalse();
+            salesRollupService.record(List.of(sale(1L, 7L, DAY, "1.00")));
+            then(rollupRepository).should().add(eq(DAY), eq(1L), eq(7L), any(), eq(1L));
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.supermarket.supermarket.unit.service;
+
+import com.supermarket.supermarket.dto.hold.StockHoldItem;
+import com.supermarket.supermarket.dto.hold.StockHoldRequest;
+import com.supermarket.supermarket.dto.hold.StockHoldResponse;
+import com.supermarket.supermarket.dto.inventory.StockLevel;
+import com.supermarket.supermarket.exception.InsufficientPermissionsException;
+import com.supermarket.supermarket.exception.InsufficientStockException;
+import com.supermarket.supermarket.exception.InvalidOperationException;
+import com.supermarket.supermarket.exception.ResourceNotFoundException;
+import com.supermarket.supermarket.mapper.StockHoldMapper;
+import com.supermarket.supermarket.model.branch.Branch;
+import com.supermarket.supermarket.model.hold.HoldStatus;
+import com.supermarket.supermarket.model.hold.StockHold;
+import com.supermarket.supermarket.model.hold.StockHoldLine;
+import com.supermarket.supermarket.model.user.User;
+import com.supermarket.supermarket.model.user.UserRole;
+import com.supermarket.supermarket.repository.BranchRepository;
+import com.supermarket.supermarket.repository.StockHoldRepository;
+import com.supermarket.supermarket.security.SecurityUtils;
+import com.supermarket.supermarket.service.business.InventoryService;
+import com.supermarket.supermarket.service.business.impl.StockHoldServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.supermarket.supermarket.fixtures.branch.BranchFixtures.defaultBranch;
+import static com.supermarket.supermarket.fixtures.user.UserFixtures.defaultCashier;
+import static com.supermarket.supermarket.fixtures.user.UserFixtures.defaultManager;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class StockHoldServiceTest {
+    @Mock
+    private StockHoldRepository stockHoldRepository;
+    @Mock
+    private BranchRepository branchRepository;
+    @Mock
+    private InventoryService inventoryService;
+    @Spy
+    private StockHoldMapper stockHoldMapper = new StockHoldMapper();
+    @Mock
+    private SecurityUtils securityUtils;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private StockHoldServiceImpl stockHoldService;
+
+    private static StockHold activeHold(Branch branch, LocalDateTime expiresAt, StockHoldLine... lines) {
+        return StockHold.builder()
+                .id(7L)
+                .branch(branch)
+                .createdBy(defaultCashier())
+                .lines(new ArrayList<>(List.of(lines)))
+                .status(HoldStatus.ACTIVE)
+                .createdAt(expiresAt.minusMinutes(10))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static StockHoldRequest holdRequest() {
+        return StockHoldRequest.builder()
+                .branchId(1L)
+                .items(List.of(new StockHoldItem(1L, 3), new StockHoldItem(2L, 1), new StockHoldItem(1L, 2)))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Placing holds")
+    class PlacingHolds {
+        @Test
+        @DisplayName("create - should reserve aggregated quantities and persist an active hold")
+        void create_ShouldReserveAndPersist() {
+            given(branchRepository.findById(1L)).willReturn(Optional.of(defaultBranch()));
+            given(inventoryService.reserveStock(1L, Map.of(1L, 5, 2L, 1))).willReturn(List.of());
+            given(securityUtils.getCurrentUser()).willReturn(defaultCashier());
+            given(stockHoldRepository.save(any(StockHold.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+            StockHoldResponse response = stockHoldService.create(holdRequest());
+
+            assertThat(response.getStatus()).isEqualTo(HoldStatus.ACTIVE);
+            assertThat(response.getItems()).extracting(StockHoldItem::getProductId, StockHoldItem::getQuantity)
+                    .containsExactly(tuple(1L, 5), tuple(2L, 1));
+            assertThat(response.getExpiresAt()).isAfter(LocalDateTime.now());
+        }
+
+        @Test
+        @DisplayName("create - should fail with the available quantity when stock is short")
+        void create_WhenStockIsShort_ShouldThrow() {
+            given(branchRepository.findById(1L)).willReturn(Optional.of(defaultBranch()));
+            given(inventoryService.reserveStock(1L, Map.of(1L, 5, 2L, 1))).willReturn(List.of(1L));
+            given(inventoryService.getStockLevels(1L, List.of(1L))).willReturn(List.of(new StockLevel(1L, 4, 2)));
+
+            assertThatThrownBy(() -> stockHoldService.create(holdRequest()))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("Available: 4, required: 5");
+            then(stockHoldRepository).should(never()).save(any());
+        }
+
+        @Test
+        @DisplayName("create - should report products the branch does not stock")
+        void create_WhenProductNotStocked_ShouldThrow() {
+            given(branchRepository.findById(1L)).willReturn(Optional.of(defaultBranch()));
+            given(inventoryService.reserveStock(1L, Map.of(1L, 5, 2L, 1))).willReturn(List.of(2L));
+            given(inventoryService.getStockLevels(1L, List.of(2L))).willReturn(List.of());
+
+            assertThatThrownBy(() -> stockHoldService.create(holdRequest()))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("[2]");
+        }
+    }
+
+    @Nested
+    @DisplayName("Checkout")
+    class Checkout {
+        @Test
+        @DisplayName("consume - should only reserve the extra quantity and return what the sale did not use")
+        void consume_ShouldReconcileWithHeldQuantities() {
+            StockHold hold = activeHold(defaultBranch(), LocalDateTime.now().plusMinutes(5),
+                    new StockHoldLine(1L, 5), new StockHoldLine(2L, 2));
+            given(stockHoldRepository.findById(7L)).willReturn(Optional.of(hold));
+            given(securityUtils.getCurrentUser()).willReturn(defaultCashier());
+            given(inventoryService.reserveStock(1L, Map.of(1L, 2))).willReturn(List.of());
+
+            stockHoldService.consume(7L, 1L, Map.of(1L, 7));
+
+            then(inventoryService).should().releaseStock(1L, Map.of(2L, 2));
+            assertThat(hold.getStatus()).isEqualTo(HoldStatus.CONSUMED);
+            assertThat(hold.getResolvedAt()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("consume - should not touch stock when the sale matches the hold exactly")
+        void consume_WhenQuantitiesMatch_ShouldNotTouchStock() {
+            StockHold hold = activeHold(defaultBranch(), LocalDateTime.now().plusMinutes(5), new StockHoldLine(1L, 5));
+            given(stockHoldRepository.findById(7L)).willReturn(Optional.of(hold));
+            given(securityUtils.getCurrentUser()).willReturn(defaultCashier());
+
+            stockHoldService.consume(7L, 1L, Map.of(1L, 5));
+
+            then(inventoryService).shouldHaveNoInteractions();
+            assertThat(hold.getStatus()).isEqualTo(HoldStatus.CONSUMED);
+        }
+
+        @Test
+        @DisplayName("consume - should reject a hold that has already expired")
+        void consume_WhenExpired_ShouldThrow() {
+            StockHold hold = activeHold(defaultBranch(), LocalDateTime.now().minusSeconds(1), new StockHoldLine(1L, 5));
+            given(stockHoldRepository.findById(7L)).willReturn(Optional.of(hold));
+            given(securityUtils.getCurrentUser()).willReturn(defaultCashier());
+
+            assertThatThrownBy(() -> stockHoldService.consume(7L, 1L, Map.of(1L, 5)))
+                    .isInstanceOf(InvalidOperationException.class)
+                    .hasMessageContaining("expired");
+            then(inventoryService).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("consume - should reject a hold from another branch")
+        void consume_WhenBranchDiffers_ShouldThrow() {
+            StockHold hold = activeHold(defaultBranch(), LocalDateTime.now().plusMinutes(5), new StockHoldLine(1L, 5));
+            given(stockHoldRepository.findById(7L)).willReturn(Optional.of(hold));
+            given(securityUtils.getCurrentUser()).willReturn(defaultCashier());
+
+            assertThatThrownBy(() -> stockHoldService.consume(7L, 2L, Map.of(1L, 5)))
+                    .isInstanceOf(InvalidOperationException.class)
+                    .hasMessageContaining("belongs to branch 1");
+        }
+
+        @Test
+        @DisplayName("consume - should forbid cashiers from using another cashier's hold")
+        void consume_ByOtherCashier_ShouldThrow() {
+            StockHold hold = activeHold(defaultBranch(), LocalDateTime.now().plusMinutes(5), new StockHoldLine(1L, 5));
+            given(stockHoldRepository.findById(7L)).willReturn(Optional.of(hold));
+            given(securityUtils.getCurrentUser()).willReturn(User.builder().id(99L).role(UserRole.CASHIER).build());
+
+            assertThatThrownBy(() -> stockHoldService.consume(7L, 1L, Map.of(1L, 5)))
+                    .isInstanceOf(InsufficientPermissionsException.class);
+            assertThat(hold.getStatus()).isEqualTo(HoldStatus.ACTIVE);
+            then(inventoryService).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("consume - should let a manager check out a hold placed by a cashier")
+        void consume_ByManager_ShouldConsume() {
+            StockHold hold = activeHold(defaultBranch(), LocalDateTime.now().plusMinutes(5), new StockHoldLine(1L, 5));
+            given(stockHoldRepository.findById(7L)).willReturn(Optional.of(hold));
+            given(securityUtils.getCurrentUser()).willReturn(defaultManager());
+
+            stockHoldService.consume(7L, 1L, Map.of(1L, 5));
+
+            assertThat(hold.getStatus()).isEqualTo(HoldStatus.CONSUMED);
+        }
+    }
+
+    @Nested
+    @DisplayName("Releasing holds")
+    class ReleasingHolds {
+        @Test
+        @DisplayName("release - should return held quantities to the branch")
+        void release_ShouldReturnStock() {
+            StockHold hold = activeHold(defaultBranch(), LocalDateTime.now().plusMinutes(5), new StockHoldLine(1L, 5));
+            given(stockHoldRepository.findById(7L)).willReturn(Optional.of(hold));
+            given(securityUtils.getCurrentUser()).willReturn(defaultCashier());
+
+            stockHoldService.release(7L);
+
+            then(inventoryService).should().releaseStock(1L, Map.of(1L, 5));
+            assertThat(hold.getStatus()).isEqualTo(HoldStatus.RELEASED);
+        }
+
+        @Test
+        @DisplayName("release - should let a manager release a hold placed by a cashier")
+        void release_ByManager_ShouldReturnStock() {
+            StockHold hold = activeHold(defaultBranch(), LocalDateTime.now().plusMinutes(5), new StockHoldLine(1L, 5));
+            given(stockHoldRepository.findById(7L)).willReturn(Optional.of(hold));
+            given(securityUtils.getCurrentUser()).willReturn(defaultManager());
+
+            stockHoldService.release(7L);
+
+            then(inventoryService).should().releaseStock(1L, Map.of(1L, 5));
+        }
+
+        @Test
+        @DisplayName("release - should forbid cashiers from releasing another cashier's hold")
+        void release_ByOtherCashier_ShouldThrow() {
+            StockHold hold = activeHold(defaultBranch(), LocalDateTime.now().plusMinutes(5), new StockHoldLine(1L, 5));
+            given(stockHoldRepository.findById(7L)).willReturn(Optional.of(hold));
+            given(securityUtils.getCurrentUser()).willReturn(User.builder().id(99L).role(UserRole.CASHIER).build());
+
+            assertThatThrownBy(() -> stockHoldService.release(7L))
+                    .isInstanceOf(InsufficientPermissionsException.class);
+            assertThat(hold.getStatus()).isEqualTo(HoldStatus.ACTIVE);
+            then(inventoryService).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("release - should refuse holds that are no longer active")
+        void release_WhenConsumed_ShouldThrow() {
+            StockHold hold = activeHold(defaultBranch(), LocalDateTime.now().plusMinutes(5), new StockHoldLine(1L, 5));
+            hold.setStatus(HoldStatus.CONSUMED);
+            given(stockHoldRepository.findById(7L)).willReturn(Optional.of(hold));
+            given(securityUtils.getCurrentUser()).willReturn(defaultCashier());
+
+            assertThatThrownBy(() -> stockHoldService.release(7L))
+                    .isInstanceOf(InvalidOperationException.class);
+            then(inventoryService).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("releaseExpired - should expire holds in bulk and release stock once per branch")
+        void releaseExpired_ShouldReleasePerBranch() {
+            Branch other = Branch.builder().id(2L).name("Other").build();
+            LocalDateTime past = LocalDateTime.now().minusMinutes(1);
+            StockHold first = activeHold(defaultBranch(), past, new StockHoldLine(1L, 2));
+            StockHold second = activeHold(defaultBranch(), past, new StockHoldLine(1L, 3), new StockHoldLine(2L, 1));
+            StockHold third = activeHold(other, past, new StockHoldLine(1L, 4));
+            given(stockHoldRepository.findByStatusAndExpiresAtBeforeOrderByExpiresAtAsc(any(), any(), any()))
+                    .willReturn(List.of(first, second, third));
+
+            int released = stockHoldService.releaseExpired();
+
+            assertThat(released).isEqualTo(3);
+            assertThat(List.of(first, second, third)).extracting(StockHold::getStatus).containsOnly(HoldStatus.EXPIRED);
+            then(stockHoldRepository).should().saveAllAndFlush(anyList());
+            then(inventoryService).should().releaseStock(1L, Map.of(1L, 5, 2L, 1));
+            then(inventoryService).should().releaseStock(2L, Map.of(1L, 4));
+        }
+    }
+}
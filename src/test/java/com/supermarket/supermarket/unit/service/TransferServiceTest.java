@@ -11,6 +11,7 @@ import com.supermarket.supermarket.fixtures.branch.BranchFixtures;
 import com.supermarket.supermarket.fixtures.product.ProductFixtures;
 import com.supermarket.supermarket.fixtures.transfer.TransferFixtures;
 import com.supermarket.supermarket.fixtures.user.UserFixtures;
+import com.supermarket.supermarket.lock.BranchStockLocks;
 import com.supermarket.supermarket.mapper.TransferMapper;
 import com.supermarket.supermarket.model.branch.Branch;
 import com.supermarket.supermarket.model.product.Product;
@@ -62,6 +63,8 @@ class TransferServiceTest {
     @Mock
     private NotificationEventService notificationEventService;
 
+    @Mock
+    private BranchStockLocks branchStockLocks;
     @InjectMocks
     private TransferServiceImpl transferService;
 
@@ -282,6 +285,7 @@ class TransferServiceTest {
             assertThat(transfer.getCompletedAt()).isNotNull();
             then(inventoryService).should().validateAndReduceStock(1L, 1L, 10);
             then(inventoryService).should().increaseStock(2L, 1L, 10);
+            then(branchStockLocks).should().lockBranches(1L, 2L);
         }
 
         @Test
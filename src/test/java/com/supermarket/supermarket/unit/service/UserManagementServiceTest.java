@@ -13,6 +13,7 @@ import com.supermarket.supermarket.model.user.User;
 import com.supermarket.supermarket.model.user.UserRole;
 import com.supermarket.supermarket.repository.UserRepository;
 import com.supermarket.supermarket.security.SecurityUtils;
+import com.supermarket.supermarket.service.business.RecipientDirectory;
 import com.supermarket.supermarket.service.business.impl.UserManagementServiceImpl;
 import com.supermarket.supermarket.validator.PasswordValidator;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +46,8 @@ class UserManagementServiceTest {
     private PasswordValidator passwordValidator;
     @Mock
     private SecurityUtils securityUtils;
+    @Mock
+    private RecipientDirectory recipientDirectory;
 
     @InjectMocks
     private UserManagementServiceImpl userManagementService;
@@ -97,6 +100,7 @@ class UserManagementServiceTest {
 
         assertThat(result).isNotNull();
         then(userRepository).should().save(any(User.class));
+        then(recipientDirectory).should().invalidate();
     }
 
     @Test
@@ -112,6 +116,7 @@ class UserManagementServiceTest {
         assertThatThrownBy(() -> userManagementService.create(request))
                 .isInstanceOf(DuplicateResourceException.class);
         then(userRepository).should(never()).save(any());
+        then(recipientDirectory).should(never()).invalidate();
     }
 
     @Test
@@ -159,6 +164,7 @@ class UserManagementServiceTest {
 
         assertThat(user.getRole()).isEqualTo(UserRole.MANAGER);
         assertThat(result).isNotNull();
+        then(recipientDirectory).should().invalidate();
     }
 
     @Test
@@ -182,6 +188,7 @@ class UserManagementServiceTest {
 
         assertThat(user.getActive()).isFalse();
         then(userRepository).should().save(user);
+        then(recipientDirectory).should().invalidate();
     }
 
     @Test